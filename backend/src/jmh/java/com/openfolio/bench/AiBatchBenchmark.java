@@ -0,0 +1,113 @@
+package com.openfolio.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openfolio.ai.AiResultCache;
+import com.openfolio.ai.AiResultEntryRepository;
+import com.openfolio.ai.AiResumeEnhancer;
+import com.openfolio.ai.OllamaClient;
+import com.openfolio.ai.OllamaEndpointPool;
+import com.openfolio.ai.OllamaLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bullets for {@code projects} projects through {@link AiResumeEnhancer#planBatches} and
+ * {@link AiResumeEnhancer#enhanceProjectBatch}, against one {@link OllamaStub}, so the
+ * numbers show what batching saves in requests and repeated system prompts rather than
+ * model speed. {@code batchSize=1} is the old
+ * one-request-per-project behaviour; projects per second is {@code projects} divided by
+ * the reported time.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+public class AiBatchBenchmark {
+
+    @Param({"1", "4", "8"})
+    public int batchSize;
+
+    @Param({"20"})
+    public int projects;
+
+    /** Stub cost model, in microseconds. */
+    @Param({"20000"})
+    public long requestOverheadMicros;
+    @Param({"20"})
+    public long promptMicrosPerToken;
+    @Param({"250"})
+    public long outputMicrosPerToken;
+
+    private OllamaStub stub;
+    private AiResumeEnhancer enhancer;
+    private List<AiResumeEnhancer.ProjectInput> inputs;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        stub = new OllamaStub(mapper, requestOverheadMicros, promptMicrosPerToken, outputMicrosPerToken);
+
+        OllamaLimiter limiter = new OllamaLimiter(registry, 4, 1, 16, 30000, 2.0, 0.9, 5, 30);
+        OllamaEndpointPool pool = new OllamaEndpointPool(mapper, registry, stub.url(), 3, 10, 3000);
+        enhancer = new AiResumeEnhancer(new OllamaClient(mapper, limiter, pool, 4096, 30), alwaysMiss(),
+                batchSize, 220, 1800, 4096);
+
+        inputs = new ArrayList<>(projects);
+        for (int i = 0; i < projects; i++) {
+            inputs.add(new AiResumeEnhancer.ProjectInput(
+                    "project-" + i,
+                    "A small tool that syncs issues between trackers and posts weekly summaries (#" + i + ")",
+                    List.of("Java", "TypeScript", "Shell"),
+                    i * 7));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public List<String> enhanceAll() {
+        List<String> results = new ArrayList<>(projects);
+        for (List<AiResumeEnhancer.ProjectInput> batch : enhancer.planBatches(inputs)) {
+            results.addAll(enhancer.enhanceProjectBatch(batch));
+        }
+        return results;
+    }
+
+    /** A result cache with no memory front and an empty database, so every call reaches the stub. */
+    private static AiResultCache alwaysMiss() {
+        AiResultEntryRepository empty = (AiResultEntryRepository) Proxy.newProxyInstance(
+                AiResultEntryRepository.class.getClassLoader(),
+                new Class<?>[]{AiResultEntryRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.empty();
+                    case "save" -> args[0];
+                    case "deleteExpired", "deleteStale" -> 0;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new AiResultCache(empty, new SimpleMeterRegistry(), 0, 30);
+    }
+}
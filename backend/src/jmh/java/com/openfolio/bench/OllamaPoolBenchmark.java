@@ -0,0 +1,89 @@
+package com.openfolio.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openfolio.ai.OllamaClient;
+import com.openfolio.ai.OllamaEndpointPool;
+import com.openfolio.ai.OllamaLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads calling {@link OllamaClient#chat} through an {@link OllamaEndpointPool} of
+ * {@code instances} {@link OllamaStub}s, each of which runs one request at a time. With
+ * {@code deadInstances=1} the pool also lists a port nothing listens on: the first calls
+ * routed there fail over to a live stub and the endpoint is ejected, so throughput should
+ * match the run without it.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+public class OllamaPoolBenchmark {
+
+    @Param({"1", "2", "4"})
+    public int instances;
+
+    @Param({"0", "1"})
+    public int deadInstances;
+
+    private final List<OllamaStub> stubs = new ArrayList<>();
+    private OllamaClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            OllamaStub stub = new OllamaStub(mapper, 20000, 20, 250);
+            stubs.add(stub);
+            urls.add(stub.url());
+        }
+        for (int i = 0; i < deadInstances; i++) {
+            urls.add("http://127.0.0.1:" + unusedPort() + "/api/chat");
+        }
+
+        OllamaLimiter limiter = new OllamaLimiter(registry, 8, 1, 16, 30000, 2.0, 0.9, 5, 30);
+        OllamaEndpointPool pool = new OllamaEndpointPool(mapper, registry, String.join(",", urls), 3, 10, 3000);
+        client = new OllamaClient(mapper, limiter, pool, 4096, 30);
+    }
+
+    @TearDown
+    public void tearDown() {
+        stubs.forEach(OllamaStub::close);
+    }
+
+    @Benchmark
+    public String chat() {
+        return client.chat("Rewrite the project description as resume bullets.",
+                "Project: issue-sync\nDescription: Syncs issues between trackers and posts weekly summaries", 220);
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.openfolio.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openfolio.ai.OllamaClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An in-process stand-in for one Ollama server: {@code /api/chat} answers one request at
+ * a time, like a single local GPU, after a fixed per-request overhead, a prompt-evaluation
+ * cost per input token and a generation cost per output token; {@code /api/tags} lists
+ * {@link OllamaClient#MODEL}. Batched prompts get one bullet block per {@code ### PROJECT n}
+ * header.
+ */
+final class OllamaStub implements AutoCloseable {
+
+    private static final Pattern PROJECT_HEADER = Pattern.compile("(?m)^### PROJECT (\\d+)$");
+    private static final String BULLETS = """
+            Engineered a modular service layer in Java and Spring Boot, cutting response times by 35% under load.
+            Implemented a PostgreSQL-backed job queue with retries, processing 20K+ background tasks per day.
+            Deployed the application with Docker and GitHub Actions, garnering 120 stars on GitHub.
+            """;
+
+    private final ObjectMapper mapper;
+    private final long requestOverheadMicros;
+    private final long promptMicrosPerToken;
+    private final long outputMicrosPerToken;
+    private final HttpServer server;
+    private final ExecutorService serverThread = Executors.newSingleThreadExecutor();
+
+    OllamaStub(ObjectMapper mapper, long requestOverheadMicros, long promptMicrosPerToken,
+               long outputMicrosPerToken) throws IOException {
+        this.mapper = mapper;
+        this.requestOverheadMicros = requestOverheadMicros;
+        this.promptMicrosPerToken = promptMicrosPerToken;
+        this.outputMicrosPerToken = outputMicrosPerToken;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/chat", this::chat);
+        server.createContext("/api/tags", this::tags);
+        server.setExecutor(serverThread);
+        server.start();
+    }
+
+    /** The full {@code /api/chat} URL, as configured in {@code app.ai.ollama-urls}. */
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/chat";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        serverThread.shutdownNow();
+    }
+
+    private void chat(HttpExchange exchange) throws IOException {
+        JsonNode request = mapper.readTree(exchange.getRequestBody());
+        StringBuilder prompt = new StringBuilder();
+        for (JsonNode message : request.path("messages")) {
+            prompt.append(message.path("content").asText());
+        }
+
+        StringBuilder content = new StringBuilder();
+        Matcher headers = PROJECT_HEADER.matcher(prompt);
+        boolean batched = false;
+        while (headers.find()) {
+            batched = true;
+            content.append("### PROJECT ").append(headers.group(1)).append('\n').append(BULLETS).append('\n');
+        }
+        if (!batched) content.append(BULLETS);
+
+        long micros = requestOverheadMicros
+                + tokens(prompt) * promptMicrosPerToken
+                + tokens(content) * outputMicrosPerToken;
+        LockSupport.parkNanos(micros * 1000);
+
+        respond(exchange, Map.of(
+                "model", OllamaClient.MODEL,
+                "message", Map.of("role", "assistant", "content", content.toString()),
+                "done", true));
+    }
+
+    private void tags(HttpExchange exchange) throws IOException {
+        respond(exchange, Map.of("models", List.of(Map.of("name", OllamaClient.MODEL, "model", OllamaClient.MODEL))));
+    }
+
+    private void respond(HttpExchange exchange, Object json) throws IOException {
+        byte[] body = mapper.writeValueAsBytes(json);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static long tokens(CharSequence text) {
+        return (text.length() + 3) / 4;
+    }
+}
@@ -0,0 +1,68 @@
+package com.openfolio.bench;
+
+import com.openfolio.export.PdfRendererResources;
+import com.openfolio.export.RemoteImageCache;
+import com.openfolio.export.dto.ExportOptions;
+import com.openfolio.portfolio.PortfolioHtmlGenerator;
+import com.openfolio.resume.ResumeHtmlGenerator;
+import com.openfolio.shared.html.HtmlFragmentCache;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML → PDF conversion alone, on markup generated once in setup. Uses the same shared
+ * renderer resources as the render pool, but renders on the benchmark thread so queueing
+ * doesn't show up in the numbers. Set {@code -Dapp.export.fonts-dir=...} to include
+ * custom fonts.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+public class PdfRenderBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "XLARGE"})
+    public SyntheticBundles.Size size;
+
+    /** Portfolio palettes, plus {@code resume-<template>} for the resume templates. */
+    @Param({"pdf", "dark", "minimal", "hacker", "resume-classic", "resume-modern", "resume-minimal", "resume-bold"})
+    public String template;
+
+    private PdfRendererResources resources;
+    private String html;
+
+    @Setup
+    public void setUp() {
+        RemoteImageCache images = new RemoteImageCache(new SimpleMeterRegistry(),
+                System.getProperty("java.io.tmpdir") + "/openfolio-bench-images",
+                64L << 20, 5L << 20, 192, 2000, 5000, 24, 300, 1024);
+        resources = new PdfRendererResources(System.getProperty("app.export.fonts-dir", ""), images);
+        HtmlFragmentCache noCache = new HtmlFragmentCache(new SimpleMeterRegistry(), 0);
+        html = template.startsWith("resume-")
+                ? new ResumeHtmlGenerator(noCache).generateForPdf(SyntheticBundles.resume(size), template.substring(7))
+                : new PortfolioHtmlGenerator(noCache).generateForPdf(SyntheticBundles.portfolio(size), template,
+                        ExportOptions.defaults());
+    }
+
+    @Benchmark
+    public byte[] render() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        PdfRendererBuilder builder = resources.configure(new PdfRendererBuilder());
+        builder.withHtmlContent(html, null);
+        builder.toStream(out);
+        builder.run();
+        return out.toByteArray();
+    }
+}
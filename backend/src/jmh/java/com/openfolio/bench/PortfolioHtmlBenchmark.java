@@ -0,0 +1,74 @@
+package com.openfolio.bench;
+
+import com.openfolio.export.dto.ExportOptions;
+import com.openfolio.portfolio.PortfolioBundle;
+import com.openfolio.portfolio.PortfolioHtmlGenerator;
+import com.openfolio.shared.html.HtmlFragmentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portfolio HTML generation: the live preview for every theme and the PDF markup for
+ * every export palette.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class PortfolioHtmlBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "XLARGE"})
+    public SyntheticBundles.Size size;
+
+    /** Preview theme ("dark" is the default branch) and PDF palette ("pdf" is the clean one). */
+    @Param({"pdf", "dark", "minimal", "hacker"})
+    public String theme;
+
+    /** Fragment cache size; 0 measures a cold render of every section. */
+    @Param({"10000", "0"})
+    public int fragmentCacheEntries;
+
+    private PortfolioHtmlGenerator generator;
+    private final ExportOptions options = ExportOptions.defaults();
+    private PortfolioBundle bundle;
+
+    @Setup
+    public void setUp() {
+        generator = new PortfolioHtmlGenerator(new HtmlFragmentCache(new SimpleMeterRegistry(), fragmentCacheEntries));
+        bundle = SyntheticBundles.portfolio(size);
+        bundle.portfolio().setThemeKey(theme);
+    }
+
+    @Benchmark
+    public String preview() {
+        return generator.generate(bundle);
+    }
+
+    /** The preview as the controllers serve it: UTF-8 encoded into a (discarding) response stream. */
+    @Benchmark
+    public void previewStreamed() throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8));
+        generator.generate(bundle, writer);
+        writer.flush();
+    }
+
+    @Benchmark
+    public String pdf() {
+        return generator.generateForPdf(bundle, theme, options);
+    }
+}
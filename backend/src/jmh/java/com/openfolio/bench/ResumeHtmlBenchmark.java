@@ -0,0 +1,67 @@
+package com.openfolio.bench;
+
+import com.openfolio.resume.ResumeBundle;
+import com.openfolio.resume.ResumeHtmlGenerator;
+import com.openfolio.shared.html.HtmlFragmentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/** Resume HTML generation for every template, preview and PDF variants. */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+public class ResumeHtmlBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "XLARGE"})
+    public SyntheticBundles.Size size;
+
+    @Param({"classic", "modern", "minimal", "bold"})
+    public String template;
+
+    /** Fragment cache size; 0 measures a cold render of every section. */
+    @Param({"10000", "0"})
+    public int fragmentCacheEntries;
+
+    private ResumeHtmlGenerator generator;
+    private ResumeBundle bundle;
+
+    @Setup
+    public void setUp() {
+        generator = new ResumeHtmlGenerator(new HtmlFragmentCache(new SimpleMeterRegistry(), fragmentCacheEntries));
+        bundle = SyntheticBundles.resume(size);
+    }
+
+    @Benchmark
+    public String preview() {
+        return generator.generate(bundle, template);
+    }
+
+    /** The preview as the controllers serve it: UTF-8 encoded into a (discarding) response stream. */
+    @Benchmark
+    public void previewStreamed() throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8));
+        generator.generate(bundle, template, writer);
+        writer.flush();
+    }
+
+    @Benchmark
+    public String pdf() {
+        return generator.generateForPdf(bundle, template);
+    }
+}
@@ -0,0 +1,213 @@
+package com.openfolio.bench;
+
+import com.openfolio.certification.Certification;
+import com.openfolio.education.Education;
+import com.openfolio.experience.Experience;
+import com.openfolio.portfolio.Portfolio;
+import com.openfolio.portfolio.PortfolioBundle;
+import com.openfolio.project.Project;
+import com.openfolio.resume.Resume;
+import com.openfolio.resume.ResumeBundle;
+import com.openfolio.skill.Proficiency;
+import com.openfolio.skill.Skill;
+import com.openfolio.user.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic portfolio and resume data for the benchmarks, from a near-empty profile
+ * up to one far larger than anything seen in production. Text deliberately contains
+ * markdown, bullets and characters that need escaping so the text helpers do real work.
+ */
+public final class SyntheticBundles {
+
+    /** Bundle sizes, selectable with {@code -p size=...}. */
+    public enum Size {
+        SMALL(2, 6, 1, 1, 0),
+        MEDIUM(8, 20, 4, 2, 3),
+        LARGE(30, 60, 10, 3, 8),
+        XLARGE(120, 200, 30, 6, 25);
+
+        final int projects, skills, experiences, educations, certifications;
+
+        Size(int projects, int skills, int experiences, int educations, int certifications) {
+            this.projects = projects;
+            this.skills = skills;
+            this.experiences = experiences;
+            this.educations = educations;
+            this.certifications = certifications;
+        }
+    }
+
+    private static final String[] LANGUAGES = {"Java", "TypeScript", "Go", "Python", "Rust", "Kotlin", "SQL"};
+    private static final String[] CATEGORIES = {"Languages", "Frameworks", "Databases", "Cloud", "Tooling"};
+    private static final String[] VERBS = {"Built", "Designed", "Migrated", "Optimised", "Led", "Automated"};
+
+    private SyntheticBundles() {}
+
+    public static PortfolioBundle portfolio(Size size) {
+        Random random = new Random(42);
+        User user = user();
+        Portfolio portfolio = new Portfolio();
+        portfolio.setId(1L);
+        portfolio.setUser(user);
+        portfolio.setTitle("Ada Lovelace — Portfolio");
+        portfolio.setTagline("Backend engineer & <systems> tinkerer");
+        portfolio.setAiEnhancedSummary(paragraph(random, 4));
+        return new PortfolioBundle(portfolio, user, about(random),
+                projects(random, portfolio, size.projects),
+                skills(random, portfolio, size.skills),
+                experiences(random, portfolio, size.experiences),
+                educations(portfolio, size.educations),
+                certifications(portfolio, size.certifications));
+    }
+
+    public static ResumeBundle resume(Size size) {
+        PortfolioBundle p = portfolio(size);
+        Resume resume = new Resume();
+        resume.setId(1L);
+        resume.setUser(p.user());
+        resume.setPortfolio(p.portfolio());
+        resume.setFullName("Ada Lovelace");
+        resume.setJobTitle("Senior Backend Engineer");
+        resume.setEmail(p.user().getEmail());
+        resume.setPhone("+44 20 7946 0000");
+        resume.setLocation("London, UK");
+        resume.setWebsite("https://ada.example.dev");
+        resume.setLinkedinUrl("https://linkedin.com/in/ada");
+        resume.setGithubUrl("https://github.com/ada");
+        resume.setSummary(p.aboutContent());
+        return new ResumeBundle(resume, p.user(), p.aboutContent(),
+                p.projects(), p.skills(), p.experiences(), p.educations());
+    }
+
+    private static User user() {
+        User user = new User("ada@example.dev", "Ada Lovelace");
+        user.setGithubUsername("ada");
+        return user;
+    }
+
+    private static String about(Random random) {
+        return "## About me\n\n" + paragraph(random, 3) + "\n\n"
+                + "- **Distributed systems** & event-driven design\n"
+                + "- Performance work on *JVM* services\n"
+                + "- Mentoring & code review";
+    }
+
+    private static List<Project> projects(Random random, Portfolio portfolio, int count) {
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Project p = new Project();
+            p.setId((long) i + 1);
+            p.setPortfolio(portfolio);
+            p.setName("project-" + i + (i % 3 == 0 ? "-service" : ""));
+            p.setDescription(bullets(random, 2 + random.nextInt(4)));
+            if (i % 2 == 0) p.setAiEnhancedDescription(paragraph(random, 2));
+            p.setUrl("https://github.com/ada/project-" + i);
+            p.setLanguages(new ArrayList<>(List.of(LANGUAGES[i % LANGUAGES.length],
+                    LANGUAGES[(i + 3) % LANGUAGES.length])));
+            p.setStars(random.nextInt(2000));
+            p.setForks(random.nextInt(300));
+            p.setHighlighted(i < 4);
+            p.setDisplayOrder(i);
+            projects.add(p);
+        }
+        return projects;
+    }
+
+    private static List<Skill> skills(Random random, Portfolio portfolio, int count) {
+        Proficiency[] levels = Proficiency.values();
+        List<Skill> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Skill s = new Skill();
+            s.setId((long) i + 1);
+            s.setPortfolio(portfolio);
+            s.setName(LANGUAGES[i % LANGUAGES.length] + (i >= LANGUAGES.length ? " " + i : ""));
+            s.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            s.setProficiency(levels[random.nextInt(levels.length)]);
+            s.setDisplayOrder(i);
+            skills.add(s);
+        }
+        return skills;
+    }
+
+    private static List<Experience> experiences(Random random, Portfolio portfolio, int count) {
+        List<Experience> experiences = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Experience e = new Experience();
+            e.setId((long) i + 1);
+            e.setPortfolio(portfolio);
+            e.setCompany("Company " + i + " & Co.");
+            e.setTitle(i == 0 ? "Staff Engineer" : "Software Engineer");
+            e.setDescription(bullets(random, 3 + random.nextInt(4)));
+            e.setStartDate(LocalDate.of(2024 - 2 * i, 1 + i % 12, 1));
+            e.setEndDate(i == 0 ? null : LocalDate.of(2026 - 2 * i, 1 + i % 12, 1));
+            e.setCurrent(i == 0);
+            e.setDisplayOrder(i);
+            experiences.add(e);
+        }
+        return experiences;
+    }
+
+    private static List<Education> educations(Portfolio portfolio, int count) {
+        List<Education> educations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Education e = new Education();
+            e.setId((long) i + 1);
+            e.setPortfolio(portfolio);
+            e.setInstitution("University of Somewhere " + i);
+            e.setDegree(i == 0 ? "MSc" : "BSc");
+            e.setField("Computer Science");
+            e.setStartYear(2010 + i);
+            e.setEndYear(2014 + i);
+            e.setDisplayOrder(i);
+            educations.add(e);
+        }
+        return educations;
+    }
+
+    private static List<Certification> certifications(Portfolio portfolio, int count) {
+        List<Certification> certifications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Certification c = new Certification();
+            c.setId((long) i + 1);
+            c.setPortfolio(portfolio);
+            c.setName("Certified Cloud Practitioner " + i);
+            c.setIssuingOrganization("Cloud Vendor");
+            c.setIssueDate(LocalDate.of(2020 + i % 5, 1 + i % 12, 1));
+            c.setExpiryDate(i % 2 == 0 ? LocalDate.of(2027 + i % 5, 1 + i % 12, 1) : null);
+            c.setCredentialId("CERT-" + (1000 + i));
+            c.setCredentialUrl("https://certs.example.com/" + (1000 + i));
+            c.setDisplayOrder(i);
+            certifications.add(c);
+        }
+        return certifications;
+    }
+
+    private static String bullets(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append('\n');
+            sb.append(i % 2 == 0 ? "- " : "• ")
+              .append(VERBS[random.nextInt(VERBS.length)])
+              .append(" a **").append(LANGUAGES[random.nextInt(LANGUAGES.length)]).append("** pipeline")
+              .append(" handling ").append(1 + random.nextInt(900)).append("k events/day")
+              .append(" with p99 < ").append(5 + random.nextInt(95)).append("ms & zero \"downtime\"");
+        }
+        return sb.toString();
+    }
+
+    private static String paragraph(Random random, int sentences) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(VERBS[random.nextInt(VERBS.length)])
+              .append(" services in ").append(LANGUAGES[random.nextInt(LANGUAGES.length)])
+              .append(" for teams of ").append(2 + random.nextInt(40)).append(" engineers.");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.openfolio.ai;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ai_jobs")
+@Getter @Setter @NoArgsConstructor
+public class AiJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AiJobType type;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** {@link AiJobPriority#rank()}; lower runs first. */
+    @Column(nullable = false)
+    private int priority;
+
+    /** Also overwrite the visible text (project description / About section), as imports do. */
+    @Column(name = "replace_source", nullable = false)
+    private boolean replaceSource;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AiJobStatus status;
+
+    /** {@code <type>:<targetId>} while queued or running; null once failed for good. */
+    @Column(name = "dedupe_key", unique = true, length = 64)
+    private String dedupeKey;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /** Not picked up before this time; pushed back after a failed attempt. */
+    @Column(name = "run_after", nullable = false)
+    private LocalDateTime runAfter;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public AiJob(AiJobType type, Long targetId, Long userId, AiJobPriority priority, boolean replaceSource) {
+        this.type = type;
+        this.targetId = targetId;
+        this.userId = userId;
+        this.priority = priority.rank();
+        this.replaceSource = replaceSource;
+        this.status = AiJobStatus.QUEUED;
+        this.dedupeKey = dedupeKey(type, targetId);
+        this.createdAt = LocalDateTime.now();
+        this.runAfter = createdAt;
+    }
+
+    public static String dedupeKey(AiJobType type, Long targetId) {
+        return type + ":" + targetId;
+    }
+}
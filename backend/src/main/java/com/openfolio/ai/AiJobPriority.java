@@ -0,0 +1,24 @@
+package com.openfolio.ai;
+
+/**
+ * Queue priority of an {@link AiJob}; lower ranks run first. A duplicate submitted at a
+ * more urgent priority promotes the job already queued.
+ */
+public enum AiJobPriority {
+    /** A user is waiting on an export or preview. */
+    INTERACTIVE(0),
+    /** Rewrites kicked off by a GitHub import. */
+    IMPORT(10),
+    /** Speculative pre-generation from the export screen. */
+    WARM_UP(20);
+
+    private final int rank;
+
+    AiJobPriority(int rank) {
+        this.rank = rank;
+    }
+
+    public int rank() {
+        return rank;
+    }
+}
@@ -0,0 +1,484 @@
+package com.openfolio.ai;
+
+import com.openfolio.portfolio.Portfolio;
+import com.openfolio.portfolio.PortfolioBundle;
+import com.openfolio.portfolio.PortfolioDataLoader;
+import com.openfolio.portfolio.PortfolioRepository;
+import com.openfolio.project.Project;
+import com.openfolio.project.ProjectRepository;
+import com.openfolio.section.SectionRepository;
+import com.openfolio.section.SectionType;
+import com.openfolio.skill.Skill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The single queue for background AI rewrites (project bullets and portfolio summaries),
+ * backed by the {@code ai_jobs} table so queued work survives restarts.
+ *
+ * <ul>
+ *   <li><b>Priority</b> — workers always take the most urgent {@link AiJobPriority}
+ *       first, so an export a user is waiting on overtakes import and warm-up work.</li>
+ *   <li><b>Fairness</b> — within a priority, every user with runnable jobs is
+ *       considered: the one with the fewest jobs running on this node, then the one
+ *       served least recently, goes next, and their oldest job runs. One user's
+ *       30-project import can't starve everyone else.</li>
+ *   <li><b>Dedupe</b> — at most one live job per project / summary (unique
+ *       {@code dedupe_key}). Submitting a duplicate joins it and promotes it to the more
+ *       urgent priority.</li>
+ *   <li><b>Batching</b> — a worker claims up to one {@link AiResumeEnhancer#planBatches}
+ *       batch of the same user's queued project jobs and sends them in one request.</li>
+ * </ul>
+ *
+ * <p>Jobs are claimed with a conditional {@code UPDATE}, so several nodes can share the
+ * table. While a job runs, its worker renews the lease by bumping {@code started_at} every
+ * third of {@code lease-seconds}; a job whose lease runs out (its worker died) is put
+ * back in the queue. Failed attempts are retried after a growing delay up to
+ * {@code max-attempts}; successful jobs are deleted. Streaming rewrites over SSE don't go
+ * through the queue — their tokens belong to one open connection.
+ */
+@Component
+public class AiJobQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(AiJobQueue.class);
+    /** The chosen user's queued jobs looked at per pick — enough to fill a batch. */
+    private static final int CANDIDATES = 50;
+
+    private final AiJobRepository jobs;
+    private final AiResumeEnhancer enhancer;
+    private final ProjectRepository projectRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final PortfolioDataLoader dataLoader;
+    private final SectionRepository sectionRepository;
+    private final TransactionTemplate requiresNew;
+
+    private final int workers;
+    private final int maxAttempts;
+    private final long retryDelaySeconds;
+    private final long pollIntervalMillis;
+    private final long leaseSeconds;
+    private final long failedRetentionHours;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ai-job-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile boolean stopped;
+
+    /** Callers waiting for a job to finish on this node, by dedupe key. */
+    private final Map<String, CompletableFuture<String>> waiters = new ConcurrentHashMap<>();
+    /** Jobs running on this node per user, and when each user was last picked. Guarded by {@code this}. */
+    private final Map<Long, Integer> runningByUser = new HashMap<>();
+    private final Map<Long, Long> lastServed = new HashMap<>();
+    private long picks;
+    /** Jobs running on this node, whose leases the heartbeat renews. */
+    private final Set<Long> leased = ConcurrentHashMap.newKeySet();
+
+    private final Counter done;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter deduplicated;
+
+    public AiJobQueue(AiJobRepository jobs,
+                      AiResumeEnhancer enhancer,
+                      ProjectRepository projectRepository,
+                      PortfolioRepository portfolioRepository,
+                      PortfolioDataLoader dataLoader,
+                      SectionRepository sectionRepository,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry registry,
+                      @Value("${app.ai.queue.workers:4}") int workers,
+                      @Value("${app.ai.queue.max-attempts:3}") int maxAttempts,
+                      @Value("${app.ai.queue.retry-delay-seconds:30}") long retryDelaySeconds,
+                      @Value("${app.ai.queue.poll-interval-ms:2000}") long pollIntervalMillis,
+                      @Value("${app.ai.queue.lease-seconds:600}") long leaseSeconds,
+                      @Value("${app.ai.queue.failed-retention-hours:168}") long failedRetentionHours) {
+        this.jobs = jobs;
+        this.enhancer = enhancer;
+        this.projectRepository = projectRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.dataLoader = dataLoader;
+        this.sectionRepository = sectionRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.workers = Math.max(1, workers);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelaySeconds = retryDelaySeconds;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.leaseSeconds = leaseSeconds;
+        this.failedRetentionHours = failedRetentionHours;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread t = new Thread(r, "ai-job-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.done = Counter.builder("openfolio.ai.jobs").tag("outcome", "done").register(registry);
+        this.retried = Counter.builder("openfolio.ai.jobs").tag("outcome", "retried").register(registry);
+        this.failed = Counter.builder("openfolio.ai.jobs").tag("outcome", "failed").register(registry);
+        this.deduplicated = Counter.builder("openfolio.ai.jobs").tag("outcome", "deduplicated").register(registry);
+        Gauge.builder("openfolio.ai.jobs.running", this, AiJobQueue::runningCount).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long heartbeat = Math.max(1, leaseSeconds / 3);
+        sweeper.scheduleAtFixedRate(this::renewLeases, heartbeat, heartbeat, TimeUnit.SECONDS);
+        sweeper.scheduleAtFixedRate(this::sweep, 0, Math.max(1, leaseSeconds / 2), TimeUnit.SECONDS);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+        log.info("AI job queue started with {} worker(s)", workers);
+    }
+
+    /**
+     * Queue a rewrite, or join the live job for the same target (promoting it to
+     * {@code priority} if that is more urgent). The future completes with the rewritten
+     * text when the job finishes on this node — {@code null} if there was nothing to
+     * rewrite or the attempt failed. Callers that wait should use a timeout: a job taken
+     * by another node never completes it.
+     *
+     * @param replaceSource also overwrite the visible text, not just the AI columns
+     */
+    public CompletableFuture<String> submit(AiJobType type, Long targetId, Long userId,
+                                            AiJobPriority priority, boolean replaceSource) {
+        String key = AiJob.dedupeKey(type, targetId);
+        CompletableFuture<String> result = waiters.computeIfAbsent(key, k -> new CompletableFuture<>());
+        try {
+            // Own transaction: the insert must be visible to workers now, not when the
+            // caller's transaction commits, and a duplicate must not poison the caller's.
+            requiresNew.executeWithoutResult(tx ->
+                    jobs.saveAndFlush(new AiJob(type, targetId, userId, priority, replaceSource)));
+        } catch (DataIntegrityViolationException duplicate) {
+            requiresNew.executeWithoutResult(tx -> {
+                jobs.promote(key, priority.rank());
+                if (replaceSource) jobs.markReplaceSource(key);
+            });
+            deduplicated.increment();
+        } catch (Exception e) {
+            log.warn("Could not queue AI job {}: {}", key, e.getMessage());
+            complete(key, null);
+        }
+        wakeUp.release(workers);
+        return result;
+    }
+
+    /**
+     * {@link #submit} once the caller's transaction commits, so workers can see the rows
+     * it created. Runs immediately outside a transaction.
+     */
+    public void submitAfterCommit(AiJobType type, Long targetId, Long userId,
+                                  AiJobPriority priority, boolean replaceSource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(type, targetId, userId, priority, replaceSource);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(type, targetId, userId, priority, replaceSource);
+            }
+        });
+    }
+
+    // ─── Workers ─────────────────────────────────────────────────────────────
+
+    private void work() {
+        while (!stopped) {
+            wakeUp.drainPermits();
+            boolean busy;
+            try {
+                busy = runNext();
+            } catch (Exception e) {
+                log.warn("AI job poll failed: {}", e.getMessage());
+                busy = false;
+            }
+            if (busy) continue;
+            try {
+                wakeUp.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /** Claim and run the next job (or batch); false when there was nothing to do. */
+    private boolean runNext() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer top = jobs.findTopRunnablePriority(now);
+        if (top == null) return false;
+        List<Long> users = jobs.findRunnableUsers(top, now);
+        if (users.isEmpty()) return true;  // drained meanwhile — look again
+
+        Long userId = pick(users);
+        try {
+            List<AiJob> runnable = jobs.findRunnableForUser(userId, top, now, PageRequest.of(0, CANDIDATES));
+            if (runnable.isEmpty()) return true;
+            List<AiJob> claimed = claim(runnable.get(0), runnable);
+            if (claimed.isEmpty()) return true;  // lost the race — look again
+            List<Long> ids = claimed.stream().map(AiJob::getId).toList();
+            leased.addAll(ids);
+            try {
+                execute(claimed);
+            } finally {
+                ids.forEach(leased::remove);
+            }
+        } finally {
+            release(userId);
+        }
+        return true;
+    }
+
+    /** The user who is most owed a turn; counts them as running. */
+    private synchronized Long pick(List<Long> users) {
+        Long userId = users.stream()
+                .min(Comparator.<Long>comparingInt(u -> runningByUser.getOrDefault(u, 0))
+                        .thenComparingLong(u -> lastServed.getOrDefault(u, 0L)))
+                .orElseThrow();
+        runningByUser.merge(userId, 1, Integer::sum);
+        lastServed.put(userId, ++picks);
+        return userId;
+    }
+
+    private synchronized void release(Long userId) {
+        runningByUser.computeIfPresent(userId, (u, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private synchronized int runningCount() {
+        return runningByUser.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Claim {@code lead} and, for project jobs, as many of the same user's queued project
+     * jobs at the same priority as fit one batch.
+     */
+    private List<AiJob> claim(AiJob lead, List<AiJob> runnable) {
+        List<AiJob> wanted = new ArrayList<>();
+        wanted.add(lead);
+        if (lead.getType() == AiJobType.PROJECT_DESCRIPTION) {
+            for (AiJob j : runnable) {
+                if (j != lead && j.getType() == lead.getType() && j.getPriority() == lead.getPriority()
+                        && j.getUserId().equals(lead.getUserId())) {
+                    wanted.add(j);
+                }
+            }
+            if (wanted.size() > 1) wanted = firstBatch(wanted);
+        }
+
+        List<AiJob> claimed = new ArrayList<>(wanted.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (AiJob job : wanted) {
+            if (jobs.claim(job.getId(), now) == 1) {
+                job.setStatus(AiJobStatus.RUNNING);
+                job.setStartedAt(now);
+                job.setAttempts(job.getAttempts() + 1);
+                claimed.add(job);
+            }
+        }
+        return claimed;
+    }
+
+    private List<AiJob> firstBatch(List<AiJob> candidates) {
+        Map<Long, Project> projects = new HashMap<>();
+        projectRepository.findAllById(candidates.stream().map(AiJob::getTargetId).toList())
+                .forEach(p -> projects.put(p.getId(), p));
+        List<AiJob> known = candidates.stream().filter(j -> projects.containsKey(j.getTargetId())).toList();
+        if (known.isEmpty()) return candidates.subList(0, 1);
+        int size = enhancer.planBatches(known.stream()
+                .map(j -> input(projects.get(j.getTargetId()))).toList()).get(0).size();
+        return known.subList(0, size);
+    }
+
+    private void execute(List<AiJob> claimed) {
+        try {
+            if (claimed.get(0).getType() == AiJobType.PORTFOLIO_SUMMARY) {
+                runSummary(claimed.get(0));
+            } else {
+                runProjects(claimed);
+            }
+        } catch (Exception e) {
+            log.warn("AI job failed for {} target(s): {}", claimed.size(), e.getMessage());
+            for (AiJob job : claimed) retryOrFail(job, e.toString());
+        }
+    }
+
+    private void runProjects(List<AiJob> claimed) {
+        List<AiJob> pending = new ArrayList<>();
+        List<Project> projects = new ArrayList<>();
+        for (AiJob job : claimed) {
+            Project p = projectRepository.findById(job.getTargetId()).orElse(null);
+            if (p == null || p.getDescription() == null || p.getDescription().isBlank()) {
+                finish(job, null);  // deleted, or nothing to rewrite
+            } else if (!job.isReplaceSource() && hasText(p.getAiEnhancedDescription())) {
+                finish(job, p.getAiEnhancedDescription());
+            } else {
+                pending.add(job);
+                projects.add(p);
+            }
+        }
+        if (pending.isEmpty()) return;
+
+        List<String> results = enhancer.enhanceProjectBatch(projects.stream().map(AiJobQueue::input).toList());
+        for (int i = 0; i < pending.size(); i++) {
+            AiJob job = pending.get(i);
+            String enhanced = results.get(i);
+            if (!hasText(enhanced)) {
+                retryOrFail(job, "model returned no text");
+                continue;
+            }
+            Project p = projects.get(i);
+            p.setAiEnhancedDescription(enhanced);
+            p.setAiEnhancedAt(LocalDateTime.now());
+            if (job.isReplaceSource()) p.setDescription(enhanced);
+            projectRepository.save(p);
+            finish(job, enhanced);
+        }
+    }
+
+    private void runSummary(AiJob job) {
+        Portfolio portfolio = portfolioRepository.findById(job.getTargetId()).orElse(null);
+        if (portfolio == null) {
+            finish(job, null);
+            return;
+        }
+        if (!job.isReplaceSource() && hasText(portfolio.getAiEnhancedSummary())) {
+            finish(job, portfolio.getAiEnhancedSummary());
+            return;
+        }
+        PortfolioBundle bundle = dataLoader.load(portfolio.getId(), job.getUserId());
+        if (!hasText(bundle.aboutContent())) {
+            finish(job, null);
+            return;
+        }
+
+        String displayName = bundle.user() != null && bundle.user().getDisplayName() != null
+                ? bundle.user().getDisplayName() : "Developer";
+        List<String> topLangs = bundle.skills().stream().limit(6).map(Skill::getName).toList();
+        String enhanced = enhancer.enhanceProfessionalSummary(displayName, bundle.aboutContent(), topLangs);
+        if (!hasText(enhanced)) {
+            retryOrFail(job, "model returned no text");
+            return;
+        }
+        portfolio.setAiEnhancedSummary(enhanced);
+        portfolio.setAiEnhancedAt(LocalDateTime.now());
+        portfolioRepository.save(portfolio);
+        if (job.isReplaceSource()) {
+            sectionRepository.findByPortfolioIdAndType(portfolio.getId(), SectionType.ABOUT)
+                    .ifPresent(section -> {
+                        section.setContent(enhanced);
+                        sectionRepository.save(section);
+                    });
+        }
+        finish(job, enhanced);
+    }
+
+    private void finish(AiJob job, String result) {
+        jobs.deleteById(job.getId());
+        done.increment();
+        complete(job.getDedupeKey(), result);
+    }
+
+    /**
+     * Requeue with a growing delay, or give up after {@code max-attempts}. Waiters are
+     * released either way — an interactive export shouldn't sit out the retry delay.
+     */
+    private void retryOrFail(AiJob job, String error) {
+        String message = error.length() > 500 ? error.substring(0, 500) : error;
+        try {
+            if (job.getAttempts() < maxAttempts) {
+                jobs.reschedule(job.getId(),
+                        LocalDateTime.now().plusSeconds(retryDelaySeconds * job.getAttempts()), message);
+                retried.increment();
+            } else {
+                jobs.markFailed(job.getId(), LocalDateTime.now(), message);
+                failed.increment();
+                log.warn("Giving up on AI job {} after {} attempt(s): {}", job.getDedupeKey(), job.getAttempts(), message);
+            }
+        } catch (Exception e) {
+            log.warn("Could not update AI job {}: {}", job.getId(), e.getMessage());
+        }
+        complete(job.getDedupeKey(), null);
+    }
+
+    private void complete(String key, String result) {
+        CompletableFuture<String> waiter = waiters.remove(key);
+        if (waiter != null) waiter.complete(result);
+    }
+
+    /** Keep the leases of jobs running here from expiring, however long their Ollama calls take. */
+    void renewLeases() {
+        if (leased.isEmpty()) return;
+        try {
+            jobs.renewLeases(List.copyOf(leased), LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("AI job lease renewal failed: {}", e.getMessage());
+        }
+    }
+
+    /** Requeue jobs abandoned by dead workers and forget old failures. */
+    void sweep() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int requeued = jobs.requeueStale(now.minusSeconds(leaseSeconds));
+            jobs.deleteFailedBefore(now.minusHours(failedRetentionHours));
+            if (requeued > 0) {
+                log.info("Requeued {} abandoned AI job(s)", requeued);
+                wakeUp.release(workers);
+            }
+        } catch (Exception e) {
+            log.warn("AI job sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private static AiResumeEnhancer.ProjectInput input(Project p) {
+        return new AiResumeEnhancer.ProjectInput(p.getName(), p.getDescription(),
+                p.getLanguages() != null ? p.getLanguages() : List.of(), p.getStars());
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stopped = true;
+        sweeper.shutdownNow();
+        executor.shutdownNow();
+    }
+}
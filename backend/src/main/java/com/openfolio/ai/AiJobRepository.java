@@ -0,0 +1,81 @@
+package com.openfolio.ai;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AiJobRepository extends JpaRepository<AiJob, Long> {
+
+    /** The most urgent priority among runnable jobs; null when nothing is runnable. */
+    @Query("SELECT MIN(j.priority) FROM AiJob j WHERE j.status = com.openfolio.ai.AiJobStatus.QUEUED "
+            + "AND j.runAfter <= :now")
+    Integer findTopRunnablePriority(@Param("now") LocalDateTime now);
+
+    /** Users with runnable jobs at {@code priority}. */
+    @Query("SELECT DISTINCT j.userId FROM AiJob j WHERE j.status = com.openfolio.ai.AiJobStatus.QUEUED "
+            + "AND j.priority = :priority AND j.runAfter <= :now")
+    List<Long> findRunnableUsers(@Param("priority") int priority, @Param("now") LocalDateTime now);
+
+    /** One user's runnable jobs at {@code priority}, oldest first. */
+    @Query("SELECT j FROM AiJob j WHERE j.status = com.openfolio.ai.AiJobStatus.QUEUED "
+            + "AND j.priority = :priority AND j.userId = :userId AND j.runAfter <= :now ORDER BY j.id")
+    List<AiJob> findRunnableForUser(@Param("userId") Long userId, @Param("priority") int priority,
+                                    @Param("now") LocalDateTime now, Pageable page);
+
+    /** Take a queued job; 0 if another worker (or node) got it first. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiJob j SET j.status = com.openfolio.ai.AiJobStatus.RUNNING, j.startedAt = :now, "
+            + "j.attempts = j.attempts + 1 WHERE j.id = :id AND j.status = com.openfolio.ai.AiJobStatus.QUEUED")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiJob j SET j.priority = :priority WHERE j.dedupeKey = :key AND j.priority > :priority")
+    int promote(@Param("key") String dedupeKey, @Param("priority") int priority);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiJob j SET j.replaceSource = true WHERE j.dedupeKey = :key")
+    int markReplaceSource(@Param("key") String dedupeKey);
+
+    /** Back to the queue after a failed attempt, not to be retried before {@code runAfter}. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiJob j SET j.status = com.openfolio.ai.AiJobStatus.QUEUED, j.runAfter = :runAfter, "
+            + "j.lastError = :error WHERE j.id = :id")
+    int reschedule(@Param("id") Long id, @Param("runAfter") LocalDateTime runAfter, @Param("error") String error);
+
+    /** Give up on a job; clearing the dedupe key lets the same work be submitted again. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiJob j SET j.status = com.openfolio.ai.AiJobStatus.FAILED, j.dedupeKey = null, "
+            + "j.finishedAt = :now, j.lastError = :error WHERE j.id = :id")
+    int markFailed(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("error") String error);
+
+    /** Heartbeat: push back the lease of jobs still running on this node. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiJob j SET j.startedAt = :now WHERE j.id IN :ids "
+            + "AND j.status = com.openfolio.ai.AiJobStatus.RUNNING")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /** Put back jobs whose worker died (e.g. the server restarted mid-job). */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AiJob j SET j.status = com.openfolio.ai.AiJobStatus.QUEUED WHERE "
+            + "j.status = com.openfolio.ai.AiJobStatus.RUNNING AND j.startedAt < :before")
+    int requeueStale(@Param("before") LocalDateTime before);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AiJob j WHERE j.status = com.openfolio.ai.AiJobStatus.FAILED AND j.finishedAt < :before")
+    int deleteFailedBefore(@Param("before") LocalDateTime before);
+}
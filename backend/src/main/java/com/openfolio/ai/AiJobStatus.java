@@ -0,0 +1,8 @@
+package com.openfolio.ai;
+
+/** Jobs that succeed are deleted, so there is no DONE state. */
+public enum AiJobStatus {
+    QUEUED,
+    RUNNING,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.openfolio.ai;
+
+/** What an {@link AiJob} rewrites; {@code targetId} is the project or portfolio id. */
+public enum AiJobType {
+    PROJECT_DESCRIPTION,
+    PORTFOLIO_SUMMARY
+}
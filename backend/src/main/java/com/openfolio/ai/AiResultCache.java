@@ -0,0 +1,160 @@
+package com.openfolio.ai;
+
+import com.openfolio.shared.text.TextNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI answers keyed by what they were generated from rather than by the row they were
+ * saved on, so the same repo description is only ever sent to the model once — across
+ * portfolios, and across re-imports that recreate the project rows.
+ *
+ * <p>The key is the SHA-256 of the model, the prompt version, the kind of answer and the
+ * whitespace-normalised inputs. Bumping a prompt version (or switching models) therefore
+ * misses every old entry; those rows are deleted at startup. Entries also expire after
+ * {@code app.ai.cache.ttl-days}. A small in-process LRU of {@code max-entries} sits in
+ * front of the {@code ai_result_cache} table. Database errors only cost a cache miss —
+ * AI enhancement never fails because of the cache.
+ */
+@Component
+public class AiResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AiResultCache.class);
+
+    /** A lookup key; {@link #hash} is the primary key of the stored row. */
+    public record Key(String hash, String kind, int promptVersion) {}
+
+    private record Entry(String result, LocalDateTime expiresAt) {}
+
+    private final AiResultEntryRepository repository;
+    private final String model;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public AiResultCache(AiResultEntryRepository repository,
+                         MeterRegistry registry,
+                         @Value("${app.ai.cache.max-entries:2000}") int maxEntries,
+                         @Value("${app.ai.cache.ttl-days:30}") long ttlDays) {
+        this.repository = repository;
+        this.model = OllamaClient.MODEL;
+        this.maxEntries = maxEntries;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.memoryHits = Counter.builder("openfolio.ai.cache").tag("result", "memory").register(registry);
+        this.databaseHits = Counter.builder("openfolio.ai.cache").tag("result", "database").register(registry);
+        this.misses = Counter.builder("openfolio.ai.cache").tag("result", "miss").register(registry);
+        Gauge.builder("openfolio.ai.cache.entries", this, AiResultCache::size).register(registry);
+    }
+
+    /**
+     * The key for a {@code kind} of answer at {@code promptVersion} generated from
+     * {@code inputs}. Inputs are compared with surrounding whitespace stripped and inner
+     * runs collapsed; null counts as empty.
+     */
+    public Key key(String kind, int promptVersion, List<String> inputs) {
+        StringBuilder material = new StringBuilder(256)
+                .append(model).append('\0').append(promptVersion).append('\0').append(kind);
+        for (String input : inputs) {
+            String normalised = TextNormalizer.collapseWhitespace(input);
+            // Length-prefixed so no two input lists produce the same material.
+            material.append('\0').append(normalised.length()).append(':').append(normalised);
+        }
+        return new Key(sha256(material.toString()), kind, promptVersion);
+    }
+
+    /** The cached answer for {@code key}, or {@code null} on a miss. */
+    public String get(Key key) {
+        LocalDateTime now = LocalDateTime.now();
+        Entry cached = lookup(key.hash());
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            memoryHits.increment();
+            return cached.result();
+        }
+        try {
+            AiResultEntry row = repository.findById(key.hash()).orElse(null);
+            if (row != null && row.getExpiresAt().isAfter(now)) {
+                databaseHits.increment();
+                remember(key.hash(), new Entry(row.getResult(), row.getExpiresAt()));
+                return row.getResult();
+            }
+        } catch (Exception e) {
+            log.warn("AI cache lookup failed: {}", e.getMessage());
+        }
+        misses.increment();
+        return null;
+    }
+
+    /** Cache a non-blank answer for {@code key}; blank or null answers are never cached. */
+    public void put(Key key, String result) {
+        if (result == null || result.isBlank()) return;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        remember(key.hash(), new Entry(result, expiresAt));
+        try {
+            repository.save(new AiResultEntry(key.hash(), key.kind(), model, key.promptVersion(),
+                    result, now, expiresAt));
+        } catch (Exception e) {
+            log.warn("AI cache write failed: {}", e.getMessage());
+        }
+    }
+
+    /** Delete expired rows and rows whose key used another model or prompt version. */
+    public void purge(Map<String, Integer> promptVersions) {
+        try {
+            int removed = repository.deleteExpired(LocalDateTime.now());
+            for (Map.Entry<String, Integer> kind : promptVersions.entrySet()) {
+                removed += repository.deleteStale(kind.getKey(), model, kind.getValue());
+            }
+            if (removed > 0) log.info("Purged {} expired or outdated AI cache row(s)", removed);
+        } catch (Exception e) {
+            log.warn("AI cache purge failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized Entry lookup(String hash) {
+        return entries.get(hash);
+    }
+
+    private synchronized void remember(String hash, Entry entry) {
+        if (maxEntries <= 0) return;
+        entries.put(hash, entry);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
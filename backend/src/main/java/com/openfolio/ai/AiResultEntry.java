@@ -0,0 +1,48 @@
+package com.openfolio.ai;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ai_result_cache")
+@Getter @Setter @NoArgsConstructor
+public class AiResultEntry {
+
+    /** SHA-256 of model, prompt version, kind and normalised inputs. */
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false, length = 32)
+    private String kind;
+
+    @Column(nullable = false, length = 64)
+    private String model;
+
+    @Column(name = "prompt_version", nullable = false)
+    private int promptVersion;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String result;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public AiResultEntry(String cacheKey, String kind, String model, int promptVersion,
+                         String result, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.cacheKey = cacheKey;
+        this.kind = kind;
+        this.model = model;
+        this.promptVersion = promptVersion;
+        this.result = result;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,23 @@
+package com.openfolio.ai;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface AiResultEntryRepository extends JpaRepository<AiResultEntry, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AiResultEntry e WHERE e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /** Drop results of another model or an older prompt for {@code kind}; their keys can never match again. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AiResultEntry e WHERE e.kind = :kind AND (e.model <> :model OR e.promptVersion <> :version)")
+    int deleteStale(@Param("kind") String kind, @Param("model") String model, @Param("version") int version);
+}
@@ -1,10 +1,20 @@
 package com.openfolio.ai;
 
+import com.openfolio.shared.text.TextNormalizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Uses local Ollama (qwen2.5:14b) to transform raw GitHub data into
@@ -23,10 +33,85 @@ public class AiResumeEnhancer {
 
     private static final Logger log = LoggerFactory.getLogger(AiResumeEnhancer.class);
 
+    private static final String PROJECT_SYSTEM_PROMPT = """
+            You are a professional resume writer who writes for Enhancv, a premium resume platform.
+            Convert a GitHub project into professional resume bullet points.
+
+            STYLE REQUIREMENTS (match Enhancv exactly):
+            Write 3-5 bullet points about this project. Each bullet point should be on a separate line.
+
+            BULLET POINT FORMAT:
+            - Each bullet starts with a strong past-tense ACTION VERB:
+              Developed, Engineered, Built, Architected, Designed, Implemented, Created,
+              Integrated, Automated, Optimized, Deployed, Configured, Established, Maintained
+            - Each bullet is ONE sentence, 15-25 words.
+            - Mention specific technologies/languages naturally within the bullet.
+            - When possible, include a measurable result or scope:
+              "...reducing load time by 40%", "...handling 10K+ requests per second",
+              "...used by 500+ developers", "...garnering N stars on GitHub"
+            - For open-source projects with stars, include the star count in one bullet.
+
+            EXAMPLE OUTPUT (3 bullets for a chat application):
+            Engineered a real-time chat engine using WebSocket connections and Node.js, supporting concurrent messaging across multiple channels.
+            Implemented end-to-end encryption and user authentication using JWT tokens, ensuring secure communication for all participants.
+            Deployed the application on AWS with Docker containerization, achieving 99.9% uptime and garnering 150 stars on GitHub.
+
+            RULES:
+            - Do NOT start any bullet with the project name.
+            - Do NOT use bullet markers (-, *, •) — just write each sentence on its own line.
+            - Do NOT add numbering.
+            - Do NOT use markdown or any formatting.
+            - Do NOT use first person (I, my, we).
+            - Be specific. Do NOT be vague or generic.
+            - If you don't have enough info, make reasonable inferences from the project name and languages.
+            - Output ONLY the bullet point sentences, one per line. Nothing else.
+            """;
+
+    /** Appended to the project prompt when several projects share one request. */
+    private static final String BATCH_FORMAT_PROMPT = """
+
+            BATCH FORMAT:
+            You will receive several projects, each introduced by a header line "### PROJECT <n>".
+            Answer for EVERY project, in the same order, repeating its header line exactly
+            ("### PROJECT <n>") on its own line, followed by that project's bullet point sentences,
+            one per line. Never mix bullets of different projects.
+            """;
+
+    private static final Pattern BATCH_HEADER =
+            Pattern.compile("(?im)^\\W*#{1,6}\\s*PROJECT\\s+(\\d+)\\W*$");
+    /** Header line plus separators per project in a batched prompt. */
+    private static final int BATCH_HEADER_TOKENS = 8;
+
+    static final String SUMMARY = "summary";
+    static final String PROJECT = "project";
+    /** Bump when the corresponding prompt changes, so cached answers are regenerated. */
+    private static final int SUMMARY_PROMPT_VERSION = 1;
+    private static final int PROJECT_PROMPT_VERSION = 1;
+
     private final OllamaClient ollama;
+    private final AiResultCache cache;
+    private final int batchMaxSize;
+    private final int tokensPerProject;
+    private final int batchMaxOutputTokens;
+    private final int contextTokens;
 
-    public AiResumeEnhancer(OllamaClient ollama) {
+    public AiResumeEnhancer(OllamaClient ollama,
+                            AiResultCache cache,
+                            @Value("${app.ai.batch.max-size:8}") int batchMaxSize,
+                            @Value("${app.ai.batch.tokens-per-project:220}") int tokensPerProject,
+                            @Value("${app.ai.batch.max-output-tokens:1800}") int batchMaxOutputTokens,
+                            @Value("${app.ai.context-tokens:4096}") int contextTokens) {
         this.ollama = ollama;
+        this.cache = cache;
+        this.batchMaxSize = Math.max(1, batchMaxSize);
+        this.tokensPerProject = tokensPerProject;
+        this.batchMaxOutputTokens = batchMaxOutputTokens;
+        this.contextTokens = contextTokens;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeOutdatedResults() {
+        cache.purge(Map.of(SUMMARY, SUMMARY_PROMPT_VERSION, PROJECT, PROJECT_PROMPT_VERSION));
     }
 
     // ─── Professional summary ────────────────────────────────────────────────
@@ -38,6 +123,17 @@ public class AiResumeEnhancer {
     public String enhanceProfessionalSummary(String name,
                                               String rawReadme,
                                               List<String> topLanguages) {
+        return enhanceProfessionalSummary(name, rawReadme, topLanguages, null);
+    }
+
+    /**
+     * As above, streaming the raw model output to {@code onToken} while it generates
+     * (null to wait for the whole answer). The return value is the cleaned-up summary.
+     */
+    public String enhanceProfessionalSummary(String name,
+                                              String rawReadme,
+                                              List<String> topLanguages,
+                                              Consumer<String> onToken) {
         String system = """
                 You are a professional resume writer who writes for Enhancv, a premium resume platform.
                 Write a professional summary section for a software engineer's resume.
@@ -68,6 +164,11 @@ public class AiResumeEnhancer {
         String truncatedReadme = rawReadme != null && rawReadme.length() > 2000
                 ? rawReadme.substring(0, 2000) + "..." : (rawReadme != null ? rawReadme : "");
 
+        AiResultCache.Key key = cache.key(SUMMARY, SUMMARY_PROMPT_VERSION,
+                List.of(String.valueOf(name), String.join(", ", topLanguages), truncatedReadme));
+        String cached = cache.get(key);
+        if (cached != null) return replay(cached, onToken);
+
         String user = String.format(
                 "Developer name: %s\nTop programming languages: %s\nGitHub profile data:\n%s\n\n"
                 + "Write the professional summary now.",
@@ -76,12 +177,13 @@ public class AiResumeEnhancer {
                 truncatedReadme
         );
 
-        String result = ollama.chat(system, user, 350);
+        String result = generate(system, user, 350, onToken);
         if (result != null) {
-            result = result.replaceAll("(?i)^" + java.util.regex.Pattern.quote(name) + "\\s+(is|has)\\s+", "");
+            result = TextNormalizer.stripLeadingSubject(result, name);
             if (result.startsWith("\"") && result.endsWith("\""))
                 result = result.substring(1, result.length() - 1).trim();
             log.info("AI summary: {} chars for {}", result.length(), name);
+            cache.put(key, result);
         }
         return result;
     }
@@ -98,67 +200,195 @@ public class AiResumeEnhancer {
                                              String rawDescription,
                                              List<String> languages,
                                              int stars) {
-        String system = """
-                You are a professional resume writer who writes for Enhancv, a premium resume platform.
-                Convert a GitHub project into professional resume bullet points.
+        return enhanceProjectDescription(projectName, rawDescription, languages, stars, null);
+    }
 
-                STYLE REQUIREMENTS (match Enhancv exactly):
-                Write 3-5 bullet points about this project. Each bullet point should be on a separate line.
-
-                BULLET POINT FORMAT:
-                - Each bullet starts with a strong past-tense ACTION VERB:
-                  Developed, Engineered, Built, Architected, Designed, Implemented, Created,
-                  Integrated, Automated, Optimized, Deployed, Configured, Established, Maintained
-                - Each bullet is ONE sentence, 15-25 words.
-                - Mention specific technologies/languages naturally within the bullet.
-                - When possible, include a measurable result or scope:
-                  "...reducing load time by 40%", "...handling 10K+ requests per second",
-                  "...used by 500+ developers", "...garnering N stars on GitHub"
-                - For open-source projects with stars, include the star count in one bullet.
-
-                EXAMPLE OUTPUT (3 bullets for a chat application):
-                Engineered a real-time chat engine using WebSocket connections and Node.js, supporting concurrent messaging across multiple channels.
-                Implemented end-to-end encryption and user authentication using JWT tokens, ensuring secure communication for all participants.
-                Deployed the application on AWS with Docker containerization, achieving 99.9% uptime and garnering 150 stars on GitHub.
-
-                RULES:
-                - Do NOT start any bullet with the project name.
-                - Do NOT use bullet markers (-, *, •) — just write each sentence on its own line.
-                - Do NOT add numbering.
-                - Do NOT use markdown or any formatting.
-                - Do NOT use first person (I, my, we).
-                - Be specific. Do NOT be vague or generic.
-                - If you don't have enough info, make reasonable inferences from the project name and languages.
-                - Output ONLY the bullet point sentences, one per line. Nothing else.
-                """;
+    /**
+     * As above, streaming the raw model output to {@code onToken} while it generates
+     * (null to wait for the whole answer). The return value is the cleaned-up bullets.
+     */
+    public String enhanceProjectDescription(String projectName,
+                                             String rawDescription,
+                                             List<String> languages,
+                                             int stars,
+                                             Consumer<String> onToken) {
+        ProjectInput project = new ProjectInput(projectName, rawDescription, languages, stars);
+        AiResultCache.Key key = projectKey(project);
+        String cached = cache.get(key);
+        if (cached != null) return replay(cached, onToken);
 
-        String desc = rawDescription != null && !rawDescription.isBlank()
-                ? rawDescription : "No description provided";
+        String result = generateProject(project, onToken);
+        cache.put(key, result);
+        return result;
+    }
 
-        String user = String.format(
-                "Project name: %s\nProgramming languages: %s\nGitHub stars: %d\nOriginal description: %s\n\n"
-                + "Write the resume bullet points now.",
-                projectName,
+    private String generateProject(ProjectInput project, Consumer<String> onToken) {
+        String user = projectFacts(project) + "\nWrite the resume bullet points now.";
+
+        String result = generate(PROJECT_SYSTEM_PROMPT, user, 400, onToken);
+        if (result != null) {
+            result = cleanBullets(result);
+            log.debug("AI project desc: {} lines for {}", result.split("\n").length, project.name());
+        }
+        return result;
+    }
+
+    // ─── Batched project descriptions ────────────────────────────────────────
+
+    /** The raw data one project's bullets are written from. */
+    public record ProjectInput(String name, String description, List<String> languages, int stars) {}
+
+    /**
+     * Split projects into batches for {@link #enhanceProjectBatch}. A batch grows until
+     * the next project would push the estimated prompt plus expected output past the
+     * model's context, the expected output past the output budget, or the batch past
+     * {@code max-size}. Every batch holds at least one project.
+     */
+    public List<List<ProjectInput>> planBatches(List<ProjectInput> projects) {
+        int systemTokens = estimateTokens(PROJECT_SYSTEM_PROMPT + BATCH_FORMAT_PROMPT);
+        List<List<ProjectInput>> batches = new ArrayList<>();
+        List<ProjectInput> current = new ArrayList<>();
+        int promptTokens = systemTokens;
+        for (ProjectInput project : projects) {
+            int cost = estimateTokens(projectFacts(project)) + BATCH_HEADER_TOKENS;
+            int outputAfter = (current.size() + 1) * tokensPerProject;
+            boolean fits = current.size() < batchMaxSize
+                    && outputAfter <= batchMaxOutputTokens
+                    && promptTokens + cost + outputAfter <= contextTokens;
+            if (!current.isEmpty() && !fits) {
+                batches.add(current);
+                current = new ArrayList<>();
+                promptTokens = systemTokens;
+            }
+            current.add(project);
+            promptTokens += cost;
+        }
+        if (!current.isEmpty()) batches.add(current);
+        return batches;
+    }
+
+    /**
+     * Bullets for several projects from a single Ollama request: the system prompt is
+     * sent and evaluated once, the projects are numbered in the user message and the
+     * answer is split back on the numbered headers. Projects already in the
+     * {@link AiResultCache} are answered from it and left out of the request; projects
+     * missing from an answer are retried one by one. When there is no answer at all
+     * (Ollama down, timed out or turned away) nothing is retried here — that would only
+     * multiply the load on a struggling server; the caller or the job queue retries later.
+     *
+     * @return cleaned bullets per project, in input order; {@code null} where the model failed
+     */
+    public List<String> enhanceProjectBatch(List<ProjectInput> batch) {
+        List<String> results = new ArrayList<>(Collections.nCopies(batch.size(), (String) null));
+        List<AiResultCache.Key> keys = new ArrayList<>(batch.size());
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            AiResultCache.Key key = projectKey(batch.get(i));
+            keys.add(key);
+            results.set(i, cache.get(key));
+            if (results.get(i) == null) misses.add(i);
+        }
+        if (misses.isEmpty()) return results;
+        if (misses.size() == 1) {
+            int i = misses.get(0);
+            results.set(i, generateProject(batch.get(i), null));
+            cache.put(keys.get(i), results.get(i));
+            return results;
+        }
+
+        StringBuilder user = new StringBuilder();
+        for (int n = 0; n < misses.size(); n++) {
+            user.append("### PROJECT ").append(n + 1).append('\n')
+                .append(projectFacts(batch.get(misses.get(n)))).append('\n');
+        }
+        user.append("Write the resume bullet points for all ").append(misses.size())
+            .append(" projects now.");
+
+        String answer = ollama.chat(PROJECT_SYSTEM_PROMPT + BATCH_FORMAT_PROMPT, user.toString(),
+                tokensPerProject * misses.size());
+        if (answer == null) {
+            log.info("AI batch: no answer for {} projects — left for a later retry", misses.size());
+            return results;
+        }
+        List<String> sections = splitBatchAnswer(answer, misses.size());
+
+        int retried = 0;
+        for (int n = 0; n < misses.size(); n++) {
+            int i = misses.get(n);
+            String bullets = sections.get(n) != null ? cleanBullets(sections.get(n)) : null;
+            if (bullets == null || bullets.isBlank()) {
+                bullets = generateProject(batch.get(i), null);
+                retried++;
+            }
+            results.set(i, bullets);
+            cache.put(keys.get(i), bullets);
+        }
+        log.info("AI batch: {} projects in one request ({} cached, {} retried singly)",
+                misses.size(), batch.size() - misses.size(), retried);
+        return results;
+    }
+
+    /**
+     * The text under each "### PROJECT n" header (n is 1-based), or {@code null} for
+     * headers the model left out. Anything before the first header is ignored.
+     */
+    static List<String> splitBatchAnswer(String answer, int count) {
+        List<String> sections = new ArrayList<>(Collections.nCopies(count, (String) null));
+        if (answer == null) return sections;
+        Matcher m = BATCH_HEADER.matcher(answer);
+        int index = -1, start = 0;
+        while (m.find()) {
+            if (index >= 0) sections.set(index, answer.substring(start, m.start()).strip());
+            int n = Integer.parseInt(m.group(1));
+            index = n >= 1 && n <= count && sections.get(n - 1) == null ? n - 1 : -1;
+            start = m.end();
+        }
+        if (index >= 0) sections.set(index, answer.substring(start).strip());
+        return sections;
+    }
+
+    private static String projectFacts(ProjectInput p) {
+        String desc = p.description() != null && !p.description().isBlank()
+                ? p.description() : "No description provided";
+        List<String> languages = p.languages() != null ? p.languages() : List.of();
+        return String.format(
+                "Project name: %s\nProgramming languages: %s\nGitHub stars: %d\nOriginal description: %s\n",
+                p.name(),
                 languages.isEmpty() ? "unknown" : String.join(", ", languages),
-                stars,
+                p.stars(),
                 desc
         );
+    }
 
-        String result = ollama.chat(system, user, 400);
-        if (result != null) {
-            // Clean up: remove any bullet markers, numbering, or markdown
-            result = result.lines()
-                    .map(line -> line.replaceAll("^\\d+[.)\\s]+", ""))  // remove numbering
-                    .map(line -> line.replaceAll("^[-•*>]+\\s*", ""))   // remove bullet markers
-                    .map(line -> line.replaceAll("\\*+", ""))           // remove asterisks
-                    .map(String::trim)
-                    .filter(line -> !line.isBlank())
-                    .collect(java.util.stream.Collectors.joining("\n"));
-            // Remove surrounding quotes
-            if (result.startsWith("\"") && result.endsWith("\""))
-                result = result.substring(1, result.length() - 1).trim();
-            log.debug("AI project desc: {} lines for {}", result.split("\n").length, projectName);
-        }
+    private AiResultCache.Key projectKey(ProjectInput p) {
+        List<String> languages = p.languages() != null ? p.languages() : List.of();
+        return cache.key(PROJECT, PROJECT_PROMPT_VERSION,
+                List.of(String.valueOf(p.name()), String.join(", ", languages),
+                        Integer.toString(p.stars()), String.valueOf(p.description())));
+    }
+
+    /** A cached answer handed to a streaming caller as one chunk, so it still sees the text. */
+    private static String replay(String cached, Consumer<String> onToken) {
+        if (onToken != null) onToken.accept(cached);
+        return cached;
+    }
+
+    /** Remove bullet markers, numbering, markdown and surrounding quotes. */
+    private static String cleanBullets(String raw) {
+        String result = TextNormalizer.cleanBulletLines(raw);
+        if (result.startsWith("\"") && result.endsWith("\""))
+            result = result.substring(1, result.length() - 1).trim();
         return result;
     }
+
+    /** Rough token count for English prompt text (~4 characters per token). */
+    private static int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+
+    private String generate(String system, String user, int maxTokens, Consumer<String> onToken) {
+        return onToken != null
+                ? ollama.chatStream(system, user, maxTokens, onToken)
+                : ollama.chat(system, user, maxTokens);
+    }
 }
@@ -1,21 +1,35 @@
 package com.openfolio.ai;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openfolio.shared.text.TextNormalizer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
- * Thin client for the local Ollama API running on port 11434.
+ * Thin client for the Ollama API, sent to one of the servers in {@link OllamaEndpointPool}.
  * Uses Java 21 built-in HttpClient — no extra dependencies needed.
  * Model: qwen2.5:14b (best available for professional text generation).
  */
@@ -24,14 +38,33 @@ public class OllamaClient {
 
     private static final Logger log = LoggerFactory.getLogger(OllamaClient.class);
     public static final String MODEL = "qwen2.5:14b";
-    private static final String OLLAMA_URL = "http://localhost:11434/api/chat";
     private static final Duration TIMEOUT = Duration.ofSeconds(120);
 
     private final HttpClient http;
     private final ObjectMapper mapper;
+    private final OllamaLimiter limiter;
+    private final OllamaEndpointPool pool;
+    private final int contextTokens;
+    private final Duration streamIdle;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ollama-stream-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
 
-    public OllamaClient(ObjectMapper mapper) {
+    /** A response and the endpoint lease it was received on. */
+    private record Exchange<T>(OllamaEndpointPool.Lease lease, HttpResponse<T> response) {}
+
+    public OllamaClient(ObjectMapper mapper,
+                        OllamaLimiter limiter,
+                        OllamaEndpointPool pool,
+                        @Value("${app.ai.context-tokens:4096}") int contextTokens,
+                        @Value("${app.ai.stream-idle-seconds:30}") long streamIdleSeconds) {
         this.mapper = mapper;
+        this.limiter = limiter;
+        this.pool = pool;
+        this.contextTokens = contextTokens;
+        this.streamIdle = Duration.ofSeconds(Math.max(1, streamIdleSeconds));
         this.http = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
@@ -39,52 +72,252 @@ public class OllamaClient {
 
     /**
      * Send a chat request to Ollama and return the assistant's text response.
-     * Returns {@code null} silently if Ollama is unavailable or times out.
+     * Returns {@code null} silently if Ollama is unavailable or times out, or if the
+     * {@link OllamaLimiter} turns the call away.
      */
     public String chat(String systemPrompt, String userMessage, int maxTokens) {
+        OllamaLimiter.Permit permit = limiter.acquire();
+        if (permit == null) return null;
+        Exchange<String> exchange = null;
         try {
-            Map<String, Object> body = Map.of(
-                    "model", MODEL,
-                    "stream", false,
-                    "options", Map.of("num_predict", maxTokens),
-                    "messages", List.of(
-                            Map.of("role", "system", "content", systemPrompt),
-                            Map.of("role", "user",   "content", userMessage)
-                    )
-            );
-
-            String json = mapper.writeValueAsString(body);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(OLLAMA_URL))
-                    .timeout(TIMEOUT)
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(json))
-                    .build();
-
-            HttpResponse<String> response = http.send(request,
+            exchange = send(request(systemPrompt, userMessage, maxTokens, false),
                     HttpResponse.BodyHandlers.ofString());
+            if (exchange == null) return null;
+            HttpResponse<String> response = exchange.response();
 
             if (response.statusCode() != 200) {
-                log.warn("Ollama returned HTTP {}", response.statusCode());
+                log.warn("Ollama at {} returned HTTP {}", exchange.lease().endpoint().name(), response.statusCode());
+                endWithStatus(permit, exchange.lease(), response.statusCode());
                 return null;
             }
+            exchange.lease().succeeded();
 
             JsonNode root = mapper.readTree(response.body());
             JsonNode content = root.path("message").path("content");
+            succeeded(permit, root, content.asText(""));
             if (content.isMissingNode()) return null;
+            return finish(content.asText());
+
+        } catch (java.net.ConnectException e) {
+            permit.failed();
+            log.warn("No Ollama endpoint reachable — AI enhancement skipped");
+        } catch (JsonProcessingException e) {
+            log.warn("Ollama error: {}", e.getMessage());
+        } catch (IOException e) {
+            if (exchange != null) exchange.lease().failed();
+            permit.failed();
+            log.warn("Ollama error: {}", e.getMessage());
+        } catch (Exception e) {
+            log.warn("Ollama error: {}", e.getMessage());
+        } finally {
+            if (exchange != null) exchange.lease().release();
+            permit.release();
+        }
+        return null;
+    }
+
+    /**
+     * Like {@link #chat}, but with {@code "stream": true}: Ollama's NDJSON chunks are read
+     * line by line as they arrive and each content delta is handed to {@code onToken}
+     * straight away. Returns the complete, cleaned text once the model is done, or
+     * {@code null} if Ollama is unavailable, fails mid-stream or the limiter turns the
+     * call away. A stream that sends nothing for {@code app.ai.stream-idle-seconds}, or
+     * ends without Ollama's final message, counts as a failure.
+     */
+    public String chatStream(String systemPrompt, String userMessage, int maxTokens,
+                             Consumer<String> onToken) {
+        OllamaLimiter.Permit permit = limiter.acquire();
+        if (permit == null) return null;
+        Exchange<Stream<String>> exchange = null;
+        try {
+            exchange = send(request(systemPrompt, userMessage, maxTokens, true),
+                    HttpResponse.BodyHandlers.ofLines());
+            if (exchange == null) return null;
+            HttpResponse<Stream<String>> response = exchange.response();
 
-            String text = content.asText().trim();
-            // Strip any markdown fences the model might include
-            text = text.replaceAll("(?m)^```[a-z]*\\n?", "").replace("```", "").trim();
-            log.info("Ollama [{}] → {} chars", MODEL, text.length());
-            return text.isBlank() ? null : text;
+            try (Stream<String> lines = response.body(); StallGuard guard = new StallGuard(lines)) {
+                if (response.statusCode() != 200) {
+                    log.warn("Ollama at {} returned HTTP {}", exchange.lease().endpoint().name(), response.statusCode());
+                    endWithStatus(permit, exchange.lease(), response.statusCode());
+                    return null;
+                }
+                StringBuilder text = new StringBuilder();
+                JsonNode last = mapper.missingNode();
+                Iterator<String> it = lines.iterator();
+                while (it.hasNext()) {
+                    String line = it.next();
+                    guard.touch();
+                    if (line.isBlank()) continue;
+                    JsonNode chunk = mapper.readTree(line);
+                    if (chunk.hasNonNull("error")) {
+                        log.warn("Ollama stream error: {}", chunk.get("error").asText());
+                        exchange.lease().failed();
+                        permit.failed();
+                        return null;
+                    }
+                    String delta = chunk.path("message").path("content").asText("");
+                    if (!delta.isEmpty()) {
+                        text.append(delta);
+                        onToken.accept(delta);
+                    }
+                    if (chunk.path("done").asBoolean(false)) {
+                        last = chunk;
+                        break;
+                    }
+                }
+                if (last.isMissingNode()) {
+                    log.warn(guard.stalled() ? "Ollama stream from {} stalled — aborted"
+                            : "Ollama stream from {} ended early", exchange.lease().endpoint().name());
+                    exchange.lease().failed();
+                    permit.failed();
+                    return null;
+                }
+                exchange.lease().succeeded();
+                succeeded(permit, last, text);
+                return finish(text.toString());
+            }
 
         } catch (java.net.ConnectException e) {
-            log.warn("Ollama not reachable at {} — AI enhancement skipped", OLLAMA_URL);
+            permit.failed();
+            log.warn("No Ollama endpoint reachable — AI enhancement skipped");
+        } catch (JsonProcessingException e) {
+            log.warn("Ollama error: {}", e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            // Also a stream closed by its StallGuard.
+            if (exchange != null) exchange.lease().failed();
+            permit.failed();
+            log.warn("Ollama error: {}", e.getMessage());
         } catch (Exception e) {
             log.warn("Ollama error: {}", e.getMessage());
+        } finally {
+            if (exchange != null) exchange.lease().release();
+            permit.release();
         }
         return null;
     }
+
+    /**
+     * Send {@code request} to the least busy healthy endpoint. An endpoint that refuses the
+     * connection is charged a failure and the next one is tried, since nothing reached the
+     * model yet; any other error ends the attempt. {@code null} if no endpoint is healthy.
+     */
+    private <T> Exchange<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        Set<OllamaEndpointPool.Endpoint> tried = new HashSet<>();
+        java.net.ConnectException refused = null;
+        OllamaEndpointPool.Lease lease;
+        while ((lease = pool.acquire(tried)) != null) {
+            tried.add(lease.endpoint());
+            try {
+                return new Exchange<>(lease, http.send(request.uri(lease.endpoint().chatUrl()).build(), handler));
+            } catch (java.net.ConnectException e) {
+                lease.failed();
+                log.debug("Ollama not reachable at {}", lease.endpoint().name());
+                refused = e;
+            } catch (IOException e) {
+                lease.failed();
+                throw e;
+            } catch (InterruptedException | RuntimeException e) {
+                lease.release();
+                throw e;
+            }
+        }
+        if (refused != null) throw refused;
+        log.warn("No healthy Ollama endpoint — AI enhancement skipped");
+        return null;
+    }
+
+    /**
+     * Report a finished call to the limiter with the token count and setup time from
+     * Ollama's final message ({@code eval_count}, {@code load_duration},
+     * {@code prompt_eval_duration}), estimating the count from the text if they are missing.
+     */
+    private static void succeeded(OllamaLimiter.Permit permit, JsonNode stats, CharSequence text) {
+        int tokens = stats.path("eval_count").asInt(0);
+        if (tokens <= 0) tokens = Math.max(1, text.length() / 4);
+        long setupNanos = stats.path("load_duration").asLong(0) + stats.path("prompt_eval_duration").asLong(0);
+        permit.succeeded(tokens, setupNanos);
+    }
+
+    /** Server errors count against Ollama's health; other statuses are our request's fault. */
+    private static void endWithStatus(OllamaLimiter.Permit permit, OllamaEndpointPool.Lease lease, int status) {
+        if (status >= 500) {
+            lease.failed();
+            permit.failed();
+        } else {
+            lease.release();
+            permit.release();
+        }
+    }
+
+    private HttpRequest.Builder request(String systemPrompt, String userMessage, int maxTokens,
+                                boolean stream) throws JsonProcessingException {
+        Map<String, Object> body = Map.of(
+                "model", MODEL,
+                "stream", stream,
+                // num_ctx pins the window AiResumeEnhancer sizes its batches against.
+                "options", Map.of("num_predict", maxTokens, "num_ctx", contextTokens),
+                "messages", List.of(
+                        Map.of("role", "system", "content", systemPrompt),
+                        Map.of("role", "user",   "content", userMessage)
+                )
+        );
+
+        // With streaming the timeout covers the wait for response headers, i.e. the first
+        // chunk; the gaps between later chunks are bounded by StallGuard.
+        return HttpRequest.newBuilder()
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)));
+    }
+
+    /** Trim and strip any markdown fences the model might include; null when nothing is left. */
+    private String finish(String raw) {
+        String text = TextNormalizer.stripCodeFences(raw);
+        log.info("Ollama [{}] → {} chars", MODEL, text.length());
+        return text.isBlank() ? null : text;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Closes a streamed body once no line has arrived for {@link #streamIdle}, which wakes
+     * the reading thread, so a stalled Ollama can't hold the worker, its limiter permit
+     * and its endpoint lease forever.
+     */
+    private final class StallGuard implements AutoCloseable {
+        private final Stream<String> lines;
+        private final ScheduledFuture<?> check;
+        private volatile long lastLineAt = System.nanoTime();
+        private volatile boolean stalled;
+
+        StallGuard(Stream<String> lines) {
+            this.lines = lines;
+            long period = Math.max(100, streamIdle.toMillis() / 4);
+            this.check = watchdog.scheduleWithFixedDelay(this::check, period, period, TimeUnit.MILLISECONDS);
+        }
+
+        void touch() {
+            lastLineAt = System.nanoTime();
+        }
+
+        boolean stalled() {
+            return stalled;
+        }
+
+        private void check() {
+            if (System.nanoTime() - lastLineAt < streamIdle.toNanos()) return;
+            stalled = true;
+            check.cancel(false);
+            lines.close();
+        }
+
+        @Override
+        public void close() {
+            check.cancel(false);
+        }
+    }
 }
@@ -0,0 +1,264 @@
+package com.openfolio.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Ollama servers {@link OllamaClient} can send a request to, from the comma-separated
+ * {@code app.ai.ollama-urls} (each a full {@code /api/chat} URL). All of them must serve
+ * {@link OllamaClient#MODEL}.
+ *
+ * <p>Each call goes to the healthy endpoint with the fewest requests outstanding from
+ * this node; ties rotate. {@code eject-after-failures} consecutive failures (unreachable,
+ * timed out, HTTP 5xx) eject an endpoint. Every {@code probe-interval-seconds} each
+ * endpoint's {@code /api/tags} is fetched: an ejected endpoint that answers and lists the
+ * model is re-admitted, a failed probe counts as a failure.
+ *
+ * <p>Metrics, tagged by {@code endpoint} (host:port): the timer
+ * {@code openfolio.ai.ollama.request} (tagged {@code outcome} success|failure), and the
+ * gauges {@code openfolio.ai.ollama.endpoint.outstanding} and
+ * {@code openfolio.ai.ollama.endpoint.healthy}.
+ */
+@Component
+public class OllamaEndpointPool {
+
+    private static final Logger log = LoggerFactory.getLogger(OllamaEndpointPool.class);
+
+    private final ObjectMapper mapper;
+    private final List<Endpoint> endpoints;
+    private final int ejectAfterFailures;
+    private final long probeIntervalSeconds;
+    private final Duration probeTimeout;
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    private final HttpClient http;
+    private final ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ollama-probe");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public OllamaEndpointPool(ObjectMapper mapper,
+                              MeterRegistry registry,
+                              @Value("${app.ai.ollama-urls:${app.ai.ollama-url:http://localhost:11434/api/chat}}") String urls,
+                              @Value("${app.ai.pool.eject-after-failures:3}") int ejectAfterFailures,
+                              @Value("${app.ai.pool.probe-interval-seconds:10}") long probeIntervalSeconds,
+                              @Value("${app.ai.pool.probe-timeout-ms:3000}") long probeTimeoutMs) {
+        this.mapper = mapper;
+        this.ejectAfterFailures = Math.max(1, ejectAfterFailures);
+        this.probeIntervalSeconds = Math.max(1, probeIntervalSeconds);
+        this.probeTimeout = Duration.ofMillis(probeTimeoutMs);
+        this.http = HttpClient.newBuilder().connectTimeout(probeTimeout).build();
+
+        List<Endpoint> parsed = new ArrayList<>();
+        for (String url : urls.split("[,\\s]+")) {
+            if (!url.isBlank()) parsed.add(new Endpoint(URI.create(url.trim()), registry));
+        }
+        if (parsed.isEmpty()) throw new IllegalArgumentException("app.ai.ollama-urls lists no endpoint");
+        this.endpoints = List.copyOf(parsed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        prober.scheduleWithFixedDelay(this::probeAll, probeIntervalSeconds, probeIntervalSeconds, TimeUnit.SECONDS);
+        log.info("Ollama pool: {}", endpoints.stream().map(Endpoint::name).toList());
+    }
+
+    public List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * A lease on the healthy endpoint with the fewest outstanding requests, skipping
+     * {@code tried}; {@code null} if there is none. Every lease must end in exactly one of
+     * {@link Lease#succeeded}, {@link Lease#failed} or {@link Lease#release}.
+     */
+    public Lease acquire(Set<Endpoint> tried) {
+        int n = endpoints.size();
+        int start = Math.floorMod(rotation.getAndIncrement(), n);
+        Endpoint best = null;
+        for (int i = 0; i < n; i++) {
+            Endpoint e = endpoints.get((start + i) % n);
+            if (!e.healthy || tried.contains(e)) continue;
+            if (best == null || e.outstanding.get() < best.outstanding.get()) best = e;
+        }
+        if (best == null) return null;
+        best.outstanding.incrementAndGet();
+        return new Lease(best, System.nanoTime());
+    }
+
+    void probeAll() {
+        for (Endpoint endpoint : endpoints) {
+            try {
+                probe(endpoint);
+            } catch (Exception e) {
+                log.warn("Ollama probe of {} failed: {}", endpoint.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void probe(Endpoint endpoint) throws InterruptedException {
+        String problem;
+        try {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(endpoint.tagsUrl)
+                            .timeout(probeTimeout).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            problem = response.statusCode() != 200 ? "HTTP " + response.statusCode()
+                    : servesModel(mapper.readTree(response.body())) ? null
+                    : OllamaClient.MODEL + " not pulled";
+        } catch (java.io.IOException e) {
+            problem = e.getClass().getSimpleName();
+        }
+
+        if (problem == null) {
+            endpoint.readmit();
+        } else {
+            log.debug("Ollama probe of {}: {}", endpoint.name(), problem);
+            endpoint.recordFailure();
+        }
+    }
+
+    private static boolean servesModel(JsonNode tags) {
+        for (JsonNode model : tags.path("models")) {
+            if (OllamaClient.MODEL.equals(model.path("name").asText())
+                    || OllamaClient.MODEL.equals(model.path("model").asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prober.shutdownNow();
+    }
+
+    /** One Ollama server. */
+    public final class Endpoint {
+        private final URI chatUrl;
+        private final URI tagsUrl;
+        private final String name;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Timer succeeded;
+        private final Timer failed;
+        private volatile boolean healthy = true;
+        private int consecutiveFailures; // guarded by this
+
+        private Endpoint(URI chatUrl, MeterRegistry registry) {
+            this.chatUrl = chatUrl;
+            this.tagsUrl = chatUrl.resolve("/api/tags");
+            this.name = chatUrl.getAuthority();
+            this.succeeded = Timer.builder("openfolio.ai.ollama.request")
+                    .tag("endpoint", name).tag("outcome", "success").register(registry);
+            this.failed = Timer.builder("openfolio.ai.ollama.request")
+                    .tag("endpoint", name).tag("outcome", "failure").register(registry);
+            Gauge.builder("openfolio.ai.ollama.endpoint.outstanding", outstanding, AtomicInteger::get)
+                    .tag("endpoint", name).register(registry);
+            Gauge.builder("openfolio.ai.ollama.endpoint.healthy", this, e -> e.healthy ? 1 : 0)
+                    .tag("endpoint", name).register(registry);
+        }
+
+        public URI chatUrl() {
+            return chatUrl;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean healthy() {
+            return healthy;
+        }
+
+        public int outstanding() {
+            return outstanding.get();
+        }
+
+        private synchronized void recordSuccess() {
+            consecutiveFailures = 0;
+        }
+
+        private synchronized void recordFailure() {
+            consecutiveFailures++;
+            if (healthy && consecutiveFailures >= ejectAfterFailures) {
+                healthy = false;
+                log.warn("Ollama endpoint {} ejected after {} consecutive failure(s)", name, consecutiveFailures);
+            }
+        }
+
+        private synchronized void readmit() {
+            consecutiveFailures = 0;
+            if (!healthy) {
+                healthy = true;
+                log.info("Ollama endpoint {} re-admitted", name);
+            }
+        }
+    }
+
+    /** One request in flight on an endpoint. Only the first of the ending calls has any effect. */
+    public static final class Lease {
+        private final Endpoint endpoint;
+        private final long startedAt;
+        private boolean ended;
+
+        private Lease(Endpoint endpoint, long startedAt) {
+            this.endpoint = endpoint;
+            this.startedAt = startedAt;
+        }
+
+        public Endpoint endpoint() {
+            return endpoint;
+        }
+
+        /** The endpoint answered. */
+        public void succeeded() {
+            if (end()) {
+                endpoint.succeeded.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                endpoint.recordSuccess();
+            }
+        }
+
+        /** The endpoint was unreachable, timed out or failed with a server error. */
+        public void failed() {
+            if (end()) {
+                endpoint.failed.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                endpoint.recordFailure();
+            }
+        }
+
+        /** The request ended for a reason that says nothing about the endpoint's health. */
+        public void release() {
+            end();
+        }
+
+        private synchronized boolean end() {
+            if (ended) return false;
+            ended = true;
+            endpoint.outstanding.decrementAndGet();
+            return true;
+        }
+    }
+}
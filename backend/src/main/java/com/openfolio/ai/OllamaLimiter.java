@@ -0,0 +1,266 @@
+package com.openfolio.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for {@link OllamaClient}: an adaptive concurrency limit plus a
+ * circuit breaker, so a saturated model server isn't sent more work than it can run and
+ * a dead one costs callers nothing.
+ *
+ * <p><b>Limit (AIMD).</b> Each successful call is reduced to latency per generated token:
+ * wall-clock time minus Ollama's reported model-load and prompt-evaluation time, divided
+ * by its {@code eval_count}. That keeps a cold start or a long prompt from reading as
+ * congestion, and makes a 1800-token batch comparable with a short summary. A short
+ * moving average of that sample (about {@value #SHORT_WINDOW} calls) is compared with a
+ * long one (about {@value #LONG_WINDOW} calls). While the short average stays within
+ * {@code latency-tolerance} times the long one and the limit is actually in use, the
+ * limit grows by about one per limit's worth of calls; otherwise each call shrinks it by
+ * {@code backoff-ratio}, and a failed call halves it. Callers beyond the limit wait up to
+ * {@code max-wait-ms} for a slot and are then rejected.
+ *
+ * <p><b>Breaker.</b> {@code failure-threshold} consecutive failures (unreachable,
+ * timed out, HTTP 5xx) open it: calls are rejected at once for {@code open-seconds},
+ * then a single probe is let through — success closes it, failure opens it again.
+ *
+ * <p>A rejected call returns {@code null} from the client, which every caller already
+ * treats as "keep the raw text". Metrics: {@code openfolio.ai.ollama.limit},
+ * {@code .in-flight}, {@code .breaker} (0 closed, 1 half-open, 2 open) and
+ * {@code .rejected} tagged by reason.
+ */
+@Component
+public class OllamaLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(OllamaLimiter.class);
+
+    enum BreakerState { CLOSED, HALF_OPEN, OPEN }
+
+    /** Calls covered by the short and the long latency average. */
+    static final int SHORT_WINDOW = 10;
+    static final int LONG_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxWaitNanos;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    // All guarded by lock.
+    private double limit;
+    private int inFlight;
+    /** Moving averages of latency per generated token, in nanoseconds; 0 until the first success. */
+    private double shortLatency;
+    private double longLatency;
+    private BreakerState breaker = BreakerState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final Counter rejectedByLimit;
+    private final Counter rejectedByBreaker;
+
+    public OllamaLimiter(MeterRegistry registry,
+                         @Value("${app.ai.limiter.initial-limit:4}") int initialLimit,
+                         @Value("${app.ai.limiter.min-limit:1}") int minLimit,
+                         @Value("${app.ai.limiter.max-limit:16}") int maxLimit,
+                         @Value("${app.ai.limiter.max-wait-ms:30000}") long maxWaitMs,
+                         @Value("${app.ai.limiter.latency-tolerance:2.0}") double latencyTolerance,
+                         @Value("${app.ai.limiter.backoff-ratio:0.9}") double backoffRatio,
+                         @Value("${app.ai.breaker.failure-threshold:5}") int failureThreshold,
+                         @Value("${app.ai.breaker.open-seconds:30}") long openSeconds) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+
+        this.rejectedByLimit = Counter.builder("openfolio.ai.ollama.rejected")
+                .tag("reason", "limit").register(registry);
+        this.rejectedByBreaker = Counter.builder("openfolio.ai.ollama.rejected")
+                .tag("reason", "breaker").register(registry);
+        Gauge.builder("openfolio.ai.ollama.limit", this, OllamaLimiter::currentLimit).register(registry);
+        Gauge.builder("openfolio.ai.ollama.in-flight", this, OllamaLimiter::inFlight).register(registry);
+        Gauge.builder("openfolio.ai.ollama.breaker", this, l -> l.breakerState().ordinal()).register(registry);
+    }
+
+    /**
+     * A permit for one call, or {@code null} if the call must not be made: the breaker
+     * is open, or no slot freed up within {@code max-wait-ms}. Every permit must end in
+     * exactly one of {@link Permit#succeeded}, {@link Permit#failed} or {@link Permit#release}.
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            boolean probe = false;
+            if (breaker != BreakerState.CLOSED) {
+                if (breaker == BreakerState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                    breaker = BreakerState.HALF_OPEN;
+                }
+                if (breaker == BreakerState.OPEN || probeInFlight) {
+                    rejectedByBreaker.increment();
+                    return null;
+                }
+                probeInFlight = probe = true;
+            }
+
+            long remaining = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    if (probe) probeInFlight = false;
+                    rejectedByLimit.increment();
+                    log.debug("Ollama call rejected: {} in flight at limit {}", inFlight, (int) limit);
+                    return null;
+                }
+                remaining = slotFreed.awaitNanos(remaining);
+            }
+            inFlight++;
+            return new Permit(System.nanoTime(), probe);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double currentLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    BreakerState breakerState() {
+        lock.lock();
+        try {
+            return breaker;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(Permit permit, int generatedTokens, long setupNanos) {
+        long elapsed = System.nanoTime() - permit.startedAt;
+        double perToken = (double) Math.max(1, elapsed - setupNanos) / Math.max(1, generatedTokens);
+        lock.lock();
+        try {
+            if (longLatency == 0) {
+                shortLatency = longLatency = perToken;
+            } else {
+                shortLatency += (perToken - shortLatency) / SHORT_WINDOW;
+                longLatency += (perToken - longLatency) / LONG_WINDOW;
+            }
+            if (shortLatency <= longLatency * latencyTolerance) {
+                // Only grow a limit that is actually being used.
+                if (inFlight >= (int) limit) limit = Math.min(maxLimit, limit + 1 / limit);
+            } else {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            }
+            consecutiveFailures = 0;
+            if (breaker == BreakerState.HALF_OPEN) {
+                breaker = BreakerState.CLOSED;
+                log.info("Ollama circuit breaker closed");
+            }
+        } finally {
+            end(permit);
+        }
+    }
+
+    private void onFailure(Permit permit) {
+        lock.lock();
+        try {
+            limit = Math.max(minLimit, limit / 2);
+            consecutiveFailures++;
+            if (breaker == BreakerState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (breaker != BreakerState.OPEN) {
+                    log.warn("Ollama circuit breaker open after {} consecutive failure(s); "
+                            + "AI calls skipped for {}s", consecutiveFailures, TimeUnit.NANOSECONDS.toSeconds(openNanos));
+                }
+                breaker = BreakerState.OPEN;
+                openedAt = System.nanoTime();
+            }
+        } finally {
+            end(permit);
+        }
+    }
+
+    private void onRelease(Permit permit) {
+        lock.lock();
+        end(permit);
+    }
+
+    /** Free the slot and unlock; the caller holds the lock. */
+    private void end(Permit permit) {
+        try {
+            inFlight--;
+            if (permit.probe) probeInFlight = false;
+            slotFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** One admitted call. Only the first of the ending calls has any effect. */
+    public final class Permit {
+        private final long startedAt;
+        private final boolean probe;
+        private boolean ended;
+
+        private Permit(long startedAt, boolean probe) {
+            this.startedAt = startedAt;
+            this.probe = probe;
+        }
+
+        /**
+         * Ollama answered with {@code generatedTokens} tokens ({@code eval_count}), after
+         * spending {@code setupNanos} loading the model and evaluating the prompt.
+         */
+        public void succeeded(int generatedTokens, long setupNanos) {
+            if (end()) onSuccess(this, generatedTokens, setupNanos);
+        }
+
+        /** Ollama was unreachable, timed out or failed with a server error. */
+        public void failed() {
+            if (end()) onFailure(this);
+        }
+
+        /** The call ended for a reason that says nothing about Ollama's health. */
+        public void release() {
+            if (end()) onRelease(this);
+        }
+
+        private synchronized boolean end() {
+            if (ended) return false;
+            ended = true;
+            return true;
+        }
+    }
+}
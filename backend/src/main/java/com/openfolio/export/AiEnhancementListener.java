@@ -0,0 +1,20 @@
+package com.openfolio.export;
+
+/**
+ * Receives AI rewrite output for a portfolio as it is produced: raw model tokens while
+ * a text generates, then the cleaned-up final text. Results already stored in the
+ * database arrive as a single {@code ...Done} call with {@code cached = true}.
+ */
+public interface AiEnhancementListener {
+
+    /** Ignores everything; enhancement then waits for complete model answers. */
+    AiEnhancementListener NONE = new AiEnhancementListener() {};
+
+    default void summaryToken(String token) {}
+
+    default void summaryDone(String summary, boolean cached) {}
+
+    default void projectToken(Long projectId, String token) {}
+
+    default void projectDone(Long projectId, String bullets, boolean cached) {}
+}
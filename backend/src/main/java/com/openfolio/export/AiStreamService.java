@@ -0,0 +1,144 @@
+package com.openfolio.export;
+
+import com.openfolio.portfolio.PortfolioRepository;
+import com.openfolio.shared.exception.ResourceNotFoundException;
+import com.openfolio.shared.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live AI rewrite over server-sent events: the summary and project bullets are pushed
+ * token by token as Ollama generates them, so the client shows text within a second
+ * instead of waiting for the whole rewrite.
+ *
+ * <p>Events: {@code summary} / {@code project} carry a raw {@code token};
+ * {@code summary-done} / {@code project-done} carry the cleaned-up {@code text} (and
+ * whether it came from the database cache); {@code done} ends the stream, {@code error}
+ * ends it on failure. A client that disconnects doesn't stop the rewrite — its results
+ * are still persisted for the next export.
+ */
+@Service
+public class AiStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(AiStreamService.class);
+
+    private final ExportService exportService;
+    private final PortfolioRepository portfolioRepository;
+    private final ThreadPoolExecutor executor;
+    private final long sseTimeoutSeconds;
+    private final long retryAfterSeconds;
+
+    public AiStreamService(ExportService exportService,
+                           PortfolioRepository portfolioRepository,
+                           @Value("${app.export.ai-stream.workers:4}") int workers,
+                           @Value("${app.export.ai-stream.queue-capacity:16}") int queueCapacity,
+                           @Value("${app.export.ai-stream.sse-timeout-seconds:300}") long sseTimeoutSeconds,
+                           @Value("${app.export.render-pool.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.exportService = exportService;
+        this.portfolioRepository = portfolioRepository;
+        this.sseTimeoutSeconds = sseTimeoutSeconds;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "ai-stream-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Start the rewrite for one of the user's portfolios and return the event stream.
+     *
+     * @throws ResourceNotFoundException if the portfolio doesn't exist or isn't the user's
+     * @throws TooManyRequestsException  if too many streams are already queued
+     */
+    public SseEmitter stream(Long portfolioId, Long userId) {
+        if (!portfolioRepository.existsByIdAndUserId(portfolioId, userId)) {
+            throw new ResourceNotFoundException("Portfolio", portfolioId);
+        }
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(sseTimeoutSeconds));
+        EmitterListener listener = new EmitterListener(emitter);
+        emitter.onCompletion(() -> listener.closed = true);
+        emitter.onTimeout(() -> listener.closed = true);
+        emitter.onError(e -> listener.closed = true);
+        try {
+            executor.execute(() -> run(portfolioId, userId, listener));
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many AI rewrites in progress, please retry shortly",
+                    retryAfterSeconds);
+        }
+        return emitter;
+    }
+
+    private void run(Long portfolioId, Long userId, EmitterListener listener) {
+        try {
+            exportService.streamAiEnhancement(portfolioId, userId, listener);
+            listener.send("done", Map.of());
+            listener.emitter.complete();
+        } catch (Exception e) {
+            log.warn("AI stream for portfolio {} failed: {}", portfolioId, e.getMessage());
+            listener.send("error", Map.of("message", "AI rewrite failed"));
+            listener.emitter.complete();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Forwards listener callbacks as SSE events until the client goes away. */
+    private static final class EmitterListener implements AiEnhancementListener {
+
+        final SseEmitter emitter;
+        volatile boolean closed;
+
+        EmitterListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void summaryToken(String token) {
+            send("summary", Map.of("token", token));
+        }
+
+        @Override
+        public void summaryDone(String summary, boolean cached) {
+            send("summary-done", Map.of("text", summary, "cached", cached));
+        }
+
+        @Override
+        public void projectToken(Long projectId, String token) {
+            send("project", Map.of("projectId", projectId, "token", token));
+        }
+
+        @Override
+        public void projectDone(Long projectId, String bullets, boolean cached) {
+            send("project-done", Map.of("projectId", projectId, "text", bullets, "cached", cached));
+        }
+
+        void send(String name, Map<String, Object> data) {
+            if (closed) return;
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+            }
+        }
+    }
+}
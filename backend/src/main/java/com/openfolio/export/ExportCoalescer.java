@@ -0,0 +1,113 @@
+package com.openfolio.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight deduplication for exports and previews. Double taps and client retries
+ * often send the same request two or three times within a second; the first becomes
+ * the leader and does the work, the rest join it and get the same result (or the same
+ * exception). Nothing is kept once the leader finishes — this is coalescing, not caching.
+ *
+ * <p>Keys are value lists like {@link com.openfolio.shared.html.HtmlFragmentCache#key}:
+ * the entity id, the owner, the template, the export options and a data version, so a
+ * request made after an edit never joins a computation that loaded the old data. The
+ * version is the loaded bundle's {@code contentVersion()} — a value snapshot of the
+ * items, not a timestamp — because item edits leave the parent row's updatedAt as is.
+ *
+ * <p>Metrics: {@code openfolio.export.coalesced} counts joined requests per operation,
+ * {@code openfolio.export.coalesced.saved} the leader time they didn't have to spend.
+ */
+@Component
+public class ExportCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportCoalescer.class);
+
+    private final MeterRegistry registry;
+    private final Map<List<Object>, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> joined = new ConcurrentHashMap<>();
+    private final Map<String, Counter> saved = new ConcurrentHashMap<>();
+
+    public ExportCoalescer(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Run {@code work} unless an identical {@code operation} with the same key is already
+     * in flight, in which case wait for it and return its result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T run(String operation, List<Object> key, Supplier<T> work) {
+        List<Object> fullKey = new ArrayList<>(key.size() + 1);
+        fullKey.add(operation);
+        fullKey.addAll(key);
+
+        Flight<T> mine = new Flight<>(System.nanoTime());
+        Flight<?> leader = inFlight.putIfAbsent(fullKey, mine);
+        if (leader != null) {
+            return (T) join(operation, leader);
+        }
+        try {
+            T result = work.get();
+            mine.finish();
+            mine.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.finish();
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(fullKey, mine);
+        }
+    }
+
+    private Object join(String operation, Flight<?> leader) {
+        joinedCounter(operation).increment();
+        log.debug("Joined in-flight {}", operation);
+        try {
+            return leader.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        } finally {
+            // The joiner would otherwise have repeated the leader's whole run.
+            savedCounter(operation).increment((leader.finishedNanos - leader.startedNanos) / 1e9);
+        }
+    }
+
+    private Counter joinedCounter(String operation) {
+        return joined.computeIfAbsent(operation, op -> Counter.builder("openfolio.export.coalesced")
+                .tag("operation", op).register(registry));
+    }
+
+    private Counter savedCounter(String operation) {
+        return saved.computeIfAbsent(operation, op -> Counter.builder("openfolio.export.coalesced.saved")
+                .tag("operation", op).baseUnit("seconds").register(registry));
+    }
+
+    private static final class Flight<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long startedNanos;
+        volatile long finishedNanos;
+
+        Flight(long startedNanos) {
+            this.startedNanos = startedNanos;
+        }
+
+        void finish() {
+            finishedNanos = System.nanoTime();
+        }
+    }
+}
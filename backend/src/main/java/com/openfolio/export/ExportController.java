@@ -3,36 +3,57 @@ package com.openfolio.export;
 import com.openfolio.export.dto.ExportOptions;
 import com.openfolio.export.dto.ExportResponse;
 import com.openfolio.export.dto.SavedResumeInfo;
+import com.openfolio.shared.exception.ApiException;
 import com.openfolio.shared.exception.ResourceNotFoundException;
 import com.openfolio.shared.security.AuthenticatedUser;
+import com.openfolio.shared.storage.BlobStore;
 import com.openfolio.shared.web.ApiResponse;
+import com.openfolio.shared.web.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @RestController
 @Tag(name = "PDF Export", description = "Generate, preview, download, save, and publish PDF resumes")
 public class ExportController {
 
+    private static final int MAX_BATCH_TEMPLATES = 8;
+
     private final ExportService exportService;
     private final ExportTempStore tempStore;
+    private final AiStreamService aiStreamService;
 
     @org.springframework.beans.factory.annotation.Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
 
-    public ExportController(ExportService exportService, ExportTempStore tempStore) {
+    @org.springframework.beans.factory.annotation.Value("${app.export.public-max-age-seconds:300}")
+    private long publicMaxAgeSeconds;
+
+    public ExportController(ExportService exportService, ExportTempStore tempStore,
+                            AiStreamService aiStreamService) {
         this.exportService = exportService;
         this.tempStore = tempStore;
+        this.aiStreamService = aiStreamService;
     }
 
     /** Trigger PDF generation → returns a short-lived download token + URL. */
@@ -57,6 +78,105 @@ public class ExportController {
         return ResponseEntity.ok(ApiResponse.ok(response));
     }
 
+    /** Export several templates at once → one download token per template. */
+    @PostMapping("/api/v1/portfolios/{id}/export/batch")
+    @Operation(summary = "Batch-export PDF templates", description = "Loads and AI-enhances the portfolio once, renders every requested template in parallel and returns a download token per template.")
+    public ResponseEntity<ApiResponse<List<ExportResponse>>> generateBatch(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "pdf,dark,minimal,hacker") List<String> templates,
+            @RequestParam(defaultValue = "false") boolean aiRewrite,
+            @RequestParam(defaultValue = "false") boolean includePhoto,
+            @RequestParam(required = false) String photoUrl,
+            @RequestParam(defaultValue = "false") boolean includePhone,
+            @RequestParam(required = false) String phone,
+            @RequestParam(defaultValue = "false") boolean includeLinkedIn,
+            @RequestParam(required = false) String linkedIn,
+            @RequestParam(defaultValue = "false") boolean includeWebsite,
+            @RequestParam(required = false) String website,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        ExportOptions options = ExportOptions.of(aiRewrite, includePhoto, photoUrl,
+                includePhone, phone, includeLinkedIn, linkedIn, includeWebsite, website);
+        Map<String, byte[]> pdfs = exportService.generateBatch(id, user.userId(), checkBatch(templates), options);
+        List<ExportResponse> responses = pdfs.entrySet().stream()
+                .map(e -> {
+                    String token = tempStore.store(e.getValue());
+                    return new ExportResponse(token, baseUrl + "/api/v1/export/download/" + token, e.getKey());
+                })
+                .toList();
+        return ResponseEntity.ok(ApiResponse.ok(responses));
+    }
+
+    /** Export several templates at once → a zip with one PDF per template. */
+    @PostMapping(value = "/api/v1/portfolios/{id}/export/batch/zip", produces = "application/zip")
+    @Operation(summary = "Batch-export PDF templates as zip", description = "Same as the batch export, but returns all PDFs in a single zip archive.")
+    public ResponseEntity<StreamingResponseBody> generateBatchZip(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "pdf,dark,minimal,hacker") List<String> templates,
+            @RequestParam(defaultValue = "false") boolean aiRewrite,
+            @RequestParam(defaultValue = "false") boolean includePhoto,
+            @RequestParam(required = false) String photoUrl,
+            @RequestParam(defaultValue = "false") boolean includePhone,
+            @RequestParam(required = false) String phone,
+            @RequestParam(defaultValue = "false") boolean includeLinkedIn,
+            @RequestParam(required = false) String linkedIn,
+            @RequestParam(defaultValue = "false") boolean includeWebsite,
+            @RequestParam(required = false) String website,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        ExportOptions options = ExportOptions.of(aiRewrite, includePhoto, photoUrl,
+                includePhone, phone, includeLinkedIn, linkedIn, includeWebsite, website);
+        Map<String, byte[]> pdfs = exportService.generateBatch(id, user.userId(), checkBatch(templates), options);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"resumes.zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(out -> {
+                    try (ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(out))) {
+                        zip.setLevel(Deflater.BEST_SPEED);  // PDFs are already compressed
+                        for (Map.Entry<String, byte[]> e : pdfs.entrySet()) {
+                            zip.putNextEntry(new ZipEntry("resume-" + e.getKey().replaceAll("[^a-zA-Z0-9.-]", "_") + ".pdf"));
+                            zip.write(e.getValue());
+                            zip.closeEntry();
+                        }
+                    }
+                });
+    }
+
+    private List<String> checkBatch(List<String> templates) {
+        List<String> distinct = templates.stream()
+                .map(String::trim).filter(t -> !t.isEmpty()).map(String::toLowerCase)
+                .distinct().toList();
+        if (distinct.isEmpty() || distinct.size() > MAX_BATCH_TEMPLATES) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR",
+                    "templates: between 1 and " + MAX_BATCH_TEMPLATES + " template keys required");
+        }
+        return distinct;
+    }
+
+    /** Generate a PDF and return it in the response body — no token round-trip. */
+    @GetMapping("/api/v1/portfolios/{id}/export/pdf/stream")
+    @Operation(summary = "Stream PDF resume", description = "Renders the portfolio as a PDF and returns it directly in the response body.")
+    public ResponseEntity<StreamingResponseBody> streamPdf(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "pdf") String template,
+            @RequestParam(defaultValue = "false") boolean aiRewrite,
+            @RequestParam(defaultValue = "false") boolean includePhoto,
+            @RequestParam(required = false) String photoUrl,
+            @RequestParam(defaultValue = "false") boolean includePhone,
+            @RequestParam(required = false) String phone,
+            @RequestParam(defaultValue = "false") boolean includeLinkedIn,
+            @RequestParam(required = false) String linkedIn,
+            @RequestParam(defaultValue = "false") boolean includeWebsite,
+            @RequestParam(required = false) String website,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        ExportOptions options = ExportOptions.of(aiRewrite, includePhoto, photoUrl,
+                includePhone, phone, includeLinkedIn, linkedIn, includeWebsite, website);
+        RenderedPdf pdf = exportService.streamPdf(id, user.userId(), template, options);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"resume.pdf\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .contentLength(pdf.size())
+                .body(pdf::writeTo);
+    }
+
     /** Preview HTML that matches exactly how the PDF will look. */
     @GetMapping("/api/v1/portfolios/{id}/export/preview")
     @Operation(summary = "Preview PDF as HTML", description = "Returns the HTML that will be rendered to PDF, useful for in-app preview.")
@@ -93,26 +213,27 @@ public class ExportController {
 
     /** Pre-warm AI cache asynchronously. Returns immediately. */
     @PostMapping("/api/v1/portfolios/{id}/export/warm-ai")
-    @Operation(summary = "Warm AI rewrite cache", description = "Triggers an async Ollama call to pre-generate AI-enhanced resume text.")
+    @Operation(summary = "Warm AI rewrite cache", description = "Queues low-priority Ollama jobs to pre-generate AI-enhanced resume text.")
     public ResponseEntity<ApiResponse<Map<String, String>>> warmAi(
             @PathVariable Long id,
             @AuthenticationPrincipal AuthenticatedUser user) {
-        Long userId = user.userId();
-        // Run in background so the client doesn't block
-        new Thread(() -> {
-            try {
-                exportService.warmUpAiCache(id, userId);
-            } catch (Exception e) {
-                // logged inside warmUpAiCache
-            }
-        }).start();
+        exportService.warmUpAiCache(id, user.userId());
         return ResponseEntity.ok(ApiResponse.ok(Map.of("status", "warming")));
     }
 
-    /** Generate PDF and return as base64 JSON for in-app viewing. */
+    /** Run the AI rewrite and stream the summary and project bullets as they generate. */
+    @GetMapping(value = "/api/v1/portfolios/{id}/export/ai-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream AI rewrite (SSE)", description = "Streams 'summary' and 'project' token events while Ollama generates, 'summary-done' / 'project-done' with the final text, then 'done'. Results are cached like warm-ai.")
+    public SseEmitter aiStream(
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return aiStreamService.stream(id, user.userId());
+    }
+
+    /** Generate PDF for in-app viewing: raw bytes for Accept: application/pdf, else base64 JSON. */
     @PostMapping("/api/v1/portfolios/{id}/export/pdf/inline")
-    @Operation(summary = "Generate PDF inline (base64)", description = "Generates a PDF and returns it as a base64-encoded string for in-app viewing.")
-    public ResponseEntity<ApiResponse<Map<String, String>>> pdfInline(
+    @Operation(summary = "Generate PDF inline", description = "Streams the PDF as binary when the client accepts application/pdf, otherwise as {\"data\":{\"base64\":...}} JSON.")
+    public ResponseEntity<StreamingResponseBody> pdfInline(
             @PathVariable Long id,
             @RequestParam(defaultValue = "pdf") String template,
             @RequestParam(defaultValue = "false") boolean aiRewrite,
@@ -124,24 +245,30 @@ public class ExportController {
             @RequestParam(required = false) String linkedIn,
             @RequestParam(defaultValue = "false") boolean includeWebsite,
             @RequestParam(required = false) String website,
+            @RequestHeader HttpHeaders headers,
             @AuthenticationPrincipal AuthenticatedUser user) {
         ExportOptions options = ExportOptions.of(aiRewrite, includePhoto, photoUrl,
                 includePhone, phone, includeLinkedIn, linkedIn, includeWebsite, website);
-        byte[] pdfBytes = exportService.generatePdfBytes(id, user.userId(), template, options);
-        String base64 = Base64.getEncoder().encodeToString(pdfBytes);
-        return ResponseEntity.ok(ApiResponse.ok(Map.of("base64", base64)));
+        RenderedPdf pdf = exportService.streamPdf(id, user.userId(), template, options);
+        return InlinePdfResponses.negotiate(headers, pdf);
     }
 
     /** Unauthenticated download endpoint (token acts as proof of generation). */
     @GetMapping("/api/v1/export/download/{token}")
     @Operation(summary = "Download PDF by token", description = "Public endpoint — the short-lived token acts as proof of generation.", security = {})
-    public ResponseEntity<byte[]> download(@PathVariable String token) {
-        byte[] pdf = tempStore.retrieve(token);
+    public ResponseEntity<StreamingResponseBody> download(@PathVariable String token) throws IOException {
+        // Pinned before the headers go out, so Content-Length always matches the body.
+        ExportTempStore.Download pdf = tempStore.open(token);
         if (pdf == null) throw new ResourceNotFoundException("Export", token);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"resume.pdf\"")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+                .contentLength(pdf.size())
+                .body(out -> {
+                    try (pdf) {
+                        pdf.transferTo(out);
+                    }
+                });
     }
 
     // ─── Saved Resumes ──────────────────────────────────────────────────
@@ -182,28 +309,60 @@ public class ExportController {
     /** Download a saved resume PDF. */
     @GetMapping("/api/v1/saved-resumes/{id}/pdf")
     @Operation(summary = "Download saved resume", description = "Returns the saved PDF as a binary download.")
-    public ResponseEntity<byte[]> downloadSaved(
+    public ResponseEntity<StreamingResponseBody> downloadSaved(
             @PathVariable Long id,
-            @AuthenticationPrincipal AuthenticatedUser user) {
-        SavedResume saved = exportService.getSaved(id, user.userId());
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        SavedResumeSummary saved = exportService.getSavedSummary(id, user.userId());
         if (saved == null) throw new ResourceNotFoundException("SavedResume", id.toString());
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + saved.getTitle().replaceAll("[^a-zA-Z0-9.-]", "_") + ".pdf\"")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(saved.getPdfData());
+        // Private to the owner; revalidate each time, which is cheap thanks to the ETag.
+        return streamSaved(saved, "attachment", CacheControl.noCache().cachePrivate(), headers);
     }
 
-    /** Get a saved resume PDF as base64 for in-app viewing. */
+    /** Get a saved resume PDF for in-app viewing: raw bytes for Accept: application/pdf, else base64 JSON. */
     @GetMapping("/api/v1/saved-resumes/{id}/base64")
-    @Operation(summary = "Saved resume as base64", description = "Returns the saved PDF as a base64 string for in-app viewing.")
-    public ResponseEntity<ApiResponse<Map<String, String>>> savedBase64(
+    @Operation(summary = "Saved resume inline", description = "Streams the saved PDF as binary when the client accepts application/pdf, otherwise as {\"data\":{\"base64\":...}} JSON.")
+    public ResponseEntity<StreamingResponseBody> savedBase64(
             @PathVariable Long id,
-            @AuthenticationPrincipal AuthenticatedUser user) {
-        SavedResume saved = exportService.getSaved(id, user.userId());
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        SavedResumeSummary saved = exportService.getSavedSummary(id, user.userId());
         if (saved == null) throw new ResourceNotFoundException("SavedResume", id.toString());
-        String b64 = Base64.getEncoder().encodeToString(saved.getPdfData());
-        return ResponseEntity.ok(ApiResponse.ok(Map.of("base64", b64)));
+        return InlinePdfResponses.negotiate(headers, exportService.readSavedPdf(saved));
+    }
+
+    /** First-page PNG preview of a saved resume, for list screens. */
+    @GetMapping(value = "/api/v1/saved-resumes/{id}/thumbnail", produces = MediaType.IMAGE_PNG_VALUE)
+    @Operation(summary = "Saved resume thumbnail", description = "Returns a small PNG of the saved PDF's first page. Immutable, so clients may cache it for a year.")
+    public ResponseEntity<StreamingResponseBody> savedThumbnail(
+            @PathVariable Long id,
+            @RequestHeader HttpHeaders headers,
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        SavedResumeSummary saved = exportService.getSavedSummary(id, user.userId());
+        if (saved == null) throw new ResourceNotFoundException("SavedResume", id.toString());
+        String key = exportService.savedThumbnailKey(saved);
+
+        // A saved resume never changes, so neither does its thumbnail.
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+        String etag = ConditionalRequests.etag(key);
+        long lastModified = saved.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (ConditionalRequests.notModified(headers, etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag).lastModified(lastModified).cacheControl(cacheControl).build();
+        }
+        // Opened before the headers go out, so a vanished blob is a 404, not a truncated 200.
+        BlobStore.Blob thumbnail = exportService.openThumbnail(key);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.IMAGE_PNG)
+                .contentLength(thumbnail.size())
+                .body(out -> {
+                    try (thumbnail) {
+                        thumbnail.transferTo(out);
+                    }
+                });
     }
 
     /** Delete a saved resume. */
@@ -253,21 +412,93 @@ public class ExportController {
     /** Public endpoint — anyone with the token can view the PDF. */
     @GetMapping("/api/v1/public/resume/{token}")
     @Operation(summary = "View published resume PDF", description = "Public endpoint — anyone with the token can view/download the PDF.", security = {})
-    public ResponseEntity<byte[]> publicResumePdf(@PathVariable String token) {
-        SavedResume saved = exportService.getByPublishToken(token);
+    public ResponseEntity<StreamingResponseBody> publicResumePdf(
+            @PathVariable String token,
+            @RequestHeader HttpHeaders headers) throws IOException {
+        SavedResumeSummary saved = exportService.getSummaryByPublishToken(token);
         if (saved == null) throw new ResourceNotFoundException("Resume", token);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "inline; filename=\"" + saved.getTitle().replaceAll("[^a-zA-Z0-9.-]", "_") + ".pdf\"")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(saved.getPdfData());
+        // Short max-age so unpublishing takes effect quickly; ETag revalidation covers the rest.
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(publicMaxAgeSeconds)).cachePublic();
+        return streamSaved(saved, "inline", cacheControl, headers);
+    }
+
+    /**
+     * Stream a stored PDF from the blob store without materialising it on the heap first.
+     * Blob-stored PDFs are immutable and content-addressed, so they get a strong ETag from
+     * the hash, Last-Modified from the save time, 304s and single byte-range requests.
+     * The blob is opened before the headers go out (like {@link #download}), so a missing
+     * one is a 404 rather than a truncated 200.
+     */
+    private ResponseEntity<StreamingResponseBody> streamSaved(SavedResumeSummary saved, String disposition,
+                                                              CacheControl cacheControl, HttpHeaders request)
+            throws IOException {
+        String contentDisposition = disposition + "; filename=\""
+                + saved.getTitle().replaceAll("[^a-zA-Z0-9.-]", "_") + ".pdf\"";
+
+        if (saved.getPdfHash() == null) {
+            // Not yet moved to the blob store — no stable validator, serve it whole.
+            RenderedPdf pdf = exportService.readSavedPdf(saved);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .contentLength(pdf.size())
+                    .body(pdf::writeTo);
+        }
+
+        String etag = ConditionalRequests.etag(saved.getPdfHash());
+        long lastModified = saved.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (ConditionalRequests.notModified(request, etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag).lastModified(lastModified).cacheControl(cacheControl).build();
+        }
+
+        BlobStore.Blob pdf = exportService.openSavedPdf(saved);
+        long size = pdf.size();
+        long[] range = ConditionalRequests.byteRange(request, etag, lastModified, size);
+        if (range == ConditionalRequests.UNSATISFIABLE) {
+            pdf.close();
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size).build();
+        }
+
+        HttpStatus status = range != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+                .contentType(MediaType.APPLICATION_PDF);
+        long start = range != null ? range[0] : 0;
+        long length = range != null ? range[1] - range[0] + 1 : size;
+        if (range != null) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + range[0] + "-" + range[1] + "/" + size);
+        }
+        return response.contentLength(length)
+                .body(out -> {
+                    try (pdf) {
+                        pdf.transferTo(start, length, out);
+                    }
+                });
     }
 
     private SavedResumeInfo toInfo(SavedResume s) {
-        String publicUrl = s.getPublishToken() != null
-                ? baseUrl + "/api/v1/public/resume/" + s.getPublishToken()
+        return toInfo(s.getId(), s.getPortfolioId(), s.getTitle(), s.getTemplateKey(),
+                s.getFileSizeBytes(), s.getCreatedAt(), s.getPublishToken());
+    }
+
+    private SavedResumeInfo toInfo(SavedResumeSummary s) {
+        return toInfo(s.getId(), s.getPortfolioId(), s.getTitle(), s.getTemplateKey(),
+                s.getFileSizeBytes(), s.getCreatedAt(), s.getPublishToken());
+    }
+
+    private SavedResumeInfo toInfo(Long id, Long portfolioId, String title, String templateKey,
+                                   long fileSizeBytes, LocalDateTime createdAt, String publishToken) {
+        String publicUrl = publishToken != null
+                ? baseUrl + "/api/v1/public/resume/" + publishToken
                 : null;
-        return new SavedResumeInfo(s.getId(), s.getPortfolioId(), s.getTitle(),
-                s.getTemplateKey(), s.getFileSizeBytes(), s.getCreatedAt(), publicUrl);
+        String thumbnailUrl = baseUrl + "/api/v1/saved-resumes/" + id + "/thumbnail";
+        return new SavedResumeInfo(id, portfolioId, title, templateKey, fileSizeBytes, createdAt,
+                publicUrl, thumbnailUrl);
     }
 }
@@ -0,0 +1,33 @@
+package com.openfolio.export;
+
+import com.openfolio.export.dto.ExportOptions;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** Mutable state of one background export; owned and synchronised by {@link ExportJobService}. */
+final class ExportJob {
+
+    final String id;
+    final Long userId;
+    final Long portfolioId;
+    final String template;
+    final ExportOptions options;
+    final LocalDateTime createdAt = LocalDateTime.now();
+    final List<SseEmitter> listeners = new CopyOnWriteArrayList<>();
+
+    volatile ExportStage stage = ExportStage.QUEUED;
+    volatile LocalDateTime updatedAt = createdAt;
+    volatile String resultToken;
+    volatile String error;
+
+    ExportJob(String id, Long userId, Long portfolioId, String template, ExportOptions options) {
+        this.id = id;
+        this.userId = userId;
+        this.portfolioId = portfolioId;
+        this.template = template;
+        this.options = options;
+    }
+}
@@ -0,0 +1,87 @@
+package com.openfolio.export;
+
+import com.openfolio.export.dto.ExportJobStatus;
+import com.openfolio.export.dto.ExportOptions;
+import com.openfolio.shared.security.AuthenticatedUser;
+import com.openfolio.shared.web.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+@RestController
+@Tag(name = "PDF Export Jobs", description = "Submit PDF exports in the background and follow their progress")
+public class ExportJobController {
+
+    private final ExportJobService jobService;
+
+    public ExportJobController(ExportJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /** Queue a PDF export → returns a job id immediately. */
+    @PostMapping("/api/v1/portfolios/{id}/export/jobs")
+    @Operation(summary = "Submit PDF export job", description = "Queues a PDF export and returns its job id without waiting for AI rewrite or rendering.")
+    public ResponseEntity<ApiResponse<ExportJobStatus>> submit(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "pdf") String template,
+            @RequestParam(defaultValue = "false") boolean aiRewrite,
+            @RequestParam(defaultValue = "false") boolean includePhoto,
+            @RequestParam(required = false) String photoUrl,
+            @RequestParam(defaultValue = "false") boolean includePhone,
+            @RequestParam(required = false) String phone,
+            @RequestParam(defaultValue = "false") boolean includeLinkedIn,
+            @RequestParam(required = false) String linkedIn,
+            @RequestParam(defaultValue = "false") boolean includeWebsite,
+            @RequestParam(required = false) String website,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        ExportOptions options = ExportOptions.of(aiRewrite, includePhoto, photoUrl,
+                includePhone, phone, includeLinkedIn, linkedIn, includeWebsite, website);
+        ExportJobStatus status = jobService.submit(id, user.userId(), template, options);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.ok(status));
+    }
+
+    /** Poll a job's current stage. */
+    @GetMapping("/api/v1/export/jobs/{jobId}")
+    @Operation(summary = "Export job status", description = "Returns the job's current stage: QUEUED, LOADING, AI, HTML, PDF, DONE or FAILED.")
+    public ResponseEntity<ApiResponse<ExportJobStatus>> status(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(ApiResponse.ok(jobService.status(jobId, user.userId())));
+    }
+
+    /** Server-sent stage updates until the job finishes. */
+    @GetMapping(value = "/api/v1/export/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Export job progress (SSE)", description = "Streams a 'stage' event on every stage change; completes on DONE or FAILED.")
+    public SseEmitter events(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        return jobService.subscribe(jobId, user.userId());
+    }
+
+    /** Download the finished PDF. */
+    @GetMapping("/api/v1/export/jobs/{jobId}/result")
+    @Operation(summary = "Export job result", description = "Returns the generated PDF once the job is DONE; 409 while it is still running.")
+    public ResponseEntity<StreamingResponseBody> result(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal AuthenticatedUser user) throws IOException {
+        ExportTempStore.Download pdf = jobService.result(jobId, user.userId());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"resume.pdf\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .contentLength(pdf.size())
+                .body(out -> {
+                    try (pdf) {
+                        pdf.transferTo(out);
+                    }
+                });
+    }
+}
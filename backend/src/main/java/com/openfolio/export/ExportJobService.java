@@ -0,0 +1,270 @@
+package com.openfolio.export;
+
+import com.openfolio.export.dto.ExportJobStatus;
+import com.openfolio.export.dto.ExportOptions;
+import com.openfolio.portfolio.PortfolioRepository;
+import com.openfolio.shared.exception.ApiException;
+import com.openfolio.shared.exception.ConflictException;
+import com.openfolio.shared.exception.ResourceNotFoundException;
+import com.openfolio.shared.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background PDF export jobs.
+ *
+ * <p>Submitting returns immediately with a job id; the export (load → AI → HTML → PDF)
+ * runs on a bounded worker pool and its stage is observable by polling or over SSE.
+ * The finished PDF is parked in {@link ExportTempStore} and fetched by job id.
+ * Each user may have at most {@code app.export.jobs.max-per-user} unfinished jobs, and
+ * finished jobs are forgotten after {@code app.export.jobs.retention-minutes}.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobService.class);
+
+    private final ExportService exportService;
+    private final ExportTempStore tempStore;
+    private final PortfolioRepository portfolioRepository;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor();
+
+    private final int maxPerUser;
+    private final int maxRetained;
+    private final long retentionMinutes;
+    private final long sseTimeoutSeconds;
+    private final long retryAfterSeconds;
+
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter rejected;
+
+    @Value("${app.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    public ExportJobService(ExportService exportService,
+                            ExportTempStore tempStore,
+                            PortfolioRepository portfolioRepository,
+                            MeterRegistry registry,
+                            @Value("${app.export.jobs.workers:4}") int workers,
+                            @Value("${app.export.jobs.queue-capacity:32}") int queueCapacity,
+                            @Value("${app.export.jobs.max-per-user:2}") int maxPerUser,
+                            @Value("${app.export.jobs.max-retained:500}") int maxRetained,
+                            @Value("${app.export.jobs.retention-minutes:15}") long retentionMinutes,
+                            @Value("${app.export.jobs.sse-timeout-seconds:300}") long sseTimeoutSeconds,
+                            @Value("${app.export.render-pool.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.exportService = exportService;
+        this.tempStore = tempStore;
+        this.portfolioRepository = portfolioRepository;
+        this.maxPerUser = maxPerUser;
+        this.maxRetained = maxRetained;
+        this.retentionMinutes = retentionMinutes;
+        this.sseTimeoutSeconds = sseTimeoutSeconds;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "export-job-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        this.completed = Counter.builder("openfolio.export.jobs").tag("outcome", "done").register(registry);
+        this.failed = Counter.builder("openfolio.export.jobs").tag("outcome", "failed").register(registry);
+        this.rejected = Counter.builder("openfolio.export.jobs").tag("outcome", "rejected").register(registry);
+        Gauge.builder("openfolio.export.jobs.active", jobs,
+                        m -> m.values().stream().filter(j -> !j.stage.isTerminal()).count())
+                .register(registry);
+
+        sweeper.scheduleAtFixedRate(this::sweep, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Queue an export and return its initial status.
+     *
+     * @throws ResourceNotFoundException if the portfolio doesn't exist or isn't the user's
+     * @throws TooManyRequestsException  if the user already has too many unfinished jobs,
+     *                                   or the job queue is full
+     */
+    public ExportJobStatus submit(Long portfolioId, Long userId, String template, ExportOptions options) {
+        if (!portfolioRepository.existsByIdAndUserId(portfolioId, userId)) {
+            throw new ResourceNotFoundException("Portfolio", portfolioId);
+        }
+        String themeKey = (template != null && !template.isBlank()) ? template.toLowerCase() : "pdf";
+        ExportJob job = new ExportJob(UUID.randomUUID().toString().replace("-", ""),
+                userId, portfolioId, themeKey, options);
+
+        synchronized (this) {
+            long active = jobs.values().stream()
+                    .filter(j -> j.userId.equals(userId) && !j.stage.isTerminal())
+                    .count();
+            if (active >= maxPerUser) {
+                rejected.increment();
+                throw new TooManyRequestsException(
+                        "You already have " + active + " exports in progress", retryAfterSeconds);
+            }
+            jobs.put(job.id, job);
+        }
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            rejected.increment();
+            throw new TooManyRequestsException("Export queue is full, please retry shortly", retryAfterSeconds);
+        }
+        log.info("Queued export job {} for portfolio {} (template={})", job.id, portfolioId, themeKey);
+        return toStatus(job);
+    }
+
+    /** Current status of one of the user's jobs. */
+    public ExportJobStatus status(String jobId, Long userId) {
+        return toStatus(find(jobId, userId));
+    }
+
+    /**
+     * Subscribe to stage changes. The current status is sent immediately; the stream
+     * completes once the job reaches DONE or FAILED.
+     */
+    public SseEmitter subscribe(String jobId, Long userId) {
+        ExportJob job = find(jobId, userId);
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(sseTimeoutSeconds));
+        emitter.onCompletion(() -> job.listeners.remove(emitter));
+        emitter.onTimeout(() -> job.listeners.remove(emitter));
+        emitter.onError(e -> job.listeners.remove(emitter));
+        job.listeners.add(emitter);
+
+        // Send after registering so a stage change in between is never missed.
+        send(job, emitter, toStatus(job));
+        if (job.stage.isTerminal()) {
+            job.listeners.remove(emitter);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * The finished PDF, pinned for download (see {@link ExportTempStore#open}). Close it
+     * once written.
+     *
+     * @throws ConflictException         if the job hasn't finished successfully
+     * @throws ResourceNotFoundException if the job or its result has expired
+     */
+    public ExportTempStore.Download result(String jobId, Long userId) throws IOException {
+        ExportJob job = find(jobId, userId);
+        if (job.stage == ExportStage.FAILED) {
+            throw new ConflictException("Export job failed: " + job.error);
+        }
+        if (job.stage != ExportStage.DONE) {
+            throw new ConflictException("Export job is still " + job.stage.name().toLowerCase());
+        }
+        ExportTempStore.Download pdf = tempStore.open(job.resultToken);
+        if (pdf == null) throw new ResourceNotFoundException("Export result", jobId);
+        return pdf;
+    }
+
+    private ExportJob find(String jobId, Long userId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Export job", jobId);
+        }
+        return job;
+    }
+
+    private void run(ExportJob job) {
+        try {
+            byte[] pdf = exportService.generatePdfBytes(job.portfolioId, job.userId, job.template,
+                    job.options, stage -> advance(job, stage));
+            job.resultToken = tempStore.store(pdf);
+            advance(job, ExportStage.DONE);
+            completed.increment();
+            log.info("Export job {} finished ({}KB)", job.id, pdf.length / 1024);
+        } catch (ApiException e) {
+            job.error = e.getMessage();
+            advance(job, ExportStage.FAILED);
+            failed.increment();
+            log.warn("Export job {} failed: {}", job.id, e.getMessage());
+        } catch (Exception e) {
+            job.error = "PDF generation failed";
+            advance(job, ExportStage.FAILED);
+            failed.increment();
+            log.error("Export job {} failed", job.id, e);
+        }
+    }
+
+    private void advance(ExportJob job, ExportStage stage) {
+        job.stage = stage;
+        job.updatedAt = LocalDateTime.now();
+        ExportJobStatus status = toStatus(job);
+        for (SseEmitter emitter : job.listeners) {
+            send(job, emitter, status);
+            if (stage.isTerminal()) emitter.complete();
+        }
+        if (stage.isTerminal()) job.listeners.clear();
+    }
+
+    private void send(ExportJob job, SseEmitter emitter, ExportJobStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name("stage").data(status));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away — drop the listener, the job carries on.
+            job.listeners.remove(emitter);
+        }
+    }
+
+    private ExportJobStatus toStatus(ExportJob job) {
+        String resultUrl = job.stage == ExportStage.DONE
+                ? baseUrl + "/api/v1/export/jobs/" + job.id + "/result"
+                : null;
+        return new ExportJobStatus(job.id, job.stage.name(), job.template, job.error, resultUrl,
+                job.createdAt, job.updatedAt);
+    }
+
+    /** Forget finished jobs past their retention, then trim the oldest if still over the cap. */
+    private void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(j -> j.stage.isTerminal() && j.updatedAt.isBefore(cutoff));
+
+        int excess = jobs.size() - maxRetained;
+        if (excess > 0) {
+            jobs.values().stream()
+                    .filter(j -> j.stage.isTerminal())
+                    .sorted(Comparator.comparing(j -> j.updatedAt))
+                    .limit(excess)
+                    .toList()
+                    .forEach(j -> jobs.remove(j.id));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+        executor.shutdownNow();
+    }
+}
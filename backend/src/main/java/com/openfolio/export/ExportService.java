@@ -1,6 +1,8 @@
 package com.openfolio.export;
 
-import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import com.openfolio.ai.AiJobPriority;
+import com.openfolio.ai.AiJobQueue;
+import com.openfolio.ai.AiJobType;
 import com.openfolio.ai.AiResumeEnhancer;
 import com.openfolio.export.dto.ExportOptions;
 import com.openfolio.export.dto.ExportResponse;
@@ -11,19 +13,27 @@ import com.openfolio.portfolio.PortfolioHtmlGenerator;
 import com.openfolio.portfolio.PortfolioRepository;
 import com.openfolio.project.Project;
 import com.openfolio.project.ProjectRepository;
+import com.openfolio.shared.exception.ResourceNotFoundException;
+import com.openfolio.shared.storage.BlobReferences;
+import com.openfolio.shared.storage.BlobStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 @Service
 public class ExportService {
@@ -33,13 +43,19 @@ public class ExportService {
     private final PortfolioDataLoader dataLoader;
     private final PortfolioHtmlGenerator htmlGenerator;
     private final ExportTempStore tempStore;
+    private final PdfRenderCache renderCache;
+    private final PdfRenderPool renderPool;
     private final AiResumeEnhancer aiEnhancer;
     private final ProjectRepository projectRepository;
     private final PortfolioRepository portfolioRepository;
     private final SavedResumeRepository savedResumeRepository;
-
-    /** Thread pool for parallel AI enhancement — process all projects simultaneously. */
-    private final ExecutorService aiExecutor = Executors.newFixedThreadPool(6);
+    private final SavedResumePdfReader pdfReader;
+    private final BlobStore blobStore;
+    private final BlobReferences blobRefs;
+    private final TransactionTemplate transactions;
+    private final PdfThumbnailRenderer thumbnailRenderer;
+    private final ExportCoalescer coalescer;
+    private final AiJobQueue aiJobs;
 
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
@@ -47,32 +63,52 @@ public class ExportService {
     public ExportService(PortfolioDataLoader dataLoader,
                          PortfolioHtmlGenerator htmlGenerator,
                          ExportTempStore tempStore,
+                         PdfRenderCache renderCache,
+                         PdfRenderPool renderPool,
                          AiResumeEnhancer aiEnhancer,
                          ProjectRepository projectRepository,
                          PortfolioRepository portfolioRepository,
-                         SavedResumeRepository savedResumeRepository) {
+                         SavedResumeRepository savedResumeRepository,
+                         SavedResumePdfReader pdfReader,
+                         BlobStore blobStore,
+                         BlobReferences blobRefs,
+                         PlatformTransactionManager transactionManager,
+                         PdfThumbnailRenderer thumbnailRenderer,
+                         ExportCoalescer coalescer,
+                         AiJobQueue aiJobs) {
         this.dataLoader = dataLoader;
         this.htmlGenerator = htmlGenerator;
         this.tempStore = tempStore;
+        this.renderCache = renderCache;
+        this.renderPool = renderPool;
         this.aiEnhancer = aiEnhancer;
         this.projectRepository = projectRepository;
         this.portfolioRepository = portfolioRepository;
         this.savedResumeRepository = savedResumeRepository;
+        this.pdfReader = pdfReader;
+        this.blobStore = blobStore;
+        this.blobRefs = blobRefs;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.thumbnailRenderer = thumbnailRenderer;
+        this.coalescer = coalescer;
+        this.aiJobs = aiJobs;
     }
 
+    /** Generate a PDF into the temp store. Identical concurrent requests share one export and token. */
     @Transactional
     public ExportResponse generatePdf(Long portfolioId, Long userId, String template,
                                        ExportOptions options) {
         PortfolioBundle bundle = dataLoader.load(portfolioId, userId);
-        String themeKey = (template != null && !template.isBlank()) ? template.toLowerCase() : "pdf";
-
-        if (options.aiRewriteDescriptions()) {
-            bundle = enhanceBundle(bundle);
-        }
+        return coalescer.run("pdf", coalescingKey(bundle, template, options),
+                () -> doGeneratePdf(bundle, template, options));
+    }
 
-        String html = htmlGenerator.generateForPdf(bundle, themeKey, options);
+    private ExportResponse doGeneratePdf(PortfolioBundle bundle, String template, ExportOptions options) {
+        Long portfolioId = bundle.portfolio().getId();
+        String themeKey = themeKey(template);
+        String html = buildHtml(bundle, themeKey, options, stage -> {});
 
-        byte[] pdfBytes = renderHtmlToPdf(html);
+        byte[] pdfBytes = renderHtmlToPdf(html).toByteArray();
         String token = tempStore.store(pdfBytes);
         String downloadUrl = baseUrl + "/api/v1/export/download/" + token;
 
@@ -83,35 +119,130 @@ public class ExportService {
 
     /**
      * Generate PDF bytes for in-app viewing (returns raw byte array).
+     * Identical concurrent requests share one render.
      */
     @Transactional
     public byte[] generatePdfBytes(Long portfolioId, Long userId, String template,
                                     ExportOptions options) {
         PortfolioBundle bundle = dataLoader.load(portfolioId, userId);
-        String themeKey = (template != null && !template.isBlank()) ? template.toLowerCase() : "pdf";
+        return coalescer.run("pdf-bytes", coalescingKey(bundle, template, options),
+                () -> renderHtmlToPdf(buildHtml(bundle, themeKey(template), options, stage -> {})).toByteArray());
+    }
 
-        if (options.aiRewriteDescriptions()) {
-            bundle = enhanceBundle(bundle);
+    /**
+     * Generate PDF bytes, reporting each stage to {@code progress} as it starts.
+     * Used by background export jobs to drive their status and SSE updates. A job has
+     * already been accepted, so a busy render pool makes it wait for a slot, not fail.
+     */
+    @Transactional
+    public byte[] generatePdfBytes(Long portfolioId, Long userId, String template,
+                                    ExportOptions options, Consumer<ExportStage> progress) {
+        progress.accept(ExportStage.LOADING);
+        PortfolioBundle bundle = dataLoader.load(portfolioId, userId);
+        String html = buildHtml(bundle, themeKey(template), options, progress);
+        progress.accept(ExportStage.PDF);
+        return renderCache.get(html, () -> renderPool.renderWhenFree(html)).toByteArray();
+    }
+
+    /**
+     * Export several templates of the same portfolio in one go: the bundle is loaded and
+     * AI-enhanced once, and every template not already in the render cache is rendered
+     * concurrently on the render pool.
+     *
+     * @return PDFs keyed by template, in request order
+     */
+    @Transactional
+    public Map<String, byte[]> generateBatch(Long portfolioId, Long userId, List<String> templates,
+                                             ExportOptions options) {
+        PortfolioBundle bundle = loadBundle(portfolioId, userId, options, stage -> {});
+
+        Map<String, String> htmlByTemplate = new LinkedHashMap<>();
+        for (String template : templates) {
+            htmlByTemplate.putIfAbsent(themeKey(template),
+                    htmlGenerator.generateForPdf(bundle, themeKey(template), options));
         }
 
-        String html = htmlGenerator.generateForPdf(bundle, themeKey, options);
+        Map<String, byte[]> pdfs = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        htmlByTemplate.forEach((template, html) -> {
+            RenderedPdf cached = renderCache.peek(html);
+            pdfs.put(template, cached != null ? cached.toByteArray() : null);
+            if (cached == null) missing.add(template);
+        });
+
+        List<RenderedPdf> rendered = renderPool.renderAll(missing.stream().map(htmlByTemplate::get).toList());
+        for (int i = 0; i < missing.size(); i++) {
+            String template = missing.get(i);
+            renderCache.put(htmlByTemplate.get(template), rendered.get(i));
+            pdfs.put(template, rendered.get(i).toByteArray());
+        }
+        log.info("Batch-exported portfolio {} as {} ({} rendered, {} cached)",
+                portfolioId, pdfs.keySet(), missing.size(), pdfs.size() - missing.size());
+        return pdfs;
+    }
+
+    /**
+     * Render a PDF for a direct response. Loading, AI enhancement, HTML generation and the
+     * render itself all finish here, before the response is committed: a full pool is a 429,
+     * a failed render a normal error response, and the render slot is free again before the
+     * first byte goes out, so a slow client never holds it. The render buffer itself is
+     * returned and kept in the render cache — no trimmed copy is made on the way.
+     */
+    @Transactional
+    public RenderedPdf streamPdf(Long portfolioId, Long userId, String template,
+                               ExportOptions options) {
+        String html = generatePreviewHtml(portfolioId, userId, template, options);
         return renderHtmlToPdf(html);
     }
 
     /**
      * Generate preview HTML that matches the PDF layout — for in-app preview.
+     * Identical concurrent requests share one load, AI pass and generation.
      */
     @Transactional
     public String generatePreviewHtml(Long portfolioId, Long userId, String template,
                                        ExportOptions options) {
         PortfolioBundle bundle = dataLoader.load(portfolioId, userId);
-        String themeKey = (template != null && !template.isBlank()) ? template.toLowerCase() : "pdf";
+        return coalescer.run("preview-html", coalescingKey(bundle, template, options),
+                () -> buildHtml(bundle, themeKey(template), options, stage -> {}));
+    }
+
+    /**
+     * What makes two export requests interchangeable: portfolio, owner, template,
+     * canonical options and the loaded content as data version. The bundle is loaded
+     * (and ownership checked) before joining, so an edit to any item — not just to the
+     * portfolio row — keeps the next request out of a render of the old data.
+     */
+    private static List<Object> coalescingKey(PortfolioBundle bundle, String template, ExportOptions options) {
+        return Arrays.asList(bundle.portfolio().getId(), bundle.user().getId(), themeKey(template),
+                options.canonical(), bundle.contentVersion());
+    }
 
+    /** Optionally AI-enhance a loaded bundle and generate the PDF-layout HTML. */
+    private String buildHtml(PortfolioBundle bundle, String themeKey,
+                             ExportOptions options, Consumer<ExportStage> progress) {
+        bundle = enhance(bundle, options, progress);
+        progress.accept(ExportStage.HTML);
+        return htmlGenerator.generateForPdf(bundle, themeKey, options);
+    }
+
+    private PortfolioBundle loadBundle(Long portfolioId, Long userId, ExportOptions options,
+                                       Consumer<ExportStage> progress) {
+        progress.accept(ExportStage.LOADING);
+        return enhance(dataLoader.load(portfolioId, userId), options, progress);
+    }
+
+    private PortfolioBundle enhance(PortfolioBundle bundle, ExportOptions options,
+                                    Consumer<ExportStage> progress) {
         if (options.aiRewriteDescriptions()) {
-            bundle = enhanceBundle(bundle);
+            progress.accept(ExportStage.AI);
+            bundle = enhanceBundle(bundle, AiEnhancementListener.NONE);
         }
+        return bundle;
+    }
 
-        return htmlGenerator.generateForPdf(bundle, themeKey, options);
+    private static String themeKey(String template) {
+        return (template != null && !template.isBlank()) ? template.toLowerCase() : "pdf";
     }
 
     /**
@@ -133,14 +264,25 @@ public class ExportService {
     }
 
     /**
-     * Pre-warm the AI cache by running all enhancements now.
-     * Called asynchronously from the controller so the client doesn't block.
+     * Pre-warm the AI cache: queue every missing rewrite at warm-up priority and return
+     * immediately. An export that arrives first promotes the queued jobs and waits on them.
      */
-    @Transactional
     public void warmUpAiCache(Long portfolioId, Long userId) {
         PortfolioBundle bundle = dataLoader.load(portfolioId, userId);
-        enhanceBundle(bundle);
-        log.info("AI cache warmed for portfolio {}", portfolioId);
+        int queued = submitAiJobs(bundle, AiJobPriority.WARM_UP).size();
+        log.info("Queued {} AI warm-up job(s) for portfolio {}", queued, portfolioId);
+    }
+
+    /**
+     * Run the AI rewrite (summary and every project) and report the text to
+     * {@code listener} token by token as Ollama generates it. Results are persisted
+     * like queued rewrites, so a later export reuses them.
+     */
+    @Transactional
+    public void streamAiEnhancement(Long portfolioId, Long userId, AiEnhancementListener listener) {
+        PortfolioBundle bundle = dataLoader.load(portfolioId, userId);
+        enhanceBundle(bundle, listener);
+        log.info("AI rewrite streamed for portfolio {}", portfolioId);
     }
 
     /**
@@ -148,12 +290,18 @@ public class ExportService {
      * Results are persisted to the database so they survive server restarts.
      * Returns a NEW PortfolioBundle with enhanced content.
      */
-    private PortfolioBundle enhanceBundle(PortfolioBundle bundle) {
-        // 1. Enhance project descriptions (parallel, DB-cached)
-        enhanceProjectDescriptions(bundle.projects());
-
-        // 2. Enhance professional summary (DB-cached)
-        String enhancedSummary = enhanceSummary(bundle);
+    private PortfolioBundle enhanceBundle(PortfolioBundle bundle, AiEnhancementListener listener) {
+        String enhancedSummary;
+        if (listener == AiEnhancementListener.NONE) {
+            enhancedSummary = enhanceQueued(bundle);
+        } else {
+            // Streaming: one direct request at a time on the caller's thread, so every
+            // token belongs to the text currently being streamed.
+            for (Project p : projectsNeedingAi(bundle.projects(), listener)) {
+                enhanceStreaming(p, listener);
+            }
+            enhancedSummary = enhanceSummary(bundle, listener);
+        }
 
         // Return new bundle with enhanced summary
         if (enhancedSummary != null && !enhancedSummary.equals(bundle.aboutContent())) {
@@ -167,17 +315,75 @@ public class ExportService {
         return bundle;
     }
 
+    /**
+     * Queue every missing rewrite at interactive priority — ahead of imports and
+     * warm-ups, and joining any job already queued for the same text — then wait for
+     * them (180s at most) and apply what finished. Returns the summary to render.
+     */
+    private String enhanceQueued(PortfolioBundle bundle) {
+        Portfolio portfolio = bundle.portfolio();
+        Map<Object, CompletableFuture<String>> pending = submitAiJobs(bundle, AiJobPriority.INTERACTIVE);
+        if (pending.isEmpty()) return summaryOrRaw(bundle);
+
+        log.info("Waiting on {} AI job(s) for portfolio {}...", pending.size(), portfolio.getId());
+        try {
+            CompletableFuture.allOf(pending.values().toArray(new CompletableFuture[0]))
+                    .get(180, java.util.concurrent.TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Some AI enhancements timed out: {}", e.getMessage());
+        }
+
+        pending.forEach((target, job) -> {
+            String enhanced = job.getNow(null);
+            if (enhanced == null || enhanced.isBlank()) return;
+            // The worker already saved it; keep this transaction's copies in step.
+            if (target instanceof Project p) {
+                p.setAiEnhancedDescription(enhanced);
+                p.setAiEnhancedAt(LocalDateTime.now());
+                p.setDescription(enhanced);
+            } else {
+                portfolio.setAiEnhancedSummary(enhanced);
+                portfolio.setAiEnhancedAt(LocalDateTime.now());
+            }
+        });
+        return summaryOrRaw(bundle);
+    }
+
+    /**
+     * Queue a rewrite for the summary (keyed by the portfolio) and for each project that
+     * has none yet. Projects that already have one switch to it for rendering.
+     */
+    private Map<Object, CompletableFuture<String>> submitAiJobs(PortfolioBundle bundle, AiJobPriority priority) {
+        Long userId = bundle.user().getId();
+        Map<Object, CompletableFuture<String>> jobs = new LinkedHashMap<>();
+        for (Project p : projectsNeedingAi(bundle.projects(), AiEnhancementListener.NONE)) {
+            jobs.put(p, aiJobs.submit(AiJobType.PROJECT_DESCRIPTION, p.getId(), userId, priority, false));
+        }
+        Portfolio portfolio = bundle.portfolio();
+        boolean summaryCached = portfolio.getAiEnhancedSummary() != null && !portfolio.getAiEnhancedSummary().isBlank();
+        if (!summaryCached && bundle.aboutContent() != null && !bundle.aboutContent().isBlank()) {
+            jobs.put(portfolio, aiJobs.submit(AiJobType.PORTFOLIO_SUMMARY, portfolio.getId(), userId, priority, false));
+        }
+        return jobs;
+    }
+
+    private static String summaryOrRaw(PortfolioBundle bundle) {
+        String summary = bundle.portfolio().getAiEnhancedSummary();
+        return summary != null && !summary.isBlank() ? summary : bundle.aboutContent();
+    }
+
     /**
      * AI-enhance the professional summary. Checks the database first —
      * if the portfolio already has an AI-enhanced summary, use that.
-     * Otherwise call Ollama and persist the result.
+     * Otherwise call Ollama, streaming to {@code listener}, and persist the result.
      */
-    private String enhanceSummary(PortfolioBundle bundle) {
+    private String enhanceSummary(PortfolioBundle bundle, AiEnhancementListener listener) {
         Portfolio portfolio = bundle.portfolio();
 
         // Check DB cache first
         if (portfolio.getAiEnhancedSummary() != null && !portfolio.getAiEnhancedSummary().isBlank()) {
             log.info("Using cached AI summary for portfolio {}", portfolio.getId());
+            listener.summaryDone(portfolio.getAiEnhancedSummary(), true);
             return portfolio.getAiEnhancedSummary();
         }
 
@@ -191,13 +397,15 @@ public class ExportService {
 
         log.info("AI-enhancing professional summary for portfolio {}...", portfolio.getId());
         try {
-            String enhanced = aiEnhancer.enhanceProfessionalSummary(displayName, rawSummary, topLangs);
+            String enhanced = aiEnhancer.enhanceProfessionalSummary(displayName, rawSummary, topLangs,
+                    listener::summaryToken);
             if (enhanced != null && !enhanced.isBlank()) {
                 // Persist to database
                 portfolio.setAiEnhancedSummary(enhanced);
                 portfolio.setAiEnhancedAt(LocalDateTime.now());
                 portfolioRepository.save(portfolio);
                 log.info("Saved AI summary to DB for portfolio {}", portfolio.getId());
+                listener.summaryDone(enhanced, false);
                 return enhanced;
             }
         } catch (Exception e) {
@@ -207,12 +415,10 @@ public class ExportService {
     }
 
     /**
-     * AI-rewrite raw GitHub project descriptions into professional resume bullet points.
-     * All projects are processed IN PARALLEL to minimize latency.
-     * Results are persisted to the database so they survive server restarts.
+     * Projects with a description but no AI rewrite yet. Those that already have one
+     * switch to it for rendering and are reported to {@code listener} as cached.
      */
-    private void enhanceProjectDescriptions(List<Project> projects) {
-        // Split into cached (has DB result) and uncached (need AI call)
+    private List<Project> projectsNeedingAi(List<Project> projects, AiEnhancementListener listener) {
         List<Project> needAi = new ArrayList<>();
         for (Project p : projects) {
             if (p.getDescription() == null || p.getDescription().isBlank()) continue;
@@ -221,86 +427,151 @@ public class ExportService {
             if (p.getAiEnhancedDescription() != null && !p.getAiEnhancedDescription().isBlank()) {
                 log.debug("Using cached AI description for project {} ({})", p.getId(), p.getName());
                 p.setDescription(p.getAiEnhancedDescription());
+                listener.projectDone(p.getId(), p.getAiEnhancedDescription(), true);
             } else {
                 needAi.add(p);
             }
         }
+        return needAi;
+    }
 
-        if (needAi.isEmpty()) return;
-
-        log.info("AI-enhancing {} project descriptions in parallel...", needAi.size());
-
-        // Fire all AI calls in parallel
-        List<CompletableFuture<Void>> futures = needAi.stream()
-                .map(p -> CompletableFuture.runAsync(() -> {
-                    try {
-                        String enhanced = aiEnhancer.enhanceProjectDescription(
-                                p.getName(),
-                                p.getDescription(),
-                                p.getLanguages() != null ? p.getLanguages() : List.of(),
-                                p.getStars()
-                        );
-                        if (enhanced != null && !enhanced.isBlank()) {
-                            // Persist to database
-                            p.setAiEnhancedDescription(enhanced);
-                            p.setAiEnhancedAt(LocalDateTime.now());
-                            projectRepository.save(p);
-                            // Also set the description for current rendering
-                            p.setDescription(enhanced);
-                            log.debug("AI-rewritten & saved: {} → {}", p.getName(), enhanced);
-                        }
-                    } catch (Exception e) {
-                        log.warn("AI enhancement failed for {}: {}", p.getName(), e.getMessage());
-                    }
-                }, aiExecutor))
-                .toList();
-
-        // Wait for all to complete (timeout 180s — 20+ projects can take 2+ min with 6 threads)
+    /** Rewrite one project, streaming its tokens to {@code listener}, and persist the result. */
+    private void enhanceStreaming(Project p, AiEnhancementListener listener) {
         try {
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                    .get(180, java.util.concurrent.TimeUnit.SECONDS);
-            log.info("All {} AI enhancements completed and saved to DB", needAi.size());
+            String enhanced = aiEnhancer.enhanceProjectDescription(
+                    p.getName(),
+                    p.getDescription(),
+                    p.getLanguages() != null ? p.getLanguages() : List.of(),
+                    p.getStars(),
+                    token -> listener.projectToken(p.getId(), token)
+            );
+            if (enhanced == null || enhanced.isBlank()) return;
+            // Persist to database
+            p.setAiEnhancedDescription(enhanced);
+            p.setAiEnhancedAt(LocalDateTime.now());
+            projectRepository.save(p);
+            // Also set the description for current rendering
+            p.setDescription(enhanced);
+            log.debug("AI-rewritten & saved: {} → {}", p.getName(), enhanced);
+            listener.projectDone(p.getId(), enhanced, false);
         } catch (Exception e) {
-            log.warn("Some AI enhancements timed out: {}", e.getMessage());
+            log.warn("AI enhancement failed for {}: {}", p.getName(), e.getMessage());
         }
     }
 
-    private byte[] renderHtmlToPdf(String html) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfRendererBuilder builder = new PdfRendererBuilder();
-            builder.useFastMode();
-            builder.withHtmlContent(html, null);
-            builder.toStream(baos);
-            builder.run();
-            return baos.toByteArray();
-        } catch (Exception e) {
-            log.error("PDF render failed", e);
-            throw new RuntimeException("PDF generation failed: " + e.getMessage(), e);
-        }
+    /** Render through the content-addressed cache — identical HTML never renders twice. */
+    private RenderedPdf renderHtmlToPdf(String html) {
+        return renderCache.get(html, () -> renderPool.render(html));
     }
 
     // ─── Saved Resumes ──────────────────────────────────────────────────
 
-    /** Generate a PDF and immediately save it to the database. */
+    /**
+     * Generate a PDF and its thumbnail, then store both blobs and save the metadata in one
+     * transaction, so the row and its blob references commit (or roll back) together.
+     */
     public SavedResume generateAndSavePdf(Long portfolioId, Long userId, String template,
                                            ExportOptions options, String title) {
         byte[] pdfBytes = generatePdfBytes(portfolioId, userId, template, options);
-        String themeKey = (template != null && !template.isBlank()) ? template.toLowerCase() : "pdf";
+        byte[] thumbnail = renderThumbnail(pdfBytes);
+        String themeKey = themeKey(template);
         String resolvedTitle = (title != null && !title.isBlank()) ? title
                 : "Resume — " + themeKey.substring(0, 1).toUpperCase() + themeKey.substring(1);
-        SavedResume saved = new SavedResume(userId, portfolioId, resolvedTitle, themeKey, pdfBytes);
-        savedResumeRepository.save(saved);
+        SavedResume saved = transactions.execute(tx -> {
+            SavedResume row = new SavedResume(userId, portfolioId, resolvedTitle, themeKey,
+                    blobRefs.store(pdfBytes), pdfBytes.length);
+            if (thumbnail != null) row.setThumbnailHash(blobRefs.store(thumbnail));
+            return savedResumeRepository.save(row);
+        });
         log.info("Saved resume PDF for user {} portfolio {} ({}KB) id={}",
                 userId, portfolioId, pdfBytes.length / 1024, saved.getId());
         return saved;
     }
 
     /** List all saved resumes for a user (metadata only, no PDF bytes). */
-    public List<SavedResume> listSaved(Long userId) {
-        return savedResumeRepository.findAllByUserIdOrderByCreatedAtDesc(userId);
+    public List<SavedResumeSummary> listSaved(Long userId) {
+        return savedResumeRepository.findSummariesByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    /** Get saved resume metadata without loading the PDF — returns null if not found or wrong user. */
+    public SavedResumeSummary getSavedSummary(Long id, Long userId) {
+        return savedResumeRepository.findSummaryByIdAndUserId(id, userId).orElse(null);
+    }
+
+    /** Get published resume metadata by its public token without loading the PDF. */
+    public SavedResumeSummary getSummaryByPublishToken(String token) {
+        return savedResumeRepository.findSummaryByPublishToken(token).orElse(null);
+    }
+
+    /**
+     * Open a blob-stored saved resume PDF for streaming. A missing blob is a 404 here,
+     * before any response header is committed.
+     */
+    public BlobStore.Blob openSavedPdf(SavedResumeSummary saved) throws IOException {
+        BlobStore.Blob pdf = saved.getPdfHash() != null ? blobStore.openBlob(saved.getPdfHash()) : null;
+        if (pdf == null) throw new ResourceNotFoundException("SavedResume", saved.getId());
+        return pdf;
     }
 
-    /** Get a saved resume (with PDF data) — returns null if not found or wrong user. */
+    /**
+     * Read a saved resume's PDF fully — from the blob store, or the legacy column — so a
+     * missing one is a 404 before anything is committed.
+     */
+    public RenderedPdf readSavedPdf(SavedResumeSummary saved) throws IOException {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream(
+                (int) Math.max(saved.getFileSizeBytes(), 32));
+        if (saved.getPdfHash() != null) {
+            try (BlobStore.Blob blob = openSavedPdf(saved)) {
+                blob.transferTo(pdf);
+            }
+        } else if (!pdfReader.copyTo(saved.getId(), pdf)) {
+            throw new ResourceNotFoundException("SavedResume", saved.getId());
+        }
+        return new RenderedPdf(pdf.toByteArray());
+    }
+
+    /**
+     * Blob key of a saved resume's first-page PNG. Rows saved before thumbnails existed
+     * (or whose render failed) get theirs rendered now and recorded; concurrent first
+     * requests may both render, but the blob is content-addressed so they store one copy.
+     * The render runs on the render pool, so a busy pool is a 429.
+     */
+    public String savedThumbnailKey(SavedResumeSummary saved) throws IOException {
+        String previous = saved.getThumbnailHash();
+        if (previous != null && blobStore.exists(previous)) return previous;
+
+        byte[] thumbnail = thumbnailRenderer.render(readSavedPdf(saved).toByteArray());
+        String key = transactions.execute(tx -> {
+            String stored = blobRefs.store(thumbnail);
+            if (savedResumeRepository.updateThumbnailHash(saved.getId(), previous, stored) == 1) {
+                if (previous != null) blobRefs.release(previous);
+            } else {
+                blobRefs.release(stored);  // another request recorded one first, or the row is gone
+            }
+            return stored;
+        });
+        log.info("Rendered missing thumbnail for saved resume {}", saved.getId());
+        return key;
+    }
+
+    /** Open a stored thumbnail for streaming; a missing one is a 404 before anything is committed. */
+    public BlobStore.Blob openThumbnail(String key) throws IOException {
+        BlobStore.Blob thumbnail = blobStore.openBlob(key);
+        if (thumbnail == null) throw new ResourceNotFoundException("Thumbnail", key);
+        return thumbnail;
+    }
+
+    /** Render the thumbnail at save time; a failure or a busy render pool only defers it to first request. */
+    private byte[] renderThumbnail(byte[] pdfBytes) {
+        try {
+            return thumbnailRenderer.render(pdfBytes);
+        } catch (RuntimeException e) {
+            log.warn("Could not render resume thumbnail, will retry on first request: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Get a saved resume's metadata entity — returns null if not found or wrong user. */
     public SavedResume getSaved(Long id, Long userId) {
         return savedResumeRepository.findByIdAndUserId(id, userId).orElse(null);
     }
@@ -308,7 +579,12 @@ public class ExportService {
     /** Delete a saved resume. */
     @Transactional
     public void deleteSaved(Long id, Long userId) {
+        SavedResumeSummary saved = savedResumeRepository.findSummaryByIdAndUserId(id, userId).orElse(null);
+        if (saved == null) return;
         savedResumeRepository.deleteByIdAndUserId(id, userId);
+        // Blobs are shared by identical PDFs — the last reference deletes them, after commit.
+        if (saved.getPdfHash() != null) blobRefs.release(saved.getPdfHash());
+        if (saved.getThumbnailHash() != null) blobRefs.release(saved.getThumbnailHash());
     }
 
     /** Update a saved resume (e.g. publish token). */
@@ -316,9 +592,4 @@ public class ExportService {
     public void updateSaved(SavedResume saved) {
         savedResumeRepository.save(saved);
     }
-
-    /** Get a saved resume by its public token (no auth needed). */
-    public SavedResume getByPublishToken(String token) {
-        return savedResumeRepository.findByPublishToken(token).orElse(null);
-    }
 }
@@ -0,0 +1,16 @@
+package com.openfolio.export;
+
+/** Progress stages of a PDF export, in the order they occur. */
+public enum ExportStage {
+    QUEUED,
+    LOADING,
+    AI,
+    HTML,
+    PDF,
+    DONE,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == DONE || this == FAILED;
+    }
+}
@@ -1,37 +1,363 @@
 package com.openfolio.export;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 /**
- * In-memory store for generated PDFs with automatic expiry (10 minutes).
+ * Short-lived store for generated PDFs, addressed by random download tokens.
+ *
+ * <p>Heap use is capped at {@code app.export.temp-store.memory-budget-bytes}: once the
+ * in-memory total goes over budget, the least-recently-used PDFs are written to a temp
+ * directory with {@link FileChannel} and dropped from the heap. Spilled PDFs are streamed
+ * back from disk on download rather than reloaded. A single periodic sweep removes
+ * expired entries (memory and disk); the disk footprint is capped separately.
+ *
+ * <p>Each instance spills into its own random subdirectory of the configured directory,
+ * so instances sharing a temp directory never delete each other's files; the
+ * subdirectory is removed on shutdown.
+ *
+ * <p>With {@code app.export.temp-store.mode=signed} every call is delegated to
+ * {@link SignedArtifactStore}, whose tokens are valid on any node sharing its directory.
  */
 @Component
 public class ExportTempStore {
 
     private static final Logger log = LoggerFactory.getLogger(ExportTempStore.class);
-    private final Map<String, byte[]> store = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final SignedArtifactStore signed;
+    private final Path dir;
+    private final long ttlMillis;
+    private final long memoryBudget;
+    private final long maxDiskBytes;
+
+    /** Access-ordered so iteration runs least-recently-used first. Guarded by {@code this}. */
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "export-temp-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Counter spills;
+    private final Counter evictions;
+
+    public ExportTempStore(MeterRegistry registry,
+                           Optional<SignedArtifactStore> signed,
+                           @Value("${app.export.temp-store.dir:${java.io.tmpdir}/openfolio-exports}") String dir,
+                           @Value("${app.export.temp-store.ttl-minutes:10}") long ttlMinutes,
+                           @Value("${app.export.temp-store.memory-budget-bytes:33554432}") long memoryBudget,
+                           @Value("${app.export.temp-store.max-disk-bytes:1073741824}") long maxDiskBytes,
+                           @Value("${app.export.temp-store.sweep-interval-seconds:30}") long sweepIntervalSeconds) {
+        this.signed = signed.orElse(null);
+        this.dir = Path.of(dir).resolve("node-" + UUID.randomUUID());
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.memoryBudget = memoryBudget;
+        this.maxDiskBytes = maxDiskBytes;
+        prepareDirectory();
+
+        this.spills = Counter.builder("openfolio.export.temp.spills").register(registry);
+        this.evictions = Counter.builder("openfolio.export.temp.evictions").register(registry);
+        Gauge.builder("openfolio.export.temp.bytes", this, ExportTempStore::memoryBytes)
+                .tag("location", "memory").baseUnit("bytes").register(registry);
+        Gauge.builder("openfolio.export.temp.bytes", this, ExportTempStore::diskBytes)
+                .tag("location", "disk").baseUnit("bytes").register(registry);
+        Gauge.builder("openfolio.export.temp.entries", this, ExportTempStore::size).register(registry);
+
+        sweeper.scheduleAtFixedRate(this::sweep, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
 
     public String store(byte[] pdfBytes) {
+        if (signed != null) return signed.store(pdfBytes);
         String token = UUID.randomUUID().toString().replace("-", "");
-        store.put(token, pdfBytes);
-        scheduler.schedule(() -> {
-            store.remove(token);
-            log.debug("PDF export token {} expired", token);
-        }, 10, TimeUnit.MINUTES);
+        Entry entry = new Entry(token, pdfBytes, System.currentTimeMillis() + ttlMillis);
+        List<Entry> toSpill;
+        synchronized (this) {
+            entries.put(token, entry);
+            memoryBytes += entry.size;
+            toSpill = selectSpillVictims();
+        }
+        toSpill.forEach(this::spill);
         return token;
     }
 
+    /** The stored PDF, or {@code null} if the token is unknown or expired. */
     public byte[] retrieve(String token) {
-        return store.get(token);
+        if (signed != null) return signed.retrieve(token);
+        Entry entry = lookup(token);
+        if (entry == null) return null;
+        byte[] data = entry.data;
+        if (data != null) return data;
+        try (FileChannel channel = FileChannel.open(entry.file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(entry.size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) { }
+            return buffer.array();
+        } catch (IOException e) {
+            log.debug("Spilled export {} vanished before it was read", token);
+            return null;
+        }
+    }
+
+    /**
+     * Pin the stored PDF for a download, without pulling spilled entries back onto the heap.
+     * Take this before committing response headers: its size and content stay valid even
+     * if the entry expires or is evicted while the body is being written.
+     *
+     * @return {@code null} if the token is unknown, expired or its file is already gone
+     */
+    public Download open(String token) throws IOException {
+        if (signed != null) return signed.open(token);
+        Entry entry = lookup(token);
+        if (entry == null) return null;
+        // spill() sets the file before clearing the data, so one of the two is always there.
+        byte[] data = entry.data;
+        return data != null ? new Download(data) : Download.open(entry.file);
+    }
+
+    private synchronized Entry lookup(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null || entry.expiresAt < System.currentTimeMillis()) return null;
+        return entry;
+    }
+
+    /** Pick LRU in-memory entries until the heap total would fit the budget. Caller holds the lock. */
+    private List<Entry> selectSpillVictims() {
+        List<Entry> victims = new ArrayList<>();
+        long projected = memoryBytes;
+        Iterator<Entry> it = entries.values().iterator();
+        while (projected > memoryBudget && it.hasNext()) {
+            Entry e = it.next();
+            if (e.data == null || e.spilling) continue;
+            e.spilling = true;
+            projected -= e.size;
+            victims.add(e);
+        }
+        return victims;
+    }
+
+    /** Write an entry to disk outside the lock, then swap its heap copy for the file. */
+    private void spill(Entry entry) {
+        Path file = dir.resolve(entry.token + ".pdf");
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(entry.data);
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            // Leave it in memory; the next store() will try again.
+            log.warn("Could not spill export {} to {}: {}", entry.token, dir, e.getMessage());
+            synchronized (this) {
+                entry.spilling = false;
+            }
+            deleteQuietly(file);
+            return;
+        }
+
+        List<Entry> overflow;
+        synchronized (this) {
+            if (entries.get(entry.token) != entry) {
+                overflow = List.of();
+            } else {
+                entry.file = file;
+                entry.data = null;
+                entry.spilling = false;
+                memoryBytes -= entry.size;
+                diskBytes += entry.size;
+                overflow = trimDisk();
+            }
+        }
+        if (entry.file == null) deleteQuietly(file);
+        spills.increment();
+        overflow.forEach(e -> deleteQuietly(e.file));
+    }
+
+    /** Drop the oldest spilled entries while disk use is over its cap. Caller holds the lock. */
+    private List<Entry> trimDisk() {
+        List<Entry> dropped = new ArrayList<>();
+        Iterator<Entry> it = entries.values().iterator();
+        while (diskBytes > maxDiskBytes && it.hasNext()) {
+            Entry e = it.next();
+            if (e.file == null) continue;
+            it.remove();
+            diskBytes -= e.size;
+            dropped.add(e);
+            evictions.increment();
+        }
+        return dropped;
+    }
+
+    /** Single periodic pass: forget expired tokens and delete their spill files. */
+    void sweep() {
+        long now = System.currentTimeMillis();
+        List<Entry> expired = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry e = it.next();
+                if (e.expiresAt >= now) continue;
+                it.remove();
+                if (e.file != null) diskBytes -= e.size;
+                else memoryBytes -= e.size;
+                expired.add(e);
+            }
+        }
+        for (Entry e : expired) {
+            if (e.file != null) deleteQuietly(e.file);
+        }
+        if (!expired.isEmpty()) log.debug("Expired {} PDF export token(s)", expired.size());
+    }
+
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare export temp directory " + dir, e);
+        }
+    }
+
+    /** Remove this instance's spill directory; its tokens are gone with the heap. */
+    private void removeDirectory() {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(ExportTempStore::deleteQuietly);
+        } catch (IOException e) {
+            log.debug("Could not list {}: {}", dir, e.getMessage());
+        }
+        deleteQuietly(dir);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+        if (signed == null) removeDirectory();
+    }
+
+    /**
+     * A stored PDF pinned for one download: its bytes, or an open channel on its file, which
+     * keeps the content readable even if the file is deleted meanwhile. Close it when done.
+     */
+    public static final class Download implements Closeable {
+        private final byte[] data;
+        private final FileChannel channel;
+        private final long size;
+
+        Download(byte[] data) {
+            this.data = data;
+            this.channel = null;
+            this.size = data.length;
+        }
+
+        private Download(FileChannel channel) throws IOException {
+            this.data = null;
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        /** Open {@code file} for reading, or {@code null} if it no longer exists. */
+        static Download open(Path file) throws IOException {
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+            try {
+                return new Download(channel);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        public long size() {
+            return size;
+        }
+
+        /** Write exactly {@link #size()} bytes to {@code out}. */
+        public void transferTo(OutputStream out) throws IOException {
+            if (data != null) {
+                out.write(data);
+                return;
+            }
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            while (position < size) {
+                long sent = channel.transferTo(position, size - position, target);
+                if (sent <= 0) throw new EOFException("Export file shrank while being sent");
+                position += sent;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) channel.close();
+        }
+    }
+
+    private static final class Entry {
+        final String token;
+        final int size;
+        final long expiresAt;
+        volatile byte[] data;
+        volatile Path file;
+        boolean spilling;
+
+        Entry(String token, byte[] data, long expiresAt) {
+            this.token = token;
+            this.data = data;
+            this.size = data.length;
+            this.expiresAt = expiresAt;
+        }
     }
 }
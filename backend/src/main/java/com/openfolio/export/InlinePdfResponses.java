@@ -0,0 +1,66 @@
+package com.openfolio.export;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Responses for the "inline PDF" endpoints used by in-app viewers.
+ *
+ * <p>Clients that send {@code Accept: application/pdf} get the raw PDF bytes. Everyone
+ * else keeps the historical JSON shape {@code {"data":{"base64":"..."}}}, but the Base64 is
+ * encoded on the fly into the response stream — no Base64 string or JSON string is built.
+ * The PDF is always fully rendered before the 200 is committed, so a render failure is
+ * still a normal error response, and both shapes carry an exact Content-Length.
+ */
+public final class InlinePdfResponses {
+
+    private static final byte[] JSON_PREFIX = "{\"data\":{\"base64\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_SUFFIX = "\"}}".getBytes(StandardCharsets.US_ASCII);
+
+    private InlinePdfResponses() {}
+
+    /** Whether the client explicitly asked for a PDF (a bare wildcard doesn't count). */
+    public static boolean wantsBinary(HttpHeaders request) {
+        List<MediaType> accept;
+        try {
+            accept = request.getAccept();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return accept.stream().anyMatch(MediaType.APPLICATION_PDF::equalsTypeAndSubtype);
+    }
+
+    /** Binary or streamed-Base64 JSON, depending on the request's {@code Accept} header. */
+    public static ResponseEntity<StreamingResponseBody> negotiate(HttpHeaders request, RenderedPdf pdf) {
+        if (wantsBinary(request)) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"resume.pdf\"")
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .contentLength(pdf.size())
+                    .body(pdf::writeTo);
+        }
+        long base64Length = 4L * ((pdf.size() + 2) / 3);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(JSON_PREFIX.length + base64Length + JSON_SUFFIX.length)
+                .body(out -> writeBase64Json(pdf, out));
+    }
+
+    private static void writeBase64Json(RenderedPdf pdf, OutputStream out) throws java.io.IOException {
+        out.write(JSON_PREFIX);
+        // The encoder only emits its final padded quantum on close; keep that close from
+        // reaching the servlet stream, which still needs the JSON suffix.
+        try (OutputStream base64 = Base64.getEncoder().wrap(StreamUtils.nonClosing(out))) {
+            pdf.writeTo(base64);
+        }
+        out.write(JSON_SUFFIX);
+    }
+}
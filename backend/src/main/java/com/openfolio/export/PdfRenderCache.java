@@ -0,0 +1,122 @@
+package com.openfolio.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache of rendered PDFs, keyed by the SHA-256 of the generated HTML.
+ *
+ * <p>The HTML already captures everything that influences the output (bundle data,
+ * template key and export options), so identical re-exports skip the openhtmltopdf
+ * render entirely. Entries are evicted least-recently-used once the total cached
+ * size exceeds {@code app.export.render-cache.max-bytes}. Fresh renders are cached in
+ * their render buffer, untrimmed, so sizes are counted by the heap they hold.
+ */
+@Component
+public class PdfRenderCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfRenderCache.class);
+
+    private final long maxBytes;
+    private final Map<String, RenderedPdf> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public PdfRenderCache(MeterRegistry registry,
+                          @Value("${app.export.render-cache.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.hits = Counter.builder("openfolio.pdf.render.cache")
+                .tag("result", "hit").register(registry);
+        this.misses = Counter.builder("openfolio.pdf.render.cache")
+                .tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("openfolio.pdf.render.cache.evictions").register(registry);
+        Gauge.builder("openfolio.pdf.render.cache.bytes", this, PdfRenderCache::currentBytes)
+                .baseUnit("bytes").register(registry);
+        Gauge.builder("openfolio.pdf.render.cache.entries", this, PdfRenderCache::size)
+                .register(registry);
+    }
+
+    /**
+     * Return the cached PDF for this HTML, or render it with {@code renderer} and cache the result.
+     * Concurrent misses for the same HTML may both render; the last one wins, which is harmless.
+     */
+    public RenderedPdf get(String html, Supplier<RenderedPdf> renderer) {
+        String key = keyFor(html);
+        RenderedPdf cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            log.debug("PDF render cache hit {}", key);
+            return cached;
+        }
+        misses.increment();
+        RenderedPdf pdf = renderer.get();
+        store(key, pdf);
+        return pdf;
+    }
+
+    /** Return the cached PDF for this HTML without rendering, or {@code null} on a miss. */
+    public RenderedPdf peek(String html) {
+        RenderedPdf cached = lookup(keyFor(html));
+        if (cached != null) hits.increment();
+        else misses.increment();
+        return cached;
+    }
+
+    /** Cache a PDF rendered outside {@link #get}, e.g. as part of a batch. */
+    public void put(String html, RenderedPdf pdf) {
+        store(keyFor(html), pdf);
+    }
+
+    static String keyFor(String html) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(html.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private synchronized RenderedPdf lookup(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(String key, RenderedPdf pdf) {
+        if (pdf == null || pdf.footprint() > maxBytes) return;
+        RenderedPdf previous = entries.put(key, pdf);
+        if (previous != null) currentBytes -= previous.footprint();
+        currentBytes += pdf.footprint();
+
+        Iterator<Map.Entry<String, RenderedPdf>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, RenderedPdf> eldest = it.next();
+            currentBytes -= eldest.getValue().footprint();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    synchronized long currentBytes() {
+        return currentBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,260 @@
+package com.openfolio.export;
+
+import com.openfolio.shared.exception.TooManyRequestsException;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded executor for HTML → PDF rendering.
+ *
+ * <p>Renders are CPU-heavy, so they run on a fixed number of workers instead of on
+ * Tomcat request threads. Admission is controlled by a slot semaphore sized
+ * {@code workers + queue-capacity}: when every slot is taken, callers fail fast with
+ * 429 + Retry-After rather than piling up and starving cheap endpoints. Other PDFBox
+ * work on the request path (thumbnail rasterisation) goes through {@link #call} and
+ * shares the same workers and slots.
+ */
+@Component
+public class PdfRenderPool {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfRenderPool.class);
+    /** Starting size of a render's output buffer; skips the smallest doublings of a typical export. */
+    private static final int OUTPUT_BUFFER_BYTES = 64 * 1024;
+
+    private final PdfRendererResources resources;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+    private final long timeoutSeconds;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer renderTimer;
+    private final Timer taskTimer;
+    private final Counter rejections;
+
+    public PdfRenderPool(MeterRegistry registry,
+                         PdfRendererResources resources,
+                         @Value("${app.export.render-pool.workers:0}") int workers,
+                         @Value("${app.export.render-pool.queue-capacity:16}") int queueCapacity,
+                         @Value("${app.export.render-pool.timeout-seconds:60}") long timeoutSeconds,
+                         @Value("${app.export.render-pool.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.resources = resources;
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        // The queue itself is unbounded — the slot semaphore is what bounds it.
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "pdf-render-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.slots = new Semaphore(threads + queueCapacity);
+        this.timeoutSeconds = timeoutSeconds;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.waitTimer = Timer.builder("openfolio.pdf.render.pool.wait").register(registry);
+        this.renderTimer = Timer.builder("openfolio.pdf.render.pool.render").register(registry);
+        this.taskTimer = Timer.builder("openfolio.pdf.render.pool.task").register(registry);
+        this.rejections = Counter.builder("openfolio.pdf.render.pool.rejections").register(registry);
+        Gauge.builder("openfolio.pdf.render.pool.queue.depth", executor, e -> e.getQueue().size())
+                .register(registry);
+        Gauge.builder("openfolio.pdf.render.pool.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        log.info("PDF render pool started with {} workers, queue capacity {}", threads, queueCapacity);
+    }
+
+    /**
+     * Render HTML to PDF on a pool worker and wait for the result.
+     *
+     * @throws TooManyRequestsException if every render slot is taken
+     */
+    public RenderedPdf render(String html) {
+        acquireSlot();
+        RenderedPdf.Buffer out = new RenderedPdf.Buffer(OUTPUT_BUFFER_BYTES);
+        execute(html, out);
+        return out.toRenderedPdf();
+    }
+
+    /**
+     * Render like {@link #render}, but wait for a free slot instead of failing with 429.
+     * For work that was already accepted — background export jobs — where a busy pool
+     * should delay the render, not fail it. Interactive callers still get slots first:
+     * their {@code tryAcquire} barges ahead of anyone waiting here.
+     */
+    public RenderedPdf renderWhenFree(String html) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("PDF generation interrupted", e);
+        }
+        RenderedPdf.Buffer out = new RenderedPdf.Buffer(OUTPUT_BUFFER_BYTES);
+        execute(html, out);
+        return out.toRenderedPdf();
+    }
+
+    /**
+     * Run other CPU-heavy PDF work on a pool worker and wait for its result, with the same
+     * admission and timeout as a render.
+     *
+     * @throws TooManyRequestsException if every render slot is taken
+     */
+    public <T> T call(Supplier<T> work) {
+        acquireSlot();
+        AtomicReference<T> result = new AtomicReference<>();
+        await(submit(taskTimer, () -> result.set(work.get())));
+        return result.get();
+    }
+
+    /**
+     * Render several documents concurrently and wait for all of them. Slots for the whole
+     * batch are taken up front, so a batch either runs completely or is rejected with 429.
+     *
+     * @return PDFs in the same order as {@code htmls}
+     * @throws TooManyRequestsException if there aren't enough free slots for the batch
+     */
+    public List<RenderedPdf> renderAll(List<String> htmls) {
+        if (htmls.isEmpty()) return List.of();
+        if (!slots.tryAcquire(htmls.size())) {
+            rejections.increment();
+            throw new TooManyRequestsException(
+                    "PDF renderer is busy, please retry shortly", retryAfterSeconds);
+        }
+        List<RenderedPdf.Buffer> outputs = new ArrayList<>(htmls.size());
+        List<Submitted> submitted = new ArrayList<>(htmls.size());
+        int i = 0;
+        try {
+            for (; i < htmls.size(); i++) {
+                RenderedPdf.Buffer out = new RenderedPdf.Buffer(OUTPUT_BUFFER_BYTES);
+                outputs.add(out);
+                submitted.add(submit(htmls.get(i), out));
+            }
+        } catch (RuntimeException e) {
+            // submit() released the failing slot; release the ones never submitted.
+            slots.release(htmls.size() - i - 1);
+            submitted.forEach(this::abandon);
+            throw e;
+        }
+
+        RuntimeException failure = null;
+        for (Submitted task : submitted) {
+            if (failure != null) {
+                abandon(task);
+                continue;
+            }
+            try {
+                await(task);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) throw failure;
+        return outputs.stream().map(RenderedPdf.Buffer::toRenderedPdf).toList();
+    }
+
+    private void acquireSlot() {
+        if (!slots.tryAcquire()) {
+            rejections.increment();
+            throw new TooManyRequestsException(
+                    "PDF renderer is busy, please retry shortly", retryAfterSeconds);
+        }
+    }
+
+    /** Run a render on the pool. The caller must already hold a slot; it is released here. */
+    private void execute(String html, OutputStream out) {
+        await(submit(html, out));
+    }
+
+    private Submitted submit(String html, OutputStream out) {
+        return submit(renderTimer, () -> renderNow(html, out));
+    }
+
+    /** A queued render plus the flag deciding who releases its slot. */
+    private record Submitted(Future<?> future, AtomicBoolean claimed) {}
+
+    private Submitted submit(Timer timer, Runnable work) {
+        long submittedAt = System.nanoTime();
+        // Whoever flips this first owns the slot release: the task when it starts,
+        // or the caller if it gives up before the task ever ran.
+        AtomicBoolean claimed = new AtomicBoolean();
+        try {
+            Future<?> future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) return;
+                try {
+                    waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                    timer.record(work);
+                } finally {
+                    slots.release();
+                }
+            });
+            return new Submitted(future, claimed);
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw new RuntimeException("PDF render pool is shut down", e);
+        }
+    }
+
+    private void await(Submitted task) {
+        try {
+            task.future().get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            abandon(task);
+            throw new RuntimeException("PDF generation timed out after " + timeoutSeconds + "s", e);
+        } catch (InterruptedException e) {
+            abandon(task);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("PDF generation interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new RuntimeException("PDF generation failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void abandon(Submitted task) {
+        task.future().cancel(true);
+        if (task.claimed().compareAndSet(false, true)) slots.release();
+    }
+
+    private void renderNow(String html, OutputStream out) {
+        try {
+            PdfRendererBuilder builder = resources.configure(new PdfRendererBuilder());
+            builder.withHtmlContent(html, null);
+            builder.toStream(out);
+            builder.run();
+        } catch (Exception e) {
+            log.error("PDF render failed", e);
+            throw new RuntimeException("PDF generation failed: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,91 @@
+package com.openfolio.export;
+
+import com.openfolio.export.dto.ExportOptions;
+import com.openfolio.portfolio.Portfolio;
+import com.openfolio.portfolio.PortfolioBundle;
+import com.openfolio.portfolio.PortfolioHtmlGenerator;
+import com.openfolio.resume.Resume;
+import com.openfolio.resume.ResumeBundle;
+import com.openfolio.resume.ResumeHtmlGenerator;
+import com.openfolio.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Renders a throwaway document per portfolio PDF palette and resume template once the
+ * application is ready, so the first real export doesn't pay for class loading, JIT and
+ * font metric parsing.
+ * Goes through the render pool (warming its workers) but bypasses the render cache.
+ */
+@Component
+public class PdfRenderWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfRenderWarmUp.class);
+    private static final List<String> TEMPLATES = List.of("pdf", "dark", "minimal", "hacker");
+    private static final List<String> RESUME_TEMPLATES = List.of("classic", "modern", "minimal", "bold");
+
+    private final PortfolioHtmlGenerator htmlGenerator;
+    private final ResumeHtmlGenerator resumeHtmlGenerator;
+    private final PdfRenderPool renderPool;
+    private final PdfRendererResources resources;
+    private final boolean enabled;
+
+    public PdfRenderWarmUp(PortfolioHtmlGenerator htmlGenerator,
+                           ResumeHtmlGenerator resumeHtmlGenerator,
+                           PdfRenderPool renderPool,
+                           PdfRendererResources resources,
+                           @Value("${app.export.warm-up.enabled:true}") boolean enabled) {
+        this.htmlGenerator = htmlGenerator;
+        this.resumeHtmlGenerator = resumeHtmlGenerator;
+        this.renderPool = renderPool;
+        this.resources = resources;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) return;
+        long start = System.currentTimeMillis();
+        try {
+            PortfolioBundle sample = sampleBundle();
+            for (String template : TEMPLATES) {
+                renderPool.render(htmlGenerator.generateForPdf(sample, template, ExportOptions.defaults()));
+            }
+            ResumeBundle resume = sampleResume(sample);
+            for (String template : RESUME_TEMPLATES) {
+                renderPool.render(resumeHtmlGenerator.generateForPdf(resume, template));
+            }
+            log.info("PDF renderer warmed up in {}ms ({} templates, {} custom fonts)",
+                    System.currentTimeMillis() - start, TEMPLATES.size() + RESUME_TEMPLATES.size(),
+                    resources.fontCount());
+        } catch (Exception e) {
+            log.warn("PDF renderer warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    private static PortfolioBundle sampleBundle() {
+        User user = new User("warmup@openfolio.local", "Warm Up");
+        Portfolio portfolio = new Portfolio();
+        portfolio.setUser(user);
+        portfolio.setTagline("Software Engineer");
+        return new PortfolioBundle(portfolio, user,
+                "Builds reliable backend systems and developer tooling.",
+                List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    private static ResumeBundle sampleResume(PortfolioBundle portfolio) {
+        Resume resume = new Resume();
+        resume.setUser(portfolio.user());
+        resume.setPortfolio(portfolio.portfolio());
+        resume.setJobTitle("Software Engineer");
+        resume.setSummary(portfolio.aboutContent());
+        return new ResumeBundle(resume, portfolio.user(), portfolio.aboutContent(),
+                List.of(), List.of(), List.of(), List.of());
+    }
+}
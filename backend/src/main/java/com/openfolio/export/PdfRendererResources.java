@@ -0,0 +1,169 @@
+package com.openfolio.export;
+
+import com.openhtmltopdf.extend.FSCacheEx;
+import com.openhtmltopdf.extend.FSCacheValue;
+import com.openhtmltopdf.extend.FSStream;
+import com.openhtmltopdf.extend.FSStreamFactory;
+import com.openhtmltopdf.extend.FSUriResolver;
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder.FontStyle;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import com.openhtmltopdf.swing.NaiveUserAgent;
+import org.apache.fontbox.ttf.OS2WindowsMetricsTable;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide resources shared by every HTML → PDF render.
+ *
+ * <p>A fresh {@link PdfRendererBuilder} per render is unavoidable, but what it loads
+ * doesn't have to be: font files are read once at startup and handed to each render
+ * from memory, font metrics are kept in one shared cache store, URI resolution is
+ * memoised, and http(s) images come pre-scaled from the {@link RemoteImageCache} rather
+ * than being fetched inside the render. {@link #configure} applies all of it to a builder.
+ *
+ * <p>PDFBox still parses a font's bytes in every document that actually uses it: a
+ * loaded {@code PDFont} belongs to one document, and a parsed {@code TrueTypeFont} reads
+ * its tables lazily through a shared cursor, so neither can be handed to concurrent
+ * renders. The metrics cache is what spares layout from re-deriving them each time.
+ */
+@Component
+public class PdfRendererResources {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfRendererResources.class);
+    private static final int MAX_RESOLVED_URIS = 1024;
+
+    private final List<RegisteredFont> fonts;
+    private final FSCacheEx<String, FSCacheValue> fontMetrics = new FSDefaultCacheStore();
+    private final FSUriResolver uriResolver = new CachingUriResolver(new NaiveUserAgent.DefaultUriResolver());
+    private final FSStreamFactory remoteStreams;
+
+    public PdfRendererResources(@Value("${app.export.fonts-dir:}") String fontsDir,
+                                RemoteImageCache images) {
+        this.fonts = fontsDir.isBlank() ? List.of() : loadFonts(Path.of(fontsDir));
+        this.remoteStreams = new CachedImageStreamFactory(images);
+    }
+
+    /** Apply the shared fonts, metrics cache, URI resolver and image cache to a new builder. */
+    public PdfRendererBuilder configure(PdfRendererBuilder builder) {
+        builder.useFastMode();
+        builder.useCacheStore(PdfRendererBuilder.CacheStore.PDF_FONT_METRICS, fontMetrics);
+        builder.useUriResolver(uriResolver);
+        builder.useHttpStreamImplementation(remoteStreams);
+        for (RegisteredFont f : fonts) {
+            builder.useFont(() -> new ByteArrayInputStream(f.data()), f.family(), f.weight(), f.style(), true);
+        }
+        return builder;
+    }
+
+    int fontCount() {
+        return fonts.size();
+    }
+
+    private static List<RegisteredFont> loadFonts(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            log.warn("PDF fonts directory {} does not exist — using built-in fonts only", dir);
+            return List.of();
+        }
+        List<RegisteredFont> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".ttf")).sorted().toList()) {
+                try {
+                    loaded.add(parseFont(Files.readAllBytes(file)));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable font {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not list PDF fonts directory {}: {}", dir, e.getMessage());
+        }
+        log.info("Registered {} PDF font(s) from {}", loaded.size(), dir);
+        return List.copyOf(loaded);
+    }
+
+    private static RegisteredFont parseFont(byte[] data) throws IOException {
+        TrueTypeFont ttf = new TTFParser().parse(new ByteArrayInputStream(data));
+        try {
+            String family = ttf.getNaming().getFontFamily();
+            OS2WindowsMetricsTable os2 = ttf.getOS2Windows();
+            int weight = os2 != null ? os2.getWeightClass() : 400;
+            boolean italic = (ttf.getHeader().getMacStyle() & 2) != 0;
+            return new RegisteredFont(data, family, weight, italic ? FontStyle.ITALIC : FontStyle.NORMAL);
+        } finally {
+            ttf.close();
+        }
+    }
+
+    private record RegisteredFont(byte[] data, String family, int weight, FontStyle style) {}
+
+    /** Memoises base + relative → absolute resolution; templates reuse the same few URIs. */
+    private static final class CachingUriResolver implements FSUriResolver {
+
+        private final FSUriResolver delegate;
+        private final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+        CachingUriResolver(FSUriResolver delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String resolveURI(String baseUri, String uri) {
+            if (uri == null || uri.startsWith("data:")) return delegate.resolveURI(baseUri, uri);
+            String key = (baseUri != null ? baseUri : "") + '\n' + uri;
+            String hit = resolved.get(key);
+            if (hit != null) return hit;
+            String result = delegate.resolveURI(baseUri, uri);
+            if (result != null && resolved.size() < MAX_RESOLVED_URIS) resolved.put(key, result);
+            return result;
+        }
+    }
+
+    /**
+     * Serves http(s) resources from the {@link RemoteImageCache}. Only images are ever
+     * referenced remotely by the templates; anything unavailable yields no stream, which
+     * openhtmltopdf renders as a missing image instead of failing the export.
+     */
+    private static final class CachedImageStreamFactory implements FSStreamFactory {
+
+        private final RemoteImageCache images;
+
+        CachedImageStreamFactory(RemoteImageCache images) {
+            this.images = images;
+        }
+
+        @Override
+        public FSStream getUrl(String url) {
+            byte[] data = images.get(url);
+            return new FSStream() {
+                @Override
+                public InputStream getStream() {
+                    return data != null ? new ByteArrayInputStream(data) : null;
+                }
+
+                @Override
+                public Reader getReader() {
+                    InputStream in = getStream();
+                    return in != null ? new InputStreamReader(in, StandardCharsets.UTF_8) : null;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.openfolio.export;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Renders the first page of a PDF as a small PNG with PDFBox, for list previews of
+ * saved resumes. The page is rasterised straight at the target width rather than
+ * rendered full-size and scaled down. Rasterising is as CPU-heavy as a render, so it runs
+ * on {@link PdfRenderPool} under the same admission: a full pool is a 429, not another
+ * busy Tomcat thread.
+ */
+@Component
+public class PdfThumbnailRenderer {
+
+    private final PdfRenderPool renderPool;
+    private final int width;
+
+    public PdfThumbnailRenderer(PdfRenderPool renderPool,
+                                @Value("${app.export.thumbnail.width:320}") int width) {
+        this.renderPool = renderPool;
+        this.width = width;
+    }
+
+    /**
+     * PNG of page one, {@code width} pixels wide.
+     *
+     * @throws com.openfolio.shared.exception.TooManyRequestsException if every render slot is taken
+     */
+    public byte[] render(byte[] pdf) {
+        return renderPool.call(() -> rasterize(pdf));
+    }
+
+    private byte[] rasterize(byte[] pdf) {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            if (document.getNumberOfPages() == 0) {
+                throw new IllegalArgumentException("PDF has no pages");
+            }
+            PDRectangle page = document.getPage(0).getCropBox();
+            float scale = width / page.getWidth();
+            BufferedImage image = new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+            ByteArrayOutputStream png = new ByteArrayOutputStream(32 * 1024);
+            ImageIO.write(image, "png", png);
+            return png.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not render PDF thumbnail", e);
+        }
+    }
+}
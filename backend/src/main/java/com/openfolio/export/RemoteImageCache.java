@@ -0,0 +1,388 @@
+package com.openfolio.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Bounded on-disk cache of remote images (GitHub avatars, {@code photoUrl}) embedded in
+ * PDF exports, so renders never wait on a third-party image host more than once.
+ *
+ * <p>Images are fetched with connect/read timeouts and a size cap — the read timeout
+ * bounds the wait for headers and, separately, the whole body — downscaled to at most
+ * {@code max-dimension} pixels on the longer side (the templates display them at under
+ * 70 CSS px; the headroom keeps them sharp in print), and stored under the SHA-256 of
+ * their URL. Later renders read the small pre-scaled copy from disk until it is
+ * {@code ttl-hours} old; then it is fetched again, and kept as-is if that fetch fails.
+ * Only responses with an {@code image/*} content type that ImageIO can decode are cached.
+ * Failed fetches are remembered for {@code failure-ttl-seconds} (at most
+ * {@code max-failures} URLs) so a dead host costs one timeout, not one per render; the
+ * image is then simply left out of the PDF. Concurrent requests for the same URL share a
+ * single download. The disk footprint is capped by evicting the least recently used images.
+ */
+@Component
+public class RemoteImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteImageCache.class);
+
+    private final Path dir;
+    private final long maxDiskBytes;
+    private final long maxDownloadBytes;
+    private final int maxDimension;
+    private final Duration readTimeout;
+    private final long ttlMillis;
+    private final long failureTtlMillis;
+    private final int maxFailures;
+    private final HttpClient http;
+    /** Closes response bodies still being read when their deadline passes. */
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "image-fetch-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Size and store time per cached key, access-ordered so iteration runs least-recently-used first. Guarded by {@code this}. */
+    private final Map<String, Cached> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long diskBytes;
+
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    /**
+     * URL → time after which a failed fetch may be retried. Insertion-ordered, and every
+     * entry has the same TTL, so the eldest entry always expires first. Guarded by itself.
+     */
+    private final LinkedHashMap<String, Long> failures = new LinkedHashMap<>();
+
+    private final Counter hits;
+    private final Counter fetches;
+    private final Counter fetchFailures;
+
+    public RemoteImageCache(MeterRegistry registry,
+                            @Value("${app.export.images.dir:${java.io.tmpdir}/openfolio-images}") String dir,
+                            @Value("${app.export.images.max-disk-bytes:268435456}") long maxDiskBytes,
+                            @Value("${app.export.images.max-download-bytes:5242880}") long maxDownloadBytes,
+                            @Value("${app.export.images.max-dimension:192}") int maxDimension,
+                            @Value("${app.export.images.connect-timeout-ms:2000}") long connectTimeoutMs,
+                            @Value("${app.export.images.read-timeout-ms:5000}") long readTimeoutMs,
+                            @Value("${app.export.images.ttl-hours:24}") long ttlHours,
+                            @Value("${app.export.images.failure-ttl-seconds:300}") long failureTtlSeconds,
+                            @Value("${app.export.images.max-failures:1024}") int maxFailures) {
+        this.dir = Path.of(dir);
+        this.maxDiskBytes = maxDiskBytes;
+        this.maxDownloadBytes = maxDownloadBytes;
+        this.maxDimension = maxDimension;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.ttlMillis = TimeUnit.HOURS.toMillis(ttlHours);
+        this.failureTtlMillis = failureTtlSeconds * 1000;
+        this.maxFailures = Math.max(1, maxFailures);
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        loadIndex();
+
+        this.hits = Counter.builder("openfolio.export.images").tag("result", "hit").register(registry);
+        this.fetches = Counter.builder("openfolio.export.images").tag("result", "fetch").register(registry);
+        this.fetchFailures = Counter.builder("openfolio.export.images").tag("result", "failure").register(registry);
+        Gauge.builder("openfolio.export.images.bytes", this, RemoteImageCache::diskBytes)
+                .baseUnit("bytes").register(registry);
+    }
+
+    /**
+     * The cached, downscaled image for {@code url}, fetching it on a miss or once it is
+     * stale. Returns {@code null} if it can't be fetched and there is no older copy — the
+     * caller should render without it.
+     */
+    public byte[] get(String url) {
+        String key = keyFor(url);
+        Cached entry = lookup(key);
+        byte[] cached = entry != null ? read(key) : null;
+        if (cached != null && entry.storedAt() + ttlMillis > System.currentTimeMillis()) {
+            hits.increment();
+            return cached;
+        }
+        // Missing or stale. A stale copy is still better than no image if the refetch fails.
+        if (recentlyFailed(url)) return cached;
+
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, mine);
+        byte[] image = null;
+        if (running != null) {
+            image = running.join();
+        } else {
+            try {
+                image = fetchAndStore(url, key);
+            } finally {
+                mine.complete(image);
+                inFlight.remove(key, mine);
+            }
+        }
+        return image != null ? image : cached;
+    }
+
+    synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    private byte[] fetchAndStore(String url, String key) {
+        fetches.increment();
+        try {
+            byte[] image = downscale(download(url));
+            store(key, image);
+            return image;
+        } catch (Exception e) {
+            fetchFailures.increment();
+            rememberFailure(url);
+            log.warn("Could not fetch image {} for PDF export: {}", url, e.toString());
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private boolean recentlyFailed(String url) {
+        synchronized (failures) {
+            Long retryAt = failures.get(url);
+            if (retryAt == null) return false;
+            if (retryAt > System.currentTimeMillis()) return true;
+            failures.remove(url);
+            return false;
+        }
+    }
+
+    /** Remember a failed URL, dropping expired entries and, past the cap, the oldest ones. */
+    private void rememberFailure(String url) {
+        long now = System.currentTimeMillis();
+        synchronized (failures) {
+            failures.remove(url);
+            failures.put(url, now + failureTtlMillis);
+            Iterator<Long> it = failures.values().iterator();
+            while (it.hasNext()) {
+                long retryAt = it.next();
+                if (failures.size() <= maxFailures && retryAt > now) break;
+                it.remove();
+            }
+        }
+    }
+
+    private byte[] download(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(readTimeout)
+                .header("Accept", "image/*")
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        // The request timeout only covers the headers; a host that then trickles the body
+        // would hold the render. Closing the stream at the deadline wakes the blocked read.
+        AtomicBoolean expired = new AtomicBoolean();
+        try (InputStream body = response.body();
+             BodyDeadline deadline = new BodyDeadline(body, expired)) {
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            String type = response.headers().firstValue("Content-Type").orElse("");
+            if (!type.regionMatches(true, 0, "image/", 0, 6)) {
+                throw new IOException("not an image (Content-Type: " + type + ")");
+            }
+            byte[] data;
+            try {
+                data = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, maxDownloadBytes + 1));
+            } catch (IOException e) {
+                if (!expired.get()) throw e;
+                data = null;
+            }
+            if (expired.get()) {
+                throw new IOException("body not received within " + readTimeout.toMillis() + "ms");
+            }
+            if (data.length > maxDownloadBytes) {
+                throw new IOException("larger than " + maxDownloadBytes + " bytes");
+            }
+            return data;
+        }
+    }
+
+    /** Closes {@code body} once {@link #readTimeout} has passed, unless closed first itself. */
+    private final class BodyDeadline implements AutoCloseable {
+        private final ScheduledFuture<?> expiry;
+
+        BodyDeadline(InputStream body, AtomicBoolean expired) {
+            this.expiry = watchdog.schedule(() -> {
+                expired.set(true);
+                try {
+                    body.close();
+                } catch (IOException ignored) {
+                    // The reader fails or sees EOF either way.
+                }
+            }, readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void close() {
+            expiry.cancel(false);
+        }
+    }
+
+    /**
+     * Shrink to {@code maxDimension} on the longer side. Images that are already small
+     * enough are kept as downloaded; anything ImageIO can't decode is rejected, since the
+     * PDF renderer couldn't draw it either.
+     */
+    private byte[] downscale(byte[] original) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(original));
+        if (source == null) throw new IOException("not a decodable image");
+        int w = source.getWidth(), h = source.getHeight();
+        if (Math.max(w, h) <= maxDimension) return original;
+
+        double scale = (double) maxDimension / Math.max(w, h);
+        int tw = Math.max(1, (int) Math.round(w * scale));
+        int th = Math.max(1, (int) Math.round(h * scale));
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(tw, th, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, tw, th, null);
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        ImageIO.write(target, alpha ? "png" : "jpg", out);
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    private synchronized Cached lookup(String key) {
+        return index.get(key);
+    }
+
+    private byte[] read(String key) {
+        try {
+            return Files.readAllBytes(dir.resolve(key));
+        } catch (IOException e) {
+            forget(key);
+            return null;
+        }
+    }
+
+    private void store(String key, byte[] image) throws IOException {
+        Path file = dir.resolve(key);
+        Path tmp = dir.resolve(key + "." + UUID.randomUUID() + ".tmp");
+        Files.write(tmp, image);
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        List<String> victims = new ArrayList<>();
+        synchronized (this) {
+            Cached previous = index.put(key, new Cached(image.length, System.currentTimeMillis()));
+            diskBytes += image.length - (previous != null ? previous.size() : 0);
+            Iterator<Map.Entry<String, Cached>> it = index.entrySet().iterator();
+            while (diskBytes > maxDiskBytes && it.hasNext()) {
+                Map.Entry<String, Cached> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                diskBytes -= eldest.getValue().size();
+                victims.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String victim : victims) {
+            Files.deleteIfExists(dir.resolve(victim));
+        }
+    }
+
+    private synchronized void forget(String key) {
+        Cached cached = index.remove(key);
+        if (cached != null) diskBytes -= cached.size();
+    }
+
+    /** Rebuild the index from disk, oldest first, and drop temp files left by a crash. */
+    private void loadIndex() {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create image cache directory " + dir, e);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> sorted = files.sorted(Comparator.comparingLong(RemoteImageCache::lastModified)).toList();
+            for (Path file : sorted) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                long size = Files.size(file);
+                index.put(name, new Cached(size, lastModified(file)));
+                diskBytes += size;
+            }
+        } catch (IOException e) {
+            log.warn("Could not index image cache {}: {}", dir, e.getMessage());
+        }
+        log.info("Remote image cache at {} ({} image(s), {}KB)", dir, index.size(), diskBytes / 1024);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private record Cached(long size, long storedAt) {}
+
+    private static String keyFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
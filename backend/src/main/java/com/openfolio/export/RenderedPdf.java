@@ -0,0 +1,59 @@
+package com.openfolio.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A finished PDF for a direct response. Rendering is complete before one exists, so writing
+ * it can neither fail on a render error nor hold a render slot, and its size is known before
+ * the response headers are committed.
+ *
+ * <p>A fresh render wraps the renderer's output buffer as-is rather than a trimmed copy of
+ * it, so the buffer may be longer than {@link #size()}. Treat the content as read-only.
+ */
+public final class RenderedPdf {
+
+    private final byte[] buffer;
+    private final int size;
+
+    public RenderedPdf(byte[] bytes) {
+        this(bytes, bytes.length);
+    }
+
+    private RenderedPdf(byte[] buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Heap held by this PDF, including any unused tail of the render buffer. */
+    int footprint() {
+        return buffer.length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    /** The PDF as an exact-length array: the buffer itself when it has no unused tail, else a copy. */
+    public byte[] toByteArray() {
+        return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    /** Render output that becomes a {@link RenderedPdf} without copying. */
+    static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer(int initialCapacity) {
+            super(initialCapacity);
+        }
+
+        RenderedPdf toRenderedPdf() {
+            return new RenderedPdf(buf, count);
+        }
+    }
+}
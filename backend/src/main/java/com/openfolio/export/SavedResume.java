@@ -31,9 +31,13 @@ public class SavedResume {
     @Column(name = "file_size_bytes", nullable = false)
     private long fileSizeBytes;
 
-    @Lob
-    @Column(name = "pdf_data", nullable = false, columnDefinition = "LONGBLOB")
-    private byte[] pdfData;
+    /** SHA-256 key of the PDF in the blob store; null only for rows not yet backfilled. */
+    @Column(name = "pdf_hash", length = 64)
+    private String pdfHash;
+
+    /** SHA-256 key of the first-page PNG in the blob store; null until rendered. */
+    @Column(name = "thumbnail_hash", length = 64)
+    private String thumbnailHash;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -55,12 +59,12 @@ public class SavedResume {
     }
 
     public SavedResume(Long userId, Long portfolioId, String title,
-                       String templateKey, byte[] pdfData) {
+                       String templateKey, String pdfHash, long fileSizeBytes) {
         this.userId = userId;
         this.portfolioId = portfolioId;
         this.title = title;
         this.templateKey = templateKey;
-        this.pdfData = pdfData;
-        this.fileSizeBytes = pdfData.length;
+        this.pdfHash = pdfHash;
+        this.fileSizeBytes = fileSizeBytes;
     }
 }
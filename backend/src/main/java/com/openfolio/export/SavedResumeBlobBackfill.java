@@ -0,0 +1,63 @@
+package com.openfolio.export;
+
+import com.openfolio.shared.storage.BlobReferences;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * Copies PDFs still stored in {@code saved_resumes.pdf_data} into the blob store after
+ * startup, one row at a time, then clears the column. Until a row is migrated its
+ * downloads fall back to reading the legacy column.
+ */
+@Component
+public class SavedResumeBlobBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SavedResumeBlobBackfill.class);
+    private static final int BATCH_SIZE = 50;
+
+    private final SavedResumePdfReader pdfReader;
+    private final BlobReferences blobRefs;
+    private final TransactionTemplate transactions;
+
+    public SavedResumeBlobBackfill(SavedResumePdfReader pdfReader, BlobReferences blobRefs,
+                                   PlatformTransactionManager transactionManager) {
+        this.pdfReader = pdfReader;
+        this.blobRefs = blobRefs;
+        this.transactions = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int migrated = 0;
+        try {
+            List<Long> ids;
+            while (!(ids = pdfReader.findUnmigrated(BATCH_SIZE)).isEmpty()) {
+                int before = migrated;
+                for (Long id : ids) {
+                    ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+                    if (!pdfReader.copyTo(id, pdf)) continue;
+                    boolean moved = Boolean.TRUE.equals(transactions.execute(tx -> {
+                        String hash = blobRefs.store(pdf.toByteArray());
+                        if (pdfReader.markMigrated(id, hash)) return true;
+                        blobRefs.release(hash);  // another node migrated it first
+                        return false;
+                    }));
+                    if (moved) migrated++;
+                }
+                if (migrated == before) break;  // nothing moved — don't spin
+            }
+        } catch (Exception e) {
+            log.warn("Saved resume blob backfill stopped after {} row(s): {}", migrated, e.getMessage());
+            return;
+        }
+        if (migrated > 0) log.info("Moved {} saved resume PDF(s) from MySQL to the blob store", migrated);
+    }
+}
@@ -0,0 +1,63 @@
+package com.openfolio.export;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * JDBC access to the legacy {@code pdf_data} column of saved resumes, bypassing Hibernate
+ * so the PDF is never materialised as an entity field. New PDFs live in the blob store;
+ * this serves rows that haven't been backfilled yet and drives the backfill itself.
+ */
+@Component
+public class SavedResumePdfReader {
+
+    private static final String SELECT_PDF = "SELECT pdf_data FROM saved_resumes WHERE id = ?";
+    private static final String SELECT_UNMIGRATED =
+            "SELECT id FROM saved_resumes WHERE pdf_hash IS NULL AND pdf_data IS NOT NULL ORDER BY id LIMIT ?";
+    private static final String MARK_MIGRATED =
+            "UPDATE saved_resumes SET pdf_hash = ?, pdf_data = NULL WHERE id = ? AND pdf_hash IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SavedResumePdfReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Copy the PDF for the given saved resume to {@code out}. Returns false if the row is gone. */
+    public boolean copyTo(Long savedResumeId, OutputStream out) {
+        Boolean found = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_PDF);
+            // MySQL Connector/J: row-by-row streaming instead of buffering the full result set
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setLong(1, savedResumeId);
+            return ps;
+        }, rs -> {
+            if (!rs.next()) return false;
+            try (InputStream in = rs.getBinaryStream(1)) {
+                if (in == null) return false;
+                in.transferTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    /** Ids of rows whose PDF still sits in {@code pdf_data}. */
+    List<Long> findUnmigrated(int limit) {
+        return jdbcTemplate.queryForList(SELECT_UNMIGRATED, Long.class, limit);
+    }
+
+    /** Point a row at its blob and clear the legacy column; no-op if already migrated. */
+    boolean markMigrated(Long savedResumeId, String pdfHash) {
+        return jdbcTemplate.update(MARK_MIGRATED, pdfHash, savedResumeId) == 1;
+    }
+}
@@ -1,15 +1,27 @@
 package com.openfolio.export;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface SavedResumeRepository extends JpaRepository<SavedResume, Long> {
-    List<SavedResume> findAllByUserIdOrderByCreatedAtDesc(Long userId);
+    List<SavedResumeSummary> findSummariesByUserIdOrderByCreatedAtDesc(Long userId);
     Optional<SavedResume> findByIdAndUserId(Long id, Long userId);
     long countByUserId(Long userId);
     void deleteByIdAndUserId(Long id, Long userId);
 
-    Optional<SavedResume> findByPublishToken(String publishToken);
+    Optional<SavedResumeSummary> findSummaryByIdAndUserId(Long id, Long userId);
+    Optional<SavedResumeSummary> findSummaryByPublishToken(String publishToken);
+
+    /** Record a thumbnail, unless another request already replaced {@code previous}. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE SavedResume s SET s.thumbnailHash = :hash WHERE s.id = :id "
+            + "AND (s.thumbnailHash = :previous OR (s.thumbnailHash IS NULL AND :previous IS NULL))")
+    int updateThumbnailHash(@Param("id") Long id, @Param("previous") String previous, @Param("hash") String hash);
 }
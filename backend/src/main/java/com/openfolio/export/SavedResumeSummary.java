@@ -0,0 +1,19 @@
+package com.openfolio.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadata-only projection of {@link SavedResume} — selects every column except
+ * the legacy {@code pdf_data}, so lookups and listings never pull a PDF into memory.
+ */
+public interface SavedResumeSummary {
+    Long getId();
+    Long getPortfolioId();
+    String getTitle();
+    String getTemplateKey();
+    long getFileSizeBytes();
+    String getPdfHash();
+    String getThumbnailHash();
+    LocalDateTime getCreatedAt();
+    String getPublishToken();
+}
@@ -0,0 +1,258 @@
+package com.openfolio.export;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Node-independent export storage, enabled with {@code app.export.temp-store.mode=signed}.
+ *
+ * <p>PDFs are written to a shared directory under their SHA-256, and the download token
+ * is {@code <sha256>.<expiry-epoch-seconds>.<hmac>} — a signed, expiring reference to
+ * that file. Any node with the same directory and secret can validate a token and serve
+ * the file, so downloads no longer need sticky sessions. Identical PDFs share one file.
+ *
+ * <p>The HMAC key is never the configured secret itself but derived from it with
+ * HKDF-SHA256 and a purpose label, so falling back to the JWT secret doesn't let a
+ * download token and a JWT signature be computed with the same key.
+ */
+@Component
+@ConditionalOnProperty(name = "app.export.temp-store.mode", havingValue = "signed")
+public class SignedArtifactStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SignedArtifactStore.class);
+    private static final String HMAC = "HmacSHA256";
+    private static final byte[] KEY_PURPOSE = "openfolio export download token v1".getBytes(StandardCharsets.US_ASCII);
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path dir;
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "export-artifact-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public SignedArtifactStore(@Value("${app.export.artifacts.dir:${java.io.tmpdir}/openfolio-artifacts}") String dir,
+                               @Value("${app.export.artifacts.secret:${app.jwt.secret}}") String secret,
+                               @Value("${app.export.temp-store.ttl-minutes:10}") long ttlMinutes,
+                               @Value("${app.export.temp-store.sweep-interval-seconds:30}") long sweepIntervalSeconds) {
+        this.dir = Path.of(dir);
+        this.key = new SecretKeySpec(deriveKey(secret.getBytes(StandardCharsets.UTF_8), KEY_PURPOSE), HMAC);
+        this.ttlSeconds = TimeUnit.MINUTES.toSeconds(ttlMinutes);
+        try {
+            Files.createDirectories(this.dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create export artifact directory " + dir, e);
+        }
+        sweeper.scheduleAtFixedRate(this::sweep, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+        log.info("Export downloads use signed tokens over shared directory {}", this.dir);
+    }
+
+    /** Write the PDF under its content hash (once) and return a signed download token. */
+    public String store(byte[] pdfBytes) {
+        String hash = sha256(pdfBytes);
+        Path file = dir.resolve(hash + ".pdf");
+        try {
+            // Already there — just push its expiry out to cover the new token.
+            if (!touch(file)) {
+                // Not there, or swept since; either way write it (again).
+                Path tmp = dir.resolve(hash + "." + UUID.randomUUID() + ".tmp");
+                Files.write(tmp, pdfBytes);
+                moveIntoPlace(tmp, file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store export artifact " + hash, e);
+        }
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        String payload = hash + "." + expiresAt;
+        return payload + "." + sign(payload);
+    }
+
+    /** The PDF for a valid, unexpired token — otherwise {@code null}. */
+    public byte[] retrieve(String token) {
+        Path file = resolve(token);
+        if (file == null) return null;
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Pin the PDF for a valid token for download; {@code null} if invalid, expired or gone. */
+    public ExportTempStore.Download open(String token) throws IOException {
+        Path file = resolve(token);
+        return file != null ? ExportTempStore.Download.open(file) : null;
+    }
+
+    /** Validate signature and expiry; returns the artifact path or {@code null}. */
+    private Path resolve(String token) {
+        if (token == null) return null;
+        int last = token.lastIndexOf('.');
+        int first = token.indexOf('.');
+        if (first <= 0 || last <= first) return null;
+
+        String payload = token.substring(0, last);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(last + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) return null;
+
+        String hash = token.substring(0, first);
+        if (!HASH.matcher(hash).matches()) return null;
+        try {
+            long expiresAt = Long.parseLong(token.substring(first + 1, last));
+            if (expiresAt < Instant.now().getEpochSecond()) return null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return dir.resolve(hash + ".pdf");
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    /** HKDF-SHA256 (RFC 5869) with an empty salt, one 32-byte output block. */
+    static byte[] deriveKey(byte[] secret, byte[] info) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(new byte[32], HMAC));
+            byte[] prk = mac.doFinal(secret);
+            mac.init(new SecretKeySpec(prk, HMAC));
+            mac.update(info);
+            mac.update((byte) 1);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Push the artifact's mtime to now; {@code false} if it isn't there to touch. The touch
+     * goes through an open handle, so it can land on a file {@link #sweep} has just renamed
+     * to a tombstone — hence the second look at the name itself.
+     */
+    private static boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        return Files.exists(file);
+    }
+
+    private static void moveIntoPlace(Path tmp, Path file) throws IOException {
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Another node wrote the same content first.
+            Files.deleteIfExists(tmp);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Delete artifacts no token can still reference: anything untouched for longer than the
+     * token TTL. Every node may run this against the shared directory; deletes are idempotent.
+     */
+    void sweep() {
+        Instant cutoff = Instant.now().minusSeconds(ttlSeconds + 60);
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(f -> {
+                try {
+                    sweep(f, cutoff);
+                } catch (IOException e) {
+                    log.debug("Could not sweep {}: {}", f, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Export artifact sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A {@link #store} on any node may touch an artifact between the age check and the
+     * delete, so an expired PDF is first renamed to a tombstone and its age checked again
+     * there. If it was touched in between it goes back, unless the store already found the
+     * name missing and wrote it again; a touch that lands on the tombstone after that check
+     * sees the name missing too, and writes it again.
+     */
+    private void sweep(Path file, Instant cutoff) throws IOException {
+        if (!untouchedSince(file, cutoff)) return;
+        String name = file.getFileName().toString();
+        if (!name.endsWith(".pdf")) {
+            // Leftover temp files and tombstones; nothing touches these.
+            Files.deleteIfExists(file);
+            return;
+        }
+        Path tombstone = dir.resolve(name + "." + UUID.randomUUID() + ".swept");
+        try {
+            Files.move(file, tombstone, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return;   // another node swept it first
+        }
+        if (untouchedSince(tombstone, cutoff)) {
+            Files.delete(tombstone);
+            return;
+        }
+        try {
+            Files.move(tombstone, file);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(tombstone);
+        }
+    }
+
+    private static boolean untouchedSince(Path file, Instant cutoff) throws IOException {
+        return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package com.openfolio.export.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a background export job.
+ *
+ * @param jobId       opaque job id
+ * @param stage       current stage (QUEUED → LOADING → AI → HTML → PDF → DONE / FAILED)
+ * @param template    resolved template key
+ * @param error       failure message when stage is FAILED, otherwise null
+ * @param resultUrl   where to fetch the PDF once stage is DONE, otherwise null
+ * @param createdAt   when the job was submitted
+ * @param updatedAt   when the stage last changed
+ */
+public record ExportJobStatus(
+        String jobId,
+        String stage,
+        String template,
+        String error,
+        String resultUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -29,6 +29,18 @@ public record ExportOptions(
         return new ExportOptions(false, false, null, false, null, false, null, false, null);
     }
 
+    /**
+     * The same options with values of switched-off toggles dropped and blank values
+     * nulled, so requests that render identically compare equal.
+     */
+    public ExportOptions canonical() {
+        return new ExportOptions(aiRewriteDescriptions,
+                includePhoto, includePhoto ? blankToNull(photoUrl) : null,
+                includePhone, includePhone ? blankToNull(phone) : null,
+                includeLinkedIn, includeLinkedIn ? blankToNull(linkedIn) : null,
+                includeWebsite, includeWebsite ? blankToNull(website) : null);
+    }
+
     /** Builder-style factory from individual query params. */
     public static ExportOptions of(boolean aiRewrite, boolean photo, String photoUrl,
                                     boolean phone, String phoneVal,
@@ -37,4 +49,8 @@ public record ExportOptions(
         return new ExportOptions(aiRewrite, photo, photoUrl, phone, phoneVal,
                 linkedIn, linkedInVal, website, websiteVal);
     }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s;
+    }
 }
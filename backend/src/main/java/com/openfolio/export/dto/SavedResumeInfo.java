@@ -9,5 +9,6 @@ public record SavedResumeInfo(
         String templateKey,
         long fileSizeBytes,
         LocalDateTime createdAt,
-        String publicUrl
+        String publicUrl,
+        String thumbnailUrl
 ) {}
@@ -1,6 +1,8 @@
 package com.openfolio.ingestion;
 
-import com.openfolio.ai.AiResumeEnhancer;
+import com.openfolio.ai.AiJobPriority;
+import com.openfolio.ai.AiJobQueue;
+import com.openfolio.ai.AiJobType;
 import com.openfolio.auth.AuthIdentityRepository;
 import com.openfolio.auth.AuthProvider;
 import com.openfolio.certification.CertificationRepository;
@@ -25,6 +27,7 @@ import com.openfolio.skill.SkillRepository;
 import com.openfolio.user.User;
 import com.openfolio.user.UserRepository;
 import com.openfolio.shared.exception.ResourceNotFoundException;
+import com.openfolio.shared.text.TextNormalizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -33,7 +36,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class IngestionService {
@@ -47,7 +49,7 @@ public class IngestionService {
     private final SkillRepository skillRepository;
     private final SectionRepository sectionRepository;
     private final UserRepository userRepository;
-    private final AiResumeEnhancer aiEnhancer;
+    private final AiJobQueue aiJobs;
     private final PublishRecordRepository publishRecordRepository;
     private final EducationRepository educationRepository;
     private final ExperienceRepository experienceRepository;
@@ -61,7 +63,7 @@ public class IngestionService {
                             SkillRepository skillRepository,
                             SectionRepository sectionRepository,
                             UserRepository userRepository,
-                            AiResumeEnhancer aiEnhancer,
+                            AiJobQueue aiJobs,
                             PublishRecordRepository publishRecordRepository,
                             EducationRepository educationRepository,
                             ExperienceRepository experienceRepository,
@@ -74,7 +76,7 @@ public class IngestionService {
         this.skillRepository = skillRepository;
         this.sectionRepository = sectionRepository;
         this.userRepository = userRepository;
-        this.aiEnhancer = aiEnhancer;
+        this.aiJobs = aiJobs;
         this.publishRecordRepository = publishRecordRepository;
         this.educationRepository = educationRepository;
         this.experienceRepository = experienceRepository;
@@ -175,7 +177,7 @@ public class IngestionService {
         if (profileReadme != null && !profileReadme.isBlank()) {
             sectionRepository.findByPortfolioIdAndType(portfolio.getId(), SectionType.ABOUT)
                     .ifPresent(section -> {
-                        section.setContent(cleanMarkdown(profileReadme));
+                        section.setContent(TextNormalizer.stripMarkdown(profileReadme));
                         sectionRepository.save(section);
                     });
         }
@@ -217,68 +219,17 @@ public class IngestionService {
             skillRepository.save(skill);
         }
 
-        // 12. AI-enhance content in parallel using Ollama (qwen2.5:14b)
-        List<String> topLanguageNames = sortedLangs.stream()
-                .limit(6).map(Map.Entry::getKey).toList();
-
-        // Kick off summary enhancement
-        CompletableFuture<Void> summaryFuture = CompletableFuture.runAsync(() -> {
-            String aiSummary = aiEnhancer.enhanceProfessionalSummary(
-                    displayName, profileReadme, topLanguageNames);
-            if (aiSummary != null && !aiSummary.isBlank()) {
-                sectionRepository.findByPortfolioIdAndType(portfolio.getId(), SectionType.ABOUT)
-                        .ifPresent(section -> {
-                            section.setContent(aiSummary);
-                            sectionRepository.save(section);
-                        });
-                log.info("AI summary saved for portfolio {}", portfolio.getId());
-            }
-        });
-
-        // Kick off project description enhancements for top 5 highlighted projects.
-        // Capture only IDs + plain values — NOT the JPA entity itself — to avoid
-        // ObjectOptimisticLockingFailureException from stale detached references.
-        List<Project> savedProjects = projectRepository
-                .findAllByPortfolioIdOrderByDisplayOrder(portfolio.getId());
-        List<CompletableFuture<Void>> projectFutures = savedProjects.stream()
+        // 12. Queue AI rewrites of the About summary and the top 5 highlighted projects.
+        // Fire-and-forget: the portfolio is returned immediately with raw GitHub data and
+        // the AI text replaces it as the jobs finish. Queued only after this transaction
+        // commits, so the workers can see the new rows.
+        aiJobs.submitAfterCommit(AiJobType.PORTFOLIO_SUMMARY, portfolio.getId(), userId,
+                AiJobPriority.IMPORT, true);
+        projectRepository.findAllByPortfolioIdOrderByDisplayOrder(portfolio.getId()).stream()
                 .filter(Project::isHighlighted)
                 .limit(5)
-                .map(proj -> {
-                    final Long projId      = proj.getId();
-                    final String projName  = proj.getName();
-                    final String projDesc  = proj.getDescription();
-                    final List<String> projLangs = proj.getLanguages() != null
-                            ? new ArrayList<>(proj.getLanguages()) : List.of();
-                    final int projStars    = proj.getStars();
-                    return CompletableFuture.runAsync(() -> {
-                        String aiDesc = aiEnhancer.enhanceProjectDescription(
-                                projName, projDesc, projLangs, projStars);
-                        if (aiDesc != null && !aiDesc.isBlank()) {
-                            // Re-fetch a fresh managed entity — avoids optimistic lock on stale proxy
-                            projectRepository.findById(projId).ifPresent(freshProj -> {
-                                freshProj.setDescription(aiDesc);
-                                projectRepository.save(freshProj);
-                            });
-                        }
-                    });
-                })
-                .toList();
-
-        // Fire-and-forget: AI runs in background — don't block the HTTP response.
-        // The portfolio is returned immediately with raw GitHub data.
-        // AI descriptions/summary will be saved within ~30-60s automatically.
-        Long portfolioId = portfolio.getId();
-        CompletableFuture.allOf(
-                        Stream.concat(Stream.of(summaryFuture), projectFutures.stream())
-                                .toArray(CompletableFuture[]::new))
-                .whenComplete((v, ex) -> {
-                    if (ex != null) {
-                        log.warn("AI enhancement failed for portfolio {} — raw data kept: {}",
-                                portfolioId, ex.getMessage());
-                    } else {
-                        log.info("AI enhancement complete for portfolio {}", portfolioId);
-                    }
-                });
+                .forEach(proj -> aiJobs.submitAfterCommit(AiJobType.PROJECT_DESCRIPTION, proj.getId(), userId,
+                        AiJobPriority.IMPORT, true));
 
         return PortfolioSummaryResponse.from(portfolio,
                 projectRepository.countByPortfolioId(portfolio.getId()),
@@ -326,19 +277,4 @@ public class IngestionService {
         if (pct >= 8)  return Proficiency.INTERMEDIATE;
         return Proficiency.BEGINNER;
     }
-
-    private String cleanMarkdown(String raw) {
-        return raw
-                .replaceAll("(?s)```.*?```", "")
-                .replaceAll("`[^`]+`", "")
-                .replaceAll("!\\[.*?\\]\\(.*?\\)", "")
-                .replaceAll("<[^>]+>", "")
-                .replaceAll("\\[([^\\]]+)\\]\\([^)]+\\)", "$1")
-                .replaceAll("#{1,6}\\s+", "")
-                .replaceAll("\\*{1,3}([^*]+)\\*{1,3}", "$1")
-                .replaceAll("-{3,}|={3,}", "")
-                .replaceAll("(?m)^[-*+]\\s+", "• ")
-                .replaceAll("\\n{3,}", "\n\n")
-                .trim();
-    }
 }
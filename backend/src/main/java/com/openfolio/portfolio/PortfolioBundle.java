@@ -1,12 +1,18 @@
 package com.openfolio.portfolio;
 
 import com.openfolio.certification.Certification;
+import com.openfolio.certification.dto.CertificationResponse;
 import com.openfolio.education.Education;
+import com.openfolio.education.dto.EducationResponse;
 import com.openfolio.experience.Experience;
+import com.openfolio.experience.dto.ExperienceResponse;
 import com.openfolio.project.Project;
+import com.openfolio.project.dto.ProjectResponse;
 import com.openfolio.skill.Skill;
+import com.openfolio.skill.dto.SkillResponse;
 import com.openfolio.user.User;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -21,4 +27,23 @@ public record PortfolioBundle(
         List<Experience> experiences,
         List<Education> educations,
         List<Certification> certifications
-) {}
+) {
+
+    /**
+     * Data version for export coalescing, compared by {@code equals}: the rendered portfolio
+     * and user fields, the about text and a value snapshot of every item. Child rows carry
+     * no timestamp of their own and editing one leaves {@code Portfolio.updatedAt} alone, so
+     * the items themselves are the version.
+     */
+    public List<Object> contentVersion() {
+        return Arrays.asList(
+                portfolio.getUpdatedAt(), portfolio.getTitle(), portfolio.getTagline(), portfolio.getThemeKey(),
+                user.getDisplayName(), user.getEmail(), user.getAvatarUrl(), user.getGithubUsername(),
+                aboutContent,
+                projects.stream().map(ProjectResponse::from).toList(),
+                skills.stream().map(SkillResponse::from).toList(),
+                experiences.stream().map(ExperienceResponse::from).toList(),
+                educations.stream().map(EducationResponse::from).toList(),
+                certifications.stream().map(CertificationResponse::from).toList());
+    }
+}
@@ -5,9 +5,13 @@ import com.openfolio.education.Education;
 import com.openfolio.experience.Experience;
 import com.openfolio.export.dto.ExportOptions;
 import com.openfolio.project.Project;
+import com.openfolio.shared.html.HtmlFragmentCache;
+import com.openfolio.shared.text.TextNormalizer;
 import com.openfolio.skill.Skill;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,12 +33,42 @@ import java.util.stream.Collectors;
 @Component
 public class PortfolioHtmlGenerator {
 
+    private final HtmlFragmentCache fragments;
+
+    /** Stylesheets depend only on the theme / palette, so they are built once here. */
+    private final Map<String, String> previewCss;
+    private final Map<Palette, String> pdfCss;
+
+    public PortfolioHtmlGenerator(HtmlFragmentCache fragments) {
+        this.fragments = fragments;
+        this.previewCss = Map.of(
+                "dark", previewCss(previewTheme("dark")),
+                "minimal", previewCss(previewTheme("minimal")),
+                "hacker", previewCss(previewTheme("hacker")));
+        this.pdfCss = Map.of(
+                CLEAN, twoColumnCss(CLEAN),
+                DARK, twoColumnCss(DARK),
+                MINIMAL, singleColumnCss(MINIMAL),
+                HACKER, singleColumnCss(HACKER));
+    }
+
     // ─── Entry points ─────────────────────────────────────────────────────────
 
     public String generate(PortfolioBundle b) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            generate(b, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // StringBuilder doesn't throw
+        }
+        return sb.toString();
+    }
+
+    /** The preview page written piece by piece to {@code out}, e.g. a response writer. */
+    public void generate(PortfolioBundle b, Appendable out) throws IOException {
         String key = b.portfolio().getThemeKey();
         if (key == null) key = "dark";
-        return buildPreview(b, key.toLowerCase());
+        writePreview(b, key.toLowerCase(), out);
     }
 
     public String generateForPdf(PortfolioBundle b) {
@@ -54,129 +88,128 @@ public class PortfolioHtmlGenerator {
     //  PREVIEW  (WebView — full modern CSS with flex/grid)
     // =========================================================================
 
-    private String buildPreview(PortfolioBundle b, String themeKey) {
-        record T(String bg, String surface, String card, String text, String sub,
-                 String muted, String primary, String pLight, String border, String font,
-                 boolean light, boolean hacker) {}
+    private record PreviewTheme(String bg, String surface, String card, String text, String sub,
+                                String muted, String primary, String pLight, String border, String font,
+                                boolean light, boolean hacker) {}
 
-        T t = switch (themeKey) {
-            case "minimal" -> new T("#FAFAFA","#FFFFFF","#F5F3FF","#111827","#374151","#6B7280",
+    private static PreviewTheme previewTheme(String themeKey) {
+        return switch (themeKey) {
+            case "minimal" -> new PreviewTheme("#FAFAFA","#FFFFFF","#F5F3FF","#111827","#374151","#6B7280",
                     "#8B5CF6","#7C3AED","#E5E7EB",
                     "-apple-system,BlinkMacSystemFont,'Segoe UI',Roboto,sans-serif", true, false);
-            case "hacker"  -> new T("#000000","#050505","#0A120A","#00FF41","#00CC33","#008F2C",
+            case "hacker"  -> new PreviewTheme("#000000","#050505","#0A120A","#00FF41","#00CC33","#008F2C",
                     "#00FF41","#00CC33","rgba(0,255,65,0.18)",
                     "'Courier New','Lucida Console',monospace", false, true);
-            default        -> new T("#09090B","#111113","#1C1C28","#F4F4F5","#A1A1AA","#71717A",
+            default        -> new PreviewTheme("#09090B","#111113","#1C1C28","#F4F4F5","#A1A1AA","#71717A",
                     "#8B5CF6","#A78BFA","rgba(255,255,255,0.08)",
                     "-apple-system,BlinkMacSystemFont,'Segoe UI',Roboto,sans-serif", false, false);
         };
+    }
+
+    private void writePreview(PortfolioBundle b, String themeKey, Appendable out) throws IOException {
+        PreviewTheme t = previewTheme(themeKey);
+        String css = previewCss.getOrDefault(themeKey, previewCss.get("dark"));
 
         String displayName = resolveDisplayName(b);
         String initials = initials(displayName);
         String email = b.user() != null ? b.user().getEmail() : "";
         String ghUser = b.user() != null ? b.user().getGithubUsername() : null;
 
-        String nameStyle = t.hacker()
-                ? "color:" + t.primary() + ";text-shadow:0 0 20px rgba(0,255,65,0.5)"
-                : t.light() ? "color:" + t.text()
-                : "background:linear-gradient(135deg,#C4B5FD 0%,#67E8F9 100%);"
-                  + "-webkit-background-clip:text;-webkit-text-fill-color:transparent;background-clip:text";
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n")
+        out.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n")
           .append("<meta charset=\"UTF-8\">\n")
           .append("<meta name=\"viewport\" content=\"width=device-width,initial-scale=1\">\n")
           .append("<title>").append(esc(displayName)).append("</title>\n")
-          .append("<style>").append(previewCss(t.bg(), t.surface(), t.card(), t.text(),
-                  t.sub(), t.muted(), t.primary(), t.pLight(), t.border(), t.font(),
-                  t.light(), t.hacker(), nameStyle)).append("</style>\n")
+          .append("<style>").append(css).append("</style>\n")
           .append("</head>\n<body>\n");
 
         // ── HEADER ────────────────────────────────────────────────────────────
-        sb.append("<div class=\"resume-header\">\n");
-        sb.append("<div class=\"header-left\">\n");
+        out.append("<div class=\"resume-header\">\n");
+        out.append("<div class=\"header-left\">\n");
         String avatarUrl = b.user() != null ? b.user().getAvatarUrl() : null;
         if (avatarUrl != null && !avatarUrl.isBlank()) {
-            sb.append("<img class=\"avatar\" src=\"").append(esc(avatarUrl))
+            out.append("<img class=\"avatar\" src=\"").append(esc(avatarUrl))
               .append("\" alt=\"").append(esc(initials)).append("\"/>\n");
         } else {
-            sb.append("<div class=\"avatar\">").append(esc(initials)).append("</div>\n");
+            out.append("<div class=\"avatar\">").append(esc(initials)).append("</div>\n");
         }
-        sb.append("<div class=\"header-info\">\n");
-        sb.append("<h1 class=\"r-name\">").append(esc(displayName)).append("</h1>\n");
+        out.append("<div class=\"header-info\">\n");
+        out.append("<h1 class=\"r-name\">").append(esc(displayName)).append("</h1>\n");
         if (b.portfolio().getTagline() != null && !b.portfolio().getTagline().isBlank())
-            sb.append("<div class=\"r-title\">").append(esc(b.portfolio().getTagline())).append("</div>\n");
-        sb.append("<div class=\"r-contacts\">\n");
+            out.append("<div class=\"r-title\">").append(esc(b.portfolio().getTagline())).append("</div>\n");
+        out.append("<div class=\"r-contacts\">\n");
         if (email != null && !email.isBlank())
-            sb.append("<span class=\"contact-item\">").append(esc(email)).append("</span>\n");
+            out.append("<span class=\"contact-item\">").append(esc(email)).append("</span>\n");
         if (ghUser != null && !ghUser.isBlank())
-            sb.append("<span class=\"contact-item\">github.com/").append(esc(ghUser)).append("</span>\n");
-        sb.append("<span class=\"contact-item badge-pill\">")
-          .append(b.projects().size()).append(" repos</span>\n");
-        sb.append("</div>\n</div>\n</div>\n</div>\n");
+            out.append("<span class=\"contact-item\">github.com/").append(esc(ghUser)).append("</span>\n");
+        out.append("<span class=\"contact-item badge-pill\">")
+          .append(String.valueOf(b.projects().size())).append(" repos</span>\n");
+        out.append("</div>\n</div>\n</div>\n</div>\n");
 
-        sb.append("<div class=\"container\">\n");
+        out.append("<div class=\"container\">\n");
 
         // Professional Summary
-        if (b.aboutContent() != null && !b.aboutContent().isBlank())
-            sb.append(previewSection("Professional Summary",
-                "<div class=\"summary-text\">" + nl2br(esc(b.aboutContent())) + "</div>",
-                t.primary(), t.border(), t.hacker()));
+        if (b.aboutContent() != null && !b.aboutContent().isBlank()) {
+            openPreviewSection(out, "Professional Summary", t.hacker());
+            out.append("<div class=\"summary-text\">").append(nl2br(esc(b.aboutContent()))).append("</div>");
+            closePreviewSection(out);
+        }
 
         // Core Skills
-        if (!b.skills().isEmpty())
-            sb.append(previewSection("Core Skills",
-                buildPreviewSkills(b.skills(), t.card(), t.border(), t.primary(),
-                        t.pLight(), t.muted(), t.text(), t.hacker()),
-                t.primary(), t.border(), t.hacker()));
+        if (!b.skills().isEmpty()) {
+            openPreviewSection(out, "Core Skills", t.hacker());
+            out.append(fragments.get(skillsKey("portfolio.preview.skills", b.skills()), () -> previewSkills(b.skills())));
+            closePreviewSection(out);
+        }
 
         // Work Experience
-        if (!b.experiences().isEmpty())
-            sb.append(previewSection("Work Experience",
-                buildPreviewExperience(b.experiences(), t.primary(), t.text(), t.sub(), t.muted(), t.border()),
-                t.primary(), t.border(), t.hacker()));
+        if (!b.experiences().isEmpty()) {
+            openPreviewSection(out, "Work Experience", t.hacker());
+            writePreviewExperience(out, b.experiences());
+            closePreviewSection(out);
+        }
 
         // Notable Projects
         if (!b.projects().isEmpty()) {
             List<Project> featured = b.projects().stream().filter(Project::isHighlighted).toList();
             List<Project> toShow = !featured.isEmpty() ? featured : b.projects().stream().limit(6).toList();
-            sb.append(previewSection("Notable Projects",
-                buildPreviewProjects(toShow, t.card(), t.border(), t.primary(),
-                        t.pLight(), t.muted(), t.text(), t.sub(), t.hacker()),
-                t.primary(), t.border(), t.hacker()));
+            openPreviewSection(out, "Notable Projects", t.hacker());
+            writePreviewProjects(out, toShow);
+            closePreviewSection(out);
         }
 
         // Education
-        if (!b.educations().isEmpty())
-            sb.append(previewSection("Education",
-                buildPreviewEducation(b.educations(), t.card(), t.border(), t.primary(), t.text(), t.muted()),
-                t.primary(), t.border(), t.hacker()));
+        if (!b.educations().isEmpty()) {
+            openPreviewSection(out, "Education", t.hacker());
+            writePreviewEducation(out, b.educations());
+            closePreviewSection(out);
+        }
 
         // Certifications
-        if (!b.certifications().isEmpty())
-            sb.append(previewSection("Licenses & Certifications",
-                buildPreviewCertifications(b.certifications(), t.card(), t.border(), t.primary(), t.text(), t.muted()),
-                t.primary(), t.border(), t.hacker()));
+        if (!b.certifications().isEmpty()) {
+            openPreviewSection(out, "Licenses & Certifications", t.hacker());
+            writePreviewCertifications(out, b.certifications());
+            closePreviewSection(out);
+        }
 
-        sb.append("</div>\n");
-        sb.append("<div class=\"footer\">Built with <span style=\"color:")
+        out.append("</div>\n");
+        out.append("<div class=\"footer\">Built with <span style=\"color:")
           .append(t.primary()).append("\">OpenFolio</span></div>\n");
-        sb.append("</body>\n</html>");
-        return sb.toString();
+        out.append("</body>\n</html>");
     }
 
     // ─── Preview helpers ──────────────────────────────────────────────────────
 
-    private String previewSection(String title, String content, String primary, String border, boolean hacker) {
-        String dot = hacker ? "# " : "";
-        return "<div class=\"r-section\">\n"
-             + "<div class=\"sec-header\"><span class=\"sec-dot\">" + dot + "</span>"
-             + "<span class=\"sec-title\">" + esc(title) + "</span></div>\n"
-             + content + "\n</div>\n";
+    private void openPreviewSection(Appendable out, String title, boolean hacker) throws IOException {
+        out.append("<div class=\"r-section\">\n")
+           .append("<div class=\"sec-header\"><span class=\"sec-dot\">").append(hacker ? "# " : "").append("</span>")
+           .append("<span class=\"sec-title\">").append(esc(title)).append("</span></div>\n");
     }
 
-    private String buildPreviewSkills(List<Skill> skills, String card, String border,
-            String primary, String pLight, String muted, String text, boolean hacker) {
+    private void closePreviewSection(Appendable out) throws IOException {
+        out.append("\n</div>\n");
+    }
+
+    private String previewSkills(List<Skill> skills) {
         Map<String, List<Skill>> byProf = new LinkedHashMap<>();
         for (Skill s : skills) {
             String prof = s.getProficiency() != null ? capitalize(s.getProficiency().name()) : "Other";
@@ -198,95 +231,113 @@ public class PortfolioHtmlGenerator {
         return sb.toString();
     }
 
-    private String buildPreviewProjects(List<Project> projects, String card, String border,
-            String primary, String pLight, String muted, String text, String sub, boolean hacker) {
-        StringBuilder sb = new StringBuilder("<div class=\"proj-list\">\n");
-        for (Project p : projects) {
-            sb.append("<div class=\"proj-item\">\n");
-            sb.append("<div class=\"proj-header\">\n");
-            sb.append("<span class=\"proj-name\">").append(esc(p.getName())).append("</span>\n");
-            if (p.getStars() > 0)
-                sb.append("<span class=\"proj-stats\">").append(p.getStars()).append(" stars</span>\n");
-            sb.append("</div>\n");
-            if (p.getLanguages() != null && !p.getLanguages().isEmpty()) {
-                sb.append("<div class=\"proj-langs\">");
-                for (String lang : p.getLanguages())
-                    sb.append("<span class=\"lang-pill\">").append(esc(lang)).append("</span>");
-                sb.append("</div>\n");
-            }
-            if (p.getDescription() != null && !p.getDescription().isBlank())
-                sb.append("<p class=\"proj-desc\">").append(esc(p.getDescription())).append("</p>\n");
-            if (p.getUrl() != null)
-                sb.append("<a href=\"").append(esc(p.getUrl()))
-                  .append("\" class=\"proj-link\" target=\"_blank\">View on GitHub</a>\n");
+    private void writePreviewProjects(Appendable out, List<Project> projects) throws IOException {
+        out.append("<div class=\"proj-list\">\n");
+        for (Project p : projects)
+            out.append(fragments.get(fragmentKey("portfolio.preview.project", p), () -> previewProject(p)));
+        out.append("</div>");
+    }
+
+    private String previewProject(Project p) {
+        StringBuilder sb = new StringBuilder("<div class=\"proj-item\">\n");
+        sb.append("<div class=\"proj-header\">\n");
+        sb.append("<span class=\"proj-name\">").append(esc(p.getName())).append("</span>\n");
+        if (p.getStars() > 0)
+            sb.append("<span class=\"proj-stats\">").append(p.getStars()).append(" stars</span>\n");
+        sb.append("</div>\n");
+        if (p.getLanguages() != null && !p.getLanguages().isEmpty()) {
+            sb.append("<div class=\"proj-langs\">");
+            for (String lang : p.getLanguages())
+                sb.append("<span class=\"lang-pill\">").append(esc(lang)).append("</span>");
             sb.append("</div>\n");
         }
-        sb.append("</div>");
+        if (p.getDescription() != null && !p.getDescription().isBlank())
+            sb.append("<p class=\"proj-desc\">").append(esc(p.getDescription())).append("</p>\n");
+        if (p.getUrl() != null)
+            sb.append("<a href=\"").append(esc(p.getUrl()))
+              .append("\" class=\"proj-link\" target=\"_blank\">View on GitHub</a>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
-    private String buildPreviewExperience(List<Experience> exps, String primary,
-            String text, String sub, String muted, String border) {
-        StringBuilder sb = new StringBuilder("<div class=\"exp-list\">\n");
+    private void writePreviewExperience(Appendable out, List<Experience> exps) throws IOException {
+        out.append("<div class=\"exp-list\">\n");
+        for (Experience e : exps)
+            out.append(fragments.get(fragmentKey("portfolio.preview.exp", e), () -> previewExperience(e)));
+        out.append("</div>");
+    }
+
+    private String previewExperience(Experience e) {
         DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM yyyy");
-        for (Experience e : exps) {
-            sb.append("<div class=\"exp-item\">\n");
-            sb.append("<div class=\"exp-header\">\n<div>\n");
-            sb.append("<div class=\"exp-role\">").append(esc(e.getTitle())).append("</div>\n");
-            sb.append("<div class=\"exp-company\">").append(esc(e.getCompany())).append("</div>\n");
-            sb.append("</div>\n");
-            String start = e.getStartDate() != null ? e.getStartDate().format(fmt) : "";
-            String end = e.isCurrent() ? "Present" : (e.getEndDate() != null ? e.getEndDate().format(fmt) : "");
-            if (!start.isBlank())
-                sb.append("<div class=\"exp-dates\">").append(esc(start)).append(" - ").append(esc(end)).append("</div>\n");
-            sb.append("</div>\n");
-            if (e.getDescription() != null && !e.getDescription().isBlank())
-                sb.append("<p class=\"exp-desc\">").append(esc(e.getDescription())).append("</p>\n");
-            sb.append("</div>\n");
-        }
-        sb.append("</div>");
+        StringBuilder sb = new StringBuilder("<div class=\"exp-item\">\n");
+        sb.append("<div class=\"exp-header\">\n<div>\n");
+        sb.append("<div class=\"exp-role\">").append(esc(e.getTitle())).append("</div>\n");
+        sb.append("<div class=\"exp-company\">").append(esc(e.getCompany())).append("</div>\n");
+        sb.append("</div>\n");
+        String start = e.getStartDate() != null ? e.getStartDate().format(fmt) : "";
+        String end = e.isCurrent() ? "Present" : (e.getEndDate() != null ? e.getEndDate().format(fmt) : "");
+        if (!start.isBlank())
+            sb.append("<div class=\"exp-dates\">").append(esc(start)).append(" - ").append(esc(end)).append("</div>\n");
+        sb.append("</div>\n");
+        if (e.getDescription() != null && !e.getDescription().isBlank())
+            sb.append("<p class=\"exp-desc\">").append(esc(e.getDescription())).append("</p>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
-    private String buildPreviewEducation(List<Education> edus, String card, String border,
-            String primary, String text, String muted) {
-        StringBuilder sb = new StringBuilder("<div class=\"edu-list\">\n");
-        for (Education e : edus) {
-            sb.append("<div class=\"edu-item\">\n");
-            String deg = ((e.getDegree() != null ? e.getDegree() : "") +
-                         (e.getField() != null ? " in " + e.getField() : "")).trim();
-            if (!deg.isBlank()) sb.append("<div class=\"edu-degree\">").append(esc(deg)).append("</div>\n");
-            sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
-            String yrs = (e.getStartYear() != null ? e.getStartYear() : "") +
-                         (e.getEndYear() != null ? " - " + e.getEndYear() : "");
-            if (!yrs.isBlank()) sb.append("<div class=\"edu-dates\">").append(esc(yrs)).append("</div>\n");
-            sb.append("</div>\n");
-        }
-        sb.append("</div>");
+    private void writePreviewEducation(Appendable out, List<Education> edus) throws IOException {
+        out.append("<div class=\"edu-list\">\n");
+        for (Education e : edus)
+            out.append(fragments.get(fragmentKey("portfolio.preview.edu", e), () -> previewEducation(e)));
+        out.append("</div>");
+    }
+
+    private String previewEducation(Education e) {
+        StringBuilder sb = new StringBuilder("<div class=\"edu-item\">\n");
+        String deg = ((e.getDegree() != null ? e.getDegree() : "") +
+                     (e.getField() != null ? " in " + e.getField() : "")).trim();
+        if (!deg.isBlank()) sb.append("<div class=\"edu-degree\">").append(esc(deg)).append("</div>\n");
+        sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
+        String yrs = (e.getStartYear() != null ? e.getStartYear() : "") +
+                     (e.getEndYear() != null ? " - " + e.getEndYear() : "");
+        if (!yrs.isBlank()) sb.append("<div class=\"edu-dates\">").append(esc(yrs)).append("</div>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
-    private String buildPreviewCertifications(List<Certification> certs, String card, String border,
-            String primary, String text, String muted) {
-        StringBuilder sb = new StringBuilder("<div class=\"cert-list\">\n");
+    private void writePreviewCertifications(Appendable out, List<Certification> certs) throws IOException {
+        out.append("<div class=\"cert-list\">\n");
+        for (Certification c : certs)
+            out.append(fragments.get(fragmentKey("portfolio.preview.cert", c), () -> previewCertification(c)));
+        out.append("</div>");
+    }
+
+    private String previewCertification(Certification c) {
         DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM yyyy");
-        for (Certification c : certs) {
-            sb.append("<div class=\"cert-item\">\n");
-            sb.append("<div class=\"cert-name\">").append(esc(c.getName())).append("</div>\n");
-            if (c.getIssuingOrganization() != null && !c.getIssuingOrganization().isBlank())
-                sb.append("<div class=\"cert-org\">").append(esc(c.getIssuingOrganization())).append("</div>\n");
-            String issued = c.getIssueDate() != null ? "Issued " + c.getIssueDate().format(fmt) : "";
-            String expires = c.getExpiryDate() != null ? " · Expires " + c.getExpiryDate().format(fmt) : "";
-            if (!issued.isBlank())
-                sb.append("<div class=\"cert-dates\">").append(esc(issued + expires)).append("</div>\n");
-            if (c.getCredentialId() != null && !c.getCredentialId().isBlank())
-                sb.append("<div class=\"cert-cred\">Credential ID: ").append(esc(c.getCredentialId())).append("</div>\n");
-            sb.append("</div>\n");
-        }
-        sb.append("</div>");
+        StringBuilder sb = new StringBuilder("<div class=\"cert-item\">\n");
+        sb.append("<div class=\"cert-name\">").append(esc(c.getName())).append("</div>\n");
+        if (c.getIssuingOrganization() != null && !c.getIssuingOrganization().isBlank())
+            sb.append("<div class=\"cert-org\">").append(esc(c.getIssuingOrganization())).append("</div>\n");
+        String issued = c.getIssueDate() != null ? "Issued " + c.getIssueDate().format(fmt) : "";
+        String expires = c.getExpiryDate() != null ? " · Expires " + c.getExpiryDate().format(fmt) : "";
+        if (!issued.isBlank())
+            sb.append("<div class=\"cert-dates\">").append(esc(issued + expires)).append("</div>\n");
+        if (c.getCredentialId() != null && !c.getCredentialId().isBlank())
+            sb.append("<div class=\"cert-cred\">Credential ID: ").append(esc(c.getCredentialId())).append("</div>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
+    private String previewCss(PreviewTheme t) {
+        String nameStyle = t.hacker()
+                ? "color:" + t.primary() + ";text-shadow:0 0 20px rgba(0,255,65,0.5)"
+                : t.light() ? "color:" + t.text()
+                : "background:linear-gradient(135deg,#C4B5FD 0%,#67E8F9 100%);"
+                  + "-webkit-background-clip:text;-webkit-text-fill-color:transparent;background-clip:text";
+        return previewCss(t.bg(), t.surface(), t.card(), t.text(), t.sub(), t.muted(), t.primary(),
+                t.pLight(), t.border(), t.font(), t.light(), t.hacker(), nameStyle);
+    }
+
     private String previewCss(String bg, String surface, String card, String text,
             String sub, String muted, String primary, String pLight, String border,
             String font, boolean light, boolean hacker, String nameStyle) {
@@ -362,12 +413,6 @@ public class PortfolioHtmlGenerator {
     //  Modeled 1:1 after Enhancv premium resume templates
     // =========================================================================
 
-    /** Clean summary — strip extra whitespace but keep full content. */
-    private String cleanSummary(String raw) {
-        if (raw == null || raw.isBlank()) return "";
-        return raw.strip().replaceAll("\\s+", " ");
-    }
-
     /** Build contact line: phone | email | linkedin | github | website. */
     private String contactLine(String email, String ghUser, ExportOptions options) {
         List<String> parts = new ArrayList<>();
@@ -390,7 +435,7 @@ public class PortfolioHtmlGenerator {
         String tagline     = b.portfolio().getTagline() != null ? b.portfolio().getTagline() : "";
         String email       = b.user() != null ? b.user().getEmail() : "";
         String ghUser      = b.user() != null ? b.user().getGithubUsername() : null;
-        String summary     = cleanSummary(b.aboutContent());
+        String summary     = TextNormalizer.collapseWhitespace(b.aboutContent());
 
         String photoUrl = null;
         if (options.includePhoto()) {
@@ -401,10 +446,10 @@ public class PortfolioHtmlGenerator {
         }
 
         return switch (templateKey) {
-            case "dark"    -> pdfTwoColumn(b, displayName, tagline, email, ghUser, summary, photoUrl, options, darkPalette());
-            case "hacker"  -> pdfSingleColumn(b, displayName, tagline, email, ghUser, summary, photoUrl, options, hackerPalette());
-            case "minimal" -> pdfSingleColumn(b, displayName, tagline, email, ghUser, summary, photoUrl, options, minimalPalette());
-            default        -> pdfTwoColumn(b, displayName, tagline, email, ghUser, summary, photoUrl, options, cleanPalette());
+            case "dark"    -> pdfTwoColumn(b, displayName, tagline, email, ghUser, summary, photoUrl, options, DARK);
+            case "hacker"  -> pdfSingleColumn(b, displayName, tagline, email, ghUser, summary, photoUrl, options, HACKER);
+            case "minimal" -> pdfSingleColumn(b, displayName, tagline, email, ghUser, summary, photoUrl, options, MINIMAL);
+            default        -> pdfTwoColumn(b, displayName, tagline, email, ghUser, summary, photoUrl, options, CLEAN);
         };
     }
 
@@ -426,45 +471,37 @@ public class PortfolioHtmlGenerator {
         boolean isDark, boolean isMonospace
     ) {}
 
-    private Palette cleanPalette() {
-        return new Palette("Clean",
+    private static final Palette CLEAN = new Palette("Clean",
             "#1B2A4A", "#FFFFFF", "#B0C4DE", "#8BA4C7",
             "#2D5BFF", "#4A7AFF",
             "#FFFFFF", "#2D2D2D", "#666666", "#999999",
             "#E0E0E0", "#F0F0F0",
             "'Helvetica Neue',Helvetica,Arial,sans-serif",
             false, false);
-    }
 
-    private Palette darkPalette() {
-        return new Palette("Dark",
+    private static final Palette DARK = new Palette("Dark",
             "#1A1A2E", "#FFFFFF", "#A78BFA", "#71717A",
             "#A78BFA", "#C4B5FD",
             "#111118", "#D4D4D8", "#A1A1AA", "#71717A",
             "#2D2D3F", "#1E1E2E",
             "'Helvetica Neue',Helvetica,Arial,sans-serif",
             true, false);
-    }
 
-    private Palette minimalPalette() {
-        return new Palette("Minimal",
+    private static final Palette MINIMAL = new Palette("Minimal",
             "#FFFFFF", "#111111", "#6B21A8", "#999999",
             "#6B21A8", "#7C3AED",
             "#FFFFFF", "#222222", "#666666", "#999999",
             "#DDDDDD", "#EEEEEE",
             "Georgia,'Times New Roman',serif",
             false, false);
-    }
 
-    private Palette hackerPalette() {
-        return new Palette("Hacker",
+    private static final Palette HACKER = new Palette("Hacker",
             "#000000", "#00FF41", "#008F2C", "#006B20",
             "#00FF41", "#00CC33",
             "#000000", "#00CC33", "#008F2C", "#006B20",
             "#004D15", "#003310",
             "'Courier New','Lucida Console',monospace",
             true, true);
-    }
 
     // =========================================================================
     //  PDF: Two-column layout (Clean & Dark templates — Enhancv-style)
@@ -473,7 +510,7 @@ public class PortfolioHtmlGenerator {
     private String pdfTwoColumn(PortfolioBundle b, String name, String tagline,
                                  String email, String ghUser, String summary,
                                  String photoUrl, ExportOptions options, Palette p) {
-        StringBuilder sb = pdfDocStart(name, twoColumnCss(p));
+        StringBuilder sb = pdfDocStart(name, pdfCss.get(p));
         List<Project> projects = topProjects(b);
 
         // ── HEADER BANNER ─────────────────────────────────────────────────────
@@ -661,7 +698,7 @@ public class PortfolioHtmlGenerator {
                                     String email, String ghUser, String summary,
                                     String photoUrl, ExportOptions options, Palette p) {
         boolean isHacker = p.isMonospace();
-        StringBuilder sb = pdfDocStart(name, singleColumnCss(p));
+        StringBuilder sb = pdfDocStart(name, pdfCss.get(p));
         List<Project> projects = topProjects(b);
 
         // ── HEADER ────────────────────────────────────────────────────────────
@@ -819,28 +856,32 @@ public class PortfolioHtmlGenerator {
     // ── Experience ────────────────────────────────────────────────────────────
 
     private String expBlocks(List<Experience> exps, Palette p) {
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MM/yyyy");
         StringBuilder sb = new StringBuilder();
-        for (Experience e : exps) {
-            sb.append("<div class=\"exp\">\n");
-            sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>");
-            sb.append("<td class=\"exp-title\">").append(esc(e.getTitle()));
-            sb.append("  <span class=\"exp-co\">").append(esc(e.getCompany())).append("</span></td>");
-            String start = e.getStartDate() != null ? e.getStartDate().format(fmt) : "";
-            String end = e.isCurrent() ? "Present" : (e.getEndDate() != null ? e.getEndDate().format(fmt) : "");
-            String dates = start + (!end.isBlank() ? " - " + end : "");
-            sb.append("<td class=\"exp-dt\">").append(esc(dates)).append("</td>");
-            sb.append("</tr></table>\n");
-            if (e.getDescription() != null && !e.getDescription().isBlank()) {
-                sb.append("<div class=\"bullet-list\">");
-                for (String bullet : splitBullets(e.getDescription())) {
-                    if (!bullet.isBlank())
-                        sb.append("<div class=\"bullet\">&#8226; ").append(esc(bullet.trim())).append("</div>\n");
-                }
-                sb.append("</div>\n");
+        for (Experience e : exps)
+            sb.append(fragments.get(fragmentKey("portfolio.pdf.exp", e), () -> expBlock(e)));
+        return sb.toString();
+    }
+
+    private String expBlock(Experience e) {
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MM/yyyy");
+        StringBuilder sb = new StringBuilder("<div class=\"exp\">\n");
+        sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>");
+        sb.append("<td class=\"exp-title\">").append(esc(e.getTitle()));
+        sb.append("  <span class=\"exp-co\">").append(esc(e.getCompany())).append("</span></td>");
+        String start = e.getStartDate() != null ? e.getStartDate().format(fmt) : "";
+        String end = e.isCurrent() ? "Present" : (e.getEndDate() != null ? e.getEndDate().format(fmt) : "");
+        String dates = start + (!end.isBlank() ? " - " + end : "");
+        sb.append("<td class=\"exp-dt\">").append(esc(dates)).append("</td>");
+        sb.append("</tr></table>\n");
+        if (e.getDescription() != null && !e.getDescription().isBlank()) {
+            sb.append("<div class=\"bullet-list\">");
+            for (String bullet : TextNormalizer.splitBullets(e.getDescription())) {
+                if (!bullet.isBlank())
+                    sb.append("<div class=\"bullet\">&#8226; ").append(esc(bullet.trim())).append("</div>\n");
             }
             sb.append("</div>\n");
         }
+        sb.append("</div>\n");
         return sb.toString();
     }
 
@@ -848,81 +889,89 @@ public class PortfolioHtmlGenerator {
 
     private String projBlocks(List<Project> projects, Palette p) {
         StringBuilder sb = new StringBuilder();
-        for (Project pr : projects) {
-            sb.append("<div class=\"prj\">\n");
-            sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>");
-            sb.append("<td class=\"prj-name\">").append(esc(pr.getName()));
-            if (pr.getLanguages() != null && !pr.getLanguages().isEmpty())
-                sb.append("  <span class=\"prj-lang\">")
-                  .append(esc(String.join(", ", pr.getLanguages()))).append("</span>");
-            sb.append("</td>");
-            sb.append("<td class=\"prj-meta\">");
-            List<String> meta = new ArrayList<>();
-            if (pr.getStars() > 0) meta.add(pr.getStars() + " stars");
-            if (pr.getForks() > 0) meta.add(pr.getForks() + " forks");
-            sb.append(esc(String.join(" / ", meta)));
-            sb.append("</td></tr></table>\n");
-
-            // Description as bullet points
-            if (pr.getDescription() != null && !pr.getDescription().isBlank()) {
-                String[] bullets = splitBullets(pr.getDescription());
-                if (bullets.length > 1) {
-                    sb.append("<div class=\"bullet-list\">");
-                    for (String bullet : bullets) {
-                        if (!bullet.isBlank())
-                            sb.append("<div class=\"prj-desc\">&#8226; ").append(esc(bullet.trim())).append("</div>\n");
-                    }
-                    sb.append("</div>\n");
-                } else {
-                    sb.append("<div class=\"prj-desc\">").append(esc(pr.getDescription())).append("</div>\n");
+        for (Project pr : projects)
+            sb.append(fragments.get(fragmentKey("portfolio.pdf.project", pr), () -> projBlock(pr)));
+        return sb.toString();
+    }
+
+    private String projBlock(Project pr) {
+        StringBuilder sb = new StringBuilder("<div class=\"prj\">\n");
+        sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>");
+        sb.append("<td class=\"prj-name\">").append(esc(pr.getName()));
+        if (pr.getLanguages() != null && !pr.getLanguages().isEmpty())
+            sb.append("  <span class=\"prj-lang\">")
+              .append(esc(String.join(", ", pr.getLanguages()))).append("</span>");
+        sb.append("</td>");
+        sb.append("<td class=\"prj-meta\">");
+        List<String> meta = new ArrayList<>();
+        if (pr.getStars() > 0) meta.add(pr.getStars() + " stars");
+        if (pr.getForks() > 0) meta.add(pr.getForks() + " forks");
+        sb.append(esc(String.join(" / ", meta)));
+        sb.append("</td></tr></table>\n");
+
+        // Description as bullet points
+        if (pr.getDescription() != null && !pr.getDescription().isBlank()) {
+            String[] bullets = TextNormalizer.splitBullets(pr.getDescription());
+            if (bullets.length > 1) {
+                sb.append("<div class=\"bullet-list\">");
+                for (String bullet : bullets) {
+                    if (!bullet.isBlank())
+                        sb.append("<div class=\"prj-desc\">&#8226; ").append(esc(bullet.trim())).append("</div>\n");
                 }
+                sb.append("</div>\n");
+            } else {
+                sb.append("<div class=\"prj-desc\">").append(esc(pr.getDescription())).append("</div>\n");
             }
-
-            // GitHub link
-            if (pr.getUrl() != null && !pr.getUrl().isBlank())
-                sb.append("<div class=\"prj-link\">GitHub: ").append(esc(pr.getUrl())).append("</div>\n");
-            sb.append("</div>\n");
         }
+
+        // GitHub link
+        if (pr.getUrl() != null && !pr.getUrl().isBlank())
+            sb.append("<div class=\"prj-link\">GitHub: ").append(esc(pr.getUrl())).append("</div>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
     // ── Skills (tag-based, for sidebar) ───────────────────────────────────────
 
     private String skillTags(List<Skill> skills, Palette p) {
-        Map<String, List<Skill>> byProf = groupSkills(skills);
-        StringBuilder sb = new StringBuilder();
-        for (String level : List.of("Expert", "Advanced", "Intermediate", "Beginner")) {
-            List<Skill> group = byProf.get(level);
-            if (group == null || group.isEmpty()) continue;
-            sb.append("<div class=\"sk-group\">\n");
-            sb.append("<div class=\"sk-label\">").append(esc(level)).append("</div>\n");
-            for (Skill s : group)
-                sb.append("<span class=\"sk-tag\">").append(esc(s.getName())).append("</span> ");
-            sb.append("\n</div>\n");
-        }
-        return sb.toString();
+        return fragments.get(skillsKey("portfolio.pdf.skills", skills), () -> {
+            Map<String, List<Skill>> byProf = groupSkills(skills);
+            StringBuilder sb = new StringBuilder();
+            for (String level : List.of("Expert", "Advanced", "Intermediate", "Beginner")) {
+                List<Skill> group = byProf.get(level);
+                if (group == null || group.isEmpty()) continue;
+                sb.append("<div class=\"sk-group\">\n");
+                sb.append("<div class=\"sk-label\">").append(esc(level)).append("</div>\n");
+                for (Skill s : group)
+                    sb.append("<span class=\"sk-tag\">").append(esc(s.getName())).append("</span> ");
+                sb.append("\n</div>\n");
+            }
+            return sb.toString();
+        });
     }
 
     /** Skills as inline text (for single-column templates). */
     private String skillsInlinePdf(List<Skill> skills, Palette p) {
-        Map<String, List<Skill>> byProf = groupSkills(skills);
-        StringBuilder sb = new StringBuilder("<p class=\"sk-line\">");
-        List<String> groups = new ArrayList<>();
-        for (String level : List.of("Expert", "Advanced", "Intermediate", "Beginner")) {
-            List<Skill> group = byProf.get(level);
-            if (group == null || group.isEmpty()) continue;
-            String names = group.stream().map(s -> esc(s.getName())).collect(Collectors.joining(", "));
-            String label = switch (level) {
-                case "Expert" -> "Strong";
-                case "Advanced" -> "Proficient";
-                case "Intermediate" -> "Familiar";
-                default -> "Exposure";
-            };
-            groups.add("<b>" + label + ":</b> " + names);
-        }
-        sb.append(String.join("  |  ", groups));
-        sb.append("</p>\n");
-        return sb.toString();
+        return fragments.get(skillsKey("portfolio.pdf.skills-inline", skills), () -> {
+            Map<String, List<Skill>> byProf = groupSkills(skills);
+            StringBuilder sb = new StringBuilder("<p class=\"sk-line\">");
+            List<String> groups = new ArrayList<>();
+            for (String level : List.of("Expert", "Advanced", "Intermediate", "Beginner")) {
+                List<Skill> group = byProf.get(level);
+                if (group == null || group.isEmpty()) continue;
+                String names = group.stream().map(s -> esc(s.getName())).collect(Collectors.joining(", "));
+                String label = switch (level) {
+                    case "Expert" -> "Strong";
+                    case "Advanced" -> "Proficient";
+                    case "Intermediate" -> "Familiar";
+                    default -> "Exposure";
+                };
+                groups.add("<b>" + label + ":</b> " + names);
+            }
+            sb.append(String.join("  |  ", groups));
+            sb.append("</p>\n");
+            return sb.toString();
+        });
     }
 
     // ── Education ─────────────────────────────────────────────────────────────
@@ -930,35 +979,43 @@ public class PortfolioHtmlGenerator {
     /** Education for sidebar (compact). */
     private String eduBlocks(List<Education> edus, Palette p) {
         StringBuilder sb = new StringBuilder();
-        for (Education e : edus) {
-            sb.append("<div class=\"edu\">\n");
-            String deg = degreeLine(e);
-            sb.append("<div class=\"edu-deg\">").append(esc(deg.isBlank() ? e.getInstitution() : deg)).append("</div>\n");
-            if (!deg.isBlank())
-                sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
-            String yrs = yearRange(e);
-            if (!yrs.isBlank())
-                sb.append("<div class=\"edu-yr\">").append(esc(yrs)).append("</div>\n");
-            sb.append("</div>\n");
-        }
+        for (Education e : edus)
+            sb.append(fragments.get(fragmentKey("portfolio.pdf.edu", e), () -> eduBlock(e)));
+        return sb.toString();
+    }
+
+    private String eduBlock(Education e) {
+        StringBuilder sb = new StringBuilder("<div class=\"edu\">\n");
+        String deg = degreeLine(e);
+        sb.append("<div class=\"edu-deg\">").append(esc(deg.isBlank() ? e.getInstitution() : deg)).append("</div>\n");
+        if (!deg.isBlank())
+            sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
+        String yrs = yearRange(e);
+        if (!yrs.isBlank())
+            sb.append("<div class=\"edu-yr\">").append(esc(yrs)).append("</div>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
     /** Education for single-column (with dates right-aligned). */
     private String eduBlocksSingle(List<Education> edus, Palette p) {
         StringBuilder sb = new StringBuilder();
-        for (Education e : edus) {
-            sb.append("<div class=\"edu\">\n");
-            sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>");
-            String deg = degreeLine(e);
-            sb.append("<td class=\"edu-deg\">").append(esc(deg.isBlank() ? e.getInstitution() : deg)).append("</td>");
-            sb.append("<td class=\"edu-yr\" style=\"text-align:right;white-space:nowrap\">")
-              .append(esc(yearRange(e))).append("</td>");
-            sb.append("</tr></table>\n");
-            if (!deg.isBlank())
-                sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
-            sb.append("</div>\n");
-        }
+        for (Education e : edus)
+            sb.append(fragments.get(fragmentKey("portfolio.pdf.edu-single", e), () -> eduBlockSingle(e)));
+        return sb.toString();
+    }
+
+    private String eduBlockSingle(Education e) {
+        StringBuilder sb = new StringBuilder("<div class=\"edu\">\n");
+        sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>");
+        String deg = degreeLine(e);
+        sb.append("<td class=\"edu-deg\">").append(esc(deg.isBlank() ? e.getInstitution() : deg)).append("</td>");
+        sb.append("<td class=\"edu-yr\" style=\"text-align:right;white-space:nowrap\">")
+          .append(esc(yearRange(e))).append("</td>");
+        sb.append("</tr></table>\n");
+        if (!deg.isBlank())
+            sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
@@ -966,74 +1023,89 @@ public class PortfolioHtmlGenerator {
 
     /** Certifications for sidebar (compact). */
     private String certBlocks(List<Certification> certs, Palette p) {
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MM/yyyy");
         StringBuilder sb = new StringBuilder();
-        for (Certification c : certs) {
-            sb.append("<div class=\"cert\">\n");
-            sb.append("<div class=\"cert-name\">").append(esc(c.getName())).append("</div>\n");
-            if (c.getIssuingOrganization() != null && !c.getIssuingOrganization().isBlank())
-                sb.append("<div class=\"cert-org\">").append(esc(c.getIssuingOrganization())).append("</div>\n");
-            String dt = c.getIssueDate() != null ? c.getIssueDate().format(fmt) : "";
-            if (!dt.isBlank())
-                sb.append("<div class=\"cert-dt\">").append(esc(dt)).append("</div>\n");
-            sb.append("</div>\n");
-        }
+        for (Certification c : certs)
+            sb.append(fragments.get(fragmentKey("portfolio.pdf.cert", c), () -> certBlock(c)));
+        return sb.toString();
+    }
+
+    private String certBlock(Certification c) {
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MM/yyyy");
+        StringBuilder sb = new StringBuilder("<div class=\"cert\">\n");
+        sb.append("<div class=\"cert-name\">").append(esc(c.getName())).append("</div>\n");
+        if (c.getIssuingOrganization() != null && !c.getIssuingOrganization().isBlank())
+            sb.append("<div class=\"cert-org\">").append(esc(c.getIssuingOrganization())).append("</div>\n");
+        String dt = c.getIssueDate() != null ? c.getIssueDate().format(fmt) : "";
+        if (!dt.isBlank())
+            sb.append("<div class=\"cert-dt\">").append(esc(dt)).append("</div>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
     /** Certifications for single-column (with dates right-aligned). */
     private String certBlocksSingle(List<Certification> certs, Palette p) {
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MM/yyyy");
         StringBuilder sb = new StringBuilder();
-        for (Certification c : certs) {
-            sb.append("<div class=\"cert\">\n");
-            sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>");
-            sb.append("<td class=\"cert-name\">").append(esc(c.getName()));
-            if (c.getIssuingOrganization() != null && !c.getIssuingOrganization().isBlank())
-                sb.append("  <span class=\"cert-org\">").append(esc(c.getIssuingOrganization())).append("</span>");
-            sb.append("</td>");
-            String dt = c.getIssueDate() != null ? c.getIssueDate().format(fmt) : "";
-            sb.append("<td class=\"cert-dt\" style=\"text-align:right;white-space:nowrap\">").append(esc(dt)).append("</td>");
-            sb.append("</tr></table>\n");
-            if (c.getCredentialId() != null && !c.getCredentialId().isBlank())
-                sb.append("<div class=\"cert-cred\">Credential ID: ").append(esc(c.getCredentialId())).append("</div>\n");
-            sb.append("</div>\n");
-        }
+        for (Certification c : certs)
+            sb.append(fragments.get(fragmentKey("portfolio.pdf.cert-single", c), () -> certBlockSingle(c)));
         return sb.toString();
     }
 
-    // =========================================================================
-    //  Text processing helpers
-    // =========================================================================
+    private String certBlockSingle(Certification c) {
+        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MM/yyyy");
+        StringBuilder sb = new StringBuilder("<div class=\"cert\">\n");
+        sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>");
+        sb.append("<td class=\"cert-name\">").append(esc(c.getName()));
+        if (c.getIssuingOrganization() != null && !c.getIssuingOrganization().isBlank())
+            sb.append("  <span class=\"cert-org\">").append(esc(c.getIssuingOrganization())).append("</span>");
+        sb.append("</td>");
+        String dt = c.getIssueDate() != null ? c.getIssueDate().format(fmt) : "";
+        sb.append("<td class=\"cert-dt\" style=\"text-align:right;white-space:nowrap\">").append(esc(dt)).append("</td>");
+        sb.append("</tr></table>\n");
+        if (c.getCredentialId() != null && !c.getCredentialId().isBlank())
+            sb.append("<div class=\"cert-cred\">Credential ID: ").append(esc(c.getCredentialId())).append("</div>\n");
+        sb.append("</div>\n");
+        return sb.toString();
+    }
 
-    /**
-     * Split text into bullet points for resume formatting.
-     * Splits on newlines, sentence boundaries, or returns as single item.
-     */
-    private String[] splitBullets(String text) {
-        if (text == null || text.isBlank()) return new String[0];
-        text = text.strip();
-
-        // If contains newlines, split on those
-        if (text.contains("\n")) {
-            return Arrays.stream(text.split("\\n"))
-                    .map(s -> s.replaceAll("^[-•*>]+\\s*", "").trim())
-                    .filter(s -> !s.isBlank())
-                    .toArray(String[]::new);
-        }
+    // ── Fragment cache keys ───────────────────────────────────────────────────
+    // Every field a fragment reads goes into its key; palettes only change the CSS,
+    // so fragments are shared between them.
 
-        // If 2+ sentences, split at sentence boundaries
-        String[] sentences = text.split("(?<=[.!?])\\s+(?=[A-Z])");
-        if (sentences.length >= 2) {
-            return Arrays.stream(sentences)
-                    .map(String::trim)
-                    .filter(s -> !s.isBlank())
-                    .toArray(String[]::new);
-        }
+    private static List<Object> fragmentKey(String variant, Experience e) {
+        return HtmlFragmentCache.key(variant, e.getId(), e.getTitle(), e.getCompany(),
+                e.getStartDate(), e.getEndDate(), e.isCurrent(), e.getDescription());
+    }
 
-        return new String[]{ text };
+    private static List<Object> fragmentKey(String variant, Project p) {
+        List<String> langs = p.getLanguages() != null ? new ArrayList<>(p.getLanguages()) : null;
+        return HtmlFragmentCache.key(variant, p.getId(), p.getName(), langs,
+                p.getStars(), p.getForks(), p.getDescription(), p.getUrl());
     }
 
+    private static List<Object> fragmentKey(String variant, Education e) {
+        return HtmlFragmentCache.key(variant, e.getId(), e.getInstitution(), e.getDegree(),
+                e.getField(), e.getStartYear(), e.getEndYear());
+    }
+
+    private static List<Object> fragmentKey(String variant, Certification c) {
+        return HtmlFragmentCache.key(variant, c.getId(), c.getName(), c.getIssuingOrganization(),
+                c.getIssueDate(), c.getExpiryDate(), c.getCredentialId());
+    }
+
+    private static List<Object> skillsKey(String variant, List<Skill> skills) {
+        Object[] parts = new Object[1 + 2 * skills.size()];
+        parts[0] = variant;
+        for (int i = 0; i < skills.size(); i++) {
+            parts[1 + 2 * i] = skills.get(i).getName();
+            parts[2 + 2 * i] = skills.get(i).getProficiency();
+        }
+        return HtmlFragmentCache.key(parts);
+    }
+
+    // =========================================================================
+    //  Text processing helpers
+    // =========================================================================
+
     /** Pick top projects — highlighted first, then by stars, max 8. */
     private List<Project> topProjects(PortfolioBundle b) {
         List<Project> highlighted = b.projects().stream().filter(Project::isHighlighted).toList();
@@ -1089,18 +1161,13 @@ public class PortfolioHtmlGenerator {
             int r = Integer.parseInt(hex.substring(0, 2), 16);
             int g = Integer.parseInt(hex.substring(2, 4), 16);
             int bv = Integer.parseInt(hex.substring(4, 6), 16);
-            return String.format("rgba(%d,%d,%d,%.2f)", r, g, bv, alpha);
+            return String.format(Locale.ROOT, "rgba(%d,%d,%d,%.2f)", r, g, bv, alpha);
         } catch (Exception e) {
             return "#" + hex;
         }
     }
 
-    private String esc(Object o) {
-        if (o == null) return "";
-        return o.toString()
-                .replace("&", "&amp;").replace("<", "&lt;")
-                .replace(">", "&gt;").replace("\"", "&quot;");
-    }
+    private String esc(Object o) { return TextNormalizer.escapeHtml(o); }
 
     private String nl2br(String s) { return s == null ? "" : s.replace("\n", "<br/>"); }
 
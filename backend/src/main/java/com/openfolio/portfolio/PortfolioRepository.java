@@ -9,4 +9,5 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
     List<Portfolio> findAllByUserIdOrderByCreatedAtDesc(Long userId);
     Optional<Portfolio> findBySlug(String slug);
     boolean existsBySlug(String slug);
+    boolean existsByIdAndUserId(Long id, Long userId);
 }
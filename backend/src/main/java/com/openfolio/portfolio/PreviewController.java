@@ -1,11 +1,14 @@
 package com.openfolio.portfolio;
 
+import com.openfolio.shared.html.HtmlResponses;
 import com.openfolio.shared.security.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/portfolios")
@@ -22,9 +25,9 @@ public class PreviewController {
 
     @GetMapping(value = "/{id}/preview", produces = MediaType.TEXT_HTML_VALUE)
     @Operation(summary = "Preview portfolio HTML", description = "Returns a browser-renderable HTML preview of the portfolio with the current theme.")
-    public String preview(@PathVariable Long id,
-                          @AuthenticationPrincipal AuthenticatedUser user) {
+    public ResponseEntity<StreamingResponseBody> preview(@PathVariable Long id,
+                                                         @AuthenticationPrincipal AuthenticatedUser user) {
         PortfolioBundle bundle = dataLoader.load(id, user.userId());
-        return htmlGenerator.generate(bundle);
+        return HtmlResponses.ok(out -> htmlGenerator.generate(bundle, out));
     }
 }
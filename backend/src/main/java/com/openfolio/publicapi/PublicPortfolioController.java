@@ -3,11 +3,14 @@ package com.openfolio.publicapi;
 import com.openfolio.portfolio.PortfolioBundle;
 import com.openfolio.portfolio.PortfolioDataLoader;
 import com.openfolio.portfolio.PortfolioHtmlGenerator;
+import com.openfolio.shared.html.HtmlResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Unauthenticated endpoints for published portfolios.
@@ -27,12 +30,12 @@ public class PublicPortfolioController {
         this.htmlGenerator = htmlGenerator;
     }
 
-    /** Returns the rendered portfolio HTML for a published portfolio by slug. */
+    /** Streams the rendered portfolio HTML for a published portfolio by slug. */
     @GetMapping(value = "/{slug}", produces = MediaType.TEXT_HTML_VALUE)
     @Operation(summary = "Get public portfolio", description = "Returns the full rendered HTML page for a published portfolio.", security = {})
-    public String getPublicPortfolio(@Parameter(description = "Portfolio slug", example = "john-doe-a1b2") @PathVariable String slug) {
+    public ResponseEntity<StreamingResponseBody> getPublicPortfolio(@Parameter(description = "Portfolio slug", example = "john-doe-a1b2") @PathVariable String slug) {
         PortfolioBundle bundle = dataLoader.loadBySlug(slug);
-        return htmlGenerator.generate(bundle);
+        return HtmlResponses.ok(out -> htmlGenerator.generate(bundle, out));
     }
 
     /** Returns JSON metadata for a published portfolio. */
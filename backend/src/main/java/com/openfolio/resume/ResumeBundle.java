@@ -1,11 +1,16 @@
 package com.openfolio.resume;
 
 import com.openfolio.education.Education;
+import com.openfolio.education.dto.EducationResponse;
 import com.openfolio.experience.Experience;
+import com.openfolio.experience.dto.ExperienceResponse;
 import com.openfolio.project.Project;
+import com.openfolio.project.dto.ProjectResponse;
 import com.openfolio.skill.Skill;
+import com.openfolio.skill.dto.SkillResponse;
 import com.openfolio.user.User;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -19,4 +24,23 @@ public record ResumeBundle(
         List<Skill> skills,
         List<Experience> experiences,
         List<Education> educations
-) {}
+) {
+
+    /**
+     * Data version for export coalescing, compared by {@code equals}: the resume's own
+     * fields and a value snapshot of the selected portfolio items, which an edit changes
+     * without touching {@code Resume.updatedAt}.
+     */
+    public List<Object> contentVersion() {
+        return Arrays.asList(
+                resume.getUpdatedAt(), resume.getTemplateKey(), resume.getFullName(), resume.getJobTitle(),
+                resume.getEmail(), resume.getPhone(), resume.getLocation(), resume.getWebsite(),
+                resume.getGithubUrl(), resume.getLinkedinUrl(),
+                user.getDisplayName(), user.getEmail(), user.getGithubUsername(),
+                aboutContent,
+                projects.stream().map(ProjectResponse::from).toList(),
+                skills.stream().map(SkillResponse::from).toList(),
+                experiences.stream().map(ExperienceResponse::from).toList(),
+                educations.stream().map(EducationResponse::from).toList());
+    }
+}
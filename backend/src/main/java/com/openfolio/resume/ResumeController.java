@@ -1,17 +1,21 @@
 package com.openfolio.resume;
 
+import com.openfolio.export.InlinePdfResponses;
 import com.openfolio.export.dto.ExportResponse;
 import com.openfolio.resume.dto.CreateResumeRequest;
 import com.openfolio.resume.dto.ResumeResponse;
 import com.openfolio.resume.dto.UpdateResumeRequest;
+import com.openfolio.shared.html.HtmlResponses;
 import com.openfolio.shared.security.AuthenticatedUser;
 import com.openfolio.shared.web.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -72,13 +76,13 @@ public class ResumeController {
         return ResponseEntity.noContent().build();
     }
 
-    /** Get resume preview HTML. */
+    /** Stream resume preview HTML. */
     @GetMapping(value = "/{id}/preview", produces = MediaType.TEXT_HTML_VALUE)
     @Operation(summary = "Preview resume HTML")
-    public ResponseEntity<String> preview(
+    public ResponseEntity<StreamingResponseBody> preview(
             @PathVariable Long id,
             @AuthenticationPrincipal AuthenticatedUser user) {
-        return ResponseEntity.ok(resumeService.previewHtml(id, user.userId()));
+        return HtmlResponses.ok(resumeService.previewHtml(id, user.userId()));
     }
 
     /** Generate PDF and return download token. */
@@ -90,24 +94,24 @@ public class ResumeController {
         return ResponseEntity.ok(ApiResponse.ok(resumeService.generatePdf(id, user.userId())));
     }
 
-    /** Return PDF as base64 string for in-app viewing (no download required). */
+    /** Return PDF for in-app viewing: raw bytes for Accept: application/pdf, else base64 JSON. */
     @GetMapping("/{id}/pdf/inline")
-    @Operation(summary = "Resume PDF as base64", description = "Returns the PDF as a base64 string for in-app viewing.")
-    public ResponseEntity<ApiResponse<java.util.Map<String, String>>> inlinePdf(
+    @Operation(summary = "Resume PDF inline", description = "Streams the PDF as binary when the client accepts application/pdf, otherwise as {\"data\":{\"base64\":...}} JSON.")
+    public ResponseEntity<StreamingResponseBody> inlinePdf(
             @PathVariable Long id,
+            @RequestHeader HttpHeaders headers,
             @AuthenticationPrincipal AuthenticatedUser user) {
-        String base64 = resumeService.generatePdfBase64(id, user.userId());
-        return ResponseEntity.ok(ApiResponse.ok(java.util.Map.of("base64", base64)));
+        return InlinePdfResponses.negotiate(headers, resumeService.streamPdf(id, user.userId()));
     }
 
     /** Preview HTML for a specific template (without saving). */
     @GetMapping(value = "/{id}/preview/{templateKey}", produces = MediaType.TEXT_HTML_VALUE)
     @Operation(summary = "Preview with template", description = "Preview a resume using a specific template key without saving.")
-    public ResponseEntity<String> previewWithTemplate(
+    public ResponseEntity<StreamingResponseBody> previewWithTemplate(
             @PathVariable Long id,
             @PathVariable String templateKey,
             @AuthenticationPrincipal AuthenticatedUser user) {
-        return ResponseEntity.ok(resumeService.previewHtmlWithTemplate(id, user.userId(), templateKey));
+        return HtmlResponses.ok(resumeService.previewHtmlWithTemplate(id, user.userId(), templateKey));
     }
 
     /** List available resume templates. */
@@ -3,9 +3,13 @@ package com.openfolio.resume;
 import com.openfolio.education.Education;
 import com.openfolio.experience.Experience;
 import com.openfolio.project.Project;
+import com.openfolio.shared.html.HtmlFragmentCache;
+import com.openfolio.shared.text.TextNormalizer;
 import com.openfolio.skill.Skill;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,16 +26,47 @@ public class ResumeHtmlGenerator {
 
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MMM yyyy");
 
+    private final HtmlFragmentCache fragments;
+
+    /** Stylesheets are fixed per template, so they are built once here. */
+    private final Map<String, String> previewCss;
+    private final Map<String, String> pdfCss;
+
+    public ResumeHtmlGenerator(HtmlFragmentCache fragments) {
+        this.fragments = fragments;
+        this.previewCss = Map.of(
+                "classic", classicPreviewCss(),
+                "modern", modernPreviewCss(),
+                "minimal", minimalPreviewCss(),
+                "bold", boldPreviewCss());
+        this.pdfCss = Map.of(
+                "classic", classicPdfCss(),
+                "modern", modernPdfCss(),
+                "minimal", minimalPdfCss(),
+                "bold", boldPdfCss());
+    }
+
     // ─── Entry points ─────────────────────────────────────────────────────────
 
     /** Preview HTML (WebView — modern CSS). */
     public String generate(ResumeBundle b, String templateKey) {
-        return switch (templateKey != null ? templateKey.toLowerCase() : "classic") {
-            case "modern"  -> buildPreviewModern(b);
-            case "minimal" -> buildPreviewMinimal(b);
-            case "bold"    -> buildPreviewBold(b);
-            default        -> buildPreviewClassic(b);
-        };
+        StringBuilder sb = new StringBuilder();
+        try {
+            generate(b, templateKey, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // StringBuilder doesn't throw
+        }
+        return sb.toString();
+    }
+
+    /** Preview HTML written piece by piece to {@code out}, e.g. a response writer. */
+    public void generate(ResumeBundle b, String templateKey, Appendable out) throws IOException {
+        switch (templateKey != null ? templateKey.toLowerCase() : "classic") {
+            case "modern"  -> writePreviewModern(b, out);
+            case "minimal" -> writePreviewMinimal(b, out);
+            case "bold"    -> writePreviewBold(b, out);
+            default        -> writePreviewClassic(b, out);
+        }
     }
 
     /** PDF HTML (openhtmltopdf — XHTML, CSS2, tables). */
@@ -128,199 +163,191 @@ public class ResumeHtmlGenerator {
     //  1. CLASSIC TEMPLATE — Preview
     // =========================================================================
 
-    private String buildPreviewClassic(ResumeBundle b) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(previewHead(name(b), classicPreviewCss()));
+    private void writePreviewClassic(ResumeBundle b, Appendable out) throws IOException {
+        out.append(previewHead(name(b), previewCss.get("classic")));
 
         // Header
-        sb.append("<div class=\"header\">\n");
-        sb.append("<h1 class=\"name\">").append(esc(name(b))).append("</h1>\n");
+        out.append("<div class=\"header\">\n");
+        out.append("<h1 class=\"name\">").append(esc(name(b))).append("</h1>\n");
         String jt = jobTitle(b);
-        if (!jt.isBlank()) sb.append("<div class=\"job-title\">").append(esc(jt)).append("</div>\n");
-        sb.append("<div class=\"contacts\">");
-        for (String c : contactLines(b)) sb.append("<span class=\"contact\">").append(esc(c)).append("</span>");
-        sb.append("</div>\n</div>\n");
+        if (!jt.isBlank()) out.append("<div class=\"job-title\">").append(esc(jt)).append("</div>\n");
+        out.append("<div class=\"contacts\">");
+        for (String c : contactLines(b)) out.append("<span class=\"contact\">").append(esc(c)).append("</span>");
+        out.append("</div>\n</div>\n");
 
         // Summary
         String summ = summary(b);
         if (!summ.isBlank()) {
-            sb.append(previewSec("PROFESSIONAL SUMMARY", "classic"));
-            sb.append("<p class=\"summary\">").append(esc(summ)).append("</p>\n");
+            out.append(previewSec("PROFESSIONAL SUMMARY", "classic"));
+            out.append("<p class=\"summary\">").append(esc(summ)).append("</p>\n");
         }
 
         // Skills
         if (!b.skills().isEmpty()) {
-            sb.append(previewSec("TECHNICAL SKILLS", "classic"));
-            sb.append(previewSkillsClassic(b.skills()));
+            out.append(previewSec("TECHNICAL SKILLS", "classic"));
+            out.append(previewSkillsClassic(b.skills()));
         }
 
         // Experience
         if (!b.experiences().isEmpty()) {
-            sb.append(previewSec("WORK EXPERIENCE", "classic"));
-            sb.append(previewExperience(b.experiences(), "#7C3AED"));
+            out.append(previewSec("WORK EXPERIENCE", "classic"));
+            writePreviewExperience(out, b.experiences(), "#7C3AED");
         }
 
         // Projects
         if (!b.projects().isEmpty()) {
-            sb.append(previewSec("NOTABLE PROJECTS", "classic"));
-            sb.append(previewProjects(b.projects()));
+            out.append(previewSec("NOTABLE PROJECTS", "classic"));
+            writePreviewProjects(out, b.projects());
         }
 
         // Education
         if (!b.educations().isEmpty()) {
-            sb.append(previewSec("EDUCATION", "classic"));
-            sb.append(previewEducation(b.educations()));
+            out.append(previewSec("EDUCATION", "classic"));
+            writePreviewEducation(out, b.educations());
         }
 
-        sb.append("</div>\n</body>\n</html>");
-        return sb.toString();
+        out.append("</div>\n</body>\n</html>");
     }
 
     // =========================================================================
     //  2. MODERN TEMPLATE — Preview
     // =========================================================================
 
-    private String buildPreviewModern(ResumeBundle b) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(previewHead(name(b), modernPreviewCss()));
+    private void writePreviewModern(ResumeBundle b, Appendable out) throws IOException {
+        out.append(previewHead(name(b), previewCss.get("modern")));
 
         // Header with colored bar
-        sb.append("<div class=\"header-modern\">\n");
-        sb.append("<div class=\"header-bar\"></div>\n");
-        sb.append("<div class=\"header-content\">\n");
-        sb.append("<div class=\"avatar-circle\">").append(esc(initials(name(b)))).append("</div>\n");
-        sb.append("<div class=\"header-text\">\n");
-        sb.append("<h1 class=\"name\">").append(esc(name(b))).append("</h1>\n");
+        out.append("<div class=\"header-modern\">\n");
+        out.append("<div class=\"header-bar\"></div>\n");
+        out.append("<div class=\"header-content\">\n");
+        out.append("<div class=\"avatar-circle\">").append(esc(initials(name(b)))).append("</div>\n");
+        out.append("<div class=\"header-text\">\n");
+        out.append("<h1 class=\"name\">").append(esc(name(b))).append("</h1>\n");
         String jt = jobTitle(b);
-        if (!jt.isBlank()) sb.append("<div class=\"job-title\">").append(esc(jt)).append("</div>\n");
-        sb.append("</div>\n</div>\n");
-        sb.append("<div class=\"contacts\">");
-        for (String c : contactLines(b)) sb.append("<span class=\"contact\">").append(esc(c)).append("</span>");
-        sb.append("</div>\n</div>\n");
+        if (!jt.isBlank()) out.append("<div class=\"job-title\">").append(esc(jt)).append("</div>\n");
+        out.append("</div>\n</div>\n");
+        out.append("<div class=\"contacts\">");
+        for (String c : contactLines(b)) out.append("<span class=\"contact\">").append(esc(c)).append("</span>");
+        out.append("</div>\n</div>\n");
 
         String summ = summary(b);
         if (!summ.isBlank()) {
-            sb.append(previewSec("About Me", "modern"));
-            sb.append("<p class=\"summary\">").append(esc(summ)).append("</p>\n");
+            out.append(previewSec("About Me", "modern"));
+            out.append("<p class=\"summary\">").append(esc(summ)).append("</p>\n");
         }
 
         if (!b.skills().isEmpty()) {
-            sb.append(previewSec("Skills", "modern"));
-            sb.append(previewSkillsModern(b.skills()));
+            out.append(previewSec("Skills", "modern"));
+            out.append(previewSkillsModern(b.skills()));
         }
 
         if (!b.experiences().isEmpty()) {
-            sb.append(previewSec("Experience", "modern"));
-            sb.append(previewExperience(b.experiences(), "#2563EB"));
+            out.append(previewSec("Experience", "modern"));
+            writePreviewExperience(out, b.experiences(), "#2563EB");
         }
 
         if (!b.projects().isEmpty()) {
-            sb.append(previewSec("Projects", "modern"));
-            sb.append(previewProjects(b.projects()));
+            out.append(previewSec("Projects", "modern"));
+            writePreviewProjects(out, b.projects());
         }
 
         if (!b.educations().isEmpty()) {
-            sb.append(previewSec("Education", "modern"));
-            sb.append(previewEducation(b.educations()));
+            out.append(previewSec("Education", "modern"));
+            writePreviewEducation(out, b.educations());
         }
 
-        sb.append("</div>\n</body>\n</html>");
-        return sb.toString();
+        out.append("</div>\n</body>\n</html>");
     }
 
     // =========================================================================
     //  3. MINIMAL TEMPLATE — Preview
     // =========================================================================
 
-    private String buildPreviewMinimal(ResumeBundle b) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(previewHead(name(b), minimalPreviewCss()));
+    private void writePreviewMinimal(ResumeBundle b, Appendable out) throws IOException {
+        out.append(previewHead(name(b), previewCss.get("minimal")));
 
-        sb.append("<div class=\"header-minimal\">\n");
-        sb.append("<h1 class=\"name\">").append(esc(name(b))).append("</h1>\n");
+        out.append("<div class=\"header-minimal\">\n");
+        out.append("<h1 class=\"name\">").append(esc(name(b))).append("</h1>\n");
         String jt = jobTitle(b);
-        if (!jt.isBlank()) sb.append("<div class=\"job-title\">").append(esc(jt)).append("</div>\n");
-        sb.append("<div class=\"contacts\">");
-        for (String c : contactLines(b)) sb.append("<span class=\"contact\">").append(esc(c)).append("</span>");
-        sb.append("</div>\n</div>\n");
-        sb.append("<hr class=\"divider\"/>\n");
+        if (!jt.isBlank()) out.append("<div class=\"job-title\">").append(esc(jt)).append("</div>\n");
+        out.append("<div class=\"contacts\">");
+        for (String c : contactLines(b)) out.append("<span class=\"contact\">").append(esc(c)).append("</span>");
+        out.append("</div>\n</div>\n");
+        out.append("<hr class=\"divider\"/>\n");
 
         String summ = summary(b);
         if (!summ.isBlank()) {
-            sb.append(previewSec("Summary", "minimal"));
-            sb.append("<p class=\"summary\">").append(esc(summ)).append("</p>\n");
+            out.append(previewSec("Summary", "minimal"));
+            out.append("<p class=\"summary\">").append(esc(summ)).append("</p>\n");
         }
 
         if (!b.skills().isEmpty()) {
-            sb.append(previewSec("Skills", "minimal"));
-            sb.append(previewSkillsMinimal(b.skills()));
+            out.append(previewSec("Skills", "minimal"));
+            out.append(previewSkillsMinimal(b.skills()));
         }
 
         if (!b.experiences().isEmpty()) {
-            sb.append(previewSec("Experience", "minimal"));
-            sb.append(previewExperience(b.experiences(), "#0D9488"));
+            out.append(previewSec("Experience", "minimal"));
+            writePreviewExperience(out, b.experiences(), "#0D9488");
         }
 
         if (!b.projects().isEmpty()) {
-            sb.append(previewSec("Projects", "minimal"));
-            sb.append(previewProjects(b.projects()));
+            out.append(previewSec("Projects", "minimal"));
+            writePreviewProjects(out, b.projects());
         }
 
         if (!b.educations().isEmpty()) {
-            sb.append(previewSec("Education", "minimal"));
-            sb.append(previewEducation(b.educations()));
+            out.append(previewSec("Education", "minimal"));
+            writePreviewEducation(out, b.educations());
         }
 
-        sb.append("</div>\n</body>\n</html>");
-        return sb.toString();
+        out.append("</div>\n</body>\n</html>");
     }
 
     // =========================================================================
     //  4. BOLD TEMPLATE — Preview
     // =========================================================================
 
-    private String buildPreviewBold(ResumeBundle b) {
-        StringBuilder sb = new StringBuilder();
-        sb.append(previewHead(name(b), boldPreviewCss()));
+    private void writePreviewBold(ResumeBundle b, Appendable out) throws IOException {
+        out.append(previewHead(name(b), previewCss.get("bold")));
 
-        sb.append("<div class=\"header-bold\">\n");
-        sb.append("<div class=\"header-bg\"></div>\n");
-        sb.append("<div class=\"header-fg\">\n");
-        sb.append("<h1 class=\"name\">").append(esc(name(b))).append("</h1>\n");
+        out.append("<div class=\"header-bold\">\n");
+        out.append("<div class=\"header-bg\"></div>\n");
+        out.append("<div class=\"header-fg\">\n");
+        out.append("<h1 class=\"name\">").append(esc(name(b))).append("</h1>\n");
         String jt = jobTitle(b);
-        if (!jt.isBlank()) sb.append("<div class=\"job-title\">").append(esc(jt)).append("</div>\n");
-        sb.append("<div class=\"contacts\">");
-        for (String c : contactLines(b)) sb.append("<span class=\"contact\">").append(esc(c)).append("</span>");
-        sb.append("</div>\n</div>\n</div>\n");
+        if (!jt.isBlank()) out.append("<div class=\"job-title\">").append(esc(jt)).append("</div>\n");
+        out.append("<div class=\"contacts\">");
+        for (String c : contactLines(b)) out.append("<span class=\"contact\">").append(esc(c)).append("</span>");
+        out.append("</div>\n</div>\n</div>\n");
 
         String summ = summary(b);
         if (!summ.isBlank()) {
-            sb.append(previewSec("PROFILE", "bold"));
-            sb.append("<p class=\"summary\">").append(esc(summ)).append("</p>\n");
+            out.append(previewSec("PROFILE", "bold"));
+            out.append("<p class=\"summary\">").append(esc(summ)).append("</p>\n");
         }
 
         if (!b.skills().isEmpty()) {
-            sb.append(previewSec("SKILLS", "bold"));
-            sb.append(previewSkillsBold(b.skills()));
+            out.append(previewSec("SKILLS", "bold"));
+            out.append(previewSkillsBold(b.skills()));
         }
 
         if (!b.experiences().isEmpty()) {
-            sb.append(previewSec("EXPERIENCE", "bold"));
-            sb.append(previewExperience(b.experiences(), "#DC2626"));
+            out.append(previewSec("EXPERIENCE", "bold"));
+            writePreviewExperience(out, b.experiences(), "#DC2626");
         }
 
         if (!b.projects().isEmpty()) {
-            sb.append(previewSec("PROJECTS", "bold"));
-            sb.append(previewProjects(b.projects()));
+            out.append(previewSec("PROJECTS", "bold"));
+            writePreviewProjects(out, b.projects());
         }
 
         if (!b.educations().isEmpty()) {
-            sb.append(previewSec("EDUCATION", "bold"));
-            sb.append(previewEducation(b.educations()));
+            out.append(previewSec("EDUCATION", "bold"));
+            writePreviewEducation(out, b.educations());
         }
 
-        sb.append("</div>\n</body>\n</html>");
-        return sb.toString();
+        out.append("</div>\n</body>\n</html>");
     }
 
     // =========================================================================
@@ -380,63 +407,72 @@ public class ResumeHtmlGenerator {
         return sb.toString();
     }
 
-    private String previewExperience(List<Experience> exps, String accent) {
-        StringBuilder sb = new StringBuilder("<div class=\"exp-list\">\n");
-        for (Experience e : exps) {
-            sb.append("<div class=\"exp-item\">\n");
-            sb.append("<div class=\"exp-top\">\n");
-            sb.append("<div class=\"exp-left\">\n");
-            sb.append("<div class=\"exp-role\">").append(esc(e.getTitle())).append("</div>\n");
-            sb.append("<div class=\"exp-company\">").append(esc(e.getCompany())).append("</div>\n");
-            sb.append("</div>\n");
-            String dates = formatDates(e);
-            if (!dates.isBlank()) sb.append("<div class=\"exp-dates\">").append(esc(dates)).append("</div>\n");
-            sb.append("</div>\n");
-            if (e.getDescription() != null && !e.getDescription().isBlank()) {
-                sb.append("<p class=\"exp-desc\">").append(esc(e.getDescription())).append("</p>\n");
-            }
-            sb.append("</div>\n");
+    private void writePreviewExperience(Appendable out, List<Experience> exps, String accent) throws IOException {
+        out.append("<div class=\"exp-list\">\n");
+        for (Experience e : exps)
+            out.append(fragments.get(fragmentKey("resume.preview.exp", e), () -> previewExperienceItem(e)));
+        out.append("</div></div>\n");
+    }
+
+    private String previewExperienceItem(Experience e) {
+        StringBuilder sb = new StringBuilder("<div class=\"exp-item\">\n");
+        sb.append("<div class=\"exp-top\">\n");
+        sb.append("<div class=\"exp-left\">\n");
+        sb.append("<div class=\"exp-role\">").append(esc(e.getTitle())).append("</div>\n");
+        sb.append("<div class=\"exp-company\">").append(esc(e.getCompany())).append("</div>\n");
+        sb.append("</div>\n");
+        String dates = formatDates(e);
+        if (!dates.isBlank()) sb.append("<div class=\"exp-dates\">").append(esc(dates)).append("</div>\n");
+        sb.append("</div>\n");
+        if (e.getDescription() != null && !e.getDescription().isBlank()) {
+            sb.append("<p class=\"exp-desc\">").append(esc(e.getDescription())).append("</p>\n");
         }
-        sb.append("</div></div>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
-    private String previewProjects(List<Project> projects) {
+    private void writePreviewProjects(Appendable out, List<Project> projects) throws IOException {
         List<Project> show = projects.stream().limit(6).toList();
-        StringBuilder sb = new StringBuilder("<div class=\"proj-list\">\n");
-        for (Project p : show) {
-            sb.append("<div class=\"proj-item\">\n");
-            sb.append("<div class=\"proj-top\">\n");
-            sb.append("<span class=\"proj-name\">").append(esc(p.getName())).append("</span>\n");
-            if (p.getStars() > 0) sb.append("<span class=\"proj-stars\">⭐ ").append(p.getStars()).append("</span>\n");
-            sb.append("</div>\n");
-            if (p.getLanguages() != null && !p.getLanguages().isEmpty()) {
-                sb.append("<div class=\"proj-langs\">");
-                for (String lang : p.getLanguages()) sb.append("<span class=\"lang-pill\">").append(esc(lang)).append("</span>");
-                sb.append("</div>\n");
-            }
-            if (p.getDescription() != null && !p.getDescription().isBlank()) {
-                sb.append("<p class=\"proj-desc\">").append(esc(p.getDescription())).append("</p>\n");
-            }
+        out.append("<div class=\"proj-list\">\n");
+        for (Project p : show)
+            out.append(fragments.get(fragmentKey("resume.preview.project", p), () -> previewProjectItem(p)));
+        out.append("</div></div>\n");
+    }
+
+    private String previewProjectItem(Project p) {
+        StringBuilder sb = new StringBuilder("<div class=\"proj-item\">\n");
+        sb.append("<div class=\"proj-top\">\n");
+        sb.append("<span class=\"proj-name\">").append(esc(p.getName())).append("</span>\n");
+        if (p.getStars() > 0) sb.append("<span class=\"proj-stars\">⭐ ").append(p.getStars()).append("</span>\n");
+        sb.append("</div>\n");
+        if (p.getLanguages() != null && !p.getLanguages().isEmpty()) {
+            sb.append("<div class=\"proj-langs\">");
+            for (String lang : p.getLanguages()) sb.append("<span class=\"lang-pill\">").append(esc(lang)).append("</span>");
             sb.append("</div>\n");
         }
-        sb.append("</div></div>\n");
+        if (p.getDescription() != null && !p.getDescription().isBlank()) {
+            sb.append("<p class=\"proj-desc\">").append(esc(p.getDescription())).append("</p>\n");
+        }
+        sb.append("</div>\n");
         return sb.toString();
     }
 
-    private String previewEducation(List<Education> edus) {
-        StringBuilder sb = new StringBuilder("<div class=\"edu-list\">\n");
-        for (Education e : edus) {
-            sb.append("<div class=\"edu-item\">\n");
-            String deg = ((e.getDegree() != null ? e.getDegree() : "") +
-                         (e.getField() != null ? " in " + e.getField() : "")).trim();
-            if (!deg.isBlank()) sb.append("<div class=\"edu-degree\">").append(esc(deg)).append("</div>\n");
-            sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
-            String yrs = formatEduYears(e);
-            if (!yrs.isBlank()) sb.append("<div class=\"edu-dates\">").append(esc(yrs)).append("</div>\n");
-            sb.append("</div>\n");
-        }
-        sb.append("</div></div>\n");
+    private void writePreviewEducation(Appendable out, List<Education> edus) throws IOException {
+        out.append("<div class=\"edu-list\">\n");
+        for (Education e : edus)
+            out.append(fragments.get(fragmentKey("resume.preview.edu", e), () -> previewEducationItem(e)));
+        out.append("</div></div>\n");
+    }
+
+    private String previewEducationItem(Education e) {
+        StringBuilder sb = new StringBuilder("<div class=\"edu-item\">\n");
+        String deg = ((e.getDegree() != null ? e.getDegree() : "") +
+                     (e.getField() != null ? " in " + e.getField() : "")).trim();
+        if (!deg.isBlank()) sb.append("<div class=\"edu-degree\">").append(esc(deg)).append("</div>\n");
+        sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
+        String yrs = formatEduYears(e);
+        if (!yrs.isBlank()) sb.append("<div class=\"edu-dates\">").append(esc(yrs)).append("</div>\n");
+        sb.append("</div>\n");
         return sb.toString();
     }
 
@@ -457,34 +493,10 @@ public class ResumeHtmlGenerator {
     //  1. CLASSIC PDF — Clean centered header, accent underline, grouped skills
     // ─────────────────────────────────────────────────────────────────────────
     private String buildPdfClassic(ResumeBundle b) {
-        String A = "#7C3AED", T = "#111827", S = "#374151", M = "#6B7280", BG = "#F5F3FF", BD = "#E5E7EB";
+        String A = "#7C3AED", M = "#6B7280";
         StringBuilder sb = new StringBuilder();
         sb.append(pdfDocStart(name(b)));
-        sb.append("<style>\n");
-        sb.append("body{margin:30px 44px;font-family:'Helvetica Neue',Arial,sans-serif;font-size:10.5pt;color:").append(T).append(";line-height:1.5}");
-        // Centered header
-        sb.append(".hdr{text-align:center;padding-bottom:14px;border-bottom:2.5px solid ").append(A).append(";margin-bottom:18px}");
-        sb.append(".hdr-name{font-size:24pt;font-weight:bold;color:").append(T).append(";letter-spacing:-0.5px;line-height:1.15}");
-        sb.append(".hdr-title{font-size:11pt;color:").append(A).append(";margin-top:4px;font-weight:600}");
-        sb.append(".hdr-contacts{font-size:8.5pt;color:").append(M).append(";margin-top:6px}");
-        sb.append(".hdr-sep{color:").append(BD).append("}");
-        // Sections
-        sb.append(".sec{border-bottom:1px solid ").append(BD).append(";margin:18px 0 10px;padding-bottom:4px}");
-        sb.append(".sec-t{font-size:8pt;font-weight:bold;letter-spacing:2px;text-transform:uppercase;color:").append(A).append("}");
-        sb.append(".sum{font-size:10.5pt;color:").append(S).append(";line-height:1.7;margin-bottom:6px}");
-        // Skills grid table
-        sb.append(".sk-tbl{margin-bottom:6px}");
-        sb.append(".sk-lvl{width:92pt;font-size:8.5pt;font-weight:bold;color:").append(M).append(";text-transform:uppercase;letter-spacing:0.8px;padding:3px 0;vertical-align:top}");
-        sb.append(".sk-val{font-size:10pt;color:").append(S).append(";padding:3px 0;vertical-align:top}");
-        // Blocks
-        sb.append(".blk{margin-bottom:12px;page-break-inside:avoid}");
-        sb.append(".role{font-size:10.5pt;font-weight:bold;color:").append(T).append("}");
-        sb.append(".co{font-weight:normal;color:").append(A).append("}");
-        sb.append(".dt{font-size:8.5pt;color:").append(M).append(";text-align:right;white-space:nowrap;vertical-align:middle}");
-        sb.append(".desc{font-size:9.5pt;color:").append(S).append(";margin:3px 0 0;line-height:1.6}");
-        sb.append(".pj-lang{font-size:9pt;color:").append(M).append(";font-weight:normal}");
-        sb.append(".edu-inst{font-size:9.5pt;color:").append(A).append(";margin-top:2px}");
-        sb.append("\n</style>\n</head>\n<body>\n");
+        sb.append("<style>\n").append(pdfCss.get("classic")).append("\n</style>\n</head>\n<body>\n");
 
         // Header — centered
         sb.append("<div class=\"hdr\">\n");
@@ -508,36 +520,10 @@ public class ResumeHtmlGenerator {
     //  2. MODERN PDF — Two-column header (initials circle + name), colored skill badges
     // ─────────────────────────────────────────────────────────────────────────
     private String buildPdfModern(ResumeBundle b) {
-        String A = "#2563EB", A2 = "#7C3AED", T = "#1E293B", S = "#475569", M = "#64748B", BD = "#E2E8F0";
+        String A = "#2563EB", M = "#64748B";
         StringBuilder sb = new StringBuilder();
         sb.append(pdfDocStart(name(b)));
-        sb.append("<style>\n");
-        sb.append("body{margin:0;font-family:'Helvetica Neue',Arial,sans-serif;font-size:10.5pt;color:").append(T).append(";line-height:1.5}");
-        // Full-width gradient header bar
-        sb.append(".hdr-bar{background-color:").append(A).append(";height:4px;margin:0}");
-        sb.append(".hdr{padding:22px 44px 16px;margin-bottom:4px}");
-        sb.append(".hdr-inner td{vertical-align:middle}");
-        sb.append(".avatar{width:50pt;height:50pt;background-color:").append(A).append(";color:#FFFFFF;font-size:18pt;font-weight:bold;text-align:center;line-height:50pt;-webkit-border-radius:25pt}");
-        sb.append(".hdr-name{font-size:22pt;font-weight:bold;color:").append(T).append(";letter-spacing:-0.3px}");
-        sb.append(".hdr-title{font-size:10.5pt;color:").append(A).append(";font-weight:600;margin-top:2px}");
-        sb.append(".hdr-contacts{font-size:8.5pt;color:").append(M).append(";margin-top:6px}");
-        sb.append(".c-pill{background-color:#F1F5F9;padding:2px 6px;font-size:8pt;color:").append(M).append("}");
-        // Content area
-        sb.append(".content{padding:0 44px 28px}");
-        sb.append(".sec{border-bottom:1px solid ").append(BD).append(";margin:16px 0 10px;padding-bottom:4px}");
-        sb.append(".sec-t{font-size:8pt;font-weight:bold;letter-spacing:2px;text-transform:uppercase;color:").append(A).append("}");
-        sb.append(".sum{font-size:10.5pt;color:").append(S).append(";line-height:1.7;margin-bottom:6px}");
-        // Skill chips as inline boxes
-        sb.append(".chip{display:inline;font-size:9pt;font-weight:600;padding:3px 8px;margin-right:4px;margin-bottom:4px;border:1px solid ").append(BD).append(";background-color:#F8FAFC;color:").append(S).append("}");
-        // Blocks
-        sb.append(".blk{margin-bottom:12px;page-break-inside:avoid}");
-        sb.append(".role{font-size:10.5pt;font-weight:bold;color:").append(T).append("}");
-        sb.append(".co{font-weight:normal;color:").append(A).append("}");
-        sb.append(".dt{font-size:8.5pt;color:").append(M).append(";text-align:right;white-space:nowrap;vertical-align:middle}");
-        sb.append(".desc{font-size:9.5pt;color:").append(S).append(";margin:3px 0 0;line-height:1.6}");
-        sb.append(".pj-lang{font-size:9pt;color:").append(M).append(";font-weight:normal}");
-        sb.append(".edu-inst{font-size:9.5pt;color:").append(A).append(";margin-top:2px}");
-        sb.append("\n</style>\n</head>\n<body>\n");
+        sb.append("<style>\n").append(pdfCss.get("modern")).append("\n</style>\n</head>\n<body>\n");
 
         // Gradient bar
         sb.append("<div class=\"hdr-bar\"> </div>\n");
@@ -570,32 +556,9 @@ public class ResumeHtmlGenerator {
     //  3. MINIMAL PDF — Left-aligned, airy spacing, thin hairline dividers, inline skills
     // ─────────────────────────────────────────────────────────────────────────
     private String buildPdfMinimal(ResumeBundle b) {
-        String A = "#0D9488", T = "#111827", S = "#374151", M = "#6B7280", BD = "#E5E7EB";
         StringBuilder sb = new StringBuilder();
         sb.append(pdfDocStart(name(b)));
-        sb.append("<style>\n");
-        sb.append("body{margin:40px 50px;font-family:Georgia,'Times New Roman',serif;font-size:10.5pt;color:").append(T).append(";line-height:1.6}");
-        // Minimal header — left-aligned, no border, large name
-        sb.append(".hdr{margin-bottom:6px}");
-        sb.append(".hdr-name{font-size:26pt;font-weight:normal;color:").append(T).append(";letter-spacing:-0.3px;line-height:1.15}");
-        sb.append(".hdr-title{font-size:11pt;color:").append(A).append(";font-weight:normal;margin-top:3px;font-style:italic}");
-        sb.append(".hdr-contacts{font-size:8.5pt;color:").append(M).append(";margin-top:8px}");
-        sb.append(".hr{border:none;border-top:0.5px solid ").append(BD).append(";margin:14px 0}");
-        // Sections — minimal
-        sb.append(".sec{margin:16px 0 8px}");
-        sb.append(".sec-t{font-size:9pt;font-weight:bold;letter-spacing:1.5px;text-transform:uppercase;color:").append(A).append("}");
-        sb.append(".sum{font-size:10.5pt;color:").append(S).append(";line-height:1.8;margin-bottom:6px}");
-        // Skills as simple comma-separated text
-        sb.append(".sk-text{font-size:10pt;color:").append(S).append(";line-height:1.8}");
-        // Blocks
-        sb.append(".blk{margin-bottom:13px;page-break-inside:avoid}");
-        sb.append(".role{font-size:10.5pt;font-weight:bold;color:").append(T).append("}");
-        sb.append(".co{font-weight:normal;font-style:italic;color:").append(A).append("}");
-        sb.append(".dt{font-size:8.5pt;color:").append(M).append(";text-align:right;white-space:nowrap;vertical-align:middle}");
-        sb.append(".desc{font-size:9.5pt;color:").append(S).append(";margin:3px 0 0;line-height:1.7}");
-        sb.append(".pj-lang{font-size:9pt;color:").append(M).append(";font-weight:normal;font-style:italic}");
-        sb.append(".edu-inst{font-size:9.5pt;color:").append(A).append(";margin-top:2px;font-style:italic}");
-        sb.append("\n</style>\n</head>\n<body>\n");
+        sb.append("<style>\n").append(pdfCss.get("minimal")).append("\n</style>\n</head>\n<body>\n");
 
         // Header — left-aligned, elegant
         sb.append("<div class=\"hdr\">\n");
@@ -652,33 +615,9 @@ public class ResumeHtmlGenerator {
     //  4. BOLD PDF — Dark header block, white text, red accents, high contrast
     // ─────────────────────────────────────────────────────────────────────────
     private String buildPdfBold(ResumeBundle b) {
-        String A = "#DC2626", T = "#111827", S = "#374151", M = "#6B7280", BD = "#E5E7EB";
         StringBuilder sb = new StringBuilder();
         sb.append(pdfDocStart(name(b)));
-        sb.append("<style>\n");
-        sb.append("body{margin:0;font-family:'Helvetica Neue',Arial,sans-serif;font-size:10.5pt;color:").append(T).append(";line-height:1.5}");
-        // Dark header
-        sb.append(".hdr{background-color:#1E1E2E;padding:28px 44px 22px;margin-bottom:4px}");
-        sb.append(".hdr-name{font-size:26pt;font-weight:bold;color:#FFFFFF;letter-spacing:-0.5px;line-height:1.15}");
-        sb.append(".hdr-title{font-size:11pt;color:").append(A).append(";margin-top:4px;font-weight:600}");
-        sb.append(".hdr-contacts{font-size:8.5pt;color:rgba(255,255,255,0.65);margin-top:8px}");
-        sb.append(".hdr-sep{color:rgba(255,255,255,0.25)}");
-        // Content area
-        sb.append(".content{padding:4px 44px 28px}");
-        sb.append(".sec{border-bottom:2px solid ").append(A).append(";margin:16px 0 10px;padding-bottom:4px}");
-        sb.append(".sec-t{font-size:8.5pt;font-weight:bold;letter-spacing:2px;text-transform:uppercase;color:").append(A).append("}");
-        sb.append(".sum{font-size:10.5pt;color:").append(S).append(";line-height:1.7;margin-bottom:6px}");
-        // Skill tags
-        sb.append(".tag{display:inline;font-size:9pt;font-weight:bold;padding:3px 8px;margin-right:4px;background-color:#FEF2F2;color:").append(A).append(";border:1px solid #FECACA}");
-        // Blocks
-        sb.append(".blk{margin-bottom:12px;page-break-inside:avoid;padding-left:10px;border-left:3px solid ").append(A).append("}");
-        sb.append(".role{font-size:10.5pt;font-weight:bold;color:").append(T).append("}");
-        sb.append(".co{font-weight:600;color:").append(A).append("}");
-        sb.append(".dt{font-size:8.5pt;color:").append(M).append(";text-align:right;white-space:nowrap;vertical-align:middle}");
-        sb.append(".desc{font-size:9.5pt;color:").append(S).append(";margin:3px 0 0;line-height:1.6}");
-        sb.append(".pj-lang{font-size:9pt;color:").append(M).append(";font-weight:normal}");
-        sb.append(".edu-inst{font-size:9.5pt;color:").append(A).append(";margin-top:2px;font-weight:600}");
-        sb.append("\n</style>\n</head>\n<body>\n");
+        sb.append("<style>\n").append(pdfCss.get("bold")).append("\n</style>\n</head>\n<body>\n");
 
         // Dark header
         sb.append("<div class=\"hdr\">\n");
@@ -791,53 +730,201 @@ public class ResumeHtmlGenerator {
     }
 
     private void appendPdfExperience(StringBuilder sb, List<Experience> exps) {
-        for (Experience e : exps) {
-            sb.append("<div class=\"blk\">\n");
-            sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>\n");
-            sb.append("<td class=\"role\"><span>").append(esc(e.getTitle()))
-              .append("</span>  —  <span class=\"co\">")
-              .append(esc(e.getCompany())).append("</span></td>\n");
-            sb.append("<td class=\"dt\">").append(esc(formatDates(e))).append("</td>\n");
-            sb.append("</tr></table>\n");
-            if (e.getDescription() != null && !e.getDescription().isBlank()) {
-                sb.append("<p class=\"desc\">").append(esc(e.getDescription())).append("</p>\n");
-            }
-            sb.append("</div>\n");
+        for (Experience e : exps)
+            sb.append(fragments.get(fragmentKey("resume.pdf.exp", e), () -> pdfExperienceBlock(e)));
+    }
+
+    private String pdfExperienceBlock(Experience e) {
+        StringBuilder sb = new StringBuilder("<div class=\"blk\">\n");
+        sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>\n");
+        sb.append("<td class=\"role\"><span>").append(esc(e.getTitle()))
+          .append("</span>  —  <span class=\"co\">")
+          .append(esc(e.getCompany())).append("</span></td>\n");
+        sb.append("<td class=\"dt\">").append(esc(formatDates(e))).append("</td>\n");
+        sb.append("</tr></table>\n");
+        if (e.getDescription() != null && !e.getDescription().isBlank()) {
+            sb.append("<p class=\"desc\">").append(esc(e.getDescription())).append("</p>\n");
         }
+        sb.append("</div>\n");
+        return sb.toString();
     }
 
     private void appendPdfProjects(StringBuilder sb, List<Project> projects) {
         List<Project> show = projects.stream().limit(6).toList();
-        for (Project p : show) {
-            sb.append("<div class=\"blk\">\n");
-            sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>\n");
-            sb.append("<td class=\"role\">").append(esc(p.getName()));
-            if (p.getLanguages() != null && !p.getLanguages().isEmpty()) {
-                sb.append("  <span class=\"pj-lang\">").append(esc(String.join(", ", p.getLanguages()))).append("</span>");
-            }
-            sb.append("</td>\n");
-            if (p.getStars() > 0) sb.append("<td class=\"dt\">").append(p.getStars()).append(" ★</td>\n");
-            else sb.append("<td class=\"dt\"></td>\n");
-            sb.append("</tr></table>\n");
-            if (p.getDescription() != null && !p.getDescription().isBlank()) {
-                sb.append("<p class=\"desc\">").append(esc(p.getDescription())).append("</p>\n");
-            }
-            sb.append("</div>\n");
+        for (Project p : show)
+            sb.append(fragments.get(fragmentKey("resume.pdf.project", p), () -> pdfProjectBlock(p)));
+    }
+
+    private String pdfProjectBlock(Project p) {
+        StringBuilder sb = new StringBuilder("<div class=\"blk\">\n");
+        sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>\n");
+        sb.append("<td class=\"role\">").append(esc(p.getName()));
+        if (p.getLanguages() != null && !p.getLanguages().isEmpty()) {
+            sb.append("  <span class=\"pj-lang\">").append(esc(String.join(", ", p.getLanguages()))).append("</span>");
         }
+        sb.append("</td>\n");
+        if (p.getStars() > 0) sb.append("<td class=\"dt\">").append(p.getStars()).append(" ★</td>\n");
+        else sb.append("<td class=\"dt\"></td>\n");
+        sb.append("</tr></table>\n");
+        if (p.getDescription() != null && !p.getDescription().isBlank()) {
+            sb.append("<p class=\"desc\">").append(esc(p.getDescription())).append("</p>\n");
+        }
+        sb.append("</div>\n");
+        return sb.toString();
     }
 
     private void appendPdfEducation(StringBuilder sb, List<Education> edus) {
-        for (Education e : edus) {
-            sb.append("<div class=\"blk\">\n");
-            sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>\n");
-            String deg = ((e.getDegree() != null ? e.getDegree() : "") +
-                         (e.getField() != null ? " in " + e.getField() : "")).trim();
-            sb.append("<td class=\"role\">").append(esc(deg.isBlank() ? e.getInstitution() : deg)).append("</td>\n");
-            sb.append("<td class=\"dt\">").append(esc(formatEduYears(e))).append("</td>\n");
-            sb.append("</tr></table>\n");
-            if (!deg.isBlank()) sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
-            sb.append("</div>\n");
-        }
+        for (Education e : edus)
+            sb.append(fragments.get(fragmentKey("resume.pdf.edu", e), () -> pdfEducationBlock(e)));
+    }
+
+    private String pdfEducationBlock(Education e) {
+        StringBuilder sb = new StringBuilder("<div class=\"blk\">\n");
+        sb.append("<table width=\"100%\" cellspacing=\"0\" cellpadding=\"0\" border=\"0\"><tr>\n");
+        String deg = ((e.getDegree() != null ? e.getDegree() : "") +
+                     (e.getField() != null ? " in " + e.getField() : "")).trim();
+        sb.append("<td class=\"role\">").append(esc(deg.isBlank() ? e.getInstitution() : deg)).append("</td>\n");
+        sb.append("<td class=\"dt\">").append(esc(formatEduYears(e))).append("</td>\n");
+        sb.append("</tr></table>\n");
+        if (!deg.isBlank()) sb.append("<div class=\"edu-inst\">").append(esc(e.getInstitution())).append("</div>\n");
+        sb.append("</div>\n");
+        return sb.toString();
+    }
+
+    // ─── Fragment cache keys (every field the fragment reads) ─────────────────
+
+    private static List<Object> fragmentKey(String variant, Experience e) {
+        return HtmlFragmentCache.key(variant, e.getId(), e.getTitle(), e.getCompany(),
+                e.getStartDate(), e.getEndDate(), e.isCurrent(), e.getDescription());
+    }
+
+    private static List<Object> fragmentKey(String variant, Project p) {
+        List<String> langs = p.getLanguages() != null ? new ArrayList<>(p.getLanguages()) : null;
+        return HtmlFragmentCache.key(variant, p.getId(), p.getName(), langs, p.getStars(), p.getDescription());
+    }
+
+    private static List<Object> fragmentKey(String variant, Education e) {
+        return HtmlFragmentCache.key(variant, e.getId(), e.getInstitution(), e.getDegree(),
+                e.getField(), e.getStartYear(), e.getEndYear());
+    }
+
+    // =========================================================================
+    //  PDF CSS — each template
+    // =========================================================================
+
+    private String classicPdfCss() {
+        String A = "#7C3AED", T = "#111827", S = "#374151", M = "#6B7280", BG = "#F5F3FF", BD = "#E5E7EB";
+        StringBuilder sb = new StringBuilder();
+        sb.append("body{margin:30px 44px;font-family:'Helvetica Neue',Arial,sans-serif;font-size:10.5pt;color:").append(T).append(";line-height:1.5}");
+        // Centered header
+        sb.append(".hdr{text-align:center;padding-bottom:14px;border-bottom:2.5px solid ").append(A).append(";margin-bottom:18px}");
+        sb.append(".hdr-name{font-size:24pt;font-weight:bold;color:").append(T).append(";letter-spacing:-0.5px;line-height:1.15}");
+        sb.append(".hdr-title{font-size:11pt;color:").append(A).append(";margin-top:4px;font-weight:600}");
+        sb.append(".hdr-contacts{font-size:8.5pt;color:").append(M).append(";margin-top:6px}");
+        sb.append(".hdr-sep{color:").append(BD).append("}");
+        // Sections
+        sb.append(".sec{border-bottom:1px solid ").append(BD).append(";margin:18px 0 10px;padding-bottom:4px}");
+        sb.append(".sec-t{font-size:8pt;font-weight:bold;letter-spacing:2px;text-transform:uppercase;color:").append(A).append("}");
+        sb.append(".sum{font-size:10.5pt;color:").append(S).append(";line-height:1.7;margin-bottom:6px}");
+        // Skills grid table
+        sb.append(".sk-tbl{margin-bottom:6px}");
+        sb.append(".sk-lvl{width:92pt;font-size:8.5pt;font-weight:bold;color:").append(M).append(";text-transform:uppercase;letter-spacing:0.8px;padding:3px 0;vertical-align:top}");
+        sb.append(".sk-val{font-size:10pt;color:").append(S).append(";padding:3px 0;vertical-align:top}");
+        // Blocks
+        sb.append(".blk{margin-bottom:12px;page-break-inside:avoid}");
+        sb.append(".role{font-size:10.5pt;font-weight:bold;color:").append(T).append("}");
+        sb.append(".co{font-weight:normal;color:").append(A).append("}");
+        sb.append(".dt{font-size:8.5pt;color:").append(M).append(";text-align:right;white-space:nowrap;vertical-align:middle}");
+        sb.append(".desc{font-size:9.5pt;color:").append(S).append(";margin:3px 0 0;line-height:1.6}");
+        sb.append(".pj-lang{font-size:9pt;color:").append(M).append(";font-weight:normal}");
+        sb.append(".edu-inst{font-size:9.5pt;color:").append(A).append(";margin-top:2px}");
+        return sb.toString();
+    }
+
+    private String modernPdfCss() {
+        String A = "#2563EB", A2 = "#7C3AED", T = "#1E293B", S = "#475569", M = "#64748B", BD = "#E2E8F0";
+        StringBuilder sb = new StringBuilder();
+        sb.append("body{margin:0;font-family:'Helvetica Neue',Arial,sans-serif;font-size:10.5pt;color:").append(T).append(";line-height:1.5}");
+        // Full-width gradient header bar
+        sb.append(".hdr-bar{background-color:").append(A).append(";height:4px;margin:0}");
+        sb.append(".hdr{padding:22px 44px 16px;margin-bottom:4px}");
+        sb.append(".hdr-inner td{vertical-align:middle}");
+        sb.append(".avatar{width:50pt;height:50pt;background-color:").append(A).append(";color:#FFFFFF;font-size:18pt;font-weight:bold;text-align:center;line-height:50pt;-webkit-border-radius:25pt}");
+        sb.append(".hdr-name{font-size:22pt;font-weight:bold;color:").append(T).append(";letter-spacing:-0.3px}");
+        sb.append(".hdr-title{font-size:10.5pt;color:").append(A).append(";font-weight:600;margin-top:2px}");
+        sb.append(".hdr-contacts{font-size:8.5pt;color:").append(M).append(";margin-top:6px}");
+        sb.append(".c-pill{background-color:#F1F5F9;padding:2px 6px;font-size:8pt;color:").append(M).append("}");
+        // Content area
+        sb.append(".content{padding:0 44px 28px}");
+        sb.append(".sec{border-bottom:1px solid ").append(BD).append(";margin:16px 0 10px;padding-bottom:4px}");
+        sb.append(".sec-t{font-size:8pt;font-weight:bold;letter-spacing:2px;text-transform:uppercase;color:").append(A).append("}");
+        sb.append(".sum{font-size:10.5pt;color:").append(S).append(";line-height:1.7;margin-bottom:6px}");
+        // Skill chips as inline boxes
+        sb.append(".chip{display:inline;font-size:9pt;font-weight:600;padding:3px 8px;margin-right:4px;margin-bottom:4px;border:1px solid ").append(BD).append(";background-color:#F8FAFC;color:").append(S).append("}");
+        // Blocks
+        sb.append(".blk{margin-bottom:12px;page-break-inside:avoid}");
+        sb.append(".role{font-size:10.5pt;font-weight:bold;color:").append(T).append("}");
+        sb.append(".co{font-weight:normal;color:").append(A).append("}");
+        sb.append(".dt{font-size:8.5pt;color:").append(M).append(";text-align:right;white-space:nowrap;vertical-align:middle}");
+        sb.append(".desc{font-size:9.5pt;color:").append(S).append(";margin:3px 0 0;line-height:1.6}");
+        sb.append(".pj-lang{font-size:9pt;color:").append(M).append(";font-weight:normal}");
+        sb.append(".edu-inst{font-size:9.5pt;color:").append(A).append(";margin-top:2px}");
+        return sb.toString();
+    }
+
+    private String minimalPdfCss() {
+        String A = "#0D9488", T = "#111827", S = "#374151", M = "#6B7280", BD = "#E5E7EB";
+        StringBuilder sb = new StringBuilder();
+        sb.append("body{margin:40px 50px;font-family:Georgia,'Times New Roman',serif;font-size:10.5pt;color:").append(T).append(";line-height:1.6}");
+        // Minimal header — left-aligned, no border, large name
+        sb.append(".hdr{margin-bottom:6px}");
+        sb.append(".hdr-name{font-size:26pt;font-weight:normal;color:").append(T).append(";letter-spacing:-0.3px;line-height:1.15}");
+        sb.append(".hdr-title{font-size:11pt;color:").append(A).append(";font-weight:normal;margin-top:3px;font-style:italic}");
+        sb.append(".hdr-contacts{font-size:8.5pt;color:").append(M).append(";margin-top:8px}");
+        sb.append(".hr{border:none;border-top:0.5px solid ").append(BD).append(";margin:14px 0}");
+        // Sections — minimal
+        sb.append(".sec{margin:16px 0 8px}");
+        sb.append(".sec-t{font-size:9pt;font-weight:bold;letter-spacing:1.5px;text-transform:uppercase;color:").append(A).append("}");
+        sb.append(".sum{font-size:10.5pt;color:").append(S).append(";line-height:1.8;margin-bottom:6px}");
+        // Skills as simple comma-separated text
+        sb.append(".sk-text{font-size:10pt;color:").append(S).append(";line-height:1.8}");
+        // Blocks
+        sb.append(".blk{margin-bottom:13px;page-break-inside:avoid}");
+        sb.append(".role{font-size:10.5pt;font-weight:bold;color:").append(T).append("}");
+        sb.append(".co{font-weight:normal;font-style:italic;color:").append(A).append("}");
+        sb.append(".dt{font-size:8.5pt;color:").append(M).append(";text-align:right;white-space:nowrap;vertical-align:middle}");
+        sb.append(".desc{font-size:9.5pt;color:").append(S).append(";margin:3px 0 0;line-height:1.7}");
+        sb.append(".pj-lang{font-size:9pt;color:").append(M).append(";font-weight:normal;font-style:italic}");
+        sb.append(".edu-inst{font-size:9.5pt;color:").append(A).append(";margin-top:2px;font-style:italic}");
+        return sb.toString();
+    }
+
+    private String boldPdfCss() {
+        String A = "#DC2626", T = "#111827", S = "#374151", M = "#6B7280", BD = "#E5E7EB";
+        StringBuilder sb = new StringBuilder();
+        sb.append("body{margin:0;font-family:'Helvetica Neue',Arial,sans-serif;font-size:10.5pt;color:").append(T).append(";line-height:1.5}");
+        // Dark header
+        sb.append(".hdr{background-color:#1E1E2E;padding:28px 44px 22px;margin-bottom:4px}");
+        sb.append(".hdr-name{font-size:26pt;font-weight:bold;color:#FFFFFF;letter-spacing:-0.5px;line-height:1.15}");
+        sb.append(".hdr-title{font-size:11pt;color:").append(A).append(";margin-top:4px;font-weight:600}");
+        sb.append(".hdr-contacts{font-size:8.5pt;color:rgba(255,255,255,0.65);margin-top:8px}");
+        sb.append(".hdr-sep{color:rgba(255,255,255,0.25)}");
+        // Content area
+        sb.append(".content{padding:4px 44px 28px}");
+        sb.append(".sec{border-bottom:2px solid ").append(A).append(";margin:16px 0 10px;padding-bottom:4px}");
+        sb.append(".sec-t{font-size:8.5pt;font-weight:bold;letter-spacing:2px;text-transform:uppercase;color:").append(A).append("}");
+        sb.append(".sum{font-size:10.5pt;color:").append(S).append(";line-height:1.7;margin-bottom:6px}");
+        // Skill tags
+        sb.append(".tag{display:inline;font-size:9pt;font-weight:bold;padding:3px 8px;margin-right:4px;background-color:#FEF2F2;color:").append(A).append(";border:1px solid #FECACA}");
+        // Blocks
+        sb.append(".blk{margin-bottom:12px;page-break-inside:avoid;padding-left:10px;border-left:3px solid ").append(A).append("}");
+        sb.append(".role{font-size:10.5pt;font-weight:bold;color:").append(T).append("}");
+        sb.append(".co{font-weight:600;color:").append(A).append("}");
+        sb.append(".dt{font-size:8.5pt;color:").append(M).append(";text-align:right;white-space:nowrap;vertical-align:middle}");
+        sb.append(".desc{font-size:9.5pt;color:").append(S).append(";margin:3px 0 0;line-height:1.6}");
+        sb.append(".pj-lang{font-size:9pt;color:").append(M).append(";font-weight:normal}");
+        sb.append(".edu-inst{font-size:9.5pt;color:").append(A).append(";margin-top:2px;font-weight:600}");
+        return sb.toString();
     }
 
     // =========================================================================
@@ -993,12 +1080,7 @@ public class ResumeHtmlGenerator {
         return start + (end.isBlank() ? "" : " – " + end);
     }
 
-    private String esc(Object o) {
-        if (o == null) return "";
-        return o.toString()
-                .replace("&", "&amp;").replace("<", "&lt;")
-                .replace(">", "&gt;").replace("\"", "&quot;");
-    }
+    private String esc(Object o) { return TextNormalizer.escapeHtml(o); }
 
     private String capitalize(String s) {
         if (s == null || s.isBlank()) return s;
@@ -4,7 +4,10 @@ import com.openfolio.education.Education;
 import com.openfolio.education.EducationRepository;
 import com.openfolio.experience.Experience;
 import com.openfolio.experience.ExperienceRepository;
+import com.openfolio.export.ExportCoalescer;
 import com.openfolio.export.ExportTempStore;
+import com.openfolio.export.PdfRenderPool;
+import com.openfolio.export.RenderedPdf;
 import com.openfolio.export.dto.ExportResponse;
 import com.openfolio.portfolio.Portfolio;
 import com.openfolio.portfolio.PortfolioRepository;
@@ -16,20 +19,20 @@ import com.openfolio.resume.dto.UpdateResumeRequest;
 import com.openfolio.section.SectionRepository;
 import com.openfolio.section.SectionType;
 import com.openfolio.shared.exception.ResourceNotFoundException;
+import com.openfolio.shared.html.HtmlStream;
 import com.openfolio.shared.exception.UnauthorizedException;
 import com.openfolio.skill.Skill;
 import com.openfolio.skill.SkillRepository;
 import com.openfolio.user.User;
 import com.openfolio.user.UserRepository;
-import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Service
@@ -47,6 +50,8 @@ public class ResumeService {
     private final SectionRepository sectionRepository;
     private final ResumeHtmlGenerator htmlGenerator;
     private final ExportTempStore tempStore;
+    private final PdfRenderPool renderPool;
+    private final ExportCoalescer coalescer;
 
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
@@ -60,7 +65,9 @@ public class ResumeService {
                          EducationRepository educationRepository,
                          SectionRepository sectionRepository,
                          ResumeHtmlGenerator htmlGenerator,
-                         ExportTempStore tempStore) {
+                         ExportTempStore tempStore,
+                         PdfRenderPool renderPool,
+                         ExportCoalescer coalescer) {
         this.resumeRepository = resumeRepository;
         this.userRepository = userRepository;
         this.portfolioRepository = portfolioRepository;
@@ -71,6 +78,8 @@ public class ResumeService {
         this.sectionRepository = sectionRepository;
         this.htmlGenerator = htmlGenerator;
         this.tempStore = tempStore;
+        this.renderPool = renderPool;
+        this.coalescer = coalescer;
     }
 
     // ── CRUD ──────────────────────────────────────────────────────────────────
@@ -167,37 +176,49 @@ public class ResumeService {
 
     // ── Preview & PDF ─────────────────────────────────────────────────────────
 
+    /** Preview HTML with the saved template; the data is loaded now, the markup written later. */
     @Transactional(readOnly = true)
-    public String previewHtml(Long resumeId, Long userId) {
+    public HtmlStream previewHtml(Long resumeId, Long userId) {
         ResumeBundle bundle = loadBundle(resumeId, userId);
-        return htmlGenerator.generate(bundle, bundle.resume().getTemplateKey());
+        String templateKey = bundle.resume().getTemplateKey();
+        return out -> htmlGenerator.generate(bundle, templateKey, out);
     }
 
+    /** Render the PDF into the temp store; identical concurrent requests share one render and token. */
     @Transactional(readOnly = true)
     public ExportResponse generatePdf(Long resumeId, Long userId) {
         ResumeBundle bundle = loadBundle(resumeId, userId);
+        return coalescer.run("resume-pdf", coalescingKey(bundle), () -> doGeneratePdf(bundle));
+    }
+
+    private ExportResponse doGeneratePdf(ResumeBundle bundle) {
         String html = htmlGenerator.generateForPdf(bundle, bundle.resume().getTemplateKey());
-        byte[] pdf = renderPdf(html);
+        byte[] pdf = renderPool.render(html).toByteArray();
         String token = tempStore.store(pdf);
         String downloadUrl = baseUrl + "/api/v1/export/download/" + token;
         log.info("Generated resume PDF ({}KB) token={}", pdf.length / 1024, token);
         return new ExportResponse(token, downloadUrl, bundle.resume().getTemplateKey());
     }
 
-    /** Returns PDF as base64 string for in-app rendering. */
+    /**
+     * Render the PDF for in-app viewing. The render completes on the pool before the
+     * response is committed (a busy pool is a 429, a failure a normal error), so writing
+     * the bytes never fails on a render error and a slow client never holds a render slot.
+     * Identical concurrent requests share the HTML; each renders its own copy.
+     */
     @Transactional(readOnly = true)
-    public String generatePdfBase64(Long resumeId, Long userId) {
+    public RenderedPdf streamPdf(Long resumeId, Long userId) {
         ResumeBundle bundle = loadBundle(resumeId, userId);
-        String html = htmlGenerator.generateForPdf(bundle, bundle.resume().getTemplateKey());
-        byte[] pdf = renderPdf(html);
-        return java.util.Base64.getEncoder().encodeToString(pdf);
+        String html = coalescer.run("resume-pdf-html", coalescingKey(bundle),
+                () -> htmlGenerator.generateForPdf(bundle, bundle.resume().getTemplateKey()));
+        return renderPool.render(html);
     }
 
     /** Preview HTML for a specific template key (without changing the resume's saved template). */
     @Transactional(readOnly = true)
-    public String previewHtmlWithTemplate(Long resumeId, Long userId, String templateKey) {
+    public HtmlStream previewHtmlWithTemplate(Long resumeId, Long userId, String templateKey) {
         ResumeBundle bundle = loadBundle(resumeId, userId);
-        return htmlGenerator.generate(bundle, templateKey);
+        return out -> htmlGenerator.generate(bundle, templateKey, out);
     }
 
     /** Returns available template metadata */
@@ -269,17 +290,11 @@ public class ResumeService {
         return result;
     }
 
-    private byte[] renderPdf(String html) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PdfRendererBuilder builder = new PdfRendererBuilder();
-            builder.useFastMode();
-            builder.withHtmlContent(html, null);
-            builder.toStream(baos);
-            builder.run();
-            return baos.toByteArray();
-        } catch (Exception e) {
-            log.error("Resume PDF render failed", e);
-            throw new RuntimeException("PDF generation failed: " + e.getMessage(), e);
-        }
+    /**
+     * Resume, owner and the loaded content as data version: the selected items are
+     * portfolio rows whose edits never touch {@code Resume.updatedAt}.
+     */
+    private static List<Object> coalescingKey(ResumeBundle bundle) {
+        return Arrays.asList(bundle.resume().getId(), bundle.user().getId(), bundle.contentVersion());
     }
 }
@@ -0,0 +1,88 @@
+package com.openfolio.shared.html;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Memoised HTML fragments (one experience, one project, a skills block, ...) shared by
+ * the portfolio and resume generators, so re-rendering a page only rebuilds the entities
+ * that actually changed.
+ *
+ * <p>Keys are value lists of the fragment variant plus every field the fragment is
+ * rendered from — not an {@code updatedAt}: most entities don't have one, and exports
+ * swap in AI-rewritten descriptions without touching it. Equal keys therefore always mean
+ * identical markup. Entries are evicted least-recently-used beyond
+ * {@code app.html.fragment-cache.max-entries}; 0 disables the cache.
+ */
+@Component
+public class HtmlFragmentCache {
+
+    private final int maxEntries;
+    private final Map<List<Object>, String> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public HtmlFragmentCache(MeterRegistry registry,
+                             @Value("${app.html.fragment-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("openfolio.html.fragment.cache")
+                .tag("result", "hit").register(registry);
+        this.misses = Counter.builder("openfolio.html.fragment.cache")
+                .tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("openfolio.html.fragment.cache.evictions").register(registry);
+        Gauge.builder("openfolio.html.fragment.cache.entries", this, HtmlFragmentCache::size)
+                .register(registry);
+    }
+
+    /**
+     * A cache key from the fragment variant and the values it is rendered from. Nulls are
+     * allowed; mutable arguments (e.g. lists) must be copies the caller won't modify.
+     */
+    public static List<Object> key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    /** The cached fragment for {@code key}, or render it and cache the result. */
+    public String get(List<Object> key, Supplier<String> renderer) {
+        if (maxEntries <= 0) return renderer.get();
+        String cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        String html = renderer.get();
+        store(key, html);
+        return html;
+    }
+
+    private synchronized String lookup(List<Object> key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(List<Object> key, String html) {
+        entries.put(key, html);
+        Iterator<List<Object>> it = entries.keySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
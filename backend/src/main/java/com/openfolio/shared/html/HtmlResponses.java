@@ -0,0 +1,35 @@
+package com.openfolio.shared.html;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Responses for the HTML page endpoints (previews and public portfolios).
+ *
+ * <p>The page is encoded to UTF-8 as it is generated and goes out chunked once the
+ * container's buffer fills — no full-page {@code String} or byte array is built. Load the
+ * data before calling this so not-found and access errors still map to normal error
+ * responses instead of a half-written page.
+ */
+public final class HtmlResponses {
+
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    private HtmlResponses() {}
+
+    public static ResponseEntity<StreamingResponseBody> ok(HtmlStream html) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_HTML_UTF8)
+                .body(out -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    html.writeTo(writer);
+                    writer.flush();
+                });
+    }
+}
@@ -0,0 +1,13 @@
+package com.openfolio.shared.html;
+
+import java.io.IOException;
+
+/**
+ * An HTML page that is ready to be written: the data is already loaded, and the markup
+ * is generated straight into the given {@link Appendable}.
+ */
+@FunctionalInterface
+public interface HtmlStream {
+
+    void writeTo(Appendable out) throws IOException;
+}
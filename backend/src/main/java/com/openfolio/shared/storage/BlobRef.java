@@ -0,0 +1,20 @@
+package com.openfolio.shared.storage;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** How many rows point at a blob; see {@link BlobReferences}. */
+@Entity
+@Table(name = "blob_refs")
+@Getter @Setter @NoArgsConstructor
+public class BlobRef {
+
+    @Id
+    @Column(name = "blob_key", length = 64)
+    private String blobKey;
+
+    @Column(nullable = false)
+    private int refs;
+}
@@ -0,0 +1,28 @@
+package com.openfolio.shared.storage;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BlobRefRepository extends JpaRepository<BlobRef, String> {
+
+    /** Add a reference, creating the row on first use; locks the row until the transaction ends. */
+    @Modifying
+    @Query(value = "INSERT INTO blob_refs (blob_key, refs) VALUES (:key, 1) "
+            + "ON DUPLICATE KEY UPDATE refs = refs + 1", nativeQuery = true)
+    int increment(@Param("key") String key);
+
+    @Modifying
+    @Query("UPDATE BlobRef b SET b.refs = b.refs - 1 WHERE b.blobKey = :key AND b.refs > 0")
+    int decrement(@Param("key") String key);
+
+    /** Locks the row (or, if there is none, the gap it would go in) until the transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BlobRef b WHERE b.blobKey = :key")
+    Optional<BlobRef> findByKeyWithLock(@Param("key") String key);
+}
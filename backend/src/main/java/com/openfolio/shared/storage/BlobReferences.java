@@ -0,0 +1,81 @@
+package com.openfolio.shared.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reference counts for shared {@link BlobStore} blobs, kept in {@code blob_refs} and
+ * changed in the same transaction as the rows that point at the blobs.
+ *
+ * <p>{@link #store} counts the reference before writing the blob, and the count's row
+ * lock is held until the caller commits. A blob is only deleted after a commit or
+ * rollback has left its count at zero, and the delete happens under the same row lock.
+ * So a delete and a concurrent save of identical bytes take turns: either the delete
+ * finishes first and the save writes the blob again, or the save's reference is seen
+ * and the blob is kept. A save that rolls back leaves no orphaned blob.
+ */
+@Component
+public class BlobReferences {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobReferences.class);
+
+    private final BlobRefRepository refs;
+    private final BlobStore blobStore;
+    private final TransactionTemplate requiresNew;
+
+    public BlobReferences(BlobRefRepository refs, BlobStore blobStore,
+                          PlatformTransactionManager transactionManager) {
+        this.refs = refs;
+        this.blobStore = blobStore;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Store {@code data} and add a reference to it in the caller's transaction; returns its key. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String store(byte[] data) {
+        String key = BlobStore.keyOf(data);
+        refs.increment(key);
+        blobStore.put(data);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) collect(key);
+            }
+        });
+        return key;
+    }
+
+    /** Drop a reference in the caller's transaction; the blob goes once the last one is committed away. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String key) {
+        refs.decrement(key);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) collect(key);
+            }
+        });
+    }
+
+    /** Delete the blob if nothing references it, holding its count's lock while doing so. */
+    void collect(String key) {
+        try {
+            requiresNew.executeWithoutResult(tx -> {
+                BlobRef ref = refs.findByKeyWithLock(key).orElse(null);
+                if (ref != null && ref.getRefs() > 0) return;
+                blobStore.delete(key);
+                if (ref != null) refs.delete(ref);
+            });
+        } catch (Exception e) {
+            log.warn("Could not collect blob {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.openfolio.shared.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed storage for large binary objects (PDFs, thumbnails) that should not
+ * live in MySQL rows. Blobs are keyed by the lowercase hex SHA-256 of their content, so
+ * storing the same bytes twice yields the same key and a single stored copy.
+ */
+public interface BlobStore {
+
+    /** Store {@code data} (if not already present) and return its SHA-256 key. */
+    String put(byte[] data);
+
+    boolean exists(String key);
+
+    /** Size in bytes, or -1 if the blob does not exist. */
+    long size(String key);
+
+    /**
+     * Open the blob for one response, or {@code null} if it does not exist. Take this before
+     * committing response headers: its size and content stay valid even if the blob is
+     * deleted while the body is being written. Close it when done.
+     */
+    Blob openBlob(String key) throws IOException;
+
+    /**
+     * Remove the blob if present. Callers are responsible for checking it is unreferenced;
+     * shared blobs go through {@link BlobReferences}.
+     */
+    void delete(String key);
+
+    /** A blob opened for reading, see {@link #openBlob}. */
+    interface Blob extends Closeable {
+
+        long size();
+
+        /** Copy {@code length} bytes starting at {@code offset} to {@code out}, stopping at the end. */
+        void transferTo(long offset, long length, OutputStream out) throws IOException;
+
+        /** Copy the whole blob to {@code out}. */
+        default void transferTo(OutputStream out) throws IOException {
+            transferTo(0, size(), out);
+        }
+    }
+
+    /** The key {@link #put} stores {@code data} under. */
+    static String keyOf(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.openfolio.shared.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BlobStore} on the local (or mounted) filesystem. Blobs live at
+ * {@code <root>/<ab>/<cd>/<sha256>} and are written via a temp file plus atomic rename,
+ * so readers never see a partial blob.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.blob.type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSystemBlobStore.class);
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public FileSystemBlobStore(@Value("${app.storage.blob.dir:./data/blobs}") String root) {
+        this.root = Path.of(root).toAbsolutePath();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create blob directory " + this.root, e);
+        }
+        log.info("Filesystem blob store at {}", this.root);
+    }
+
+    @Override
+    public String put(byte[] data) {
+        String key = BlobStore.keyOf(data);
+        Path file = pathFor(key);
+        if (Files.exists(file)) return key;
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(key + "." + UUID.randomUUID() + ".tmp");
+            Files.write(tmp, data);
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob " + key, e);
+        }
+        return key;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(pathFor(key));
+    }
+
+    @Override
+    public long size(String key) {
+        try {
+            return Files.size(pathFor(key));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public Blob openBlob(String key) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(pathFor(key), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            return new FileBlob(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(pathFor(key));
+        } catch (IOException e) {
+            log.warn("Could not delete blob {}: {}", key, e.getMessage());
+        }
+    }
+
+    /** An open channel on a blob file, readable even after the file is deleted. */
+    private static final class FileBlob implements Blob {
+        private final FileChannel channel;
+        private final long size;
+
+        FileBlob(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void transferTo(long offset, long length, OutputStream out) throws IOException {
+            long end = Math.min(size, offset + Math.min(length, size));
+            long position = offset;
+            var target = Channels.newChannel(out);
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) throw new EOFException("Blob ended at " + position + " of " + end + " bytes");
+                position += sent;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private Path pathFor(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
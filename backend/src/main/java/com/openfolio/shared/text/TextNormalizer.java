@@ -0,0 +1,543 @@
+package com.openfolio.shared.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written scanners for the text clean-up that used to be done with chains of
+ * {@code replaceAll} calls: README markdown stripping, model-output bullet clean-up,
+ * bullet splitting, whitespace collapsing and HTML escaping.
+ *
+ * <p>Every method reproduces the output of the regex chain it replaced exactly (see
+ * {@code TextNormalizerTest}), but runs in linear time without compiling
+ * patterns or allocating an intermediate string per rule. Whitespace follows the regex
+ * definitions: {@code \s} is {@code [ \t\n\x0B\f\r]}, {@code trim()} drops chars
+ * {@code <= ' '}, {@code strip()}/{@code isBlank()} use {@link Character#isWhitespace}.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {}
+
+    // ─── README markdown → plain text ─────────────────────────────────────────
+
+    /**
+     * Markdown to plain text for the portfolio "About" section: drops code, images, HTML
+     * tags, heading marks and rules, unwraps links and emphasis, turns list markers into
+     * "• " and squeezes runs of blank lines.
+     *
+     * <p>Each rule is one in-place compaction sweep over a single buffer, applied in the
+     * original order — a rule may act on text an earlier one exposed (e.g. {@code #<br> x}
+     * loses its heading mark once the tag is gone), which a single combined sweep can't
+     * reproduce. Every rule only ever shrinks the text, so nothing is reallocated.
+     */
+    public static String stripMarkdown(String raw) {
+        char[] buf = raw.toCharArray();
+        int len = buf.length;
+        len = removeFencedBlocks(buf, len);   // (?s)```.*?```
+        len = removeInlineCode(buf, len);     // `[^`]+`
+        len = removeImages(buf, len);         // !\[.*?\]\(.*?\)
+        len = removeTags(buf, len);           // <[^>]+>
+        len = unwrapLinks(buf, len);          // \[([^\]]+)\]\([^)]+\) -> $1
+        len = removeHeadingMarks(buf, len);   // #{1,6}\s+
+        len = unwrapEmphasis(buf, len);       // \*{1,3}([^*]+)\*{1,3} -> $1
+        len = removeRules(buf, len);          // -{3,}|={3,}
+        len = replaceListMarkers(buf, len);   // (?m)^[-*+]\s+ -> "• "
+        len = squeezeBlankLines(buf, len);    // \n{3,} -> \n\n
+        int start = 0;
+        while (start < len && buf[start] <= ' ') start++;
+        while (len > start && buf[len - 1] <= ' ') len--;
+        return new String(buf, start, len - start);
+    }
+
+    private static int removeFencedBlocks(char[] buf, int len) {
+        int r = 0, w = 0;
+        while (r < len) {
+            int open = indexOfTriple(buf, len, r, '`');
+            if (open < 0) break;
+            int close = indexOfTriple(buf, len, open + 3, '`');
+            if (close < 0) break;
+            w = move(buf, r, open, w);
+            r = close + 3;
+        }
+        return move(buf, r, len, w);
+    }
+
+    private static int removeInlineCode(char[] buf, int len) {
+        int r = 0, w = 0, i = 0;
+        while (i < len) {
+            int open = indexOf(buf, len, i, '`');
+            if (open < 0 || open + 1 >= len) break;
+            if (buf[open + 1] == '`') {
+                i = open + 1;
+                continue;
+            }
+            int close = indexOf(buf, len, open + 1, '`');
+            if (close < 0) break;
+            w = move(buf, r, open, w);
+            r = i = close + 1;
+        }
+        return move(buf, r, len, w);
+    }
+
+    private static int removeImages(char[] buf, int len) {
+        int r = 0, w = 0, i = 0;
+        while (i + 1 < len) {
+            if (buf[i] != '!' || buf[i + 1] != '[') {
+                i++;
+                continue;
+            }
+            // '.' stops at line terminators: find the first "](" and then the first ')'
+            // on this line. If either is missing, no later "![" on the line can match.
+            int k = i + 2;
+            while (k < len && !isLineTerminator(buf[k]) && !(buf[k] == ']' && k + 1 < len && buf[k + 1] == '(')) k++;
+            int end = -1;
+            if (k < len && buf[k] == ']') {
+                int m = k + 2;
+                while (m < len && !isLineTerminator(buf[m]) && buf[m] != ')') m++;
+                if (m < len && buf[m] == ')') end = m + 1;
+                else k = m;
+            }
+            if (end < 0) {
+                i = k;
+                continue;
+            }
+            w = move(buf, r, i, w);
+            r = i = end;
+        }
+        return move(buf, r, len, w);
+    }
+
+    private static int removeTags(char[] buf, int len) {
+        int r = 0, w = 0, i = 0;
+        while (i < len) {
+            int open = indexOf(buf, len, i, '<');
+            if (open < 0 || open + 1 >= len) break;
+            if (buf[open + 1] == '>') {
+                i = open + 1;
+                continue;
+            }
+            int close = indexOf(buf, len, open + 1, '>');
+            if (close < 0) break;
+            w = move(buf, r, open, w);
+            r = i = close + 1;
+        }
+        return move(buf, r, len, w);
+    }
+
+    private static int unwrapLinks(char[] buf, int len) {
+        int r = 0, w = 0, i = 0;
+        while (i < len) {
+            int open = indexOf(buf, len, i, '[');
+            if (open < 0) break;
+            int close = indexOf(buf, len, open + 1, ']');
+            if (close < 0) break;
+            if (close == open + 1) {
+                i = close;
+                continue;
+            }
+            // Every '[' before the ']' shares it, so they all fail the same way.
+            if (close + 2 >= len || buf[close + 1] != '(' || buf[close + 2] == ')') {
+                i = close + 1;
+                continue;
+            }
+            int paren = indexOf(buf, len, close + 3, ')');
+            if (paren < 0) break;
+            w = move(buf, r, open, w);
+            w = move(buf, open + 1, close, w);
+            r = i = paren + 1;
+        }
+        return move(buf, r, len, w);
+    }
+
+    private static int removeHeadingMarks(char[] buf, int len) {
+        int r = 0, w = 0, i = 0;
+        while (i < len) {
+            if (buf[i] != '#') {
+                i++;
+                continue;
+            }
+            int end = runEnd(buf, len, i, '#');
+            if (end < len && isRegexSpace(buf[end])) {
+                // #{1,6} can't start inside a longer run, so only the last six marks go.
+                w = move(buf, r, Math.max(i, end - 6), w);
+                i = end;
+                while (i < len && isRegexSpace(buf[i])) i++;
+                r = i;
+            } else {
+                i = end;
+            }
+        }
+        return move(buf, r, len, w);
+    }
+
+    private static int unwrapEmphasis(char[] buf, int len) {
+        int r = 0, w = 0, i = 0;
+        while (i < len) {
+            if (buf[i] != '*') {
+                i++;
+                continue;
+            }
+            int end = runEnd(buf, len, i, '*');
+            int close = end < len ? indexOf(buf, len, end, '*') : -1;
+            if (close < 0) break;   // no closing '*' anywhere: nothing further can match
+            int closeEnd = Math.min(runEnd(buf, len, close, '*'), close + 3);
+            w = move(buf, r, Math.max(i, end - 3), w);
+            w = move(buf, end, close, w);
+            r = i = closeEnd;
+        }
+        return move(buf, r, len, w);
+    }
+
+    private static int removeRules(char[] buf, int len) {
+        int r = 0, w = 0, i = 0;
+        while (i < len) {
+            char c = buf[i];
+            if (c != '-' && c != '=') {
+                i++;
+                continue;
+            }
+            int end = runEnd(buf, len, i, c);
+            if (end - i >= 3) {
+                w = move(buf, r, i, w);
+                r = end;
+            }
+            i = end;
+        }
+        return move(buf, r, len, w);
+    }
+
+    private static int replaceListMarkers(char[] buf, int len) {
+        int r = 0, w = 0;
+        char prev = 0;   // the input char before r — the output may already have overwritten it
+        while (r < len) {
+            char c = buf[r];
+            if ((c == '-' || c == '*' || c == '+') && r + 1 < len && isRegexSpace(buf[r + 1])
+                    && (r == 0 || isLineStart(prev, c))) {
+                int end = r + 2;
+                while (end < len && isRegexSpace(buf[end])) end++;
+                prev = buf[end - 1];
+                buf[w++] = '•';
+                buf[w++] = ' ';
+                r = end;
+            } else {
+                prev = c;
+                buf[w++] = buf[r++];
+            }
+        }
+        return w;
+    }
+
+    private static int squeezeBlankLines(char[] buf, int len) {
+        int r = 0, w = 0, i = 0;
+        while (i < len) {
+            if (buf[i] != '\n') {
+                i++;
+                continue;
+            }
+            int end = runEnd(buf, len, i, '\n');
+            if (end - i >= 3) {
+                w = move(buf, r, i + 2, w);
+                r = end;
+            }
+            i = end;
+        }
+        return move(buf, r, len, w);
+    }
+
+    // ─── Model output ─────────────────────────────────────────────────────────
+
+    /**
+     * One clean line per bullet from a model's answer: strips leading numbering
+     * ({@code 1.}, {@code 2)}), bullet markers and every {@code *}, trims each line and
+     * drops blank ones.
+     */
+    public static String cleanBulletLines(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            int end = i;
+            while (end < n && text.charAt(end) != '\n' && text.charAt(end) != '\r') end++;
+            appendCleanLine(out, text, i, end);
+            i = end;
+            if (i < n) i += text.charAt(i) == '\r' && i + 1 < n && text.charAt(i + 1) == '\n' ? 2 : 1;
+        }
+        return out.toString();
+    }
+
+    private static void appendCleanLine(StringBuilder out, String s, int from, int to) {
+        // ^\d+[.)\s]+
+        int p = from;
+        while (p < to && s.charAt(p) >= '0' && s.charAt(p) <= '9') p++;
+        if (p > from && p < to && isNumberingSuffix(s.charAt(p))) {
+            while (p < to && isNumberingSuffix(s.charAt(p))) p++;
+        } else {
+            p = from;
+        }
+        // ^[-•*>]+\s*
+        int q = p;
+        while (q < to && isBulletMarker(s.charAt(q))) q++;
+        if (q > p) {
+            while (q < to && isRegexSpace(s.charAt(q))) q++;
+            p = q;
+        }
+        // \*+ removed, then trim(): skip '*' and chars <= ' ' at both ends
+        int a = p, b = to;
+        while (a < b && (s.charAt(a) == '*' || s.charAt(a) <= ' ')) a++;
+        while (b > a && (s.charAt(b - 1) == '*' || s.charAt(b - 1) <= ' ')) b--;
+        boolean blank = true;
+        for (int k = a; k < b && blank; k++) {
+            char c = s.charAt(k);
+            if (c != '*' && !Character.isWhitespace(c)) blank = false;
+        }
+        if (blank) return;
+        if (!out.isEmpty()) out.append('\n');
+        for (int k = a; k < b; k++) {
+            char c = s.charAt(k);
+            if (c != '*') out.append(c);
+        }
+    }
+
+    /**
+     * A model answer without markdown code fences, trimmed: a {@code ```} at the start of a
+     * line goes together with its language tag ({@code [a-z]*}) and one {@code \n}; any
+     * other {@code ```} goes on its own.
+     */
+    public static String stripCodeFences(String raw) {
+        int from = 0, to = raw.length();
+        while (from < to && raw.charAt(from) <= ' ') from++;
+        while (to > from && raw.charAt(to - 1) <= ' ') to--;
+        if (raw.indexOf("```", from) < 0) return raw.substring(from, to);
+
+        // (?m)^```[a-z]*\n? -> "", matched against the trimmed text
+        StringBuilder fenced = new StringBuilder(to - from);
+        int i = from;
+        while (i < to) {
+            if (isTriple(raw, i, to) && (i == from || isLineStart(raw.charAt(i - 1), '`'))) {
+                i += 3;
+                while (i < to && raw.charAt(i) >= 'a' && raw.charAt(i) <= 'z') i++;
+                if (i < to && raw.charAt(i) == '\n') i++;
+            } else {
+                fenced.append(raw.charAt(i++));
+            }
+        }
+        // .replace("```", "") on what is left, then trim()
+        StringBuilder out = new StringBuilder(fenced.length());
+        int n = fenced.length();
+        for (int k = 0; k < n; ) {
+            if (isTriple(fenced, k, n)) k += 3;
+            else out.append(fenced.charAt(k++));
+        }
+        int a = 0, b = out.length();
+        while (a < b && out.charAt(a) <= ' ') a++;
+        while (b > a && out.charAt(b - 1) <= ' ') b--;
+        return out.substring(a, b);
+    }
+
+    /**
+     * {@code text} without a leading "{@code <name> is|has }" (ASCII case-insensitive),
+     * which models like to open a third-person summary with.
+     */
+    public static String stripLeadingSubject(String text, String name) {
+        int n = text.length();
+        int i = name.length();
+        if (i > n || !regionMatchesAsciiIgnoreCase(text, 0, name)) return text;
+        int spaces = i;
+        while (i < n && isRegexSpace(text.charAt(i))) i++;
+        if (i == spaces) return text;
+        if (regionMatchesAsciiIgnoreCase(text, i, "is")) i += 2;
+        else if (regionMatchesAsciiIgnoreCase(text, i, "has")) i += 3;
+        else return text;
+        int verbEnd = i;
+        while (i < n && isRegexSpace(text.charAt(i))) i++;
+        return i == verbEnd ? text : text.substring(i);
+    }
+
+    // ─── Generator helpers ────────────────────────────────────────────────────
+
+    /**
+     * Resume bullets from a free-text description: one per line (markers stripped), or
+     * one per sentence when there are no line breaks, or the whole text.
+     */
+    public static String[] splitBullets(String text) {
+        if (text == null || text.isBlank()) return new String[0];
+        int from = stripStart(text), to = stripEnd(text, from);
+
+        if (text.indexOf('\n', from) >= 0 && text.indexOf('\n', from) < to) {
+            List<String> bullets = new ArrayList<>();
+            int start = from;
+            while (start <= to) {
+                int nl = text.indexOf('\n', start);
+                int end = nl < 0 || nl > to ? to : nl;
+                int p = start;
+                while (p < end && isBulletMarker(text.charAt(p))) p++;
+                if (p > start) while (p < end && isRegexSpace(text.charAt(p))) p++;
+                addTrimmed(bullets, text, p, end);
+                start = end + 1;
+            }
+            return bullets.toArray(String[]::new);
+        }
+
+        // Split where [.!?] is followed by whitespace and an upper-case ASCII letter.
+        List<String> sentences = new ArrayList<>();
+        int start = from;
+        for (int i = from + 1; i < to; i++) {
+            char prev = text.charAt(i - 1);
+            if ((prev != '.' && prev != '!' && prev != '?') || !isRegexSpace(text.charAt(i))) continue;
+            int j = i;
+            while (j < to && isRegexSpace(text.charAt(j))) j++;
+            if (j < to && text.charAt(j) >= 'A' && text.charAt(j) <= 'Z') {
+                addTrimmed(sentences, text, start, i);
+                start = j;
+            }
+            i = j - 1;
+        }
+        if (start == from) return new String[]{ text.substring(from, to) };
+        addTrimmed(sentences, text, start, to);
+        return sentences.toArray(String[]::new);
+    }
+
+    /** Stripped, with every whitespace run collapsed to a single space; "" for blank input. */
+    public static String collapseWhitespace(String raw) {
+        if (raw == null || raw.isBlank()) return "";
+        int from = stripStart(raw), to = stripEnd(raw, from);
+        StringBuilder out = null;
+        int copied = from;
+        for (int i = from; i < to; i++) {
+            if (!isRegexSpace(raw.charAt(i))) continue;
+            int j = i + 1;
+            while (j < to && isRegexSpace(raw.charAt(j))) j++;
+            if (j == i + 1 && raw.charAt(i) == ' ') continue;   // already a single space
+            if (out == null) out = new StringBuilder(to - from);
+            out.append(raw, copied, i).append(' ');
+            copied = j;
+            i = j - 1;
+        }
+        if (out == null) return raw.substring(from, to);
+        return out.append(raw, copied, to).toString();
+    }
+
+    /** HTML-escapes {@code & < > "}; returns the string itself when nothing needs escaping. */
+    public static String escapeHtml(Object o) {
+        if (o == null) return "";
+        String s = o.toString();
+        int n = s.length();
+        int i = 0;
+        while (i < n && !needsEscape(s.charAt(i))) i++;
+        if (i == n) return s;
+        StringBuilder out = new StringBuilder(n + 16).append(s, 0, i);
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                default  -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    // ─── Internals ────────────────────────────────────────────────────────────
+
+    /** Moves {@code buf[from, to)} down to {@code w}; returns the new write position. */
+    private static int move(char[] buf, int from, int to, int w) {
+        int n = to - from;
+        if (n <= 0) return w;
+        if (from != w) System.arraycopy(buf, from, buf, w, n);
+        return w + n;
+    }
+
+    private static int indexOf(char[] buf, int len, int from, char c) {
+        for (int i = from; i < len; i++) if (buf[i] == c) return i;
+        return -1;
+    }
+
+    private static int indexOfTriple(char[] buf, int len, int from, char c) {
+        for (int i = from; i + 2 < len; i++)
+            if (buf[i] == c && buf[i + 1] == c && buf[i + 2] == c) return i;
+        return -1;
+    }
+
+    private static boolean isTriple(CharSequence s, int i, int len) {
+        return i + 2 < len && s.charAt(i) == '`' && s.charAt(i + 1) == '`' && s.charAt(i + 2) == '`';
+    }
+
+    private static int runEnd(char[] buf, int len, int from, char c) {
+        int i = from;
+        while (i < len && buf[i] == c) i++;
+        return i;
+    }
+
+    /** {@code \s} in {@link java.util.regex.Pattern} (no UNICODE_CHARACTER_CLASS). */
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /** The characters {@code .} doesn't match without DOTALL. */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /** Whether a MULTILINE {@code ^} matches before {@code c}, given the char before it. */
+    private static boolean isLineStart(char prev, char c) {
+        if (prev == '\r') return c != '\n';
+        return prev == '\n' || prev == '\u0085' || prev == '\u2028' || prev == '\u2029';
+    }
+
+    private static boolean isBulletMarker(char c) {
+        return c == '-' || c == '•' || c == '*' || c == '>';
+    }
+
+    private static boolean isNumberingSuffix(char c) {
+        return c == '.' || c == ')' || isRegexSpace(c);
+    }
+
+    private static boolean needsEscape(char c) {
+        return c == '&' || c == '<' || c == '>' || c == '"';
+    }
+
+    private static boolean regionMatchesAsciiIgnoreCase(String s, int offset, String other) {
+        if (offset + other.length() > s.length()) return false;
+        for (int k = 0; k < other.length(); k++)
+            if (asciiLower(s.charAt(offset + k)) != asciiLower(other.charAt(k))) return false;
+        return true;
+    }
+
+    private static char asciiLower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+    }
+
+    /** {@code s.substring(from, to).trim()} added unless blank. */
+    private static void addTrimmed(List<String> out, String s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') from++;
+        while (to > from && s.charAt(to - 1) <= ' ') to--;
+        for (int k = from; k < to; k++) {
+            if (!Character.isWhitespace(s.charAt(k))) {
+                out.add(s.substring(from, to));
+                return;
+            }
+        }
+    }
+
+    private static int stripStart(String s) {
+        int i = 0;
+        while (i < s.length()) {
+            int cp = s.codePointAt(i);
+            if (!Character.isWhitespace(cp)) break;
+            i += Character.charCount(cp);
+        }
+        return i;
+    }
+
+    private static int stripEnd(String s, int from) {
+        int i = s.length();
+        while (i > from) {
+            int cp = s.codePointBefore(i);
+            if (!Character.isWhitespace(cp)) break;
+            i -= Character.charCount(cp);
+        }
+        return i;
+    }
+}
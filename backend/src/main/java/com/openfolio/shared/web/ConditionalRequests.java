@@ -0,0 +1,96 @@
+package com.openfolio.shared.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import java.util.List;
+
+/**
+ * HTTP validator and byte-range helpers for endpoints that serve immutable,
+ * content-addressed files (ETag = content hash).
+ */
+public final class ConditionalRequests {
+
+    /** Marker returned by {@link #byteRange} for 416 Range Not Satisfiable. */
+    public static final long[] UNSATISFIABLE = new long[0];
+
+    private ConditionalRequests() {}
+
+    /** Strong ETag for a content hash. */
+    public static String etag(String contentHash) {
+        return "\"" + contentHash + "\"";
+    }
+
+    /**
+     * Whether the client's cached copy is current. {@code If-None-Match} wins when present
+     * (weak comparison, as RFC 9110 requires for it); otherwise {@code If-Modified-Since}
+     * is compared at one-second precision.
+     */
+    public static boolean notModified(HttpHeaders request, String etag, long lastModifiedMillis) {
+        List<String> ifNoneMatch;
+        try {
+            ifNoneMatch = request.getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            ifNoneMatch = List.of();
+        }
+        if (!ifNoneMatch.isEmpty()) {
+            String opaque = stripWeak(etag);
+            for (String candidate : ifNoneMatch) {
+                if ("*".equals(candidate.trim()) || opaque.equals(stripWeak(candidate.trim()))) return true;
+            }
+            return false;
+        }
+        long ifModifiedSince = safeDate(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModifiedMillis / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * The single byte range to serve, or {@code null} to send the whole entity: no or
+     * unparsable {@code Range}, multiple ranges, or an {@code If-Range} that no longer
+     * matches. A range starting past the end yields {@link #UNSATISFIABLE}.
+     *
+     * @return {@code [start, endInclusive]}, {@code null}, or {@link #UNSATISFIABLE}
+     */
+    public static long[] byteRange(HttpHeaders request, String etag, long lastModifiedMillis, long length) {
+        String header = request.getFirst(HttpHeaders.RANGE);
+        if (header == null || length <= 0) return null;
+
+        String ifRange = request.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            boolean current = ifRange.trim().startsWith("\"") || ifRange.trim().startsWith("W/")
+                    ? ifRange.trim().equals(etag)  // If-Range requires strong comparison
+                    : safeDate(request, HttpHeaders.IF_RANGE) / 1000 == lastModifiedMillis / 1000;
+            if (!current) return null;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (ranges.size() != 1) return null;
+
+        HttpRange range = ranges.get(0);
+        try {
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            if (start >= length || start > end) return UNSATISFIABLE;
+            return new long[] {start, end};
+        } catch (IllegalArgumentException e) {
+            return UNSATISFIABLE;
+        }
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static long safeDate(HttpHeaders request, String name) {
+        try {
+            return request.getFirstDate(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+-- ============================================================
+-- V018: Move saved resume PDFs out of MySQL into the blob store.
+-- Rows now reference their PDF by SHA-256 (pdf_hash); pdf_data
+-- becomes nullable and is cleared by the startup backfill once
+-- the blob has been copied out.
+-- blob_refs counts the rows pointing at each blob: identical
+-- PDFs (or thumbnails) share one, and it is deleted only once
+-- its count reaches zero. The backfill counts the blobs it
+-- copies out, so it starts empty.
+-- ============================================================
+
+SET @col_exists = (SELECT COUNT(*) FROM information_schema.columns
+                   WHERE table_schema = DATABASE()
+                     AND table_name   = 'saved_resumes'
+                     AND column_name  = 'pdf_hash');
+SET @sql = IF(@col_exists = 0,
+  'ALTER TABLE saved_resumes ADD COLUMN pdf_hash CHAR(64) NULL AFTER file_size_bytes, ADD INDEX idx_saved_resume_pdf_hash (pdf_hash)',
+  'SELECT 1');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE saved_resumes MODIFY COLUMN pdf_data LONGBLOB NULL;
+
+CREATE TABLE IF NOT EXISTS blob_refs (
+    blob_key VARCHAR(64) NOT NULL,
+    refs     INT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (blob_key)
+);
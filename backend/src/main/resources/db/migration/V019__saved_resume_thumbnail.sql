@@ -0,0 +1,16 @@
+-- ============================================================
+-- V019: First-page thumbnails for saved resumes.
+-- The PNG lives in the blob store next to the PDF; rows saved
+-- before this get theirs rendered on first request.
+-- ============================================================
+
+SET @col_exists = (SELECT COUNT(*) FROM information_schema.columns
+                   WHERE table_schema = DATABASE()
+                     AND table_name   = 'saved_resumes'
+                     AND column_name  = 'thumbnail_hash');
+SET @sql = IF(@col_exists = 0,
+  'ALTER TABLE saved_resumes ADD COLUMN thumbnail_hash CHAR(64) NULL AFTER pdf_hash',
+  'SELECT 1');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
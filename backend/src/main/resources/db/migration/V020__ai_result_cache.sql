@@ -0,0 +1,18 @@
+-- ============================================================
+-- V020: AI results keyed by what they were generated from.
+-- cache_key is the SHA-256 of (model, prompt version, kind,
+-- normalised inputs), so identical inputs on any portfolio —
+-- or on rows recreated by a re-import — reuse one answer.
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS ai_result_cache (
+    cache_key      CHAR(64)    NOT NULL,
+    kind           VARCHAR(32) NOT NULL,
+    model          VARCHAR(64) NOT NULL,
+    prompt_version INT         NOT NULL,
+    result         MEDIUMTEXT  NOT NULL,
+    created_at     DATETIME    NOT NULL,
+    expires_at     DATETIME    NOT NULL,
+    PRIMARY KEY (cache_key),
+    KEY idx_ai_result_cache_expires (expires_at)
+);
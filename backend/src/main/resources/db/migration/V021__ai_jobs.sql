@@ -0,0 +1,31 @@
+-- ============================================================
+-- V021: Persistent AI work queue.
+-- dedupe_key ("<type>:<target_id>") is set while a job is
+-- queued or running and cleared once it fails for good, so the
+-- unique key allows one live job per project / summary.
+-- Finished jobs are deleted; queued ones survive restarts.
+-- Workers pick the user most owed a turn among everyone with
+-- runnable jobs at the top priority, then take that user's
+-- oldest jobs, so both queries filter on user_id.
+-- ============================================================
+
+CREATE TABLE IF NOT EXISTS ai_jobs (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    type           VARCHAR(32)  NOT NULL,
+    target_id      BIGINT       NOT NULL,
+    user_id        BIGINT       NOT NULL,
+    priority       INT          NOT NULL,
+    replace_source BOOLEAN      NOT NULL DEFAULT FALSE,
+    status         VARCHAR(16)  NOT NULL,
+    dedupe_key     VARCHAR(64)  NULL,
+    attempts       INT          NOT NULL DEFAULT 0,
+    last_error     VARCHAR(500) NULL,
+    created_at     DATETIME     NOT NULL,
+    run_after      DATETIME     NOT NULL,
+    started_at     DATETIME     NULL,
+    finished_at    DATETIME     NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_ai_jobs_dedupe (dedupe_key),
+    KEY idx_ai_jobs_queue (status, priority, id),
+    KEY idx_ai_jobs_user_queue (status, priority, user_id, id)
+);
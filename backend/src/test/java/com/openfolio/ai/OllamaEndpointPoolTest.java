@@ -0,0 +1,210 @@
+package com.openfolio.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Endpoint selection, ejection and probe re-admission in {@link OllamaEndpointPool}, against
+ * in-process stubs that answer {@code /api/tags} and {@code /api/chat} like an Ollama server.
+ */
+class OllamaEndpointPoolTest {
+
+    private final List<OllamaStub> stubs = new ArrayList<>();
+
+    @AfterEach
+    void stopStubs() {
+        stubs.forEach(OllamaStub::close);
+    }
+
+    @Test
+    void leasesGoToTheEndpointWithFewestOutstanding() throws IOException {
+        OllamaEndpointPool pool = pool(3, stub(true), stub(true), stub(true));
+
+        Set<OllamaEndpointPool.Endpoint> used = new HashSet<>();
+        List<OllamaEndpointPool.Lease> leases = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OllamaEndpointPool.Lease lease = pool.acquire(Set.of());
+            leases.add(lease);
+            used.add(lease.endpoint());
+        }
+        assertThat(used).hasSize(3);
+        assertThat(pool.endpoints()).allSatisfy(e -> assertThat(e.outstanding()).isEqualTo(1));
+
+        OllamaEndpointPool.Endpoint freed = leases.get(1).endpoint();
+        leases.get(1).succeeded();
+        assertThat(pool.acquire(Set.of()).endpoint()).isSameAs(freed);
+    }
+
+    @Test
+    void leaseEndsOnlyOnce() throws IOException {
+        OllamaEndpointPool pool = pool(3, stub(true));
+
+        OllamaEndpointPool.Lease lease = pool.acquire(Set.of());
+        lease.failed();
+        lease.release();
+        lease.succeeded();
+
+        assertThat(lease.endpoint().outstanding()).isZero();
+    }
+
+    @Test
+    void triedEndpointsAreSkipped() throws IOException {
+        OllamaEndpointPool pool = pool(3, stub(true), stub(true));
+        OllamaEndpointPool.Endpoint first = pool.endpoints().get(0);
+        OllamaEndpointPool.Endpoint second = pool.endpoints().get(1);
+
+        assertThat(pool.acquire(Set.of(first)).endpoint()).isSameAs(second);
+        assertThat(pool.acquire(Set.of(first, second))).isNull();
+    }
+
+    @Test
+    void consecutiveFailuresEjectAnEndpoint() throws IOException {
+        OllamaEndpointPool pool = pool(2, stub(true), stub(true));
+        OllamaEndpointPool.Endpoint flaky = pool.endpoints().get(0);
+        Set<OllamaEndpointPool.Endpoint> others = Set.of(pool.endpoints().get(1));
+
+        pool.acquire(others).failed();
+        pool.acquire(others).succeeded();   // a success resets the streak
+        pool.acquire(others).failed();
+        assertThat(flaky.healthy()).isTrue();
+
+        pool.acquire(others).failed();
+        assertThat(flaky.healthy()).isFalse();
+        for (int i = 0; i < 4; i++) {
+            OllamaEndpointPool.Lease lease = pool.acquire(Set.of());
+            assertThat(lease.endpoint()).isNotSameAs(flaky);
+            lease.succeeded();
+        }
+        assertThat(pool.acquire(others)).isNull();
+    }
+
+    @Test
+    void probeReadmitsAnEjectedEndpointThatServesTheModel() throws IOException {
+        OllamaEndpointPool pool = pool(1, stub(true));
+        OllamaEndpointPool.Endpoint endpoint = pool.endpoints().get(0);
+        pool.acquire(Set.of()).failed();
+        assertThat(endpoint.healthy()).isFalse();
+
+        pool.probeAll();
+
+        assertThat(endpoint.healthy()).isTrue();
+        assertThat(pool.acquire(Set.of()).endpoint()).isSameAs(endpoint);
+    }
+
+    @Test
+    void probeKeepsAnEndpointOutWhileTheModelIsMissing() throws IOException {
+        OllamaEndpointPool pool = pool(1, stub(false));
+        OllamaEndpointPool.Endpoint endpoint = pool.endpoints().get(0);
+        pool.acquire(Set.of()).failed();
+
+        pool.probeAll();
+
+        assertThat(endpoint.healthy()).isFalse();
+        assertThat(pool.acquire(Set.of())).isNull();
+    }
+
+    @Test
+    void failedProbesEjectAnUnreachableEndpoint() throws IOException {
+        OllamaEndpointPool pool = pool(2, "http://127.0.0.1:" + unusedPort() + "/api/chat");
+        OllamaEndpointPool.Endpoint endpoint = pool.endpoints().get(0);
+
+        pool.probeAll();
+        assertThat(endpoint.healthy()).isTrue();
+        pool.probeAll();
+        assertThat(endpoint.healthy()).isFalse();
+    }
+
+    @Test
+    void chatFailsOverFromADeadEndpointAndEjectsIt() throws IOException {
+        OllamaEndpointPool pool = pool(1, "http://127.0.0.1:" + unusedPort() + "/api/chat", stub(true));
+        OllamaEndpointPool.Endpoint dead = pool.endpoints().get(0);
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OllamaLimiter limiter = new OllamaLimiter(registry, 4, 1, 8, 30000, 2.0, 0.9, 5, 30);
+        OllamaClient client = new OllamaClient(mapper, limiter, pool, 4096, 30);
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertThat(client.chat("system", "user", 50)).isEqualTo(OllamaStub.ANSWER);
+            }
+        } finally {
+            client.shutdown();
+        }
+
+        assertThat(dead.healthy()).isFalse();
+        assertThat(pool.endpoints()).allSatisfy(e -> assertThat(e.outstanding()).isZero());
+    }
+
+    private OllamaEndpointPool pool(int ejectAfterFailures, String... urls) {
+        return new OllamaEndpointPool(new ObjectMapper(), new SimpleMeterRegistry(),
+                String.join(",", urls), ejectAfterFailures, 10, 1000);
+    }
+
+    private String stub(boolean servesModel) throws IOException {
+        OllamaStub stub = new OllamaStub(servesModel);
+        stubs.add(stub);
+        return stub.url();
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * A minimal Ollama stand-in: {@code /api/tags} lists {@link OllamaClient#MODEL} (or
+     * nothing), {@code /api/chat} always gives {@link #ANSWER}.
+     */
+    private static final class OllamaStub implements AutoCloseable {
+        static final String ANSWER = "Shipped the thing.";
+
+        private final HttpServer server;
+
+        OllamaStub(boolean servesModel) throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            respond("/api/tags", servesModel
+                    ? "{\"models\":[{\"name\":\"" + OllamaClient.MODEL + "\",\"model\":\"" + OllamaClient.MODEL + "\"}]}"
+                    : "{\"models\":[]}");
+            respond("/api/chat", "{\"model\":\"" + OllamaClient.MODEL + "\",\"message\":{\"role\":\"assistant\",\"content\":\""
+                    + ANSWER + "\"},\"done\":true,\"eval_count\":5,\"eval_duration\":1000000}");
+            server.start();
+        }
+
+        private void respond(String path, String body) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            server.createContext(path, exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            });
+        }
+
+        String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/chat";
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.openfolio.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The adaptive limit and circuit breaker in {@link OllamaLimiter}. */
+class OllamaLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void callsBeyondTheLimitWaitAndAreThenRejected() {
+        OllamaLimiter limiter = limiter(2, 50, 5, 30);
+        OllamaLimiter.Permit first = limiter.acquire();
+        OllamaLimiter.Permit second = limiter.acquire();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.acquire()).isNull();
+        assertThat(rejected("limit")).isEqualTo(1);
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void aWaitingCallGetsTheNextFreedSlot() throws Exception {
+        OllamaLimiter limiter = limiter(1, 5_000, 5, 30);
+        OllamaLimiter.Permit held = limiter.acquire();
+        CompletableFuture<OllamaLimiter.Permit> waiting = CompletableFuture.supplyAsync(limiter::acquire);
+
+        held.release();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void aPermitEndsOnlyOnce() {
+        OllamaLimiter limiter = limiter(4, 50, 5, 30);
+        OllamaLimiter.Permit permit = limiter.acquire();
+
+        permit.succeeded(100, 0);
+        permit.failed();
+        permit.release();
+
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.currentLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void theLimitGrowsOnlyWhileItIsInUse() {
+        OllamaLimiter limiter = limiter(1, 50, 5, 30);
+        limiter.acquire().succeeded(100, 0);
+        assertThat(limiter.currentLimit()).isEqualTo(2);
+
+        // One call in flight under a limit of two: the limit isn't what's holding anything back.
+        limiter.acquire().succeeded(100, 0);
+        assertThat(limiter.currentLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void risingLatencyPerTokenBacksOff() {
+        OllamaLimiter limiter = limiter(10, 50, 5, 30);
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire().succeeded(1_000_000, 0);   // a long answer: tiny latency per token
+        }
+        assertThat(limiter.currentLimit()).isEqualTo(10);
+
+        limiter.acquire().succeeded(1, 0);   // same wall time, one token: far slower per token
+
+        assertThat(limiter.currentLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void setupTimeIsNotCountedAsGenerationLatency() throws InterruptedException {
+        OllamaLimiter limiter = limiter(10, 50, 5, 30);
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire().succeeded(1, 0);
+        }
+
+        // A slow call, but Ollama reports all of it as model load and prompt evaluation.
+        OllamaLimiter.Permit coldStart = limiter.acquire();
+        Thread.sleep(50);
+        coldStart.succeeded(1, TimeUnit.SECONDS.toNanos(10));
+        assertThat(limiter.currentLimit()).isEqualTo(10);
+
+        OllamaLimiter.Permit slow = limiter.acquire();
+        Thread.sleep(50);
+        slow.succeeded(1, 0);
+        assertThat(limiter.currentLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void aFailureHalvesTheLimit() {
+        OllamaLimiter limiter = limiter(8, 50, 5, 30);
+        limiter.acquire().failed();
+        assertThat(limiter.currentLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void consecutiveFailuresOpenTheBreaker() {
+        OllamaLimiter limiter = limiter(4, 50, 2, 30);
+        limiter.acquire().failed();
+        limiter.acquire().succeeded(100, 0);   // a success resets the count
+        limiter.acquire().failed();
+        assertThat(limiter.breakerState()).isEqualTo(OllamaLimiter.BreakerState.CLOSED);
+
+        limiter.acquire().failed();
+
+        assertThat(limiter.breakerState()).isEqualTo(OllamaLimiter.BreakerState.OPEN);
+        assertThat(limiter.acquire()).isNull();
+        assertThat(rejected("breaker")).isEqualTo(1);
+    }
+
+    @Test
+    void afterTheOpenPeriodOneProbeDecides() {
+        OllamaLimiter limiter = limiter(4, 50, 1, 0);
+        limiter.acquire().failed();
+
+        OllamaLimiter.Permit probe = limiter.acquire();
+        assertThat(probe).isNotNull();
+        assertThat(limiter.breakerState()).isEqualTo(OllamaLimiter.BreakerState.HALF_OPEN);
+        assertThat(limiter.acquire()).isNull();   // only one probe at a time
+
+        probe.failed();
+        assertThat(limiter.breakerState()).isEqualTo(OllamaLimiter.BreakerState.OPEN);
+
+        limiter.acquire().succeeded(100, 0);
+        assertThat(limiter.breakerState()).isEqualTo(OllamaLimiter.BreakerState.CLOSED);
+        assertThat(limiter.acquire()).isNotNull();
+        assertThat(limiter.acquire()).isNotNull();
+    }
+
+    private OllamaLimiter limiter(int initialLimit, long maxWaitMs, int failureThreshold, long openSeconds) {
+        return new OllamaLimiter(registry, initialLimit, 1, 16, maxWaitMs, 2.0, 0.9, failureThreshold, openSeconds);
+    }
+
+    private double rejected(String reason) {
+        return registry.get("openfolio.ai.ollama.rejected").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,159 @@
+package com.openfolio.export;
+
+import com.openfolio.experience.Experience;
+import com.openfolio.portfolio.Portfolio;
+import com.openfolio.portfolio.PortfolioBundle;
+import com.openfolio.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Single-flight behaviour of {@link ExportCoalescer}: join, isolate by key, share failures, keep nothing. */
+class ExportCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExportCoalescer coalescer = new ExportCoalescer(registry);
+    private final AtomicInteger runs = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void identicalRequestsInFlightShareOneRun() throws Exception {
+        CompletableFuture<String> leader = async("pdf", List.of(1L, "classic"), this::slowWork);
+        awaitRuns(1);
+        CompletableFuture<String> follower = async("pdf", List.of(1L, "classic"), this::slowWork);
+        awaitJoined("pdf", 1);
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result-1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result-1");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void differentKeysOrOperationsRunSeparately() throws Exception {
+        release.countDown();
+
+        assertThat(coalescer.run("pdf", List.of(1L, "classic"), this::slowWork)).isEqualTo("result-1");
+        assertThat(coalescer.run("pdf", List.of(1L, "modern"), this::slowWork)).isEqualTo("result-2");
+        assertThat(coalescer.run("preview", List.of(1L, "classic"), this::slowWork)).isEqualTo("result-3");
+        assertThat(registry.find("openfolio.export.coalesced").counter()).isNull();
+    }
+
+    @Test
+    void nothingIsKeptOnceTheLeaderFinishes() {
+        release.countDown();
+
+        coalescer.run("pdf", List.of(1L), this::slowWork);
+        assertThat(coalescer.run("pdf", List.of(1L), this::slowWork)).isEqualTo("result-2");
+    }
+
+    @Test
+    void followersGetTheLeadersException() throws Exception {
+        IllegalStateException failure = new IllegalStateException("portfolio not found");
+        CompletableFuture<String> leader = async("pdf", List.of(7L), () -> {
+            slowWork();
+            throw failure;
+        });
+        awaitRuns(1);
+        CompletableFuture<String> follower = async("pdf", List.of(7L), this::slowWork);
+        awaitJoined("pdf", 1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThat(runs).hasValue(1);
+
+        // The failed flight is gone; a retry runs again.
+        assertThat(coalescer.run("pdf", List.of(7L), this::slowWork)).isEqualTo("result-2");
+    }
+
+    @Test
+    void anItemEditKeepsTheNextRequestOutOfTheEarlierRender() throws Exception {
+        Experience job = new Experience();
+        job.setId(3L);
+        job.setCompany("Analytical Engines Ltd");
+        job.setTitle("Engineer");
+        job.setDescription("Wrote the first program.");
+        PortfolioBundle bundle = bundle(job);
+
+        CompletableFuture<String> before = async("pdf", List.of(1L, bundle.contentVersion()), this::slowWork);
+        awaitRuns(1);
+
+        // Editing an experience leaves Portfolio.updatedAt untouched.
+        job.setDescription("Wrote the first published program.");
+        CompletableFuture<String> after = async("pdf", List.of(1L, bundle.contentVersion()), this::slowWork);
+        awaitRuns(2);
+
+        release.countDown();
+
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("result-1");
+        assertThat(after.get(5, TimeUnit.SECONDS)).isEqualTo("result-2");
+        assertThat(registry.find("openfolio.export.coalesced").counter()).isNull();
+    }
+
+    @Test
+    void unchangedContentStillJoins() {
+        Experience job = new Experience();
+        job.setId(3L);
+        job.setTitle("Engineer");
+
+        assertThat(bundle(job).contentVersion()).isEqualTo(bundle(job).contentVersion());
+    }
+
+    private static PortfolioBundle bundle(Experience experience) {
+        User user = new User();
+        user.setId(2L);
+        user.setDisplayName("Ada Lovelace");
+        Portfolio portfolio = new Portfolio();
+        portfolio.setId(1L);
+        portfolio.setTitle("Ada");
+        portfolio.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 12, 0));
+        return new PortfolioBundle(portfolio, user, "About Ada", List.of(), List.of(),
+                List.of(experience), List.of(), List.of());
+    }
+
+    private String slowWork() {
+        int run = runs.incrementAndGet();
+        try {
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "result-" + run;
+    }
+
+    private CompletableFuture<String> async(String operation, List<Object> key, Supplier<String> work) {
+        return CompletableFuture.supplyAsync(() -> coalescer.run(operation, key, work));
+    }
+
+    private void awaitRuns(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (runs.get() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /** Wait until {@code expected} requests joined; they are counted before they block. */
+    private void awaitJoined(String operation, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.find("openfolio.export.coalesced").tag("operation", operation).counter() == null
+                || registry.get("openfolio.export.coalesced").tag("operation", operation).counter().count() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.openfolio.export;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Hits, misses, LRU eviction by heap size and "invalidation" by changed HTML in {@link PdfRenderCache}. */
+class PdfRenderCacheTest {
+
+    private static final String HTML = "<html><body><h1>Ada Lovelace</h1><p>Analytical Engine</p></body></html>";
+    private static final String EDITED = "<html><body><h1>Ada Lovelace</h1><p>Difference Engine</p></body></html>";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void identicalHtmlIsRenderedOnce() {
+        PdfRenderCache cache = new PdfRenderCache(registry, 1024);
+
+        RenderedPdf first = cache.get(HTML, () -> render(10));
+        RenderedPdf second = cache.get(HTML, () -> render(10));
+
+        assertThat(second).isSameAs(first);
+        assertThat(renders).hasValue(1);
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void anEditChangesTheHtmlAndSoMisses() {
+        PdfRenderCache cache = new PdfRenderCache(registry, 1024);
+        cache.get(HTML, () -> render(10));
+
+        RenderedPdf edited = cache.get(EDITED, () -> render(10));
+
+        assertThat(renders).hasValue(2);
+        assertThat(edited.toByteArray()[0]).isEqualTo((byte) 2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void peekNeverRendersAndPutFillsTheCache() {
+        PdfRenderCache cache = new PdfRenderCache(registry, 1024);
+        assertThat(cache.peek(HTML)).isNull();
+
+        RenderedPdf pdf = render(10);
+        cache.put(HTML, pdf);
+
+        assertThat(cache.peek(HTML)).isSameAs(pdf);
+        assertThat(cache.get(HTML, () -> render(10))).isSameAs(pdf);
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedOverTheByteBudget() {
+        PdfRenderCache cache = new PdfRenderCache(registry, 25);
+        cache.put("a", render(10));
+        cache.put("b", render(10));
+        cache.peek("a");                   // "b" is now the least recently used
+        cache.put("c", render(10));
+
+        assertThat(cache.peek("a")).isNotNull();
+        assertThat(cache.peek("b")).isNull();
+        assertThat(cache.peek("c")).isNotNull();
+        assertThat(cache.currentBytes()).isEqualTo(20);
+        assertThat(registry.counter("openfolio.pdf.render.cache.evictions").count()).isEqualTo(1);
+    }
+
+    @Test
+    void pdfsLargerThanTheWholeBudgetAreNotCached() {
+        PdfRenderCache cache = new PdfRenderCache(registry, 25);
+
+        cache.get(HTML, () -> render(30));
+        cache.get(HTML, () -> render(30));
+
+        assertThat(renders).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void untrimmedRenderBuffersCountByTheHeapTheyHold() {
+        PdfRenderCache cache = new PdfRenderCache(registry, 1024);
+        RenderedPdf.Buffer out = new RenderedPdf.Buffer(64);
+        out.write(new byte[10], 0, 10);
+
+        cache.put(HTML, out.toRenderedPdf());
+
+        assertThat(cache.peek(HTML).size()).isEqualTo(10);
+        assertThat(cache.currentBytes()).isEqualTo(64);
+    }
+
+    /** A fake PDF of {@code size} bytes whose first byte is the render number. */
+    private RenderedPdf render(int size) {
+        byte[] pdf = new byte[size];
+        pdf[0] = (byte) renders.incrementAndGet();
+        return new RenderedPdf(pdf);
+    }
+
+    private double count(String result) {
+        return registry.get("openfolio.pdf.render.cache").tag("result", result).counter().count();
+    }
+}
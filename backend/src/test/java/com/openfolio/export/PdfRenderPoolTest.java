@@ -0,0 +1,165 @@
+package com.openfolio.export;
+
+import com.openfolio.shared.exception.TooManyRequestsException;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Admission and slot accounting in {@link PdfRenderPool}, with one worker and no queue so
+ * a single render holds the only slot. Renders can be held at a gate to keep it taken.
+ */
+class PdfRenderPoolTest {
+
+    private static final String HTML = "<html><body><p>Ada Lovelace</p></body></html>";
+
+    private final GatedResources resources = new GatedResources();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PdfRenderPool pool = new PdfRenderPool(registry, resources, 1, 0, 2, 7);
+
+    @AfterEach
+    void shutdown() {
+        resources.open();
+        pool.shutdown();
+    }
+
+    @Test
+    void rendersOnTheWorker() {
+        assertThat(pdf(pool.render(HTML))).startsWith("%PDF");
+        assertThat(pdf(pool.render(HTML))).startsWith("%PDF");
+    }
+
+    @Test
+    void aFullPoolRejectsWith429AndFreesTheSlotAfterwards() throws Exception {
+        resources.close();
+        CompletableFuture<RenderedPdf> first = CompletableFuture.supplyAsync(() -> pool.render(HTML));
+        resources.awaitEntered();
+
+        assertThatThrownBy(() -> pool.render(HTML))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(7));
+        assertThat(registry.counter("openfolio.pdf.render.pool.rejections").count()).isEqualTo(1);
+
+        resources.open();
+        assertThat(pdf(first.get(5, TimeUnit.SECONDS))).startsWith("%PDF");
+        assertThat(pdf(pool.render(HTML))).startsWith("%PDF");
+    }
+
+    @Test
+    void anAcceptedJobWaitsForASlotInsteadOfFailing() throws Exception {
+        resources.close();
+        CompletableFuture<RenderedPdf> first = CompletableFuture.supplyAsync(() -> pool.render(HTML));
+        resources.awaitEntered();
+
+        CompletableFuture<RenderedPdf> job = CompletableFuture.supplyAsync(() -> pool.renderWhenFree(HTML));
+        Thread.sleep(100);
+        assertThat(job).isNotDone();
+
+        resources.open();
+        assertThat(pdf(first.get(5, TimeUnit.SECONDS))).startsWith("%PDF");
+        assertThat(pdf(job.get(5, TimeUnit.SECONDS))).startsWith("%PDF");
+        assertThat(registry.counter("openfolio.pdf.render.pool.rejections").count()).isZero();
+    }
+
+    @Test
+    void otherPdfWorkRunsOnAWorkerUnderTheSameAdmission() throws Exception {
+        assertThat(pool.call(() -> Thread.currentThread().getName())).startsWith("pdf-render-");
+
+        resources.close();
+        CompletableFuture<RenderedPdf> render = CompletableFuture.supplyAsync(() -> pool.render(HTML));
+        resources.awaitEntered();
+        assertThatThrownBy(() -> pool.call(() -> "thumbnail")).isInstanceOf(TooManyRequestsException.class);
+
+        resources.open();
+        render.get(5, TimeUnit.SECONDS);
+        assertThat(pool.call(() -> "thumbnail")).isEqualTo("thumbnail");
+    }
+
+    @Test
+    void aFailedRenderFreesItsSlot() {
+        resources.fail = true;
+        assertThatThrownBy(() -> pool.render(HTML)).hasMessageContaining("PDF generation failed");
+
+        resources.fail = false;
+        assertThat(pdf(pool.render(HTML))).startsWith("%PDF");
+    }
+
+    @Test
+    void aTimedOutRenderFreesItsSlotOnceItStops() throws Exception {
+        resources.close();
+        assertThatThrownBy(() -> pool.render(HTML)).hasMessageContaining("timed out");
+
+        resources.open();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                assertThat(pdf(pool.render(HTML))).startsWith("%PDF");
+                return;
+            } catch (TooManyRequestsException e) {
+                // The abandoned render may still be finishing; its slot frees when it does.
+                if (System.nanoTime() > deadline) throw e;
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    @Test
+    void aBatchLargerThanTheFreeSlotsIsRejectedWhole() {
+        assertThatThrownBy(() -> pool.renderAll(List.of(HTML, HTML)))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        assertThat(pool.renderAll(List.of(HTML))).hasSize(1);
+        assertThat(pdf(pool.render(HTML))).startsWith("%PDF");
+    }
+
+    private static String pdf(RenderedPdf pdf) {
+        byte[] bytes = pdf.toByteArray();
+        return new String(bytes, 0, Math.min(bytes.length, 8), StandardCharsets.ISO_8859_1);
+    }
+
+    /** Renderer resources whose {@code configure} can wait at a gate or fail outright. */
+    private static final class GatedResources extends PdfRendererResources {
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private final CountDownLatch entered = new CountDownLatch(1);
+        volatile boolean fail;
+
+        GatedResources() {
+            super("", null);
+        }
+
+        void close() {
+            gate = new CountDownLatch(1);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        void awaitEntered() throws InterruptedException {
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Override
+        public PdfRendererBuilder configure(PdfRendererBuilder builder) {
+            entered.countDown();
+            if (fail) throw new IllegalStateException("broken font");
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("render cancelled", e);
+            }
+            return super.configure(builder);
+        }
+    }
+}
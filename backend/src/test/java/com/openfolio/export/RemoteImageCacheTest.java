@@ -0,0 +1,106 @@
+package com.openfolio.export;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Fetching through {@link RemoteImageCache} from a local server, including one that stalls mid-body. */
+class RemoteImageCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private RemoteImageCache cache;
+    private byte[] png;
+
+    @BeforeEach
+    void start() throws IOException {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        png = out.toByteArray();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/avatar.png", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, png.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(png);
+            }
+        });
+        server.createContext("/stalled.png", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "image/png");
+            exchange.sendResponseHeaders(200, png.length);
+            OutputStream body = exchange.getResponseBody();
+            body.write(png, 0, 8);
+            body.flush();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        cache = new RemoteImageCache(registry, dir.toString(), 1 << 20, 1 << 20, 192,
+                1000, 300, 24, 300, 16);
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        cache.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void fetchesOnceThenServesFromDisk() {
+        assertThat(cache.get(url("/avatar.png"))).isEqualTo(png);
+        assertThat(cache.get(url("/avatar.png"))).isEqualTo(png);
+
+        assertThat(count("fetch")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void aBodyThatStallsPastTheReadTimeoutLeavesTheImageOut() {
+        long start = System.nanoTime();
+
+        assertThat(cache.get(url("/stalled.png"))).isNull();
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(count("failure")).isEqualTo(1);
+        // Remembered as failed: the next render doesn't wait again.
+        assertThat(cache.get(url("/stalled.png"))).isNull();
+        assertThat(count("fetch")).isEqualTo(1);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private double count(String result) {
+        return registry.get("openfolio.export.images").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,181 @@
+package com.openfolio.export;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Signed download tokens: round trip, tampering, expiry and the shared directory. */
+class SignedArtifactStoreTest {
+
+    private static final byte[] PDF = "%PDF-1.7 resume".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OTHER_PDF = "%PDF-1.7 cover letter".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path dir;
+
+    private final List<SignedArtifactStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        stores.forEach(SignedArtifactStore::shutdown);
+    }
+
+    @Test
+    void tokenServesTheStoredPdf() throws IOException {
+        SignedArtifactStore store = store("secret", 10);
+        String token = store.store(PDF);
+
+        assertThat(store.retrieve(token)).isEqualTo(PDF);
+        assertThat(read(store, token)).isEqualTo(PDF);
+    }
+
+    @Test
+    void anyNodeWithTheSameSecretAcceptsTheToken() throws IOException {
+        String token = store("secret", 10).store(PDF);
+
+        assertThat(read(store("secret", 10), token)).isEqualTo(PDF);
+        assertThat(store("another secret", 10).open(token)).isNull();
+    }
+
+    @Test
+    void tamperedTokensAreRejected() throws IOException {
+        SignedArtifactStore store = store("secret", 10);
+        String token = store.store(PDF);
+        String otherToken = store.store(OTHER_PDF);
+        String[] parts = token.split("\\.");
+        String[] otherParts = otherToken.split("\\.");
+
+        String laterExpiry = parts[0] + "." + (Long.parseLong(parts[1]) + 3600) + "." + parts[2];
+        String swappedHash = otherParts[0] + "." + parts[1] + "." + parts[2];
+        String flippedSignature = parts[0] + "." + parts[1] + "."
+                + (parts[2].charAt(0) == 'A' ? 'B' : 'A') + parts[2].substring(1);
+
+        for (String forged : List.of(laterExpiry, swappedHash, flippedSignature,
+                parts[0] + "." + parts[1], "../" + token, "", "x.y.z")) {
+            assertThat(store.open(forged)).as(forged).isNull();
+            assertThat(store.retrieve(forged)).as(forged).isNull();
+        }
+        assertThat(store.retrieve(null)).isNull();
+    }
+
+    @Test
+    void expiredTokensAreRejected() throws Exception {
+        SignedArtifactStore store = store("secret", 0);
+        String token = store.store(PDF);
+
+        Thread.sleep(1_100);   // expiry has one-second resolution
+
+        assertThat(store.open(token)).isNull();
+        assertThat(store.retrieve(token)).isNull();
+    }
+
+    @Test
+    void identicalPdfsShareOneFileAndASweptFileIsWrittenAgain() throws IOException {
+        SignedArtifactStore store = store("secret", 10);
+        store.store(PDF);
+        store.store(PDF);
+        assertThat(pdfFiles()).hasSize(1);
+
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) Files.delete(file);
+        }
+        String token = store.store(PDF);
+
+        assertThat(read(store, token)).isEqualTo(PDF);
+    }
+
+    @Test
+    void sweepDeletesExpiredArtifactsAndKeepsFreshOnes() throws IOException {
+        SignedArtifactStore store = store("secret", 10);
+        String stale = store.store(PDF);
+        String fresh = store.store(OTHER_PDF);
+        Path leftover = Files.writeString(dir.resolve("abc.tmp"), "partial");
+        age(pdfFile(stale));
+        age(leftover);
+
+        store.sweep();
+
+        assertThat(store.open(stale)).isNull();
+        assertThat(read(store, fresh)).isEqualTo(OTHER_PDF);
+        try (var files = Files.list(dir)) {
+            assertThat(files.toList()).containsExactly(pdfFile(fresh));
+        }
+    }
+
+    @Test
+    void aStoreRacingTheSweepNeverLosesItsFile() throws Exception {
+        SignedArtifactStore store = store("secret", 10);
+        String token = store.store(PDF);
+        CyclicBarrier start = new CyclicBarrier(2);
+
+        for (int i = 0; i < 500; i++) {
+            age(pdfFile(token));
+            CompletableFuture<String> storing = CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return store.store(PDF);
+            });
+            await(start);
+            store.sweep();
+
+            assertThat(read(store, storing.join())).as("iteration %d", i).isEqualTo(PDF);
+            assertThat(pdfFiles()).hasSize(1);
+        }
+        try (var files = Files.list(dir)) {
+            assertThat(files.filter(f -> f.toString().endsWith(".swept")).toList()).isEmpty();
+        }
+    }
+
+    private SignedArtifactStore store(String secret, long ttlMinutes) {
+        SignedArtifactStore store = new SignedArtifactStore(dir.toString(), secret, ttlMinutes, 3600);
+        stores.add(store);
+        return store;
+    }
+
+    private static byte[] read(SignedArtifactStore store, String token) throws IOException {
+        ExportTempStore.Download download = store.open(token);
+        assertThat(download).isNotNull();
+        try (download) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            download.transferTo(out);
+            assertThat(out.size()).isEqualTo(download.size());
+            return out.toByteArray();
+        }
+    }
+
+    private Path pdfFile(String token) {
+        return dir.resolve(token.substring(0, token.indexOf('.')) + ".pdf");
+    }
+
+    private static void age(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Path> pdfFiles() throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".pdf")).toList();
+        }
+    }
+}
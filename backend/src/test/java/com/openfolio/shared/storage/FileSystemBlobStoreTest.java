@@ -0,0 +1,84 @@
+package com.openfolio.shared.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Content addressing and opened-blob reads in {@link FileSystemBlobStore}. */
+class FileSystemBlobStoreTest {
+
+    private static final byte[] PDF = "%PDF-1.7 Ada Lovelace".getBytes(StandardCharsets.ISO_8859_1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sameContentSameKey() {
+        FileSystemBlobStore store = new FileSystemBlobStore(dir.toString());
+
+        String key = store.put(PDF);
+
+        assertThat(store.put(PDF.clone())).isEqualTo(key).isEqualTo(BlobStore.keyOf(PDF));
+        assertThat(store.size(key)).isEqualTo(PDF.length);
+    }
+
+    @Test
+    void aMissingBlobOpensAsNull() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(dir.toString());
+
+        assertThat(store.openBlob(BlobStore.keyOf(PDF))).isNull();
+    }
+
+    @Test
+    void anOpenedBlobStaysReadableAfterDelete() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(dir.toString());
+        String key = store.put(PDF);
+
+        try (BlobStore.Blob blob = store.openBlob(key)) {
+            store.delete(key);
+            assertThat(store.exists(key)).isFalse();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            blob.transferTo(out);
+            assertThat(blob.size()).isEqualTo(PDF.length);
+            assertThat(out.toByteArray()).isEqualTo(PDF);
+        }
+    }
+
+    @Test
+    void aBlobThatShrinksWhileBeingSentFailsInsteadOfSpinning() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(dir.toString());
+        String key = store.put(PDF);
+
+        try (BlobStore.Blob blob = store.openBlob(key)) {
+            Files.write(dir.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key), new byte[4]);
+
+            assertThatThrownBy(() -> blob.transferTo(new ByteArrayOutputStream()))
+                    .isInstanceOf(EOFException.class);
+        }
+    }
+
+    @Test
+    void rangesStopAtTheEnd() throws Exception {
+        FileSystemBlobStore store = new FileSystemBlobStore(dir.toString());
+        String key = store.put(PDF);
+
+        try (BlobStore.Blob blob = store.openBlob(key)) {
+            ByteArrayOutputStream head = new ByteArrayOutputStream();
+            blob.transferTo(0, 8, head);
+            ByteArrayOutputStream tail = new ByteArrayOutputStream();
+            blob.transferTo(9, 1000, tail);
+
+            assertThat(head.toString(StandardCharsets.ISO_8859_1)).isEqualTo("%PDF-1.7");
+            assertThat(tail.toString(StandardCharsets.ISO_8859_1)).isEqualTo("Ada Lovelace");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.openfolio.shared.text;
+
+import java.util.Arrays;
+
+/**
+ * The regex-chain text helpers that {@link TextNormalizer} replaced, copied verbatim as
+ * the reference for {@code TextNormalizerTest} and the baseline for the JMH benchmark.
+ */
+public final class LegacyText {
+
+    private LegacyText() {}
+
+    /** IngestionService.cleanMarkdown */
+    public static String cleanMarkdown(String raw) {
+        return raw
+                .replaceAll("(?s)```.*?```", "")
+                .replaceAll("`[^`]+`", "")
+                .replaceAll("!\\[.*?\\]\\(.*?\\)", "")
+                .replaceAll("<[^>]+>", "")
+                .replaceAll("\\[([^\\]]+)\\]\\([^)]+\\)", "$1")
+                .replaceAll("#{1,6}\\s+", "")
+                .replaceAll("\\*{1,3}([^*]+)\\*{1,3}", "$1")
+                .replaceAll("-{3,}|={3,}", "")
+                .replaceAll("(?m)^[-*+]\\s+", "• ")
+                .replaceAll("\\n{3,}", "\n\n")
+                .trim();
+    }
+
+    /** AiResumeEnhancer.enhanceProjectDescription line clean-up */
+    public static String cleanBulletLines(String result) {
+        return result.lines()
+                .map(line -> line.replaceAll("^\\d+[.)\\s]+", ""))
+                .map(line -> line.replaceAll("^[-•*>]+\\s*", ""))
+                .map(line -> line.replaceAll("\\*+", ""))
+                .map(String::trim)
+                .filter(line -> !line.isBlank())
+                .collect(java.util.stream.Collectors.joining("\n"));
+    }
+
+    /** AiResumeEnhancer.generateProfessionalSummary subject strip */
+    public static String stripLeadingSubject(String result, String name) {
+        return result.replaceAll("(?i)^" + java.util.regex.Pattern.quote(name) + "\\s+(is|has)\\s+", "");
+    }
+
+    /** PortfolioHtmlGenerator.splitBullets */
+    public static String[] splitBullets(String text) {
+        if (text == null || text.isBlank()) return new String[0];
+        text = text.strip();
+        if (text.contains("\n")) {
+            return Arrays.stream(text.split("\\n"))
+                    .map(s -> s.replaceAll("^[-•*>]+\\s*", "").trim())
+                    .filter(s -> !s.isBlank())
+                    .toArray(String[]::new);
+        }
+        String[] sentences = text.split("(?<=[.!?])\\s+(?=[A-Z])");
+        if (sentences.length >= 2) {
+            return Arrays.stream(sentences)
+                    .map(String::trim)
+                    .filter(s -> !s.isBlank())
+                    .toArray(String[]::new);
+        }
+        return new String[]{ text };
+    }
+
+    /** PortfolioHtmlGenerator.cleanSummary */
+    public static String cleanSummary(String raw) {
+        if (raw == null || raw.isBlank()) return "";
+        return raw.strip().replaceAll("\\s+", " ");
+    }
+
+    /** OllamaClient.finish fence strip */
+    public static String stripCodeFences(String raw) {
+        return raw.trim().replaceAll("(?m)^```[a-z]*\\n?", "").replace("```", "").trim();
+    }
+
+    /** PortfolioHtmlGenerator.esc / ResumeHtmlGenerator.esc */
+    public static String esc(Object o) {
+        if (o == null) return "";
+        return o.toString()
+                .replace("&", "&amp;").replace("<", "&lt;")
+                .replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
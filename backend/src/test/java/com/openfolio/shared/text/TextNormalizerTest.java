@@ -0,0 +1,96 @@
+package com.openfolio.shared.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Equivalence of {@link TextNormalizer} and the regex chains it replaced ({@link LegacyText}):
+ * random markdown-ish documents, model answers and character soup built from the fragments
+ * the chains react to, plus a few hand-picked edge cases.
+ */
+class TextNormalizerTest {
+
+    private static final int CASES = 5_000;
+
+    /** Fragments the chains react to, mixed with plain words and stray syntax characters. */
+    private static final String[] TOKENS = {
+            "```", "```java\n", "```\n", "`", "`code`", "``", "![", "![alt](img.png)", "](", "(", ")", "[", "]",
+            "[link](https://x.dev)", "[]", "[x]()", "<", ">", "<br>", "<b>", "</b>", "<>", "<a href=\"x\">",
+            "#", "##", "######", "#######", "# ", "*", "**", "***", "****", "*em*", "**strong**", "-", "--",
+            "---", "-----", "=", "===", "+", "- ", "* ", "+ ", "• ", ">", "> ", "1. ", "2) ", "10.", "3 ",
+            "!", ".", "?", "&", "\"", "'", " ", "  ", "\t", "\n", "\n\n", "\n\n\n", "\r\n", "\r", "\u000B",
+            "\f", "\u0085", " ", " ", " ", "\u0000", "\u001F", "é", "Built", "built", "the",
+            "Ada", "ada", "ADA", "is", "IS", "has", "Has", "A", "Z", "a", "z", "42", "é", "😀",
+    };
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 42, 20240917})
+    void matchesTheRegexChainsOnRandomText(long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < CASES; i++) {
+            String text = document(random, 1 + random.nextInt(i % 10 == 0 ? 400 : 40));
+            String name = pick(random);
+            String subject = name + pick(random) + pick(random) + pick(random) + text;
+            assertEquivalent(text, name);
+            assertEquivalent(subject, name);
+        }
+    }
+
+    @Test
+    void matchesTheRegexChainsOnEdgeCases() {
+        String[] cases = {
+                "", " ", "```", "``````", "````", "```java\ncode\n```", "text ```js\nx``` more",
+                "\r```x\ny", "a\n```\n", "#<br> x", "**a*", "***b***", "- a\n- b\n\n\n\n* c",
+                "[a](b) [](c) [d]() ![e](f)", "Ada is a builder", "ada  has\tshipped", "Ada isn't",
+                "1. one\n2) two\n• three\n> four", "First. Second! third? Fourth", " - x",
+        };
+        for (String text : cases) {
+            assertEquivalent(text, "Ada");
+        }
+    }
+
+    private static void assertEquivalent(String text, String name) {
+        check("stripMarkdown", text, LegacyText::cleanMarkdown, TextNormalizer::stripMarkdown);
+        check("cleanBulletLines", text, LegacyText::cleanBulletLines, TextNormalizer::cleanBulletLines);
+        check("splitBullets", text,
+                t -> Arrays.asList(LegacyText.splitBullets(t)), t -> Arrays.asList(TextNormalizer.splitBullets(t)));
+        check("collapseWhitespace", text, LegacyText::cleanSummary, TextNormalizer::collapseWhitespace);
+        check("escapeHtml", text, LegacyText::esc, TextNormalizer::escapeHtml);
+        check("stripCodeFences", text, LegacyText::stripCodeFences, TextNormalizer::stripCodeFences);
+        check("stripLeadingSubject[" + name + "]", text,
+                t -> LegacyText.stripLeadingSubject(t, name), t -> TextNormalizer.stripLeadingSubject(t, name));
+    }
+
+    private static <T> void check(String what, String input, Function<String, T> legacy, Function<String, T> current) {
+        assertThat(current.apply(input))
+                .as("%s of %s", what, show(input))
+                .isEqualTo(legacy.apply(input));
+    }
+
+    private static String document(Random random, int tokens) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tokens; i++) sb.append(pick(random));
+        return sb.toString();
+    }
+
+    private static String pick(Random random) {
+        return TOKENS[random.nextInt(TOKENS.length)];
+    }
+
+    /** The input with control and non-ASCII characters escaped, so failures are readable. */
+    private static String show(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c >= ' ' && c < 0x7F) sb.append(c);
+            else sb.append(String.format("\\u%04X", (int) c));
+        }
+        return sb.append('"').toString();
+    }
+}
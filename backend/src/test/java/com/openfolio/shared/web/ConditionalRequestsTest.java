@@ -0,0 +1,98 @@
+package com.openfolio.shared.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Validators (304) and single byte ranges (206/416) for content-addressed downloads. */
+class ConditionalRequestsTest {
+
+    private static final String ETAG = ConditionalRequests.etag("abc123");
+    private static final long MODIFIED = Instant.parse("2024-05-01T10:00:00.250Z").toEpochMilli();
+    private static final long LENGTH = 100;
+
+    @Test
+    void ifNoneMatchComparesWeakly() {
+        assertThat(ConditionalRequests.notModified(headers(HttpHeaders.IF_NONE_MATCH, ETAG), ETAG, MODIFIED)).isTrue();
+        assertThat(ConditionalRequests.notModified(headers(HttpHeaders.IF_NONE_MATCH, "W/" + ETAG), ETAG, MODIFIED)).isTrue();
+        assertThat(ConditionalRequests.notModified(headers(HttpHeaders.IF_NONE_MATCH, "\"other\", " + ETAG), ETAG, MODIFIED)).isTrue();
+        assertThat(ConditionalRequests.notModified(headers(HttpHeaders.IF_NONE_MATCH, "*"), ETAG, MODIFIED)).isTrue();
+        assertThat(ConditionalRequests.notModified(headers(HttpHeaders.IF_NONE_MATCH, "\"other\""), ETAG, MODIFIED)).isFalse();
+    }
+
+    @Test
+    void ifNoneMatchWinsOverIfModifiedSince() {
+        HttpHeaders request = headers(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+        request.setIfModifiedSince(MODIFIED + 60_000);
+
+        assertThat(ConditionalRequests.notModified(request, ETAG, MODIFIED)).isFalse();
+    }
+
+    @Test
+    void ifModifiedSinceComparesWholeSeconds() {
+        HttpHeaders sameSecond = new HttpHeaders();
+        sameSecond.setIfModifiedSince(MODIFIED - 250);   // the header has no milliseconds
+        HttpHeaders earlier = new HttpHeaders();
+        earlier.setIfModifiedSince(MODIFIED - 1_250);
+
+        assertThat(ConditionalRequests.notModified(sameSecond, ETAG, MODIFIED)).isTrue();
+        assertThat(ConditionalRequests.notModified(earlier, ETAG, MODIFIED)).isFalse();
+        assertThat(ConditionalRequests.notModified(headers(HttpHeaders.IF_MODIFIED_SINCE, "yesterday"), ETAG, MODIFIED)).isFalse();
+        assertThat(ConditionalRequests.notModified(new HttpHeaders(), ETAG, MODIFIED)).isFalse();
+    }
+
+    @Test
+    void singleRangesAreResolvedAgainstTheLength() {
+        assertThat(range("bytes=0-9")).containsExactly(0, 9);
+        assertThat(range("bytes=90-")).containsExactly(90, 99);
+        assertThat(range("bytes=-5")).containsExactly(95, 99);
+        assertThat(range("bytes=50-500")).containsExactly(50, 99);
+    }
+
+    @Test
+    void rangeStartingPastTheEndIsUnsatisfiable() {
+        assertThat(range("bytes=100-")).isSameAs(ConditionalRequests.UNSATISFIABLE);
+        assertThat(range("bytes=150-200")).isSameAs(ConditionalRequests.UNSATISFIABLE);
+    }
+
+    @Test
+    void unusableRangesServeTheWholeEntity() {
+        assertThat(ConditionalRequests.byteRange(new HttpHeaders(), ETAG, MODIFIED, LENGTH)).isNull();
+        assertThat(range("bytes=0-9,20-29")).isNull();
+        assertThat(range("items=0-9")).isNull();
+        assertThat(range("bytes=9-0")).isNull();
+        assertThat(ConditionalRequests.byteRange(headers(HttpHeaders.RANGE, "bytes=0-9"), ETAG, MODIFIED, 0)).isNull();
+    }
+
+    @Test
+    void ifRangeMustStillMatch() {
+        assertThat(rangeIf("bytes=0-9", ETAG)).containsExactly(0, 9);
+        assertThat(rangeIf("bytes=0-9", "\"stale\"")).isNull();
+        assertThat(rangeIf("bytes=0-9", "W/" + ETAG)).isNull();   // If-Range needs a strong match
+
+        HttpHeaders byDate = headers(HttpHeaders.RANGE, "bytes=0-9");
+        byDate.setDate(HttpHeaders.IF_RANGE, MODIFIED);
+        assertThat(ConditionalRequests.byteRange(byDate, ETAG, MODIFIED, LENGTH)).containsExactly(0, 9);
+        byDate.setDate(HttpHeaders.IF_RANGE, MODIFIED - 5_000);
+        assertThat(ConditionalRequests.byteRange(byDate, ETAG, MODIFIED, LENGTH)).isNull();
+    }
+
+    private static long[] range(String range) {
+        return ConditionalRequests.byteRange(headers(HttpHeaders.RANGE, range), ETAG, MODIFIED, LENGTH);
+    }
+
+    private static long[] rangeIf(String range, String ifRange) {
+        HttpHeaders request = headers(HttpHeaders.RANGE, range);
+        request.set(HttpHeaders.IF_RANGE, ifRange);
+        return ConditionalRequests.byteRange(request, ETAG, MODIFIED, LENGTH);
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(name, value);
+        return headers;
+    }
+}
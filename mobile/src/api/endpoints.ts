@@ -68,6 +68,7 @@ export const endpoints = {
     list: '/saved-resumes',
     pdf: (id: number) => `/saved-resumes/${id}/pdf`,
     base64: (id: number) => `/saved-resumes/${id}/base64`,
+    thumbnail: (id: number) => `/saved-resumes/${id}/thumbnail`,
     delete: (id: number) => `/saved-resumes/${id}`,
     save: (portfolioId: number) => `/portfolios/${portfolioId}/export/save`,
     publish: (id: number) => `/saved-resumes/${id}/publish`,
@@ -11,6 +11,7 @@ export interface SavedResumeInfo {
   fileSizeBytes: number;
   createdAt: string;
   publicUrl: string | null;
+  thumbnailUrl: string;
 }
 
 export interface ResumeOptions {